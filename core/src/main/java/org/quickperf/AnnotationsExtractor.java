@@ -17,7 +17,6 @@ import org.quickperf.config.library.SetOfAnnotationConfigs;
 
 import java.io.IOException;
 import java.lang.annotation.Annotation;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.*;
 
@@ -48,53 +47,14 @@ public class AnnotationsExtractor {
     }
 
     public SpecifiableGlobalAnnotations classSpecifyingGlobalAnnotation(){
-
-        Class[] userConfigClasses = findUserConfigClasses();
-
-        Class classImplementingSpecifiableAnnotations = findClassImplementingSpecifiableAnnotations(userConfigClasses);
-
-        return instantiateSpecifiableAnnotationsFrom(classImplementingSpecifiableAnnotations);
-
-    }
-
-    private Class[] findUserConfigClasses() {
         QuickPerfUserConfigClasses quickPerfUserConfigClasses = QuickPerfUserConfigClasses.INSTANCE;
         try {
-            return quickPerfUserConfigClasses.findClasses();
+            return quickPerfUserConfigClasses.instantiateClassImplementing(SpecifiableGlobalAnnotations.class);
         } catch (ClassNotFoundException | IOException e) {
             throw new IllegalStateException(e);
         }
     }
 
-    private Class findClassImplementingSpecifiableAnnotations(Class[] classes) {
-        for (Class clazz : classes) {
-            Class[] interfaces = clazz.getInterfaces();
-            for (Class interfaceClass : interfaces) {
-                if (isSpecifiableAnnotationsInterface(interfaceClass)) {
-                    return clazz;
-                }
-            }
-        }
-        return null;
-    }
-
-    @SuppressWarnings("unchecked")
-    private SpecifiableGlobalAnnotations instantiateSpecifiableAnnotationsFrom(Class clazz) {
-        if(clazz == null) {
-            return null;
-        }
-        try {
-            return (SpecifiableGlobalAnnotations) clazz.getDeclaredConstructor().newInstance();
-        } catch ( InstantiationException | IllegalAccessException
-                | NoSuchMethodException  | InvocationTargetException e) {
-            throw new IllegalStateException(e);
-        }
-    }
-
-    private boolean isSpecifiableAnnotationsInterface(Class interfaceClass) {
-        return interfaceClass.getCanonicalName().equals(SpecifiableGlobalAnnotations.class.getCanonicalName());
-    }
-
     public Annotation[] extractAnnotationsFor(Method testMethod, SetOfAnnotationConfigs testAnnotationConfigs) {
         Annotation[] classAnnotations = testMethod.getDeclaringClass().getAnnotations();
         Annotation[] methodAnnotations = testMethod.getAnnotations();
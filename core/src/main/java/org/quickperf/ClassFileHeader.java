@@ -0,0 +1,159 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Modifiers, super class, implemented interfaces and no-arg constructor of a class, read from its class file
+ * so that the class is not loaded.
+ */
+class ClassFileHeader {
+
+    private static final int ACC_PUBLIC = 0x0001;
+
+    private static final int ACC_INTERFACE = 0x0200;
+
+    private static final int ACC_ABSTRACT = 0x0400;
+
+    private static final String CONSTRUCTOR_NAME = "<init>";
+
+    private static final String NO_ARG_DESCRIPTOR = "()V";
+
+    private final int accessFlags;
+
+    private final String superClassName;
+
+    private final List<String> interfaceNames;
+
+    private final boolean publicNoArgConstructor;
+
+    private ClassFileHeader(int accessFlags, String superClassName, List<String> interfaceNames, boolean publicNoArgConstructor) {
+        this.accessFlags = accessFlags;
+        this.superClassName = superClassName;
+        this.interfaceNames = interfaceNames;
+        this.publicNoArgConstructor = publicNoArgConstructor;
+    }
+
+    static ClassFileHeader readFrom(InputStream classFileStream) throws IOException {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(classFileStream));
+        input.readInt();            // magic
+        input.readUnsignedShort();  // minor version
+        input.readUnsignedShort();  // major version
+
+        int constantPoolCount = input.readUnsignedShort();
+        String[] utf8Constants = new String[constantPoolCount];
+        int[] classNameIndexes = new int[constantPoolCount];
+        for (int i = 1; i < constantPoolCount; i++) {
+            int tag = input.readUnsignedByte();
+            switch (tag) {
+                case 1:  utf8Constants[i] = input.readUTF(); break;
+                case 7:  classNameIndexes[i] = input.readUnsignedShort(); break;
+                case 8: case 16: case 19: case 20: skip(input, 2); break;
+                case 15: skip(input, 3); break;
+                case 3: case 4: case 9: case 10: case 11: case 12: case 17: case 18: skip(input, 4); break;
+                // A long or a double takes two entries
+                case 5: case 6: skip(input, 8); i++; break;
+                default: throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+
+        int accessFlags = input.readUnsignedShort();
+        input.readUnsignedShort();  // this class
+        int superClassIndex = input.readUnsignedShort();
+        // java.lang.Object has no super class
+        String superClassName = superClassIndex == 0 ? null : utf8Constants[classNameIndexes[superClassIndex]].replace('/', '.');
+
+        int interfacesCount = input.readUnsignedShort();
+        List<String> interfaceNames = new ArrayList<>(interfacesCount);
+        for (int i = 0; i < interfacesCount; i++) {
+            String internalName = utf8Constants[classNameIndexes[input.readUnsignedShort()]];
+            interfaceNames.add(internalName.replace('/', '.'));
+        }
+
+        skipMembers(input);
+
+        boolean publicNoArgConstructor = false;
+        int methodsCount = input.readUnsignedShort();
+        for (int i = 0; i < methodsCount; i++) {
+            int methodAccessFlags = input.readUnsignedShort();
+            String name = utf8Constants[input.readUnsignedShort()];
+            String descriptor = utf8Constants[input.readUnsignedShort()];
+            skipAttributes(input);
+            if (   CONSTRUCTOR_NAME.equals(name)
+                && NO_ARG_DESCRIPTOR.equals(descriptor)
+                && (methodAccessFlags & ACC_PUBLIC) != 0) {
+                publicNoArgConstructor = true;
+            }
+        }
+
+        return new ClassFileHeader(accessFlags, superClassName, Collections.unmodifiableList(interfaceNames), publicNoArgConstructor);
+    }
+
+    // DataInputStream.skipBytes() may skip fewer bytes than requested
+    private static void skip(DataInputStream input, int byteCount) throws IOException {
+        int remainingByteCount = byteCount;
+        while (remainingByteCount > 0) {
+            int skippedByteCount = input.skipBytes(remainingByteCount);
+            if (skippedByteCount == 0) {
+                input.readByte();
+                skippedByteCount = 1;
+            }
+            remainingByteCount -= skippedByteCount;
+        }
+    }
+
+    private static void skipMembers(DataInputStream input) throws IOException {
+        int membersCount = input.readUnsignedShort();
+        for (int i = 0; i < membersCount; i++) {
+            skip(input, 6);     // access flags, name and descriptor
+            skipAttributes(input);
+        }
+    }
+
+    private static void skipAttributes(DataInputStream input) throws IOException {
+        int attributesCount = input.readUnsignedShort();
+        for (int i = 0; i < attributesCount; i++) {
+            input.readUnsignedShort();  // name
+            int length = input.readInt();
+            skip(input, length);
+        }
+    }
+
+    /**
+     * @return <code>true</code> for a public class neither abstract nor an interface,
+     * a private or package-private nested class not being public in its class file
+     */
+    boolean isInstantiablePublicClass() {
+        return     (accessFlags & ACC_PUBLIC) != 0
+                && (accessFlags & (ACC_INTERFACE | ACC_ABSTRACT)) == 0
+                && publicNoArgConstructor;
+    }
+
+    /**
+     * @return <code>null</code> for <code>java.lang.Object</code>
+     */
+    String getSuperClassName() {
+        return superClassName;
+    }
+
+    List<String> getInterfaceNames() {
+        return interfaceNames;
+    }
+
+}
@@ -11,8 +11,43 @@
 
 package org.quickperf;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 public class HeapDump {
 
     public static final String HEAP_DUMP_NAME = "heap-dump.hprof";
 
+    private static final String HEAP_DUMP_FOLDER_PREFIX = "QuickPerf-heap-dumps-";
+
+    private static String heapDumpFolderPath;
+
+    /**
+     * Returns the folder of the heap dumps of the tests whose working folder is not created.
+     * The folder is created once for the test JVM and deleted when it stops if no heap dump was written.
+     */
+    public static synchronized String createHeapDumpFolder() {
+        if (heapDumpFolderPath == null) {
+            try {
+                File heapDumpFolder = Files.createTempDirectory(HEAP_DUMP_FOLDER_PREFIX).toFile();
+                heapDumpFolder.deleteOnExit();
+                heapDumpFolderPath = heapDumpFolder.getPath();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return heapDumpFolderPath;
+    }
+
+    /**
+     * Returns the path of the heap dump of a test in the heap dump folder, named after its working folder.
+     */
+    public static String buildHeapDumpPath(String heapDumpFolderPath, String workingFolderPath) {
+        Path workingFolderName = Paths.get(workingFolderPath).getFileName();
+        return Paths.get(heapDumpFolderPath, workingFolderName + "-" + HEAP_DUMP_NAME).toString();
+    }
+
 }
@@ -9,65 +9,231 @@
  * Copyright 2019-2020 the original author or authors.
  */
 
+
 package org.quickperf;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.net.JarURLConnection;
 import java.net.URL;
+import java.net.URLConnection;
 import java.net.URLDecoder;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Enumeration;
-import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 
+/**
+ * Finds the public classes of the <code>org.quickperf</code> package implementing a QuickPerf
+ * interface, directly or through a super class, and having a public no-arg constructor, in directories and in jars.
+ * The class files are read without loading the classes, once for each class loader.
+ * The JVMs forked for test methods retrieve the found class names from a file of the working folder.
+ * An implementation can also be declared in a <code>META-INF/services</code> file named
+ * after the implemented interface.
+ */
 public class QuickPerfUserConfigClasses {
 
     public static final QuickPerfUserConfigClasses INSTANCE = new QuickPerfUserConfigClasses();
 
     private static final String ORG_QUICK_PERF_PACKAGE = "org.quickperf";
 
+    private static final String ORG_QUICK_PERF_PATH = ORG_QUICK_PERF_PACKAGE.replace('.', '/');
+
+    private static final String CLASS_SUFFIX = ".class";
+
+    private static final String CLASS_NAMES_FILE_NAME = "user-config-classes.txt";
+
+    private static final Class[] NO_CLASSES = new Class[0];
+
+    // The class names don't reference the class loader, which can be garbage collected
+    private final Map<ClassLoader, List<String>> classNamesByClassLoader = new WeakHashMap<>();
+
     private QuickPerfUserConfigClasses() {}
 
     public Class[] findClasses() throws ClassNotFoundException, IOException {
-        List<Class> allClasses = new ArrayList<>();
-        for (File directory : findDirectoriesForPackage()) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        List<String> classNames = findClassNames(classLoader);
+        if (classNames.isEmpty()) {
+            return NO_CLASSES;
+        }
+        Class[] classes = new Class[classNames.size()];
+        for (int i = 0; i < classes.length; i++) {
+            classes[i] = Class.forName(classNames.get(i), false, classLoader);
+        }
+        return classes;
+    }
+
+    private synchronized List<String> findClassNames(ClassLoader classLoader) throws IOException {
+        List<String> classNames = classNamesByClassLoader.get(classLoader);
+        if (classNames == null) {
+            if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
+                classNames = readClassNamesFromWorkingFolder();
+            } else {
+                classNames = scanClassNames(classLoader);
+            }
+            classNamesByClassLoader.put(classLoader, classNames);
+        }
+        return classNames;
+    }
 
-            List<Class> classesInDirectory = findClasses(directory);
-            allClasses.addAll(classesInDirectory);
+    /**
+     * Returns null if no class implements the interface.
+     */
+    public <T> T instantiateClassImplementing(Class<T> specifiableInterface) throws ClassNotFoundException, IOException {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        Iterator<T> declaredImplementations = ServiceLoader.load(specifiableInterface, classLoader).iterator();
+        if (declaredImplementations.hasNext()) {
+            return declaredImplementations.next();
         }
-        return allClasses.toArray(new Class[allClasses.size()]);
+        for (Class clazz : findClasses()) {
+            if (specifiableInterface.isAssignableFrom(clazz)) {
+                return specifiableInterface.cast(instantiate(clazz));
+            }
+        }
+        return null;
     }
 
-    private List<File> findDirectoriesForPackage() throws IOException {
+    private Object instantiate(Class<?> clazz) {
+        try {
+            return clazz.getDeclaredConstructor().newInstance();
+        } catch (  InstantiationException | IllegalAccessException
+                 | NoSuchMethodException  | InvocationTargetException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Writes the found class names in the working folder of a forked JVM,
+     * nothing being written if no class is found.
+     */
+    public void writeClassNamesTo(String workingFolderPath) throws IOException {
         ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-        String path = ORG_QUICK_PERF_PACKAGE.replace('.', '/');
-        Enumeration<URL> resources = classLoader.getResources(path);
+        List<String> classNames = findClassNames(classLoader);
+        if (classNames.isEmpty()) {
+            return;
+        }
+        Path workingFolder = Paths.get(workingFolderPath);
+        Files.createDirectories(workingFolder);
+        Files.write(workingFolder.resolve(CLASS_NAMES_FILE_NAME), classNames, StandardCharsets.UTF_8);
+    }
+
+    private List<String> readClassNamesFromWorkingFolder() throws IOException {
+        String workingFolderPath = SystemProperties.WORKING_FOLDER.evaluate();
+        Path classNamesFile = Paths.get(workingFolderPath, CLASS_NAMES_FILE_NAME);
+        if (!Files.exists(classNamesFile)) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(Files.readAllLines(classNamesFile, StandardCharsets.UTF_8));
+    }
 
-        List<File> dirs = new ArrayList<>();
+    private List<String> scanClassNames(ClassLoader classLoader) throws IOException {
+        Set<String> classNames = new LinkedHashSet<>();
+        Enumeration<URL> resources = classLoader.getResources(ORG_QUICK_PERF_PATH);
         while (resources.hasMoreElements()) {
             URL resource = resources.nextElement();
-            String classPath = URLDecoder.decode(resource.getPath(), "UTF-8");
-            File file = new File(classPath);
-            dirs.add(file);
+            URLConnection connection = resource.openConnection();
+            if (connection instanceof JarURLConnection) {
+                JarURLConnection jarConnection = (JarURLConnection) connection;
+                jarConnection.setUseCaches(false);
+                try (JarFile jarFile = jarConnection.getJarFile()) {
+                    classNames.addAll(findClassNamesIn(jarFile, classLoader));
+                }
+            } else {
+                String directoryPath = URLDecoder.decode(resource.getPath(), "UTF-8");
+                classNames.addAll(findClassNamesIn(new File(directoryPath), classLoader));
+            }
         }
-        return dirs;
+        return Collections.unmodifiableList(new ArrayList<>(classNames));
     }
 
-    private List<Class> findClasses(File directory) throws ClassNotFoundException {
-        if (!directory.exists()) {
+    private List<String> findClassNamesIn(File directory, ClassLoader classLoader) throws IOException {
+        File[] files = directory.listFiles();
+        if (files == null) {
             return Collections.emptyList();
         }
-        List<Class> classes = new ArrayList<>();
-        File[] files = directory.listFiles();
+        List<String> classNames = new ArrayList<>();
         for (File file : files) {
-            String filename = file.getName();
-            if (filename.endsWith(".class")) {
-                String fileName = filename.substring(0, filename.length() - 6);
-                Class clazz = Class.forName(ORG_QUICK_PERF_PACKAGE + '.' + fileName);
-                classes.add(clazz);
+            String fileName = file.getName();
+            if (fileName.endsWith(CLASS_SUFFIX)) {
+                try (InputStream classFileStream = new FileInputStream(file)) {
+                    if (isUserConfigClass(ClassFileHeader.readFrom(classFileStream), classLoader)) {
+                        classNames.add(ORG_QUICK_PERF_PACKAGE + '.' + removeClassSuffix(fileName));
+                    }
+                }
             }
         }
-        return classes;
+        return classNames;
+    }
+
+    private List<String> findClassNamesIn(JarFile jarFile, ClassLoader classLoader) throws IOException {
+        List<String> classNames = new ArrayList<>();
+        Enumeration<JarEntry> entries = jarFile.entries();
+        while (entries.hasMoreElements()) {
+            JarEntry entry = entries.nextElement();
+            String entryName = entry.getName();
+            if (   entryName.startsWith(ORG_QUICK_PERF_PATH + '/')
+                && entryName.endsWith(CLASS_SUFFIX)
+                && entryName.indexOf('/', ORG_QUICK_PERF_PATH.length() + 1) == -1) {
+                try (InputStream classFileStream = jarFile.getInputStream(entry)) {
+                    if (isUserConfigClass(ClassFileHeader.readFrom(classFileStream), classLoader)) {
+                        classNames.add(removeClassSuffix(entryName).replace('/', '.'));
+                    }
+                }
+            }
+        }
+        return classNames;
+    }
+
+    private String removeClassSuffix(String name) {
+        return name.substring(0, name.length() - CLASS_SUFFIX.length());
+    }
+
+    // The classes of the QuickPerf libraries in the org.quickperf package don't implement QuickPerf interfaces
+    private boolean isUserConfigClass(ClassFileHeader classFileHeader, ClassLoader classLoader) throws IOException {
+        if (!classFileHeader.isInstantiablePublicClass()) {
+            return false;
+        }
+        ClassFileHeader classOrSuperClassHeader = classFileHeader;
+        while (classOrSuperClassHeader != null) {
+            if (implementsQuickPerfInterface(classOrSuperClassHeader)) {
+                return true;
+            }
+            classOrSuperClassHeader = readSuperClassHeader(classOrSuperClassHeader, classLoader);
+        }
+        return false;
+    }
+
+    private boolean implementsQuickPerfInterface(ClassFileHeader classFileHeader) {
+        for (String interfaceName : classFileHeader.getInterfaceNames()) {
+            if (interfaceName.startsWith(ORG_QUICK_PERF_PACKAGE + '.')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns null for a class extending <code>java.lang.Object</code>
+     * or if the class file of the super class is not found.
+     */
+    private ClassFileHeader readSuperClassHeader(ClassFileHeader classFileHeader, ClassLoader classLoader) throws IOException {
+        String superClassName = classFileHeader.getSuperClassName();
+        if (superClassName == null || Object.class.getName().equals(superClassName)) {
+            return null;
+        }
+        String superClassFilePath = superClassName.replace('.', '/') + CLASS_SUFFIX;
+        try (InputStream superClassFileStream = classLoader.getResourceAsStream(superClassFilePath)) {
+            if (superClassFileStream == null) {
+                return null;
+            }
+            return ClassFileHeader.readFrom(superClassFileStream);
+        }
     }
 
 }
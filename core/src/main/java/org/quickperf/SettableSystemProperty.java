@@ -0,0 +1,40 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf;
+
+/**
+ * A system property that can be changed after the JVM start, for example by a forked JVM
+ * executing several test methods.
+ */
+public abstract class SettableSystemProperty<T> implements SystemProperty<T> {
+
+    private final String name;
+
+    protected SettableSystemProperty(String name) {
+        this.name = name;
+    }
+
+    protected String getName() {
+        return name;
+    }
+
+    @Override
+    public String buildForJvm(String propertyValue) {
+        return "-D" + name + "=" + propertyValue;
+    }
+
+    public void set(String propertyValue) {
+        System.setProperty(name, propertyValue);
+    }
+
+}
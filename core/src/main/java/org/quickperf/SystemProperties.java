@@ -15,10 +15,187 @@ public class SystemProperties {
 
     private SystemProperties() {}
 
-    public static final SystemProperty<String> WORKING_FOLDER =
+    // Set by a reused forked JVM before each test method execution
+    public static final SettableSystemProperty<String> WORKING_FOLDER =
+            new SettableSystemProperty<String>("quickPerfWorkingFolder") {
+
+                @Override
+                public String evaluate() {
+                    return System.getProperty(getName());
+                }
+            };
+
+    public static final SystemProperty<Boolean> TEST_CODE_EXECUTING_IN_NEW_JVM =
+            new SystemProperty<Boolean>() {
+
+                private final String name = "quickPerfToExecInASpecificJvm";
+
+                @Override
+                public Boolean evaluate() {
+                    String booleanAsString = System.getProperty(name);
+                    return Boolean.valueOf(booleanAsString);
+                }
+
+                @Override
+                public String buildForJvm(String propertyValue) {
+                    return "-D" + name + "=" + propertyValue;
+                }
+            };
+
+    public static final SystemProperty<Boolean> QUICK_PERF_DISABLED =
+            new SystemProperty<Boolean>() {
+
+                private final String name = "disableQuickPerf";
+
+                @Override
+                public Boolean evaluate() {
+                    String booleanAsString = System.getProperty(name);
+                    return Boolean.valueOf(booleanAsString);
+                }
+
+                @Override
+                public String buildForJvm(String propertyValue) {
+                    return "-D" + name + "=" + propertyValue;
+                }
+            };
+
+    public static final SystemProperty<Boolean> REUSE_FORKED_JVM =
+            new SystemProperty<Boolean>() {
+
+                private final String name = "quickPerfReuseForkedJvm";
+
+                @Override
+                public Boolean evaluate() {
+                    String booleanAsString = System.getProperty(name);
+                    return Boolean.valueOf(booleanAsString);
+                }
+
+                @Override
+                public String buildForJvm(String propertyValue) {
+                    return "-D" + name + "=" + propertyValue;
+                }
+            };
+
+    public static final SystemProperty<Boolean> BATCH_FORKED_JVM =
+            new SystemProperty<Boolean>() {
+
+                private final String name = "quickPerfBatchForkedJvm";
+
+                @Override
+                public Boolean evaluate() {
+                    String booleanAsString = System.getProperty(name);
+                    return Boolean.valueOf(booleanAsString);
+                }
+
+                @Override
+                public String buildForJvm(String propertyValue) {
+                    return "-D" + name + "=" + propertyValue;
+                }
+            };
+
+    public static final SystemProperty<Boolean> PARALLEL_FORKED_JVM =
+            new SystemProperty<Boolean>() {
+
+                private final String name = "quickPerfParallelForkedJvm";
+
+                @Override
+                public Boolean evaluate() {
+                    String booleanAsString = System.getProperty(name);
+                    return Boolean.valueOf(booleanAsString);
+                }
+
+                @Override
+                public String buildForJvm(String propertyValue) {
+                    return "-D" + name + "=" + propertyValue;
+                }
+            };
+
+    public static final SystemProperty<Boolean> CLASS_DATA_SHARING =
+            new SystemProperty<Boolean>() {
+
+                private final String name = "quickPerfClassDataSharing";
+
+                @Override
+                public Boolean evaluate() {
+                    String booleanAsString = System.getProperty(name);
+                    return Boolean.valueOf(booleanAsString);
+                }
+
+                @Override
+                public String buildForJvm(String propertyValue) {
+                    return "-D" + name + "=" + propertyValue;
+                }
+            };
+
+    public static final SystemProperty<Integer> FORKED_JVM_MAX_TEST_EXECUTIONS =
+            new SystemProperty<Integer>() {
+
+                private final String name = "quickPerfForkedJvmMaxTestExecutions";
+
+                private static final int DEFAULT_MAX_TEST_EXECUTIONS = 20;
+
+                @Override
+                public Integer evaluate() {
+                    String maxTestExecutionsAsString = System.getProperty(name);
+                    if (maxTestExecutionsAsString == null) {
+                        return DEFAULT_MAX_TEST_EXECUTIONS;
+                    }
+                    return Integer.valueOf(maxTestExecutionsAsString);
+                }
+
+                @Override
+                public String buildForJvm(String propertyValue) {
+                    return "-D" + name + "=" + propertyValue;
+                }
+            };
+
+    public static final SystemProperty<Boolean> RECORD_CHANNEL =
+            new SystemProperty<Boolean>() {
+
+                private final String name = "quickPerfRecordChannel";
+
+                @Override
+                public Boolean evaluate() {
+                    String booleanAsString = System.getProperty(name);
+                    return Boolean.valueOf(booleanAsString);
+                }
+
+                @Override
+                public String buildForJvm(String propertyValue) {
+                    return "-D" + name + "=" + propertyValue;
+                }
+            };
+
+    /**
+     * Port on which the test JVM receives the records of the forked JVM, null without record channel.
+     */
+    public static final SystemProperty<Integer> RECORD_CHANNEL_PORT =
+            new SystemProperty<Integer>() {
+
+                private final String name = "quickPerfRecordChannelPort";
+
+                @Override
+                public Integer evaluate() {
+                    String portAsString = System.getProperty(name);
+                    if (portAsString == null) {
+                        return null;
+                    }
+                    return Integer.valueOf(portAsString);
+                }
+
+                @Override
+                public String buildForJvm(String propertyValue) {
+                    return "-D" + name + "=" + propertyValue;
+                }
+            };
+
+    /**
+     * Secret checked by the test JVM on the connections of the forked JVMs to the record channel.
+     */
+    public static final SystemProperty<String> RECORD_CHANNEL_TOKEN =
             new SystemProperty<String>() {
 
-                private final String name = "quickPerfWorkingFolder";
+                private final String name = "quickPerfRecordChannelToken";
 
                 @Override
                 public String evaluate() {
@@ -26,15 +203,47 @@ public class SystemProperties {
                 }
 
                 @Override
-                public String buildForJvm(String workingFolderPath) {
-                    return "-D" + name + "=" + workingFolderPath;
+                public String buildForJvm(String propertyValue) {
+                    return "-D" + name + "=" + propertyValue;
                 }
             };
 
-    public static final SystemProperty<Boolean> TEST_CODE_EXECUTING_IN_NEW_JVM =
+    /**
+     * Number of SQL executions kept in memory during a test, the other ones being
+     * appended to files of the working folder. A value lower than 1, the default one,
+     * keeps all the executions in memory.
+     */
+    public static final SystemProperty<Integer> SQL_EXECUTIONS_KEPT_IN_MEMORY =
+            new SystemProperty<Integer>() {
+
+                private final String name = "quickPerfSqlExecutionsKeptInMemory";
+
+                private static final int DEFAULT_SQL_EXECUTIONS_KEPT_IN_MEMORY = 0;
+
+                @Override
+                public Integer evaluate() {
+                    String sqlExecutionsAsString = System.getProperty(name);
+                    if (sqlExecutionsAsString == null) {
+                        return DEFAULT_SQL_EXECUTIONS_KEPT_IN_MEMORY;
+                    }
+                    return Integer.valueOf(sqlExecutionsAsString);
+                }
+
+                @Override
+                public String buildForJvm(String propertyValue) {
+                    return "-D" + name + "=" + propertyValue;
+                }
+            };
+
+    /**
+     * Only the measures of the SQL executions are kept during a test, with its last
+     * {@link #SQL_EXECUTIONS_KEPT_IN_MEMORY} executions for the report, the last 100 if this
+     * number is lower than 1.
+     */
+    public static final SystemProperty<Boolean> SQL_AGGREGATE_ONLY =
             new SystemProperty<Boolean>() {
 
-                private final String name = "quickPerfToExecInASpecificJvm";
+                private final String name = "quickPerfSqlAggregateOnly";
 
                 @Override
                 public Boolean evaluate() {
@@ -48,10 +257,13 @@ public class SystemProperties {
                 }
             };
 
-    public static final SystemProperty<Boolean> QUICK_PERF_DISABLED =
+    /**
+     * SQL executions are given to the recorders from a background thread.
+     */
+    public static final SystemProperty<Boolean> SQL_ASYNC_RECORDING =
             new SystemProperty<Boolean>() {
 
-                private final String name = "disableQuickPerf";
+                private final String name = "quickPerfSqlAsyncRecording";
 
                 @Override
                 public Boolean evaluate() {
@@ -64,4 +276,22 @@ public class SystemProperties {
                     return "-D" + name + "=" + propertyValue;
                 }
             };
+
+    public static final SystemProperty<Boolean> SQL_RECORDING_OF_POOLED_THREADS =
+            new SystemProperty<Boolean>() {
+
+                private final String name = "quickPerfSqlRecordingOfPooledThreads";
+
+                @Override
+                public Boolean evaluate() {
+                    String booleanAsString = System.getProperty(name);
+                    return Boolean.valueOf(booleanAsString);
+                }
+
+                @Override
+                public String buildForJvm(String propertyValue) {
+                    return "-D" + name + "=" + propertyValue;
+                }
+            };
+
 }
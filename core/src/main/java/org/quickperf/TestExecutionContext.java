@@ -11,22 +11,16 @@
 
 package org.quickperf;
 
-import org.quickperf.annotation.DebugQuickPerf;
 import org.quickperf.annotation.DisableQuickPerf;
-import org.quickperf.annotation.DisplayAppliedAnnotations;
 import org.quickperf.annotation.FunctionalIteration;
 import org.quickperf.config.library.QuickPerfConfigs;
 import org.quickperf.config.library.SetOfAnnotationConfigs;
-import org.quickperf.perfrecording.ExecutionOrderOfPerfRecorders;
-import org.quickperf.perfrecording.ExtractablePerfRecorderParametersFromAnnotation;
-import org.quickperf.perfrecording.PerfRecorderParameters;
 import org.quickperf.perfrecording.RecordablePerformance;
+import org.quickperf.repository.RecordChannelServer;
 import org.quickperf.testlauncher.AllJvmOptions;
 import org.quickperf.testlauncher.JvmOption;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.*;
 
@@ -40,6 +34,10 @@ public class TestExecutionContext {
 
     private boolean testMethodToBeLaunchedInASpecificJvm;
 
+    private boolean testMethodToBeLaunchedInAPristineJvm;
+
+    private boolean testMethodToBeLaunchedAlone;
+
     private AllJvmOptions jvmOptions;
 
     private Annotation[] perfAnnotations;
@@ -58,16 +56,12 @@ public class TestExecutionContext {
     // Used by QuickPerfSpringRunner
     public static TestExecutionContext buildNewJvmFrom(QuickPerfConfigs quickPerfConfigs
                                                      , Method testMethod) {
-        SetOfAnnotationConfigs testAnnotationConfigs = quickPerfConfigs.getTestAnnotationConfigs();
-        AnnotationsExtractor annotationsExtractor = AnnotationsExtractor.INSTANCE;
-
-        Annotation[] perfAnnotations = annotationsExtractor.extractAnnotationsFor(testMethod, testAnnotationConfigs);
+        TestMethodExecutionPlan executionPlan = TestMethodExecutionPlan.of(quickPerfConfigs, testMethod);
         boolean isTestMethodToBeLaunchedInASpecificJvm = true;
 
         int runnerAllocationOffset = 0;
         TestExecutionContext testExecutionContext = buildFrom(quickPerfConfigs
-                                                            , testAnnotationConfigs
-                                                            , perfAnnotations
+                                                            , executionPlan
                                                             , isTestMethodToBeLaunchedInASpecificJvm
                                                             , runnerAllocationOffset);
 
@@ -89,37 +83,31 @@ public class TestExecutionContext {
                                                 , Method testMethod
                                                 , int runnerAllocationOffset) {
 
-        SetOfAnnotationConfigs testAnnotationConfigs = quickPerfConfigs.getTestAnnotationConfigs();
-        AnnotationsExtractor annotationsExtractor = AnnotationsExtractor.INSTANCE;
-
-        Annotation[] perfAnnotations = annotationsExtractor.extractAnnotationsFor(testMethod, testAnnotationConfigs);
-        boolean isTestMethodToBeLaunchedInASpecificJvm = testAnnotationConfigs.hasTestMethodToBeLaunchedInASpecificJvmWith(perfAnnotations);
+        TestMethodExecutionPlan executionPlan = TestMethodExecutionPlan.of(quickPerfConfigs, testMethod);
 
         return buildFrom(quickPerfConfigs
-                       , testAnnotationConfigs
-                       , perfAnnotations
-                       , isTestMethodToBeLaunchedInASpecificJvm
+                       , executionPlan
+                       , executionPlan.testMethodToBeLaunchedInASpecificJvm()
                        , runnerAllocationOffset);
     }
 
     private static TestExecutionContext buildFrom(QuickPerfConfigs quickPerfConfigs
-                                                , SetOfAnnotationConfigs testAnnotationConfigs
-                                                , Annotation[] perfAnnotations
+                                                , TestMethodExecutionPlan executionPlan
                                                 , boolean isTestMethodToBeLaunchedInASpecificJvm
                                                 , int runnerAllocationOffset) {
 
         TestExecutionContext testExecutionContext = new TestExecutionContext();
 
-        if (quickPerfIsDisabled(perfAnnotations)) {
+        if (executionPlan.isQuickPerfDisabled()) {
             testExecutionContext.quickPerfDisabled = true;
             return testExecutionContext;
         }
 
-        testExecutionContext.quickPerfAnnotationsToBeDisplayed
-                = haveQuickPerfAnnotationsToBeDisplayed(perfAnnotations);
+        testExecutionContext.quickPerfAnnotationsToBeDisplayed = executionPlan.areQuickPerfAnnotationsToBeDisplayed();
 
-        testExecutionContext.quickPerfDebugMode = isQuickPerfDebugMode(perfAnnotations);
+        testExecutionContext.quickPerfDebugMode = executionPlan.isQuickPerfDebugMode();
 
+        Annotation[] perfAnnotations = executionPlan.getPerfAnnotations();
         testExecutionContext.perfAnnotations = perfAnnotations;
 
         WorkingFolder workingFolder = WorkingFolder.createOrRetrieveWorkingFolder(isTestMethodToBeLaunchedInASpecificJvm);
@@ -127,9 +115,14 @@ public class TestExecutionContext {
 
         testExecutionContext.testMethodToBeLaunchedInASpecificJvm = isTestMethodToBeLaunchedInASpecificJvm;
 
+        testExecutionContext.testMethodToBeLaunchedInAPristineJvm = executionPlan.testMethodToBeLaunchedInAPristineJvm();
+
+        testExecutionContext.testMethodToBeLaunchedAlone = executionPlan.testMethodToBeLaunchedAlone();
+
         Boolean testCodeIsExecutingInNewJvm = SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate();
 
         if (isTestMethodToBeLaunchedInASpecificJvm && !testCodeIsExecutingInNewJvm) {
+            SetOfAnnotationConfigs testAnnotationConfigs = quickPerfConfigs.getTestAnnotationConfigs();
             testExecutionContext.jvmOptions =
                     testAnnotationConfigs.retrieveJvmOptionsFor(perfAnnotations, workingFolder);
         }
@@ -138,88 +131,15 @@ public class TestExecutionContext {
             testExecutionContext.runnerAllocationOffset = runnerAllocationOffset;
         }
 
-        List<RecordablePerformance> perfRecordersToExecute = buildPerfRecordersToExecute(testAnnotationConfigs, perfAnnotations);
-
-        ExecutionOrderOfPerfRecorders executionOrderOfPerfRecorders = quickPerfConfigs.getExecutionOrderOfPerfRecorders();
+        RecordablePerformance[] perfRecorders = executionPlan.buildPerfRecorders();
 
-        testExecutionContext.perfRecordersToExecuteBeforeTestMethod = executionOrderOfPerfRecorders.sortPerfRecordersBeforeTestMethod(perfRecordersToExecute);
-        testExecutionContext.perfRecordersToExecuteAfterTestMethod = executionOrderOfPerfRecorders.sortPerfRecordersAfterTestMethod(perfRecordersToExecute);
+        testExecutionContext.perfRecordersToExecuteBeforeTestMethod = executionPlan.selectPerfRecordersToExecuteBeforeTestMethod(perfRecorders);
+        testExecutionContext.perfRecordersToExecuteAfterTestMethod = executionPlan.selectPerfRecordersToExecuteAfterTestMethod(perfRecorders);
 
         return testExecutionContext;
     }
 
-    private static List<RecordablePerformance> buildPerfRecordersToExecute(SetOfAnnotationConfigs testAnnotationConfigs, Annotation[] perfAnnotations) {
-        List<RecordablePerformance> perfRecordersToExecute = new ArrayList<>();
-        Set<Class<? extends RecordablePerformance>> perfRecorderClasses = new HashSet<>();
-        for (Annotation perfAnnotation : perfAnnotations) {
-            Class<? extends RecordablePerformance> perfRecorderClass = testAnnotationConfigs.retrievePerfRecorderClassFor(perfAnnotation);
-            if(perfRecorderClass!= null && !perfRecorderClasses.contains(perfRecorderClass)) {
-                RecordablePerformance perfRecorder = buildPerfRecorder(perfAnnotation
-                                                                     , perfRecorderClass
-                                                                     , testAnnotationConfigs
-                                                                      );
-                perfRecordersToExecute.add(perfRecorder);
-            }
-        }
-        return perfRecordersToExecute;
-    }
-
-    @SuppressWarnings("unchecked")
-    private static RecordablePerformance buildPerfRecorder(Annotation perfAnnotation
-                                                         , Class<? extends RecordablePerformance> perfRecorderClass
-                                                         , SetOfAnnotationConfigs testAnnotationConfigs) {
-        ExtractablePerfRecorderParametersFromAnnotation perfRecorderParamExtractor
-                = testAnnotationConfigs.retrievePerfRecorderParamExtractorFor(perfAnnotation);
-        if(perfRecorderParamExtractor != null) {
-            PerfRecorderParameters perfRecorderParameters = perfRecorderParamExtractor.extractFrom(perfAnnotation);
-            return instantiatePerfRecorderFrom(perfRecorderClass, perfRecorderParameters);
-        } else {
-            return instantiatePerfRecorderFrom(perfRecorderClass);
-        }
-    }
-
-    private static RecordablePerformance instantiatePerfRecorderFrom(Class<? extends RecordablePerformance> perfRecorderClass
-                                                                   , PerfRecorderParameters perfRecorderParameters) {
-        try {
-            Constructor<? extends RecordablePerformance> declaredConstructor = perfRecorderClass.getDeclaredConstructor(PerfRecorderParameters.class);
-            return declaredConstructor.newInstance(perfRecorderParameters);
-        } catch (InstantiationException | IllegalAccessException
-                | NoSuchMethodException | InvocationTargetException e) {
-            e.printStackTrace();
-            return RecordablePerformance.NONE;
-        }
-    }
-
-    private static RecordablePerformance instantiatePerfRecorderFrom(Class<? extends RecordablePerformance> perfRecorderClass) {
-        try {
-            Constructor<? extends RecordablePerformance> declaredConstructor = perfRecorderClass.getDeclaredConstructor();
-            return declaredConstructor.newInstance();
-        } catch (InstantiationException | IllegalAccessException
-                | NoSuchMethodException | InvocationTargetException e) {
-            e.printStackTrace();
-            return RecordablePerformance.NONE;
-        }
-    }
-
-    private static boolean haveQuickPerfAnnotationsToBeDisplayed(Annotation[] perfAnnotations) {
-        for (Annotation perfAnnotation : perfAnnotations) {
-            if (perfAnnotation.annotationType().equals(DisplayAppliedAnnotations.class)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private static boolean isQuickPerfDebugMode(Annotation[] perfAnnotations) {
-        for (Annotation perfAnnotation : perfAnnotations) {
-            if (perfAnnotation.annotationType().equals(DebugQuickPerf.class)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private static boolean quickPerfIsDisabled(Annotation[] perfAnnotations) {
+    public static boolean quickPerfIsDisabled(Annotation[] perfAnnotations) {
         if(SystemProperties.QUICK_PERF_DISABLED.evaluate()) {
             return true;
         }
@@ -231,7 +151,7 @@ public class TestExecutionContext {
         return false;
     }
 
-    private static boolean annotationDisablingQuickPerf(Annotation perfAnnotation) {
+    static boolean annotationDisablingQuickPerf(Annotation perfAnnotation) {
         return     perfAnnotation.annotationType().equals(DisableQuickPerf.class)
                 || perfAnnotation.annotationType().equals(FunctionalIteration.class);
     }
@@ -244,6 +164,14 @@ public class TestExecutionContext {
         return !testMethodToBeLaunchedInASpecificJvm;
     }
 
+    public boolean testExecutionNeedsAPristineJvm() {
+        return testMethodToBeLaunchedInAPristineJvm;
+    }
+
+    public boolean testExecutionNeedsTheMachineAlone() {
+        return testMethodToBeLaunchedAlone;
+    }
+
     public WorkingFolder getWorkingFolder() {
         return workingFolder;
     }
@@ -284,6 +212,9 @@ public class TestExecutionContext {
         for (RecordablePerformance perfRecorder : perfRecordersToExecuteAfterTestMethod) {
             perfRecorder.cleanResources();
         }
+        if (testExecutionUsesTwoJVMs()) {
+            RecordChannelServer.INSTANCE.forget(workingFolder.getPath());
+        }
     }
 
 }
@@ -0,0 +1,265 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf;
+
+import org.quickperf.annotation.DebugQuickPerf;
+import org.quickperf.annotation.DisplayAppliedAnnotations;
+import org.quickperf.config.library.QuickPerfConfigs;
+import org.quickperf.config.library.SetOfAnnotationConfigs;
+import org.quickperf.perfrecording.ExecutionOrderOfPerfRecorders;
+import org.quickperf.perfrecording.ExtractablePerfRecorderParametersFromAnnotation;
+import org.quickperf.perfrecording.PerfRecorderParameters;
+import org.quickperf.perfrecording.RecordablePerformance;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * What does not change from one execution of a test method to another: the QuickPerf annotations
+ * applying to the test method, the JVM needs and the perf recorders to build.
+ * An execution plan is built once for each test method and QuickPerf configuration.
+ */
+class TestMethodExecutionPlan {
+
+    private static final ClassValue<ConcurrentMap<Method, TestMethodExecutionPlan>> EXECUTION_PLANS_BY_TEST_CLASS = new ClassValue<ConcurrentMap<Method, TestMethodExecutionPlan>>() {
+        @Override
+        protected ConcurrentMap<Method, TestMethodExecutionPlan> computeValue(Class<?> testClass) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final QuickPerfConfigs quickPerfConfigs;
+
+    private final Annotation[] perfAnnotations;
+
+    private final boolean quickPerfDisabledByAnnotation;
+
+    private final boolean quickPerfAnnotationsToBeDisplayed;
+
+    private final boolean quickPerfDebugMode;
+
+    private final boolean testMethodToBeLaunchedInASpecificJvm;
+
+    private final boolean testMethodToBeLaunchedInAPristineJvm;
+
+    private final boolean testMethodToBeLaunchedAlone;
+
+    private final PerfRecorderFactory[] perfRecorderFactories;
+
+    private final int[] perfRecordersToExecuteBeforeTestMethod;
+
+    private final int[] perfRecordersToExecuteAfterTestMethod;
+
+    private TestMethodExecutionPlan(QuickPerfConfigs quickPerfConfigs, Method testMethod) {
+
+        this.quickPerfConfigs = quickPerfConfigs;
+
+        SetOfAnnotationConfigs testAnnotationConfigs = quickPerfConfigs.getTestAnnotationConfigs();
+        perfAnnotations = AnnotationsExtractor.INSTANCE.extractAnnotationsFor(testMethod, testAnnotationConfigs);
+
+        quickPerfDisabledByAnnotation = containsAnnotationDisablingQuickPerf(perfAnnotations);
+        quickPerfAnnotationsToBeDisplayed = contains(perfAnnotations, DisplayAppliedAnnotations.class);
+        quickPerfDebugMode = contains(perfAnnotations, DebugQuickPerf.class);
+
+        testMethodToBeLaunchedInASpecificJvm = testAnnotationConfigs.hasTestMethodToBeLaunchedInASpecificJvmWith(perfAnnotations);
+        testMethodToBeLaunchedInAPristineJvm = testAnnotationConfigs.hasTestMethodToBeLaunchedInAPristineJvmWith(perfAnnotations);
+        testMethodToBeLaunchedAlone = testAnnotationConfigs.hasTestMethodToBeLaunchedAloneWith(perfAnnotations);
+
+        List<Class<? extends RecordablePerformance>> perfRecorderClasses = new ArrayList<>();
+        List<PerfRecorderFactory> perfRecorderFactoryList = new ArrayList<>();
+        buildPerfRecorderFactories(testAnnotationConfigs, perfAnnotations, perfRecorderClasses, perfRecorderFactoryList);
+        perfRecorderFactories = perfRecorderFactoryList.toArray(new PerfRecorderFactory[0]);
+
+        ExecutionOrderOfPerfRecorders executionOrderOfPerfRecorders = quickPerfConfigs.getExecutionOrderOfPerfRecorders();
+        perfRecordersToExecuteBeforeTestMethod = findIndexes(executionOrderOfPerfRecorders.sortPerfRecorderClassesBeforeTestMethod(perfRecorderClasses)
+                                                           , perfRecorderClasses);
+        perfRecordersToExecuteAfterTestMethod = findIndexes(executionOrderOfPerfRecorders.sortPerfRecorderClassesAfterTestMethod(perfRecorderClasses)
+                                                          , perfRecorderClasses);
+
+    }
+
+    static TestMethodExecutionPlan of(QuickPerfConfigs quickPerfConfigs, Method testMethod) {
+        ConcurrentMap<Method, TestMethodExecutionPlan> executionPlans = EXECUTION_PLANS_BY_TEST_CLASS.get(testMethod.getDeclaringClass());
+        while (true) {
+            TestMethodExecutionPlan executionPlan = executionPlans.get(testMethod);
+            if (executionPlan != null && executionPlan.quickPerfConfigs == quickPerfConfigs) {
+                return executionPlan;
+            }
+            TestMethodExecutionPlan newExecutionPlan = new TestMethodExecutionPlan(quickPerfConfigs, testMethod);
+            if (executionPlan == null) {
+                TestMethodExecutionPlan concurrentExecutionPlan = executionPlans.putIfAbsent(testMethod, newExecutionPlan);
+                if (concurrentExecutionPlan == null) {
+                    return newExecutionPlan;
+                }
+            } else if (executionPlans.replace(testMethod, executionPlan, newExecutionPlan)) {
+                return newExecutionPlan;
+            }
+        }
+    }
+
+    // One perf recorder by annotation, the first annotation using a perf recorder class gives its perf recorder
+    private static void buildPerfRecorderFactories(SetOfAnnotationConfigs testAnnotationConfigs
+                                                 , Annotation[] perfAnnotations
+                                                 , List<Class<? extends RecordablePerformance>> perfRecorderClasses
+                                                 , List<PerfRecorderFactory> perfRecorderFactories) {
+        for (Annotation perfAnnotation : perfAnnotations) {
+            Class<? extends RecordablePerformance> perfRecorderClass = testAnnotationConfigs.retrievePerfRecorderClassFor(perfAnnotation);
+            if (perfRecorderClass != null && !perfRecorderClasses.contains(perfRecorderClass)) {
+                PerfRecorderFactory perfRecorderFactory = PerfRecorderFactory.build(perfAnnotation
+                                                                                  , perfRecorderClass
+                                                                                  , testAnnotationConfigs);
+                perfRecorderClasses.add(perfRecorderClass);
+                perfRecorderFactories.add(perfRecorderFactory);
+            }
+        }
+    }
+
+    private static int[] findIndexes(List<Class<? extends RecordablePerformance>> sortedPerfRecorderClasses
+                                   , List<Class<? extends RecordablePerformance>> perfRecorderClasses) {
+        int[] indexes = new int[sortedPerfRecorderClasses.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = perfRecorderClasses.indexOf(sortedPerfRecorderClasses.get(i));
+        }
+        return indexes;
+    }
+
+    private static boolean containsAnnotationDisablingQuickPerf(Annotation[] perfAnnotations) {
+        for (Annotation perfAnnotation : perfAnnotations) {
+            if (TestExecutionContext.annotationDisablingQuickPerf(perfAnnotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean contains(Annotation[] perfAnnotations, Class<? extends Annotation> annotationClass) {
+        for (Annotation perfAnnotation : perfAnnotations) {
+            if (perfAnnotation.annotationType().equals(annotationClass)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    RecordablePerformance[] buildPerfRecorders() {
+        RecordablePerformance[] perfRecorders = new RecordablePerformance[perfRecorderFactories.length];
+        for (int i = 0; i < perfRecorderFactories.length; i++) {
+            perfRecorders[i] = perfRecorderFactories[i].buildPerfRecorder();
+        }
+        return perfRecorders;
+    }
+
+    List<RecordablePerformance> selectPerfRecordersToExecuteBeforeTestMethod(RecordablePerformance[] perfRecorders) {
+        return select(perfRecorders, perfRecordersToExecuteBeforeTestMethod);
+    }
+
+    List<RecordablePerformance> selectPerfRecordersToExecuteAfterTestMethod(RecordablePerformance[] perfRecorders) {
+        return select(perfRecorders, perfRecordersToExecuteAfterTestMethod);
+    }
+
+    private static List<RecordablePerformance> select(RecordablePerformance[] perfRecorders, int[] indexes) {
+        List<RecordablePerformance> selectedPerfRecorders = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            RecordablePerformance perfRecorder = perfRecorders[index];
+            if (perfRecorder != RecordablePerformance.NONE) {
+                selectedPerfRecorders.add(perfRecorder);
+            }
+        }
+        return selectedPerfRecorders;
+    }
+
+    Annotation[] getPerfAnnotations() {
+        return perfAnnotations;
+    }
+
+    boolean isQuickPerfDisabled() {
+        return quickPerfDisabledByAnnotation || SystemProperties.QUICK_PERF_DISABLED.evaluate();
+    }
+
+    boolean areQuickPerfAnnotationsToBeDisplayed() {
+        return quickPerfAnnotationsToBeDisplayed;
+    }
+
+    boolean isQuickPerfDebugMode() {
+        return quickPerfDebugMode;
+    }
+
+    boolean testMethodToBeLaunchedInASpecificJvm() {
+        return testMethodToBeLaunchedInASpecificJvm;
+    }
+
+    boolean testMethodToBeLaunchedInAPristineJvm() {
+        return testMethodToBeLaunchedInAPristineJvm;
+    }
+
+    boolean testMethodToBeLaunchedAlone() {
+        return testMethodToBeLaunchedAlone;
+    }
+
+    private static class PerfRecorderFactory {
+
+        private static final Object[] NO_ARGS = new Object[0];
+
+        private static final PerfRecorderFactory NONE = new PerfRecorderFactory(null, NO_ARGS);
+
+        private final Constructor<? extends RecordablePerformance> constructor;
+
+        private final Object[] constructorArgs;
+
+        private PerfRecorderFactory(Constructor<? extends RecordablePerformance> constructor, Object[] constructorArgs) {
+            this.constructor = constructor;
+            this.constructorArgs = constructorArgs;
+        }
+
+        /**
+         * Returns {@link #NONE} if the perf recorder class has no expected constructor.
+         */
+        @SuppressWarnings("unchecked")
+        static PerfRecorderFactory build(Annotation perfAnnotation
+                                       , Class<? extends RecordablePerformance> perfRecorderClass
+                                       , SetOfAnnotationConfigs testAnnotationConfigs) {
+            ExtractablePerfRecorderParametersFromAnnotation perfRecorderParamExtractor
+                    = testAnnotationConfigs.retrievePerfRecorderParamExtractorFor(perfAnnotation);
+            try {
+                if (perfRecorderParamExtractor != null) {
+                    PerfRecorderParameters perfRecorderParameters = perfRecorderParamExtractor.extractFrom(perfAnnotation);
+                    Constructor<? extends RecordablePerformance> constructor = perfRecorderClass.getDeclaredConstructor(PerfRecorderParameters.class);
+                    return new PerfRecorderFactory(constructor, new Object[]{perfRecorderParameters});
+                }
+                return new PerfRecorderFactory(perfRecorderClass.getDeclaredConstructor(), NO_ARGS);
+            } catch (NoSuchMethodException e) {
+                e.printStackTrace();
+                return NONE;
+            }
+        }
+
+        RecordablePerformance buildPerfRecorder() {
+            if (constructor == null) {
+                return RecordablePerformance.NONE;
+            }
+            try {
+                return constructor.newInstance(constructorArgs);
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                e.printStackTrace();
+                return RecordablePerformance.NONE;
+            }
+        }
+
+    }
+
+}
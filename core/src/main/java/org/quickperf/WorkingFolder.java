@@ -13,6 +13,8 @@ package org.quickperf;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.UUID;
 
 public class WorkingFolder {
 
@@ -31,6 +33,12 @@ public class WorkingFolder {
             return new WorkingFolder(path);
         }
 
+        if (hasTestMethodToBeLaunchedInASpecificJvm && SystemProperties.RECORD_CHANNEL.evaluate()) {
+            // The records are sent through a socket, the folder is only created for files such as JFR recordings
+            String path = reserveTempDirectory();
+            return new WorkingFolder(path);
+        }
+
         if (hasTestMethodToBeLaunchedInASpecificJvm) {
             String path = createTempDirectory();
             return new WorkingFolder(path);
@@ -48,6 +56,22 @@ public class WorkingFolder {
         }
     }
 
+    private static String reserveTempDirectory() {
+        String tempDirectory = System.getProperty("java.io.tmpdir");
+        return Paths.get(tempDirectory, "QuickPerf-" + UUID.randomUUID()).toString();
+    }
+
+    public void createIfNotExists() {
+        if (path.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(Paths.get(path));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     public String getPath() {
         return path;
     }
@@ -33,6 +33,10 @@ public class AnnotationConfig {
 
     private boolean testHasToBeLaunchedInASpecificJvm;
 
+    private boolean specificJvmHasToBePristine;
+
+    private boolean specificJvmHasToRunAlone;
+
     private Class<? extends Annotation> classOfAnnotationToDisable;
 
     private AnnotationToJvmOptionConverter annotationToJvmOptionConverter;
@@ -59,6 +63,14 @@ public class AnnotationConfig {
         return testHasToBeLaunchedInASpecificJvm;
     }
 
+    boolean hasSpecificJvmToBePristine() {
+        return specificJvmHasToBePristine;
+    }
+
+    boolean hasSpecificJvmToRunAlone() {
+        return specificJvmHasToRunAlone;
+    }
+
     AnnotationToJvmOptionConverter getAnnotationToJvmOptionConverter() {
         return annotationToJvmOptionConverter;
     }
@@ -79,6 +91,10 @@ public class AnnotationConfig {
 
         private boolean testHasToBeLaunchedInASpecificJvm;
 
+        private boolean specificJvmHasToBePristine;
+
+        private boolean specificJvmHasToRunAlone;
+
         private Class<? extends Annotation> classOfAnnotationToDisable;
 
         private AnnotationToJvmOptionConverter annotationToJvmOptionConverter
@@ -115,6 +131,24 @@ public class AnnotationConfig {
             return this;
         }
 
+        /**
+         * The test will not be executed in a reused forked JVM, for example
+         * because the measure is about the whole JVM process.
+         */
+        public Builder specificJvmHasToBePristine() {
+            this.specificJvmHasToBePristine = true;
+            return this;
+        }
+
+        /**
+         * No other forked JVM will run at the same time, for example because
+         * the measure depends on the load of the machine.
+         */
+        public Builder specificJvmHasToRunAlone() {
+            this.specificJvmHasToRunAlone = true;
+            return this;
+        }
+
         public Builder cancelBehaviorOf(Class<? extends Annotation> annotationToDisable) {
             this.classOfAnnotationToDisable = annotationToDisable;
             return this;
@@ -141,6 +175,8 @@ public class AnnotationConfig {
 
             }
             annotationConfig.testHasToBeLaunchedInASpecificJvm = testHasToBeLaunchedInASpecificJvm;
+            annotationConfig.specificJvmHasToBePristine = specificJvmHasToBePristine;
+            annotationConfig.specificJvmHasToRunAlone = specificJvmHasToRunAlone;
             annotationConfig.annotationToJvmOptionConverter = annotationToJvmOptionConverter;
             annotationConfig.classOfAnnotationToDisable = classOfAnnotationToDisable;
             annotationConfig.perfRecorderParamsExtractorFromAnnot = perfRecorderParamsExtractorFromAnnot;
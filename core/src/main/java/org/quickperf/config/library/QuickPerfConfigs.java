@@ -19,11 +19,21 @@ public class QuickPerfConfigs {
 
     private final ExecutionOrderOfPerfRecorders executionOrderOfPerfRecorders;
 
+    private final long loadingTimeInNs;
+
     public QuickPerfConfigs( SetOfAnnotationConfigs testAnnotationConfigs
                            , ExecutionOrderOfPerfRecorders executionOrderOfPerfRecorders
+    ) {
+        this(testAnnotationConfigs, executionOrderOfPerfRecorders, 0);
+    }
+
+    QuickPerfConfigs( SetOfAnnotationConfigs testAnnotationConfigs
+                    , ExecutionOrderOfPerfRecorders executionOrderOfPerfRecorders
+                    , long loadingTimeInNs
     ) {
         this.executionOrderOfPerfRecorders = executionOrderOfPerfRecorders;
         this.testAnnotationConfigs = testAnnotationConfigs;
+        this.loadingTimeInNs = loadingTimeInNs;
     }
 
     public SetOfAnnotationConfigs getTestAnnotationConfigs() {
@@ -34,4 +44,8 @@ public class QuickPerfConfigs {
         return executionOrderOfPerfRecorders;
     }
 
+    public long getLoadingTimeInNs() {
+        return loadingTimeInNs;
+    }
+
 }
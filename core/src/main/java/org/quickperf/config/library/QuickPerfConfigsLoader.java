@@ -14,19 +14,41 @@ import org.quickperf.RecorderExecutionOrder;
 import org.quickperf.perfrecording.ExecutionOrderOfPerfRecorders;
 import org.quickperf.perfrecording.RecordablePerformance;
 
+import java.lang.ref.SoftReference;
 import java.util.*;
 
 public class QuickPerfConfigsLoader {
 
     public static final QuickPerfConfigsLoader INSTANCE = new QuickPerfConfigsLoader();
 
+    // The configurations reference classes of the class loader: a strong value would prevent the
+    // class loader from being garbage collected
+    private final Map<ClassLoader, SoftReference<QuickPerfConfigs>> quickPerfConfigsByClassLoader = new WeakHashMap<>();
+
     private QuickPerfConfigsLoader() { }
 
-    public QuickPerfConfigs loadQuickPerfConfigs() {
+    /**
+     * The configurations are loaded once for each class loader,
+     * and loaded again if the memory needed to be reclaimed.
+     */
+    public synchronized QuickPerfConfigs loadQuickPerfConfigs() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        SoftReference<QuickPerfConfigs> quickPerfConfigsReference = quickPerfConfigsByClassLoader.get(classLoader);
+        QuickPerfConfigs quickPerfConfigs = quickPerfConfigsReference == null ? null : quickPerfConfigsReference.get();
+        if (quickPerfConfigs == null) {
+            quickPerfConfigs = loadQuickPerfConfigsWith(classLoader);
+            quickPerfConfigsByClassLoader.put(classLoader, new SoftReference<>(quickPerfConfigs));
+        }
+        return quickPerfConfigs;
+    }
+
+    private QuickPerfConfigs loadQuickPerfConfigsWith(ClassLoader classLoader) {
+
+        long loadingStartTime = System.nanoTime();
 
         List<AnnotationConfig> loadedAnnotationConfigs = new ArrayList<>();
 
-        ServiceLoader<QuickPerfConfigLoader> loadedServices = ServiceLoader.load(QuickPerfConfigLoader.class);
+        ServiceLoader<QuickPerfConfigLoader> loadedServices = ServiceLoader.load(QuickPerfConfigLoader.class, classLoader);
 
         Iterator<QuickPerfConfigLoader> configLoaderIterator = loadedServices.iterator();
 
@@ -64,7 +86,9 @@ public class QuickPerfConfigsLoader {
                 = new ExecutionOrderOfPerfRecorders(perfRecordersOrderBeforeTestMethod,
                                                     perfRecordersOrderAfterTestMethod);
 
-        return new QuickPerfConfigs(testAnnotationConfigs, execOrderForPerfRecorders);
+        long loadingTimeInNs = System.nanoTime() - loadingStartTime;
+
+        return new QuickPerfConfigs(testAnnotationConfigs, execOrderForPerfRecorders, loadingTimeInNs);
     }
 
 }
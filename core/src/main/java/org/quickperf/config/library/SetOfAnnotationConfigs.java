@@ -26,20 +26,10 @@ import java.util.*;
 
 public class SetOfAnnotationConfigs {
 
-    private final Map<Class<? extends Annotation>, Class<? extends RecordablePerformance>> perfRecorderClassByAnnotationClass = new HashMap<>();
-
-    private final Map<Class<? extends Annotation>, ExtractablePerformanceMeasure> perfMeasureExtractorByAnnotationClass = new HashMap<>();
-
-    private final Map<Class<? extends Annotation>, VerifiablePerformanceIssue> perfIssueVerifierByAnnotationClass = new HashMap<>();
-
-    private final Map<Class<? extends Annotation>, Boolean> hasTestToBeLaunchedInASpecificJvmByAnnotationClass = new HashMap<>();
-
-    private final Map<Class<? extends Annotation>, AnnotationToJvmOptionConverter> annotationToJvmParamConverterByAnnotationClass = new HashMap<>();
+    private final Map<Class<? extends Annotation>, AnnotationConfig> annotationConfigByAnnotationClass = new HashMap<>();
 
     private final Map<Class<? extends Annotation>, Class<? extends Annotation>> classOfAnnotationToDisableByAnnotationClass = new HashMap<>();
 
-    private final Map<Class<? extends Annotation>, ExtractablePerfRecorderParametersFromAnnotation> perfRecorderParamsExtractorFromAnnotByAnnotationClass = new HashMap<>();
-
     public SetOfAnnotationConfigs(Collection<AnnotationConfig> annotationConfigs) {
         for (AnnotationConfig annotationConfig : annotationConfigs) {
             addAnnotationConfig(annotationConfig);
@@ -49,40 +39,26 @@ public class SetOfAnnotationConfigs {
     private void addAnnotationConfig(AnnotationConfig annotationConfig) {
         Class<? extends Annotation> annotationClass = annotationConfig.getClazz();
 
+        annotationConfigByAnnotationClass.put(annotationClass, annotationConfig);
+
         Class<? extends Annotation> classOfAnnotationToDisable = annotationConfig.getClassOfAnnotationToDisable();
         if(classOfAnnotationToDisable != null) {
             classOfAnnotationToDisableByAnnotationClass.put(annotationClass, classOfAnnotationToDisable);
         }
+    }
 
-        Class<? extends RecordablePerformance> perfRecorderClass = annotationConfig.getPerfRecorderClass();
-        perfRecorderClassByAnnotationClass.put(annotationClass, perfRecorderClass);
-
-        ExtractablePerformanceMeasure perfMeasureExtractor = annotationConfig.getPerfMeasureExtractor();
-        perfMeasureExtractorByAnnotationClass.put(annotationClass, perfMeasureExtractor);
-
-        VerifiablePerformanceIssue perfIssueVerifier = annotationConfig.getPerfIssueVerifier();
-        perfIssueVerifierByAnnotationClass.put(annotationClass, perfIssueVerifier);
-
-        boolean hasTestHasToBeLaunchedInASpecificJvm = annotationConfig.hasTestHasToBeLaunchedInASpecificJvm();
-        hasTestToBeLaunchedInASpecificJvmByAnnotationClass.put(annotationClass, hasTestHasToBeLaunchedInASpecificJvm);
-
-        AnnotationToJvmOptionConverter annotationToJvmOptionConverter = annotationConfig.getAnnotationToJvmOptionConverter();
-        annotationToJvmParamConverterByAnnotationClass.put(annotationClass, annotationToJvmOptionConverter);
-
-        ExtractablePerfRecorderParametersFromAnnotation perfRecorderParamsExtractorFromAnnot =
-                annotationConfig.getPerfRecorderParamsExtractorFromAnnot();
-        perfRecorderParamsExtractorFromAnnotByAnnotationClass.put(annotationClass, perfRecorderParamsExtractorFromAnnot);
-
+    private AnnotationConfig retrieveAnnotationConfigFor(Annotation annotation) {
+        return annotationConfigByAnnotationClass.get(annotation.annotationType());
     }
 
     public Class<? extends RecordablePerformance> retrievePerfRecorderClassFor(Annotation annotation) {
-        Class<? extends Annotation> clazz = annotation.annotationType();
-        return perfRecorderClassByAnnotationClass.get(clazz);
+        AnnotationConfig annotationConfig = retrieveAnnotationConfigFor(annotation);
+        return annotationConfig == null ? null : annotationConfig.getPerfRecorderClass();
     }
 
     public ExtractablePerformanceMeasure retrievePerfMeasureExtractorFor(Annotation annotation) {
-        Class<? extends Annotation> clazz = annotation.annotationType();
-        ExtractablePerformanceMeasure perfMeasureExtractor = perfMeasureExtractorByAnnotationClass.get(clazz);
+        AnnotationConfig annotationConfig = retrieveAnnotationConfigFor(annotation);
+        ExtractablePerformanceMeasure perfMeasureExtractor = annotationConfig == null ? null : annotationConfig.getPerfMeasureExtractor();
         if(perfMeasureExtractor == null) {
             return ExtractablePerformanceMeasure.RECORD_IS_PERF_MEASURE;
         }
@@ -90,8 +66,8 @@ public class SetOfAnnotationConfigs {
     }
 
     public VerifiablePerformanceIssue retrievePerfIssuerVerifierFor(Annotation annotation) {
-        Class<? extends Annotation> clazz = annotation.annotationType();
-        VerifiablePerformanceIssue perfIssueVerifier = perfIssueVerifierByAnnotationClass.get(clazz);
+        AnnotationConfig annotationConfig = retrieveAnnotationConfigFor(annotation);
+        VerifiablePerformanceIssue perfIssueVerifier = annotationConfig == null ? null : annotationConfig.getPerfIssueVerifier();
         if(perfIssueVerifier == null) {
             return VerifiablePerformanceIssue.NO_VERIFIABLE_PERF_ISSUE;
         }
@@ -101,8 +77,8 @@ public class SetOfAnnotationConfigs {
     public AllJvmOptions retrieveJvmOptionsFor(Annotation[] annotations, WorkingFolder workingFolder) {
         AllJvmOptions.Builder allJvmsParamsBuilder = new AllJvmOptions.Builder();
         for(Annotation annotation : annotations) {
-            Class<? extends Annotation> clazz = annotation.annotationType();
-            AnnotationToJvmOptionConverter annotationToJvmOptionConverter = annotationToJvmParamConverterByAnnotationClass.get(clazz);
+            AnnotationConfig annotationConfig = retrieveAnnotationConfigFor(annotation);
+            AnnotationToJvmOptionConverter annotationToJvmOptionConverter = annotationConfig == null ? null : annotationConfig.getAnnotationToJvmOptionConverter();
             if(annotationToJvmOptionConverter != null) {
                 @SuppressWarnings("unchecked") //For each annotation a converter is retrieved
                 List<JvmOption> jvmOptions = annotationToJvmOptionConverter.convertToJvmOptions(annotation, workingFolder);
@@ -122,9 +98,28 @@ public class SetOfAnnotationConfigs {
     }
 
     private boolean hasTestMethodToBeLaunchedInASpecificJvmWith(Annotation annotation) {
-        Class<? extends Annotation> clazz = annotation.annotationType();
-        Boolean testInNewJvm = hasTestToBeLaunchedInASpecificJvmByAnnotationClass.get(clazz);
-        return testInNewJvm == null ? false : testInNewJvm;
+        AnnotationConfig annotationConfig = retrieveAnnotationConfigFor(annotation);
+        return annotationConfig != null && annotationConfig.hasTestHasToBeLaunchedInASpecificJvm();
+    }
+
+    public boolean hasTestMethodToBeLaunchedInAPristineJvmWith(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            AnnotationConfig annotationConfig = retrieveAnnotationConfigFor(annotation);
+            if(annotationConfig != null && annotationConfig.hasSpecificJvmToBePristine()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean hasTestMethodToBeLaunchedAloneWith(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            AnnotationConfig annotationConfig = retrieveAnnotationConfigFor(annotation);
+            if(annotationConfig != null && annotationConfig.hasSpecificJvmToRunAlone()) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public List<Annotation> removeDisabledAndAndDisablingAnnotationsIn(Collection<Annotation> annotations) {
@@ -185,12 +180,12 @@ public class SetOfAnnotationConfigs {
     }
 
     private boolean isQuickPerfPerformanceAnnotation(Annotation annotation) {
-        Set<Class<? extends Annotation>> classesOfPerformanceAnnotations = perfRecorderClassByAnnotationClass.keySet();
-        return classesOfPerformanceAnnotations.contains(annotation.annotationType());
+        return annotationConfigByAnnotationClass.containsKey(annotation.annotationType());
     }
 
     public ExtractablePerfRecorderParametersFromAnnotation retrievePerfRecorderParamExtractorFor(Annotation perfAnnotation) {
-        return perfRecorderParamsExtractorFromAnnotByAnnotationClass.get(perfAnnotation.annotationType());
+        AnnotationConfig annotationConfig = retrieveAnnotationConfigFor(perfAnnotation);
+        return annotationConfig == null ? null : annotationConfig.getPerfRecorderParamsExtractorFromAnnot();
     }
 
 }
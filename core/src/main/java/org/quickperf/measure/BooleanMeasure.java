@@ -24,8 +24,12 @@ public class BooleanMeasure extends AbstractComparablePerfMeasure<BooleanMeasure
     private final String comment;
 
     public BooleanMeasure(Boolean value) {
+        this(value, NO_COMMENT);
+    }
+
+    public BooleanMeasure(Boolean value, String comment) {
         this.value = value;
-        this.comment = NO_COMMENT;
+        this.comment = comment;
     }
 
     @Override
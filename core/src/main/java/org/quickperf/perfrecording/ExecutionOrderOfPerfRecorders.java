@@ -56,4 +56,23 @@ public class ExecutionOrderOfPerfRecorders {
         return sortPerfRecorders(unsortedPerfRecorder, afterTestMethod);
     }
 
+    public List<Class<? extends RecordablePerformance>> sortPerfRecorderClassesBeforeTestMethod(Collection<Class<? extends RecordablePerformance>> unsortedPerfRecorderClasses) {
+        return sortPerfRecorderClasses(unsortedPerfRecorderClasses, beforeTestMethod);
+    }
+
+    public List<Class<? extends RecordablePerformance>> sortPerfRecorderClassesAfterTestMethod(Collection<Class<? extends RecordablePerformance>> unsortedPerfRecorderClasses) {
+        return sortPerfRecorderClasses(unsortedPerfRecorderClasses, afterTestMethod);
+    }
+
+    private List<Class<? extends RecordablePerformance>> sortPerfRecorderClasses(Collection<Class<? extends RecordablePerformance>> unsortedPerfRecorderClasses
+                                                                               , List<Class<? extends RecordablePerformance>> orderedPerfRecorders) {
+        List<Class<? extends RecordablePerformance>> sortedPerfRecorderClasses = new ArrayList<>();
+        for (Class<? extends RecordablePerformance> perfRecorderClass : orderedPerfRecorders) {
+            if (unsortedPerfRecorderClasses.contains(perfRecorderClass)) {
+                sortedPerfRecorderClasses.add(perfRecorderClass);
+            }
+        }
+        return sortedPerfRecorderClasses;
+    }
+
 }
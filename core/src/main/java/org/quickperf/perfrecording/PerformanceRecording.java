@@ -32,9 +32,20 @@ public class PerformanceRecording {
 
     public void stop(TestExecutionContext testExecutionContext) {
         List<RecordablePerformance> perfRecordersToExecuteAfterTestMethod = testExecutionContext.getPerfRecordersToExecuteAfterTestMethod();
+        RuntimeException stopFailure = null;
         for (int i = 0; i < perfRecordersToExecuteAfterTestMethod.size() ; i++) {
             RecordablePerformance recordablePerformance = perfRecordersToExecuteAfterTestMethod.get(i);
-            recordablePerformance.stopRecording(testExecutionContext);
+            try {
+                recordablePerformance.stopRecording(testExecutionContext);
+            } catch (RuntimeException e) {
+                // The other recorders are stopped before the failure is thrown
+                if (stopFailure == null) {
+                    stopFailure = e;
+                }
+            }
+        }
+        if (stopFailure != null) {
+            throw stopFailure;
         }
     }
 
@@ -17,6 +17,8 @@ import org.quickperf.RecorderExecutionOrder;
 import org.quickperf.annotation.DisplayAppliedAnnotations;
 import org.quickperf.config.SpecifiableGlobalAnnotations;
 import org.quickperf.config.library.QuickPerfConfigLoader;
+import org.quickperf.config.library.QuickPerfConfigs;
+import org.quickperf.config.library.QuickPerfConfigsLoader;
 
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
@@ -25,6 +27,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ServiceLoader;
+import java.util.concurrent.TimeUnit;
 
 class ConsoleReporter {
 
@@ -44,6 +47,15 @@ class ConsoleReporter {
 
         printExecutionOrders();
 
+        printConfigsLoadingTime();
+
+    }
+
+    private void printConfigsLoadingTime() {
+        QuickPerfConfigs quickPerfConfigs = QuickPerfConfigsLoader.INSTANCE.loadQuickPerfConfigs();
+        long loadingTimeInMs = TimeUnit.NANOSECONDS.toMillis(quickPerfConfigs.getLoadingTimeInNs());
+        System.out.println();
+        System.out.println("QUICKPERF CONFIGURATIONS LOADED IN " + loadingTimeInMs + " ms");
     }
 
     private void printJvmOptions(List<String> jvmOptions) {
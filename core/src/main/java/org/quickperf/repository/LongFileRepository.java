@@ -9,29 +9,37 @@
  * Copyright 2019-2020 the original author or authors.
  */
 
-package org.quickperf.repository;
 
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+package org.quickperf.repository;
 
 public class LongFileRepository implements LongRepository {
 
-    private final LongMemoryRepository longMemoryRepository = new LongMemoryRepository();
+    private static final RecordSerializer<Long> LONG_SERIALIZER = new RecordSerializer<Long>() {
+
+        @Override
+        public int getVersion() {
+            return 1;
+        }
+
+        @Override
+        public void write(Long longToSave, RecordOutput output) {
+            output.writeLong(longToSave);
+        }
 
-    private final ObjectInputStreamBuilder objectInputStreamBuilder = ObjectInputStreamBuilder.INSTANCE;
+        @Override
+        public Long read(RecordInput input) {
+            return input.readLong();
+        }
 
-    private final ObjectOutputStreamBuilder objectOutputStreamBuilder = ObjectOutputStreamBuilder.INSTANCE;
+    };
+
+    private final LongMemoryRepository longMemoryRepository = new LongMemoryRepository();
+
+    private final RecordFileRepository recordFileRepository = RecordFileRepository.INSTANCE;
 
     @Override
     public void save(long longToSave, String workingFolderPath, String fileName) {
-        try(ObjectOutputStream objectOutputStream = objectOutputStreamBuilder
-                                                   .build(workingFolderPath, fileName)) {
-            objectOutputStream.writeLong(longToSave);
-            objectOutputStream.flush();
-        } catch (IOException ioe) {
-            throw new IllegalStateException("Unable to save " + "", ioe);
-        }
+        recordFileRepository.save(workingFolderPath, fileName, longToSave, LONG_SERIALIZER);
     }
 
     @Override
@@ -40,7 +48,7 @@ public class LongFileRepository implements LongRepository {
         Long longValueFromMemory = longMemoryRepository.find(workingFolderPath, fileName);
 
         if(longValueFromMemory == null) {
-            Long longValueFromFile = retrieveLongValueFromFile(workingFolderPath, fileName);
+            Long longValueFromFile = recordFileRepository.find(workingFolderPath, fileName, LONG_SERIALIZER);
             longMemoryRepository.save(longValueFromFile, workingFolderPath, fileName);
             return longValueFromFile;
         }
@@ -48,13 +56,4 @@ public class LongFileRepository implements LongRepository {
         return longValueFromMemory;
     }
 
-    private Long retrieveLongValueFromFile(String workingFolderPath, String fileName) {
-        try(ObjectInputStream objectInputStream = objectInputStreamBuilder
-                                                 .buildObjectInputStream(workingFolderPath, fileName)) {
-            return objectInputStream.readLong();
-        } catch (IOException ioe) {
-            throw new IllegalStateException("Unable to deserialize.", ioe);
-        }
-    }
-
 }
@@ -13,6 +13,8 @@ package org.quickperf.repository;
 
 import org.quickperf.WorkingFolder;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
@@ -21,9 +23,7 @@ public class ObjectFileRepository {
 
     public static final ObjectFileRepository INSTANCE = new ObjectFileRepository();
 
-    private final ObjectInputStreamBuilder objectInputStreamBuilder = ObjectInputStreamBuilder.INSTANCE;
-
-    private final ObjectOutputStreamBuilder objectOutputStreamBuilder = ObjectOutputStreamBuilder.INSTANCE;
+    private final WorkingFolderFiles workingFolderFiles = WorkingFolderFiles.INSTANCE;
 
     public static ObjectFileRepository getInstance() {
         return INSTANCE;
@@ -34,13 +34,14 @@ public class ObjectFileRepository {
     }
 
     public void save(String workingFolderPath, String fileName, Object object) {
-        try(ObjectOutputStream objectOutputStream = objectOutputStreamBuilder
-                                                   .build(workingFolderPath, fileName)) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try(ObjectOutputStream objectOutputStream = new ObjectOutputStream(bytes)) {
             objectOutputStream.writeObject(object);
             objectOutputStream.flush();
         } catch (IOException e) {
             throw buildSerializationException(e);
         }
+        workingFolderFiles.write(workingFolderPath, fileName, bytes.toByteArray());
     }
 
     private IllegalStateException buildSerializationException(Exception e) {
@@ -48,8 +49,8 @@ public class ObjectFileRepository {
     }
 
     public Object find(String workingFolderPath, String fileName) {
-        try(ObjectInputStream ois = objectInputStreamBuilder
-                                   .buildObjectInputStream(workingFolderPath, fileName)) {
+        byte[] bytes = workingFolderFiles.read(workingFolderPath, fileName);
+        try(ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
             return ois.readObject();
         } catch (IOException|ClassNotFoundException e) {
             throw buildDeserializationException(e);
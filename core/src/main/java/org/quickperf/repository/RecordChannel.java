@@ -0,0 +1,127 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.repository;
+
+import org.quickperf.SystemProperties;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+
+/**
+ * Sends the files of the working folders from the forked JVM to the test JVM
+ * as soon as they are saved.
+ */
+public class RecordChannel {
+
+    public static final RecordChannel INSTANCE = new RecordChannel(SystemProperties.RECORD_CHANNEL_PORT.evaluate()
+                                                                 , SystemProperties.RECORD_CHANNEL_TOKEN.evaluate()
+                                                                 , SystemProperties.WORKING_FOLDER.evaluate());
+
+    static final byte FILE_FRAME = 1;
+
+    static final byte END_OF_TEST_FRAME = 2;
+
+    static final byte CONNECTION_FRAME = 3;
+
+    // Larger files are saved on disk
+    static final int MAX_FILE_LENGTH_IN_BYTES = 128 * 1024 * 1024;
+
+    private final Integer port;
+
+    private final String token;
+
+    // Working folder given to the forked JVM when it was launched, identifying it in the test JVM
+    private final String jvmWorkingFolderPath;
+
+    private DataOutputStream output;
+
+    private boolean connectionAttempted;
+
+    RecordChannel(Integer port, String token, String jvmWorkingFolderPath) {
+        this.port = port;
+        this.token = token;
+        this.jvmWorkingFolderPath = jvmWorkingFolderPath;
+    }
+
+    public synchronized boolean isOpen() {
+        if (!connectionAttempted) {
+            connectionAttempted = true;
+            output = connect();
+        }
+        return output != null;
+    }
+
+    private DataOutputStream connect() {
+        if (port == null || token == null) {
+            return null;
+        }
+        try {
+            Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            socket.setTcpNoDelay(true);
+            DataOutputStream connectionOutput = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            connectionOutput.writeByte(CONNECTION_FRAME);
+            connectionOutput.writeUTF(jvmWorkingFolderPath == null ? "" : jvmWorkingFolderPath);
+            connectionOutput.writeUTF(token);
+            connectionOutput.flush();
+            return connectionOutput;
+        } catch (IOException e) {
+            System.err.println("[QUICK PERF] Unable to connect to the test JVM on port " + port
+                             + ", the records are saved in files (" + e.getMessage() + ")");
+            return null;
+        }
+    }
+
+    boolean canSend(byte[] content) {
+        return content.length <= MAX_FILE_LENGTH_IN_BYTES && isOpen();
+    }
+
+    synchronized void send(String workingFolderPath, String fileName, byte[] content) {
+        try {
+            output.writeByte(FILE_FRAME);
+            output.writeUTF(workingFolderPath);
+            output.writeUTF(fileName);
+            output.writeInt(content.length);
+            output.write(content);
+            output.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to send " + fileName + " to the test JVM", e);
+        }
+    }
+
+    /**
+     * Tells the test JVM that all the records of the test are sent.
+     */
+    public synchronized void sendEndOfTest(String workingFolderPath) {
+        if (!isOpen()) {
+            return;
+        }
+        try {
+            output.writeByte(END_OF_TEST_FRAME);
+            output.writeUTF(workingFolderPath);
+            output.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to send the end of test to the test JVM", e);
+        }
+    }
+
+    synchronized void close() throws IOException {
+        if (output != null) {
+            output.close();
+            output = null;
+        }
+    }
+
+}
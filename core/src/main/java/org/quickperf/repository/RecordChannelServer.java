@@ -0,0 +1,297 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.repository;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Receives in the test JVM the files sent by the {@link RecordChannel} of the forked JVMs.
+ *
+ * The end of a test is sent by the forked JVM once its records are sent. The wait for it
+ * also ends when the connection of the forked JVM is closed, and shortly after the forked JVM
+ * stops if it never connected, its records being then saved in files.
+ *
+ * A connection is only accepted with the token given to the forked JVMs at their launch, and
+ * its files are only kept for the tests started with {@link #startTest(String)}.
+ */
+public class RecordChannelServer {
+
+    public static final RecordChannelServer INSTANCE = new RecordChannelServer();
+
+    // Covers a worker JVM unable to connect, whose stop is not reported
+    private static final long END_OF_TEST_TIMEOUT_IN_MS = 10000;
+
+    // Delay for the connection of a stopped JVM to be accepted and read
+    private static final long CONNECTION_OF_STOPPED_JVM_DELAY_IN_MS = 500;
+
+    private final ConcurrentHashMap<String, Map<String, byte[]>> contentByFileNameByPath = new ConcurrentHashMap<>();
+
+    private final Set<String> pathsOfRunningTests = new HashSet<>();
+
+    // Forked JVMs identified by the working folder given at their launch
+    private final Set<String> connectedJvms = new HashSet<>();
+
+    private final Set<String> jvmsWithOpenConnection = new HashSet<>();
+
+    private final Map<String, StoppedJvm> stoppedJvmOfRunningTests = new HashMap<>();
+
+    private final String token = UUID.randomUUID().toString();
+
+    private ServerSocket serverSocket;
+
+    RecordChannelServer() { }
+
+    public synchronized int getPort() {
+        if (serverSocket == null) {
+            serverSocket = startServerSocket();
+        }
+        return serverSocket.getLocalPort();
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    private ServerSocket startServerSocket() {
+        try {
+            final ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            startDaemonThread("QuickPerf record channel", new Runnable() {
+                @Override
+                public void run() {
+                    acceptConnections(serverSocket);
+                }
+            });
+            return serverSocket;
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to start the record channel", e);
+        }
+    }
+
+    private void acceptConnections(ServerSocket serverSocket) {
+        while (!serverSocket.isClosed()) {
+            try {
+                final Socket socket = serverSocket.accept();
+                startDaemonThread("QuickPerf record reader", new Runnable() {
+                    @Override
+                    public void run() {
+                        readRecords(socket);
+                    }
+                });
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void readRecords(Socket socket) {
+        String jvmWorkingFolderPath = null;
+        Set<String> workingFolderPathsOfConnection = new HashSet<>();
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+            if (input.readByte() != RecordChannel.CONNECTION_FRAME) {
+                throw new IOException("connection frame expected");
+            }
+            String connectionWorkingFolderPath = input.readUTF();
+            if (!isValid(input.readUTF())) {
+                throw new IOException("invalid token");
+            }
+            jvmWorkingFolderPath = connectionWorkingFolderPath;
+            jvmConnected(jvmWorkingFolderPath);
+            while (true) {
+                byte frame = input.readByte();
+                String workingFolderPath = input.readUTF();
+                if (frame == RecordChannel.FILE_FRAME) {
+                    String fileName = input.readUTF();
+                    byte[] content = readFileContent(input);
+                    if (isRunning(workingFolderPath)) {
+                        workingFolderPathsOfConnection.add(workingFolderPath);
+                        save(workingFolderPath, fileName, content);
+                    }
+                } else if (frame == RecordChannel.END_OF_TEST_FRAME) {
+                    workingFolderPathsOfConnection.remove(workingFolderPath);
+                    endTest(workingFolderPath);
+                } else {
+                    throw new IOException("unknown frame " + frame);
+                }
+            }
+        } catch (EOFException e) {
+            // The forked JVM has stopped
+        } catch (IOException e) {
+            System.err.println("[QUICK PERF] Record channel error: " + e.getMessage());
+        } finally {
+            connectionClosed(jvmWorkingFolderPath, workingFolderPathsOfConnection);
+        }
+    }
+
+    private boolean isValid(String receivedToken) {
+        byte[] tokenBytes = token.getBytes(StandardCharsets.UTF_8);
+        byte[] receivedTokenBytes = receivedToken.getBytes(StandardCharsets.UTF_8);
+        return MessageDigest.isEqual(tokenBytes, receivedTokenBytes);
+    }
+
+    private static byte[] readFileContent(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length < 0 || length > RecordChannel.MAX_FILE_LENGTH_IN_BYTES) {
+            throw new IOException("invalid file length " + length);
+        }
+        byte[] content = new byte[length];
+        input.readFully(content);
+        return content;
+    }
+
+    private synchronized boolean isRunning(String workingFolderPath) {
+        return pathsOfRunningTests.contains(workingFolderPath);
+    }
+
+    private void startDaemonThread(String name, Runnable runnable) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void save(String workingFolderPath, String fileName, byte[] content) {
+        Map<String, byte[]> newContentByFileName = new ConcurrentHashMap<>();
+        Map<String, byte[]> contentByFileName = contentByFileNameByPath.putIfAbsent(workingFolderPath, newContentByFileName);
+        if (contentByFileName == null) {
+            contentByFileName = newContentByFileName;
+        }
+        contentByFileName.put(fileName, content);
+    }
+
+    public synchronized void startTest(String workingFolderPath) {
+        pathsOfRunningTests.add(workingFolderPath);
+    }
+
+    private synchronized void endTest(String workingFolderPath) {
+        pathsOfRunningTests.remove(workingFolderPath);
+        stoppedJvmOfRunningTests.remove(workingFolderPath);
+        notifyAll();
+    }
+
+    private synchronized void jvmConnected(String jvmWorkingFolderPath) {
+        connectedJvms.add(jvmWorkingFolderPath);
+        jvmsWithOpenConnection.add(jvmWorkingFolderPath);
+        notifyAll();
+    }
+
+    // Nothing more can be received for the tests of the connection
+    private synchronized void connectionClosed(String jvmWorkingFolderPath, Set<String> workingFolderPathsOfConnection) {
+        jvmsWithOpenConnection.remove(jvmWorkingFolderPath);
+        for (String workingFolderPath : workingFolderPathsOfConnection) {
+            pathsOfRunningTests.remove(workingFolderPath);
+            stoppedJvmOfRunningTests.remove(workingFolderPath);
+        }
+        notifyAll();
+    }
+
+    /**
+     * Called once the forked JVM launched with <code>jvmWorkingFolderPath</code> has stopped.
+     */
+    public synchronized void jvmStopped(String jvmWorkingFolderPath, List<String> workingFolderPathsOfTests) {
+        StoppedJvm stoppedJvm = new StoppedJvm(jvmWorkingFolderPath, System.currentTimeMillis());
+        for (String workingFolderPath : workingFolderPathsOfTests) {
+            if (pathsOfRunningTests.contains(workingFolderPath)) {
+                stoppedJvmOfRunningTests.put(workingFolderPath, stoppedJvm);
+            }
+        }
+        notifyAll();
+    }
+
+    synchronized void waitForEndOfTest(String workingFolderPath) {
+        long timeLimit = System.currentTimeMillis() + END_OF_TEST_TIMEOUT_IN_MS;
+        while (pathsOfRunningTests.contains(workingFolderPath)) {
+            long remainingTime = Math.min(timeLimit, findWaitLimitForStoppedJvm(workingFolderPath))
+                               - System.currentTimeMillis();
+            if (remainingTime <= 0) {
+                pathsOfRunningTests.remove(workingFolderPath);
+                stoppedJvmOfRunningTests.remove(workingFolderPath);
+                return;
+            }
+            try {
+                wait(remainingTime);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private long findWaitLimitForStoppedJvm(String workingFolderPath) {
+        StoppedJvm stoppedJvm = stoppedJvmOfRunningTests.get(workingFolderPath);
+        if (stoppedJvm == null || jvmsWithOpenConnection.contains(stoppedJvm.workingFolderPath)) {
+            return Long.MAX_VALUE;
+        }
+        if (connectedJvms.contains(stoppedJvm.workingFolderPath)) {
+            // The connection is closed
+            return stoppedJvm.stopTime;
+        }
+        return stoppedJvm.stopTime + CONNECTION_OF_STOPPED_JVM_DELAY_IN_MS;
+    }
+
+    byte[] find(String workingFolderPath, String fileName) {
+        Map<String, byte[]> contentByFileName = contentByFileNameByPath.get(workingFolderPath);
+        if (contentByFileName == null) {
+            return null;
+        }
+        return contentByFileName.get(fileName);
+    }
+
+    void delete(String workingFolderPath, String fileName) {
+        Map<String, byte[]> contentByFileName = contentByFileNameByPath.get(workingFolderPath);
+        if (contentByFileName != null) {
+            contentByFileName.remove(fileName);
+        }
+    }
+
+    void move(String sourcePath, String targetPath) {
+        Map<String, byte[]> contentByFileName = contentByFileNameByPath.remove(sourcePath);
+        if (contentByFileName != null) {
+            contentByFileNameByPath.put(targetPath, contentByFileName);
+        }
+    }
+
+    public synchronized void forget(String workingFolderPath) {
+        contentByFileNameByPath.remove(workingFolderPath);
+        pathsOfRunningTests.remove(workingFolderPath);
+        stoppedJvmOfRunningTests.remove(workingFolderPath);
+        connectedJvms.remove(workingFolderPath);
+    }
+
+    private static class StoppedJvm {
+
+        private final String workingFolderPath;
+
+        private final long stopTime;
+
+        private StoppedJvm(String workingFolderPath, long stopTime) {
+            this.workingFolderPath = workingFolderPath;
+            this.stopTime = stopTime;
+        }
+
+    }
+
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.repository;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Saves records exchanged between the JVM executing the test and the one verifying
+ * its performance, without the cost of Java serialization.
+ *
+ * The file is sent through the {@link RecordChannel} if the forked JVM is connected
+ * to the test JVM, written to the disk otherwise. In both cases the file is first built in a heap buffer.
+ *
+ * A record file contains:
+ * <ul>
+ *     <li>a header: format magic number, format version, record version, content size and string count</li>
+ *     <li>the content written with primitive values by the {@link RecordSerializer}</li>
+ *     <li>the string table: size and UTF-8 bytes of each distinct string</li>
+ * </ul>
+ */
+public class RecordFileRepository {
+
+    public static final RecordFileRepository INSTANCE = new RecordFileRepository();
+
+    private static final int MAGIC_NUMBER = 0x51505246;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int HEADER_SIZE = 5 * 4;
+
+    private final WorkingFolderFiles workingFolderFiles = WorkingFolderFiles.INSTANCE;
+
+    private RecordFileRepository() { }
+
+    public <T> void save(String workingFolderPath, String fileName, T record, RecordSerializer<T> serializer) {
+
+        byte[] file = buildFile(record, serializer);
+
+        if (workingFolderFiles.areSentToTestJvm()) {
+            workingFolderFiles.write(workingFolderPath, fileName, file);
+            return;
+        }
+
+        Path path = Paths.get(workingFolderPath, fileName);
+        writeFile(path, file);
+
+    }
+
+    /**
+     * Saves the record on the disk of the current JVM, even if the working folder files
+     * are sent to the test JVM.
+     */
+    public <T> void saveInFile(Path path, T record, RecordSerializer<T> serializer) {
+        writeFile(path, buildFile(record, serializer));
+    }
+
+    private <T> byte[] buildFile(T record, RecordSerializer<T> serializer) {
+        RecordOutput output = new RecordOutput();
+        serializer.write(record, output);
+        List<byte[]> encodedStrings = output.encodeStrings();
+        ByteBuffer file = ByteBuffer.allocate((int) computeFileSize(output, encodedStrings));
+        write(file, serializer.getVersion(), output, encodedStrings);
+        return file.array();
+    }
+
+    private long computeFileSize(RecordOutput output, List<byte[]> encodedStrings) {
+        long fileSize = HEADER_SIZE + output.getContentSize();
+        for (byte[] encodedString : encodedStrings) {
+            fileSize += 4 + encodedString.length;
+        }
+        return fileSize;
+    }
+
+    private void writeFile(Path path, byte[] file) {
+        try {
+            Files.createDirectories(path.getParent());
+            Files.write(path, file);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to save " + path, e);
+        }
+    }
+
+    private void write(ByteBuffer file, int recordVersion, RecordOutput output, List<byte[]> encodedStrings) {
+        file.putInt(MAGIC_NUMBER);
+        file.putInt(FORMAT_VERSION);
+        file.putInt(recordVersion);
+        file.putInt(output.getContentSize());
+        file.putInt(encodedStrings.size());
+        output.copyContentTo(file);
+        for (byte[] encodedString : encodedStrings) {
+            file.putInt(encodedString.length);
+            file.put(encodedString);
+        }
+    }
+
+    public <T> T find(String workingFolderPath, String fileName, RecordSerializer<T> serializer) {
+        Path path = Paths.get(workingFolderPath, fileName);
+        ByteBuffer file = ByteBuffer.wrap(workingFolderFiles.read(workingFolderPath, fileName));
+        return read(path, file, serializer);
+    }
+
+    /**
+     * Reads a record saved with {@link #saveInFile(Path, Object, RecordSerializer)}.
+     */
+    public <T> T findInFile(Path path, RecordSerializer<T> serializer) {
+        try {
+            return read(path, ByteBuffer.wrap(Files.readAllBytes(path)), serializer);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read " + path, e);
+        }
+    }
+
+    private <T> T read(Path path, ByteBuffer file, RecordSerializer<T> serializer) {
+
+        if (file.limit() < HEADER_SIZE || file.getInt() != MAGIC_NUMBER) {
+            throw new IllegalStateException(path + " is not a QuickPerf record file.");
+        }
+        int formatVersion = file.getInt();
+        int recordVersion = file.getInt();
+        if (formatVersion != FORMAT_VERSION || recordVersion != serializer.getVersion()) {
+            throw new IllegalStateException(  path + " has format version " + formatVersion
+                                            + " and record version " + recordVersion
+                                            + ", expected " + FORMAT_VERSION + " and " + serializer.getVersion() + ".");
+        }
+        int contentSize = file.getInt();
+        int stringCount = file.getInt();
+
+        ByteBuffer content = file.slice();
+        content.limit(contentSize);
+
+        file.position(HEADER_SIZE + contentSize);
+        String[] strings = new String[stringCount];
+        for (int i = 0; i < stringCount; i++) {
+            byte[] encodedString = new byte[file.getInt()];
+            file.get(encodedString);
+            strings[i] = new String(encodedString, RecordOutput.UTF_8);
+        }
+
+        return serializer.read(new RecordInput(content, strings));
+
+    }
+
+    public boolean exists(String workingFolderPath, String fileName) {
+        return workingFolderFiles.exists(workingFolderPath, fileName);
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.repository;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
+
+public class RecordInput {
+
+    private final ByteBuffer content;
+
+    private final String[] strings;
+
+    RecordInput(ByteBuffer content, String[] strings) {
+        this.content = content;
+        this.strings = strings;
+    }
+
+    public byte readByte() {
+        return content.get();
+    }
+
+    public boolean readBoolean() {
+        return content.get() != 0;
+    }
+
+    public short readShort() {
+        return content.getShort();
+    }
+
+    public int readInt() {
+        return content.getInt();
+    }
+
+    public long readLong() {
+        return content.getLong();
+    }
+
+    public float readFloat() {
+        return content.getFloat();
+    }
+
+    public double readDouble() {
+        return content.getDouble();
+    }
+
+    public String readString() {
+        int index = content.getInt();
+        if (index == RecordOutput.NULL_STRING_INDEX) {
+            return null;
+        }
+        return strings[index];
+    }
+
+    public int[] readInts() {
+        int[] values = new int[content.getInt()];
+        content.asIntBuffer().get(values);
+        content.position(content.position() + 4 * values.length);
+        return values;
+    }
+
+    public byte[] readBytes() {
+        byte[] values = new byte[content.getInt()];
+        content.get(values);
+        return values;
+    }
+
+    public Object readSerializable() {
+        byte[] bytes = readBytes();
+        try (ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return objectInputStream.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Unable to deserialize.", e);
+        }
+    }
+
+}
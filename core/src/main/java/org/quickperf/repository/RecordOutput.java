@@ -0,0 +1,147 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.repository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Content of a record file. Each distinct string is written once in the string table
+ * of the file, the content only refers to its index.
+ */
+public class RecordOutput {
+
+    static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    static final int NULL_STRING_INDEX = -1;
+
+    private ByteBuffer content = ByteBuffer.allocate(1024);
+
+    private final Map<String, Integer> indexByString = new HashMap<>();
+
+    private final List<String> strings = new ArrayList<>();
+
+    RecordOutput() { }
+
+    public void writeByte(byte value) {
+        ensureCapacity(1);
+        content.put(value);
+    }
+
+    public void writeBoolean(boolean value) {
+        writeByte(value ? (byte) 1 : (byte) 0);
+    }
+
+    public void writeShort(short value) {
+        ensureCapacity(2);
+        content.putShort(value);
+    }
+
+    public void writeInt(int value) {
+        ensureCapacity(4);
+        content.putInt(value);
+    }
+
+    public void writeLong(long value) {
+        ensureCapacity(8);
+        content.putLong(value);
+    }
+
+    public void writeFloat(float value) {
+        ensureCapacity(4);
+        content.putFloat(value);
+    }
+
+    public void writeDouble(double value) {
+        ensureCapacity(8);
+        content.putDouble(value);
+    }
+
+    public void writeString(String value) {
+        if (value == null) {
+            writeInt(NULL_STRING_INDEX);
+            return;
+        }
+        Integer index = indexByString.get(value);
+        if (index == null) {
+            index = strings.size();
+            strings.add(value);
+            indexByString.put(value, index);
+        }
+        writeInt(index);
+    }
+
+    public void writeInts(int[] values) {
+        writeInt(values.length);
+        ensureCapacity(4 * values.length);
+        content.asIntBuffer().put(values);
+        content.position(content.position() + 4 * values.length);
+    }
+
+    public void writeBytes(byte[] values) {
+        writeInt(values.length);
+        ensureCapacity(values.length);
+        content.put(values);
+    }
+
+    /**
+     * Fallback for the values without primitive representation.
+     */
+    public void writeSerializable(Serializable value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(bytes)) {
+            objectOutputStream.writeObject(value);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to serialize " + value, e);
+        }
+        writeBytes(bytes.toByteArray());
+    }
+
+    private void ensureCapacity(int byteCount) {
+        if (content.remaining() >= byteCount) {
+            return;
+        }
+        int newCapacity = Math.max(content.capacity() * 2, content.position() + byteCount);
+        ByteBuffer newContent = ByteBuffer.allocate(newCapacity);
+        content.flip();
+        newContent.put(content);
+        content = newContent;
+    }
+
+    int getContentSize() {
+        return content.position();
+    }
+
+    void copyContentTo(ByteBuffer target) {
+        ByteBuffer writtenContent = content.duplicate();
+        writtenContent.flip();
+        target.put(writtenContent);
+    }
+
+    List<byte[]> encodeStrings() {
+        List<byte[]> encodedStrings = new ArrayList<>(strings.size());
+        for (String string : strings) {
+            encodedStrings.add(string.getBytes(UTF_8));
+        }
+        return encodedStrings;
+    }
+
+}
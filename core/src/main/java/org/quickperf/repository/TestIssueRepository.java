@@ -14,13 +14,11 @@ package org.quickperf.repository;
 import org.quickperf.issue.TestIssue;
 import org.quickperf.WorkingFolder;
 
-import java.io.File;
-
 public class TestIssueRepository {
 
     public static final TestIssueRepository INSTANCE = new TestIssueRepository();
 
-    private final String fileName = "testIssue.ser";
+    public static final String FILE_NAME = "testIssue.ser";
 
     private final ObjectFileRepository objectFileRepository = ObjectFileRepository.INSTANCE;
 
@@ -30,20 +28,18 @@ public class TestIssueRepository {
         if(testIssue.isNone()) {
            return;
         }
-        objectFileRepository.save(workingFolderPath, fileName, testIssue);
+        objectFileRepository.save(workingFolderPath, FILE_NAME, testIssue);
     }
 
     public TestIssue findFrom(WorkingFolder workingFolder) {
         if(serializationFileExists(workingFolder)) {
-            return (TestIssue) objectFileRepository.find(workingFolder.getPath(), fileName);
+            return (TestIssue) objectFileRepository.find(workingFolder.getPath(), FILE_NAME);
         }
         return TestIssue.NONE;
     }
 
     private boolean serializationFileExists(WorkingFolder workingFolder) {
-        String filePath = workingFolder.getPath() + File.separator + fileName;
-        File file = new File(filePath);
-        return file.exists();
+        return WorkingFolderFiles.INSTANCE.exists(workingFolder.getPath(), FILE_NAME);
     }
 
 }
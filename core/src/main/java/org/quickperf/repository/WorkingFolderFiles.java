@@ -0,0 +1,111 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.repository;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Files of the working folders, sent through the {@link RecordChannel} if the forked JVM
+ * is connected to the test JVM, saved on disk otherwise.
+ */
+public class WorkingFolderFiles {
+
+    public static final WorkingFolderFiles INSTANCE = new WorkingFolderFiles();
+
+    private final RecordChannel recordChannel = RecordChannel.INSTANCE;
+
+    private final RecordChannelServer recordChannelServer = RecordChannelServer.INSTANCE;
+
+    private WorkingFolderFiles() { }
+
+    boolean areSentToTestJvm() {
+        return recordChannel.isOpen();
+    }
+
+    void write(String workingFolderPath, String fileName, byte[] content) {
+        if (recordChannel.canSend(content)) {
+            recordChannel.send(workingFolderPath, fileName, content);
+            return;
+        }
+        Path path = Paths.get(workingFolderPath, fileName);
+        try {
+            Files.createDirectories(path.getParent());
+            Files.write(path, content);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to save " + path, e);
+        }
+    }
+
+    byte[] read(String workingFolderPath, String fileName) {
+        recordChannelServer.waitForEndOfTest(workingFolderPath);
+        byte[] receivedContent = recordChannelServer.find(workingFolderPath, fileName);
+        if (receivedContent != null) {
+            return receivedContent;
+        }
+        // Read into the heap rather than mapped: a mapped file can't be moved or deleted on Windows
+        // before the mapping is garbage collected
+        Path path = Paths.get(workingFolderPath, fileName);
+        try {
+            return Files.readAllBytes(path);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read " + path, e);
+        }
+    }
+
+    public boolean exists(String workingFolderPath, String fileName) {
+        recordChannelServer.waitForEndOfTest(workingFolderPath);
+        return    recordChannelServer.find(workingFolderPath, fileName) != null
+               || Files.exists(Paths.get(workingFolderPath, fileName));
+    }
+
+    public void delete(String workingFolderPath, String fileName) {
+        recordChannelServer.delete(workingFolderPath, fileName);
+        try {
+            Files.deleteIfExists(Paths.get(workingFolderPath, fileName));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Moves the files of the source folder, the source folder is deleted.
+     */
+    public void move(String sourceFolderPath, String targetFolderPath) {
+        recordChannelServer.waitForEndOfTest(sourceFolderPath);
+        recordChannelServer.move(sourceFolderPath, targetFolderPath);
+        Path sourcePath = Paths.get(sourceFolderPath);
+        if (!Files.exists(sourcePath)) {
+            return;
+        }
+        Path targetPath = Paths.get(targetFolderPath);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(sourcePath)) {
+            Files.createDirectories(targetPath);
+            for (Path file : files) {
+                Files.move(file, targetPath.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        try {
+            Files.delete(sourcePath);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -12,6 +12,7 @@
 package org.quickperf.testlauncher;
 
 import org.quickperf.HeapDump;
+import org.quickperf.SystemProperties;
 import org.quickperf.WorkingFolder;
 
 import java.io.File;
@@ -65,10 +66,74 @@ public class AllJvmOptions {
         return jvmParamsAsStrings;
     }
 
+    /**
+     * Returns -1 if no max heap size is specified.
+     */
+    long findMaxHeapSizeInBytes() {
+        long maxHeapSizeInBytes = -1;
+        for (JvmOption jvmOption : allJvmOptions) {
+            String option = jvmOption.asString();
+            if (option.startsWith("-Xmx")) {
+                maxHeapSizeInBytes = parseSizeInBytes(option.substring("-Xmx".length()));
+            } else if (option.startsWith("-XX:MaxHeapSize=")) {
+                maxHeapSizeInBytes = parseSizeInBytes(option.substring("-XX:MaxHeapSize=".length()));
+            }
+        }
+        return maxHeapSizeInBytes;
+    }
+
+    private long parseSizeInBytes(String size) {
+        char unit = Character.toLowerCase(size.charAt(size.length() - 1));
+        if (Character.isDigit(unit)) {
+            return Long.parseLong(size);
+        }
+        long value = Long.parseLong(size.substring(0, size.length() - 1));
+        switch (unit) {
+            case 'k': return value * 1024L;
+            case 'm': return value * 1024L * 1024L;
+            case 'g': return value * 1024L * 1024L * 1024L;
+            case 't': return value * 1024L * 1024L * 1024L * 1024L;
+            default: throw new IllegalStateException("Unknown unit of size " + size);
+        }
+    }
+
+    boolean dependOn(WorkingFolder workingFolder) {
+        String workingFolderPath = workingFolder.getPath();
+        if (workingFolderPath.isEmpty()) {
+            return false;
+        }
+        for (JvmOption jvmOption : allJvmOptions) {
+            if (jvmOption.asString().contains(workingFolderPath)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private JvmOption buildHeapDumpPathJvmParam(WorkingFolder workingFolder) {
+        if (SystemProperties.RECORD_CHANNEL.evaluate()) {
+            // The working folder may not exist, the heap dump file is named after it
+            String heapDumpFilePath = HeapDump.buildHeapDumpPath(HeapDump.createHeapDumpFolder(), workingFolder.getPath());
+            return new JvmOption("-XX:HeapDumpPath=" + heapDumpFilePath);
+        }
         String workingFolderPath = workingFolder.getPath();
         String heapDumpFilePath = workingFolderPath + File.separator + HeapDump.HEAP_DUMP_NAME;
         return new JvmOption("-XX:HeapDumpPath=" + heapDumpFilePath);
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        AllJvmOptions that = (AllJvmOptions) o;
+
+        return new ArrayList<>(allJvmOptions).equals(new ArrayList<>(that.allJvmOptions));
+    }
+
+    @Override
+    public int hashCode() {
+        return new ArrayList<>(allJvmOptions).hashCode();
+    }
+
 }
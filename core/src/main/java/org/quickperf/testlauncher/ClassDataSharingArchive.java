@@ -0,0 +1,436 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.testlauncher;
+
+import org.quickperf.SystemProperties;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Application class data sharing archive (JDK 11+) of the jars of the current classpath,
+ * used by the forked JVMs.
+ *
+ * A JVM can't archive the classes of a classpath containing a non-empty directory, such as the
+ * <code>target/classes</code> folder of a build. So the first forked JVM lists the classes it loads,
+ * and the archive of these classes is then dumped in the background with the jars of the classpath only.
+ * The forked JVMs using the archive are launched with the jars followed by the directories, which
+ * requires that no file of a directory is also in a jar.
+ *
+ * The archive is written under a temporary name and renamed once created, so that a JVM never uses
+ * a partially written archive. The creation is attempted again if it failed.
+ * A worker JVM only uses an existing archive: its stop is not awaited.
+ * The archives not used for a week are deleted.
+ */
+class ClassDataSharingArchive {
+
+    static final ClassDataSharingArchive INSTANCE = new ClassDataSharingArchive();
+
+    enum Usage {
+
+        DISABLED(""),
+        NO_ARCHIVE("without class data sharing archive"),
+        CLASS_LIST_CREATION("without class data sharing archive, loaded classes listed to create it"),
+        ARCHIVE_USE("with class data sharing archive");
+
+        private final String description;
+
+        Usage(String description) {
+            this.description = description;
+        }
+
+        String getDescription() {
+            return description;
+        }
+
+    }
+
+    private static final String ARCHIVE_SUFFIX = ".jsa";
+
+    private static final String IN_CREATION_SUFFIX = ".tmp";
+
+    private static final int MAX_CREATION_ATTEMPTS = 3;
+
+    private static final long STALE_ARCHIVE_AGE_IN_MS = TimeUnit.DAYS.toMillis(7);
+
+    private static final long STALE_ARCHIVE_IN_CREATION_AGE_IN_MS = TimeUnit.HOURS.toMillis(1);
+
+    private final AtomicBoolean archiveCreationLaunched = new AtomicBoolean();
+
+    private int failedCreationCount;
+
+    private volatile File archiveFile;
+
+    private volatile File classListFile;
+
+    private volatile ArchivedClassPath archivedClassPath;
+
+    private volatile Boolean archiveCanBeCreated;
+
+    private final AtomicBoolean archiveUseRecorded = new AtomicBoolean();
+
+    private ClassDataSharingArchive() { }
+
+    Usage findUsage() {
+
+        if (!SystemProperties.CLASS_DATA_SHARING.evaluate()) {
+            return Usage.DISABLED;
+        }
+
+        if (!archiveCanBeCreated()) {
+            return Usage.NO_ARCHIVE;
+        }
+
+        File archive = getArchiveFile();
+        if (archive.exists()) {
+            if (archiveUseRecorded.compareAndSet(false, true)) {
+                // The age of an archive is the time since its last use
+                archive.setLastModified(System.currentTimeMillis());
+            }
+            return Usage.ARCHIVE_USE;
+        }
+
+        if (archiveCreationLaunched.compareAndSet(false, true)) {
+            classListFile = buildFileInCreation(archive, ".classlist");
+            return Usage.CLASS_LIST_CREATION;
+        }
+
+        return Usage.NO_ARCHIVE;
+
+    }
+
+    /**
+     * Returns the usage for a JVM whose stop is not awaited, which can't list the classes of the archive.
+     */
+    Usage findUsageWithoutArchiveCreation() {
+        if (!SystemProperties.CLASS_DATA_SHARING.evaluate()) {
+            return Usage.DISABLED;
+        }
+        if (archiveCanBeCreated() && getArchiveFile().exists()) {
+            return Usage.ARCHIVE_USE;
+        }
+        return Usage.NO_ARCHIVE;
+    }
+
+    private static File buildFileInCreation(File archive, String suffix) {
+        return new File(archive.getParentFile()
+                      , archive.getName() + "-" + UUID.randomUUID() + suffix + IN_CREATION_SUFFIX);
+    }
+
+    /**
+     * To call once the JVM launched with the given usage has stopped.
+     */
+    void jvmStopped(Usage usage) {
+        if (usage != Usage.CLASS_LIST_CREATION) {
+            return;
+        }
+        final File classList = classListFile;
+        if (classList.length() == 0) {
+            classList.delete();
+            creationFailed();
+            return;
+        }
+        Thread archiveDump = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                dumpArchive(classList);
+            }
+        }, "QuickPerf class data sharing archive dump");
+        archiveDump.setDaemon(true);
+        archiveDump.start();
+    }
+
+    private void dumpArchive(File classList) {
+        File archive = getArchiveFile();
+        File archiveInCreation = buildFileInCreation(archive, ARCHIVE_SUFFIX);
+        File dumpOutput = buildFileInCreation(archive, ".log");
+        try {
+            List<String> command = new ArrayList<>();
+            command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+            command.add("-Xshare:dump");
+            command.add("-XX:SharedClassListFile=" + classList.getPath());
+            command.add("-XX:SharedArchiveFile=" + archiveInCreation.getPath());
+            command.add("-cp");
+            command.add(archivedClassPath.getJarPart());
+            Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                                                         .redirectOutput(dumpOutput)
+                                                         .start();
+            if (   process.waitFor() == 0
+                && archiveInCreation.length() != 0
+                && moveAtomically(archiveInCreation, archive)) {
+                return;
+            }
+            creationFailed();
+        } catch (IOException e) {
+            creationFailed();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            creationFailed();
+        } finally {
+            archiveInCreation.delete();
+            dumpOutput.delete();
+            classList.delete();
+        }
+    }
+
+    private synchronized void creationFailed() {
+        failedCreationCount++;
+        if (failedCreationCount < MAX_CREATION_ATTEMPTS) {
+            archiveCreationLaunched.set(false);
+        }
+    }
+
+    private boolean moveAtomically(File source, File target) {
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    List<String> buildJvmOptions(Usage usage) {
+        if (usage == Usage.DISABLED) {
+            return Collections.emptyList();
+        }
+        List<String> jvmOptions = new ArrayList<>();
+        jvmOptions.add(SystemProperties.CLASS_DATA_SHARING.buildForJvm("true"));
+        if (usage == Usage.CLASS_LIST_CREATION) {
+            jvmOptions.add("-XX:DumpLoadedClassList=" + classListFile.getPath());
+        } else if (usage == Usage.ARCHIVE_USE) {
+            jvmOptions.add("-XX:SharedArchiveFile=" + getArchiveFile().getPath());
+            jvmOptions.add("-Xlog:cds=off");
+        }
+        return jvmOptions;
+    }
+
+    /**
+     * Returns the classpath of a forked JVM launched with the given usage.
+     */
+    String buildClassPath(Usage usage, String classPath) {
+        if (usage == Usage.ARCHIVE_USE) {
+            return archivedClassPath.getJarsFollowedByOtherElements();
+        }
+        return classPath;
+    }
+
+    private boolean archiveCanBeCreated() {
+        if (archiveCanBeCreated == null) {
+            synchronized (this) {
+                if (archiveCanBeCreated == null) {
+                    String reason = findWhyArchiveCanNotBeCreated();
+                    if (reason != null) {
+                        System.out.println("[QUICK PERF] Forked JVMs started without class data sharing archive: "
+                                         + reason);
+                    }
+                    archiveCanBeCreated = reason == null;
+                }
+            }
+        }
+        return archiveCanBeCreated;
+    }
+
+    private String findWhyArchiveCanNotBeCreated() {
+        if (!jvmCanCreateApplicationArchive()) {
+            return "JDK 11 or later is required";
+        }
+        archivedClassPath = ArchivedClassPath.of(System.getProperty("java.class.path"));
+        return archivedClassPath.findWhyClassesCanNotBeArchived();
+    }
+
+    private boolean jvmCanCreateApplicationArchive() {
+        String javaVersion = System.getProperty("java.specification.version");
+        if (javaVersion.startsWith("1.")) {
+            return false;
+        }
+        return Integer.parseInt(javaVersion) >= 11;
+    }
+
+    private File getArchiveFile() {
+        if (archiveFile == null) {
+            File archiveFolder = new File(System.getProperty("java.io.tmpdir"), "QuickPerf-CDS");
+            archiveFolder.mkdirs();
+            deleteStaleArchives(archiveFolder);
+            archiveFile = new File(archiveFolder, computeClassPathHash() + ARCHIVE_SUFFIX);
+        }
+        return archiveFile;
+    }
+
+    // Archives of previous classpaths, and files of archive creations that failed
+    private void deleteStaleArchives(File archiveFolder) {
+        File[] files = archiveFolder.listFiles();
+        if (files == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (File file : files) {
+            long age = now - file.lastModified();
+            String fileName = file.getName();
+            if (   (fileName.endsWith(IN_CREATION_SUFFIX) && age > STALE_ARCHIVE_IN_CREATION_AGE_IN_MS)
+                || (fileName.endsWith(ARCHIVE_SUFFIX) && age > STALE_ARCHIVE_AGE_IN_MS)) {
+                file.delete();
+            }
+        }
+    }
+
+    private String computeClassPathHash() {
+        StringBuilder jvmAndClassPath = new StringBuilder();
+        jvmAndClassPath.append(System.getProperty("java.home"))
+                       .append(System.getProperty("java.vm.version"));
+        for (String jarPath : archivedClassPath.jarPaths) {
+            File file = new File(jarPath);
+            jvmAndClassPath.append(File.pathSeparator)
+                           .append(jarPath)
+                           .append(file.lastModified())
+                           .append(file.length());
+        }
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = messageDigest.digest(jvmAndClassPath.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hashAsHex = new StringBuilder();
+            for (byte hashByte : hash) {
+                hashAsHex.append(String.format("%02x", hashByte));
+            }
+            return hashAsHex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Classpath whose jars are archived, the other elements, such as directories, being put after them.
+     */
+    static class ArchivedClassPath {
+
+        private final List<String> jarPaths = new ArrayList<>();
+
+        private final List<String> otherPaths = new ArrayList<>();
+
+        private ArchivedClassPath() { }
+
+        static ArchivedClassPath of(String classPath) {
+            ArchivedClassPath archivedClassPath = new ArchivedClassPath();
+            for (String classPathElement : classPath.split(File.pathSeparator)) {
+                if (classPathElement.isEmpty()) {
+                    continue;
+                }
+                if (new File(classPathElement).isFile()) {
+                    archivedClassPath.jarPaths.add(classPathElement);
+                } else {
+                    archivedClassPath.otherPaths.add(classPathElement);
+                }
+            }
+            return archivedClassPath;
+        }
+
+        String getJarPart() {
+            return join(jarPaths);
+        }
+
+        String getJarsFollowedByOtherElements() {
+            List<String> classPathElements = new ArrayList<>(jarPaths);
+            classPathElements.addAll(otherPaths);
+            return join(classPathElements);
+        }
+
+        private static String join(List<String> classPathElements) {
+            StringBuilder classPath = new StringBuilder();
+            for (String classPathElement : classPathElements) {
+                if (classPath.length() != 0) {
+                    classPath.append(File.pathSeparator);
+                }
+                classPath.append(classPathElement);
+            }
+            return classPath.toString();
+        }
+
+        /**
+         * Putting the directories after the jars would change the class or the resource loaded
+         * from a path present in both.
+         */
+        String findWhyClassesCanNotBeArchived() {
+            if (jarPaths.isEmpty()) {
+                return "no jar in the classpath";
+            }
+            Set<String> filePathsOfDirectories = new HashSet<>();
+            for (String otherPath : otherPaths) {
+                File directory = new File(otherPath);
+                if (directory.isDirectory()) {
+                    collectFilePaths(directory, "", filePathsOfDirectories);
+                }
+            }
+            if (filePathsOfDirectories.isEmpty()) {
+                return null;
+            }
+            for (String jarPath : jarPaths) {
+                try {
+                    String filePathInDirectoryAndJar = findFileIn(jarPath, filePathsOfDirectories);
+                    if (filePathInDirectoryAndJar != null) {
+                        return filePathInDirectoryAndJar + " is both in " + jarPath + " and in a directory of the classpath";
+                    }
+                } catch (IOException e) {
+                    return jarPath + " can't be read (" + e.getMessage() + ")";
+                }
+            }
+            return null;
+        }
+
+        private static void collectFilePaths(File directory, String pathPrefix, Set<String> filePaths) {
+            File[] files = directory.listFiles();
+            if (files == null) {
+                return;
+            }
+            for (File file : files) {
+                String filePath = pathPrefix + file.getName();
+                if (file.isDirectory()) {
+                    // The order of the manifests and of the service files doesn't select a class
+                    if (!filePath.equals("META-INF")) {
+                        collectFilePaths(file, filePath + "/", filePaths);
+                    }
+                } else if (!filePath.equals("module-info.class")) {
+                    filePaths.add(filePath);
+                }
+            }
+        }
+
+        private static String findFileIn(String jarPath, Set<String> filePaths) throws IOException {
+            try (ZipFile jar = new ZipFile(jarPath)) {
+                Enumeration<? extends ZipEntry> entries = jar.entries();
+                while (entries.hasMoreElements()) {
+                    ZipEntry entry = entries.nextElement();
+                    if (!entry.isDirectory() && filePaths.contains(entry.getName())) {
+                        return entry.getName();
+                    }
+                }
+                return null;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.testlauncher;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * Limits the forked JVMs running at the same time to the number of cores, and the sum
+ * of their max heap sizes to the physical memory not used by the current JVM.
+ * A forked JVM needing the machine alone waits for the others to stop, and the next
+ * forked JVMs wait for it, the JVMs needing the machine alone starting in their order of request.
+ * Otherwise, a forked JVM is always started if no other one is running.
+ */
+class ForkedJvmScheduler {
+
+    static final ForkedJvmScheduler INSTANCE = new ForkedJvmScheduler(Runtime.getRuntime().availableProcessors()
+                                                                    , findMemoryAvailableForForkedJvms());
+
+    private final int maxRunningJvms;
+
+    private final long maxReservedMemoryInBytes;
+
+    private int runningJvms;
+
+    private long reservedMemoryInBytes;
+
+    private boolean machineReserved;
+
+    private final Queue<Object> jvmsWaitingForTheMachine = new ArrayDeque<>();
+
+    private int waitingJvms;
+
+    ForkedJvmScheduler(int maxRunningJvms, long maxReservedMemoryInBytes) {
+        this.maxRunningJvms = maxRunningJvms;
+        this.maxReservedMemoryInBytes = maxReservedMemoryInBytes;
+    }
+
+    private static long findMemoryAvailableForForkedJvms() {
+        long physicalMemoryInBytes = findPhysicalMemoryInBytes();
+        long memoryOfCurrentJvmInBytes = Runtime.getRuntime().maxMemory();
+        return Math.max(physicalMemoryInBytes - memoryOfCurrentJvmInBytes, 0);
+    }
+
+    static long findPhysicalMemoryInBytes() {
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName operatingSystem = new ObjectName(ManagementFactory.OPERATING_SYSTEM_MXBEAN_NAME);
+            return (Long) mBeanServer.getAttribute(operatingSystem, "TotalPhysicalMemorySize");
+        } catch (JMException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    synchronized void waitForResources(long memoryInBytes, boolean aloneOnMachine) throws InterruptedException {
+        Object aloneJvm = aloneOnMachine ? new Object() : null;
+        if (aloneOnMachine) {
+            jvmsWaitingForTheMachine.add(aloneJvm);
+        }
+        waitingJvms++;
+        try {
+            while (!resourcesAreAvailable(memoryInBytes, aloneJvm)) {
+                wait();
+            }
+        } finally {
+            waitingJvms--;
+            if (aloneOnMachine && jvmsWaitingForTheMachine.remove(aloneJvm)) {
+                // Interrupted: the next JVMs may no more have to wait
+                notifyAll();
+            }
+        }
+        runningJvms++;
+        reservedMemoryInBytes += memoryInBytes;
+        machineReserved = aloneOnMachine;
+    }
+
+    private boolean resourcesAreAvailable(long memoryInBytes, Object aloneJvm) {
+        if (machineReserved) {
+            return false;
+        }
+        if (aloneJvm != null) {
+            // The JVMs needing the machine alone start in the order of their requests
+            if (runningJvms == 0 && jvmsWaitingForTheMachine.peek() == aloneJvm) {
+                jvmsWaitingForTheMachine.poll();
+                return true;
+            }
+            return false;
+        }
+        if (!jvmsWaitingForTheMachine.isEmpty()) {
+            return false;
+        }
+        if (runningJvms == 0) {
+            return true;
+        }
+        return    runningJvms < maxRunningJvms
+               && reservedMemoryInBytes + memoryInBytes <= maxReservedMemoryInBytes;
+    }
+
+    synchronized int getWaitingJvms() {
+        return waitingJvms;
+    }
+
+    synchronized void releaseResources(long memoryInBytes) {
+        runningJvms--;
+        reservedMemoryInBytes -= memoryInBytes;
+        machineReserved = false;
+        notifyAll();
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.testlauncher;
+
+import org.quickperf.SystemProperties;
+import org.quickperf.repository.LongFileRepository;
+import org.quickperf.repository.WorkingFolderFiles;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Time between the start of a forked JVM and the execution of its first test method,
+ * reported for each forked JVM with its class data sharing archive usage.
+ */
+class ForkedJvmStartupTime {
+
+    static final ForkedJvmStartupTime INSTANCE = new ForkedJvmStartupTime();
+
+    private static final String FILE_NAME = "jvm-startup-time.rec";
+
+    private boolean saved;
+
+    private ForkedJvmStartupTime() { }
+
+    void saveIfFirstTestOfJvm(String workingFolderPath) {
+        if (saved || !SystemProperties.CLASS_DATA_SHARING.evaluate()) {
+            return;
+        }
+        long startupTimeInMs = ManagementFactory.getRuntimeMXBean().getUptime();
+        new LongFileRepository().save(startupTimeInMs, workingFolderPath, FILE_NAME);
+        saved = true;
+    }
+
+    void report(ClassDataSharingArchive.Usage archiveUsage, String workingFolderPath) {
+        if (archiveUsage == ClassDataSharingArchive.Usage.DISABLED
+         || !WorkingFolderFiles.INSTANCE.exists(workingFolderPath, FILE_NAME)) {
+            return;
+        }
+        long startupTimeInMs = new LongFileRepository().find(workingFolderPath, FILE_NAME);
+        System.out.println("[QUICK PERF] Forked JVM started in " + startupTimeInMs + " ms "
+                         + "(" + archiveUsage.getDescription() + ")");
+    }
+
+}
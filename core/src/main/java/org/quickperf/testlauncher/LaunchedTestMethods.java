@@ -0,0 +1,105 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.testlauncher;
+
+import org.quickperf.WorkingFolder;
+import org.quickperf.issue.JvmIssue;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Test methods executed in a batch or launched in parallel, waiting for
+ * the test framework to ask for their execution. A test method is no longer
+ * marked as launched once its batch or its parallel launch is over, so that
+ * it can be launched again if the test framework executes it another time.
+ */
+class LaunchedTestMethods {
+
+    static final LaunchedTestMethods INSTANCE = new LaunchedTestMethods();
+
+    private final Map<Method, LaunchedTestMethod> launchedTestMethodByMethod = new HashMap<>();
+
+    private final Set<Method> launchedTestMethods = new HashSet<>();
+
+    private LaunchedTestMethods() { }
+
+    static class LaunchedTestMethod {
+
+        private final WorkingFolder workingFolder;
+
+        private final Future<JvmIssue> jvmIssue;
+
+        LaunchedTestMethod(WorkingFolder workingFolder, Future<JvmIssue> jvmIssue) {
+            this.workingFolder = workingFolder;
+            this.jvmIssue = jvmIssue;
+        }
+
+        WorkingFolder getWorkingFolder() {
+            return workingFolder;
+        }
+
+        JvmIssue waitForJvmIssue() {
+            try {
+                return jvmIssue.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return JvmIssue.buildFrom(e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+    }
+
+    synchronized LaunchedTestMethod take(Method testMethod) {
+        LaunchedTestMethod launchedTestMethod = launchedTestMethodByMethod.remove(testMethod);
+        if (launchedTestMethod != null) {
+            launchedTestMethods.remove(testMethod);
+        }
+        return launchedTestMethod;
+    }
+
+    /**
+     * Returns false if the test method was already launched.
+     */
+    synchronized boolean markAsLaunched(Method testMethod) {
+        return launchedTestMethods.add(testMethod);
+    }
+
+    synchronized void forget(Method testMethod) {
+        launchedTestMethods.remove(testMethod);
+    }
+
+    synchronized void register(Method testMethod, WorkingFolder workingFolder, Future<JvmIssue> jvmIssue) {
+        launchedTestMethodByMethod.put(testMethod, new LaunchedTestMethod(workingFolder, jvmIssue));
+    }
+
+    void registerExecuted(Method testMethod, WorkingFolder workingFolder) {
+        FutureTask<JvmIssue> noJvmIssue = new FutureTask<>(new Callable<JvmIssue>() {
+            @Override
+            public JvmIssue call() {
+                return JvmIssue.NONE;
+            }
+        });
+        noJvmIssue.run();
+        register(testMethod, workingFolder, noJvmIssue);
+    }
+
+}
@@ -15,20 +15,21 @@ import org.quickperf.WorkingFolder;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class MainClassArguments {
 
     private final String className;
 
-    private final String methodName;
+    private final List<String> methodNames;
 
-    private final String workingFolderPath;
+    private final List<String> workingFolderPaths;
 
-    private MainClassArguments(String className, String methodName, String workingFolderPath) {
+    private MainClassArguments(String className, List<String> methodNames, List<String> workingFolderPaths) {
         this.className = className;
-        this.methodName = methodName;
-        this.workingFolderPath = workingFolderPath;
+        this.methodNames = methodNames;
+        this.workingFolderPaths = workingFolderPaths;
     }
 
     public String getClassName() {
@@ -36,19 +37,35 @@ public class MainClassArguments {
     }
 
     public String getMethodName() {
-        return methodName;
+        return methodNames.get(0);
     }
 
     public String getWorkingFolderPath() {
-        return workingFolderPath;
+        return workingFolderPaths.get(0);
     }
 
     public static MainClassArguments buildFrom(Method testMethod
                                              , WorkingFolder workingFolder) {
-        String className = retrieveClassNameOf(testMethod);
-        String methodName = testMethod.getName();
-        String workingFolderPath = workingFolder.getPath();
-        return new MainClassArguments(className, methodName, workingFolderPath);
+        return buildFrom(Collections.singletonList(testMethod)
+                       , Collections.singletonList(workingFolder));
+    }
+
+    /**
+     * The test methods have to be declared by the same class.
+     * Each test method has its own working folder.
+     */
+    public static MainClassArguments buildFrom(List<Method> testMethods
+                                             , List<WorkingFolder> workingFolders) {
+        String className = retrieveClassNameOf(testMethods.get(0));
+        List<String> methodNames = new ArrayList<>(testMethods.size());
+        for (Method testMethod : testMethods) {
+            methodNames.add(testMethod.getName());
+        }
+        List<String> workingFolderPaths = new ArrayList<>(workingFolders.size());
+        for (WorkingFolder workingFolder : workingFolders) {
+            workingFolderPaths.add(workingFolder.getPath());
+        }
+        return new MainClassArguments(className, methodNames, workingFolderPaths);
     }
 
     private static String retrieveClassNameOf(Method method) {
@@ -58,17 +75,35 @@ public class MainClassArguments {
 
     public static MainClassArguments buildFromMainArguments(String... args) {
         String className = args[0];
-        String methodName = args[1];
-        String workingFolderPath = args[2];
-        return new MainClassArguments(className, methodName, workingFolderPath);
+        List<String> methodNames = new ArrayList<>();
+        List<String> workingFolderPaths = new ArrayList<>();
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            methodNames.add(args[i]);
+            workingFolderPaths.add(args[i + 1]);
+        }
+        return new MainClassArguments(className, methodNames, workingFolderPaths);
+    }
+
+    public List<MainClassArguments> splitByTestMethod() {
+        List<MainClassArguments> argumentsByTestMethod = new ArrayList<>(methodNames.size());
+        for (int i = 0; i < methodNames.size(); i++) {
+            MainClassArguments testMethodArguments =
+                    new MainClassArguments(className
+                                         , Collections.singletonList(methodNames.get(i))
+                                         , Collections.singletonList(workingFolderPaths.get(i)));
+            argumentsByTestMethod.add(testMethodArguments);
+        }
+        return argumentsByTestMethod;
     }
 
     public List<String> buildMainClassArgumentsForJvmCommand() {
-        List<String> arguments = new ArrayList<>(3);
+        List<String> arguments = new ArrayList<>(1 + 2 * methodNames.size());
         arguments.add(className);
-        arguments.add(methodName);
-        arguments.add(workingFolderPath);
+        for (int i = 0; i < methodNames.size(); i++) {
+            arguments.add(methodNames.get(i));
+            arguments.add(workingFolderPaths.get(i));
+        }
         return arguments;
     }
 
-}
\ No newline at end of file
+}
@@ -12,20 +12,31 @@
 package org.quickperf.testlauncher;
 
 import org.apache.commons.io.IOUtils;
+import org.quickperf.QuickPerfUserConfigClasses;
 import org.quickperf.SystemProperties;
 import org.quickperf.TestExecutionContext;
 import org.quickperf.WorkingFolder;
+import org.quickperf.config.library.QuickPerfConfigs;
 import org.quickperf.issue.JvmIssue;
 import org.quickperf.issue.TestIssue;
 import org.quickperf.issue.JvmOrTestIssue;
+import org.quickperf.repository.RecordChannelServer;
 import org.quickperf.repository.TestIssueRepository;
+import org.quickperf.repository.WorkingFolderFiles;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
 
 public class NewJvmTestLauncher {
 
@@ -33,67 +44,455 @@ public class NewJvmTestLauncher {
 
     private final TestIssueRepository testIssueRepository = TestIssueRepository.INSTANCE;
 
+    private final WorkerJvmPool workerJvmPool = WorkerJvmPool.INSTANCE;
+
+    private final LaunchedTestMethods launchedTestMethods = LaunchedTestMethods.INSTANCE;
+
+    private final ForkedJvmScheduler forkedJvmScheduler = ForkedJvmScheduler.INSTANCE;
+
+    private final ExecutorService parallelLauncher = buildParallelLauncher();
+
+    private final ClassDataSharingArchive classDataSharingArchive = ClassDataSharingArchive.INSTANCE;
+
+    private final ForkedJvmStartupTime forkedJvmStartupTime = ForkedJvmStartupTime.INSTANCE;
+
+    private final WorkingFolderFiles workingFolderFiles = WorkingFolderFiles.INSTANCE;
+
+    private final RecordChannelServer recordChannelServer = RecordChannelServer.INSTANCE;
+
     private NewJvmTestLauncher() { }
 
     public JvmOrTestIssue executeTestMethodInNewJwm(Method testMethod
                                                              , TestExecutionContext testExecutionContext
                                                              , Class<?> mainClassToLaunchTestInANewJvm) {
+        TestMethodToFork testMethodToFork = TestMethodToFork.buildFrom(testMethod, testExecutionContext);
+        return executeTestMethodInNewJwm(testMethodToFork, mainClassToLaunchTestInANewJvm);
+    }
+
+    private JvmOrTestIssue executeTestMethodInNewJwm(TestMethodToFork testMethodToFork
+                                                   , Class<?> mainClassToLaunchTestInANewJvm) {
+
+        JvmIssue jvmIssue = executeTestInNewJvm(testMethodToFork, mainClassToLaunchTestInANewJvm);
+        if (!jvmIssue.isNone()) {
+            return JvmOrTestIssue.buildFrom(jvmIssue);
+        }
+
+        WorkingFolder workingFolder = testMethodToFork.getWorkingFolder();
+        TestIssue testIssue = testIssueRepository.findFrom(workingFolder);
+
+        return JvmOrTestIssue.buildFrom(testIssue);
 
-        JvmIssue jvmIssue = executeTestInNewJvm(testMethod
-                                              , testExecutionContext
-                                              , mainClassToLaunchTestInANewJvm);
+    }
+
+    /**
+     * With the <code>quickPerfBatchForkedJvm</code> system property, the test methods of the class
+     * having the same JVM options are executed one after the other in the JVM forked for the first one.
+     * With the <code>quickPerfParallelForkedJvm</code> system property, the JVMs of the other test methods
+     * of the class are forked in parallel with the one of the first test method, within the limits of
+     * {@link ForkedJvmScheduler}.
+     *
+     * @param testMethodsOfClass the test methods of the class that the test framework executes:
+     *                           an ignored or filtered out test method must not be part of them
+     */
+    public JvmOrTestIssue executeTestMethodInNewJwm(Method testMethod
+                                                  , TestExecutionContext testExecutionContext
+                                                  , Class<?> mainClassToLaunchTestInANewJvm
+                                                  , QuickPerfConfigs quickPerfConfigs
+                                                  , Collection<Method> testMethodsOfClass) {
+
+        TestMethodToFork testMethodToFork = TestMethodToFork.buildFrom(testMethod, testExecutionContext);
+
+        LaunchedTestMethods.LaunchedTestMethod launchedTestMethod = launchedTestMethods.take(testMethod);
+        if (launchedTestMethod != null) {
+            return retrieveIssueOf(launchedTestMethod, testMethodToFork.getWorkingFolder());
+        }
+
+        if (SystemProperties.BATCH_FORKED_JVM.evaluate() && testMethodToFork.canShareItsJvm()) {
+            return executeTestMethodInBatch(testMethodToFork
+                                          , mainClassToLaunchTestInANewJvm
+                                          , quickPerfConfigs
+                                          , testMethodsOfClass);
+        }
+
+        if (SystemProperties.PARALLEL_FORKED_JVM.evaluate()) {
+            try {
+                launchOtherTestMethodsInParallel(testMethod
+                                               , mainClassToLaunchTestInANewJvm
+                                               , quickPerfConfigs
+                                               , testMethodsOfClass);
+                return executeTestMethodInNewJwm(testMethodToFork, mainClassToLaunchTestInANewJvm);
+            } finally {
+                launchedTestMethods.forget(testMethod);
+            }
+        }
+
+        return executeTestMethodInNewJwm(testMethodToFork, mainClassToLaunchTestInANewJvm);
+
+    }
+
+    private JvmOrTestIssue retrieveIssueOf(LaunchedTestMethods.LaunchedTestMethod launchedTestMethod
+                                         , WorkingFolder workingFolder) {
+
+        JvmIssue jvmIssue = launchedTestMethod.waitForJvmIssue();
+        moveContent(launchedTestMethod.getWorkingFolder(), workingFolder);
         if (!jvmIssue.isNone()) {
             return JvmOrTestIssue.buildFrom(jvmIssue);
         }
 
-        WorkingFolder workingFolder = testExecutionContext.getWorkingFolder();
         TestIssue testIssue = testIssueRepository.findFrom(workingFolder);
+        return JvmOrTestIssue.buildFrom(testIssue);
+
+    }
+
+    private JvmOrTestIssue executeTestMethodInBatch(TestMethodToFork testMethodToFork
+                                                  , Class<?> mainClassToLaunchTestInANewJvm
+                                                  , QuickPerfConfigs quickPerfConfigs
+                                                  , Collection<Method> testMethodsOfClass) {
+
+        Method testMethod = testMethodToFork.getTestMethod();
+        launchedTestMethods.markAsLaunched(testMethod);
+        try {
+            return executeBatchStartingWith(testMethodToFork
+                                          , mainClassToLaunchTestInANewJvm
+                                          , quickPerfConfigs
+                                          , testMethodsOfClass);
+        } finally {
+            launchedTestMethods.forget(testMethod);
+        }
+
+    }
+
+    private JvmOrTestIssue executeBatchStartingWith(TestMethodToFork testMethodToFork
+                                                  , Class<?> mainClassToLaunchTestInANewJvm
+                                                  , QuickPerfConfigs quickPerfConfigs
+                                                  , Collection<Method> testMethodsOfClass) {
+
+        List<TestMethodToFork> testMethodsOfBatch = new ArrayList<>();
+        testMethodsOfBatch.add(testMethodToFork);
+        addTestMethodsWithSameJvmOptions(testMethodToFork
+                                       , quickPerfConfigs
+                                       , testMethodsOfClass
+                                       , testMethodsOfBatch);
+
+        if (testMethodsOfBatch.size() == 1) {
+            return executeTestMethodInNewJwm(testMethodToFork, mainClassToLaunchTestInANewJvm);
+        }
+
+        List<Method> methods = new ArrayList<>();
+        List<WorkingFolder> workingFolders = new ArrayList<>();
+        for (TestMethodToFork testMethodOfBatch : testMethodsOfBatch) {
+            methods.add(testMethodOfBatch.getTestMethod());
+            workingFolders.add(testMethodOfBatch.getWorkingFolder());
+            prepareWorkingFolder(testMethodOfBatch.getWorkingFolder(), testMethodOfBatch.getJvmOptions());
+        }
+
+        WorkingFolder workingFolder = testMethodToFork.getWorkingFolder();
+        MainClassArguments mainClassArguments = MainClassArguments.buildFrom(methods, workingFolders);
+        ClassDataSharingArchive.Usage archiveUsage = classDataSharingArchive.findUsage();
+        List<String> jvmCommand = buildCommand( mainClassArguments.buildMainClassArgumentsForJvmCommand()
+                                              , testMethodToFork.getJvmOptions().asStrings(workingFolder)
+                                              , workingFolder.getPath()
+                                              , mainClassToLaunchTestInANewJvm
+                                              , archiveUsage);
+        JvmIssue jvmIssue = executeWithScheduledResources(jvmCommand, testMethodToFork);
+        classDataSharingArchive.jvmStopped(archiveUsage);
+        reportJvmStop(workingFolder, workingFolders);
+
+        if (!jvmIssue.isNone()) {
+            // The test method having stopped the JVM is unknown, so each test method is executed alone
+            deleteTestIssueFile(workingFolder);
+            for (WorkingFolder workingFolderOfBatch : workingFolders) {
+                recordChannelServer.forget(workingFolderOfBatch.getPath());
+            }
+            for (TestMethodToFork otherTestMethod : testMethodsOfBatch.subList(1, testMethodsOfBatch.size())) {
+                launchedTestMethods.forget(otherTestMethod.getTestMethod());
+            }
+            return executeTestMethodInNewJwm(testMethodToFork, mainClassToLaunchTestInANewJvm);
+        }
+
+        forkedJvmStartupTime.report(archiveUsage, workingFolder.getPath());
+
+        for (TestMethodToFork otherTestMethod : testMethodsOfBatch.subList(1, testMethodsOfBatch.size())) {
+            launchedTestMethods.registerExecuted(otherTestMethod.getTestMethod(), otherTestMethod.getWorkingFolder());
+        }
 
+        TestIssue testIssue = testIssueRepository.findFrom(workingFolder);
         return JvmOrTestIssue.buildFrom(testIssue);
 
     }
 
-    private JvmIssue executeTestInNewJvm(Method testMethod
-                                       , TestExecutionContext testExecutionContext
+    private void addTestMethodsWithSameJvmOptions(TestMethodToFork testMethodToFork
+                                                , QuickPerfConfigs quickPerfConfigs
+                                                , Collection<Method> testMethodsOfClass
+                                                , List<TestMethodToFork> testMethodsOfBatch) {
+
+        Method testMethod = testMethodToFork.getTestMethod();
+
+        for (Method otherTestMethod : testMethodsOfClass) {
+
+            if (!isAnotherTestMethodOfSameClass(otherTestMethod, testMethod)) {
+                continue;
+            }
+
+            TestMethodToFork otherTestMethodToFork = TestMethodToFork.buildFrom(otherTestMethod, quickPerfConfigs);
+
+            if (   otherTestMethodToFork != null
+                && otherTestMethodToFork.getJvmOptions().equals(testMethodToFork.getJvmOptions())
+                && otherTestMethodToFork.canShareItsJvm()
+                && launchedTestMethods.markAsLaunched(otherTestMethod)) {
+                testMethodsOfBatch.add(otherTestMethodToFork);
+            }
+
+        }
+
+    }
+
+    private void launchOtherTestMethodsInParallel(Method testMethod
+                                                , final Class<?> mainClassToLaunchTestInANewJvm
+                                                , QuickPerfConfigs quickPerfConfigs
+                                                , Collection<Method> testMethodsOfClass) {
+
+        launchedTestMethods.markAsLaunched(testMethod);
+
+        for (Method otherTestMethod : testMethodsOfClass) {
+
+            if (   !isAnotherTestMethodOfSameClass(otherTestMethod, testMethod)
+                || !launchedTestMethods.markAsLaunched(otherTestMethod)) {
+                continue;
+            }
+
+            final TestMethodToFork otherTestMethodToFork = TestMethodToFork.buildFrom(otherTestMethod, quickPerfConfigs);
+            if (otherTestMethodToFork == null) {
+                launchedTestMethods.forget(otherTestMethod);
+                continue;
+            }
+
+            FutureTask<JvmIssue> jvmIssue = new FutureTask<>(new Callable<JvmIssue>() {
+                @Override
+                public JvmIssue call() {
+                    return executeTestInNewJvm(otherTestMethodToFork, mainClassToLaunchTestInANewJvm);
+                }
+            });
+            launchedTestMethods.register(otherTestMethod, otherTestMethodToFork.getWorkingFolder(), jvmIssue);
+            parallelLauncher.execute(jvmIssue);
+
+        }
+
+    }
+
+    private boolean isAnotherTestMethodOfSameClass(Method otherTestMethod, Method testMethod) {
+        return    !otherTestMethod.equals(testMethod)
+               &&  otherTestMethod.getDeclaringClass().equals(testMethod.getDeclaringClass());
+    }
+
+    private static ExecutorService buildParallelLauncher() {
+        return Executors.newCachedThreadPool(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "QuickPerf forked JVM launcher");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    private void moveContent(WorkingFolder sourceFolder, WorkingFolder targetFolder) {
+        workingFolderFiles.move(sourceFolder.getPath(), targetFolder.getPath());
+    }
+
+    private void deleteTestIssueFile(WorkingFolder workingFolder) {
+        workingFolderFiles.delete(workingFolder.getPath(), TestIssueRepository.FILE_NAME);
+    }
+
+    /**
+     * With the <code>quickPerfRecordChannel</code> system property, the working folder
+     * is only created if a JVM option needs it.
+     */
+    private void prepareWorkingFolder(WorkingFolder workingFolder, AllJvmOptions jvmOptions) {
+        if (jvmOptions.dependOn(workingFolder)) {
+            workingFolder.createIfNotExists();
+        }
+        if (SystemProperties.RECORD_CHANNEL.evaluate()) {
+            recordChannelServer.startTest(workingFolder.getPath());
+        }
+    }
+
+    private JvmIssue executeTestInNewJvm(TestMethodToFork testMethodToFork
                                        , Class<?> mainClassToLaunchTestInANewJvm) {
 
-        WorkingFolder workingFolder = testExecutionContext.getWorkingFolder();
-        MainClassArguments mainClassArguments = MainClassArguments.buildFrom(testMethod, workingFolder);
+        WorkingFolder workingFolder = testMethodToFork.getWorkingFolder();
+        MainClassArguments mainClassArguments = MainClassArguments.buildFrom(testMethodToFork.getTestMethod(), workingFolder);
 
-        AllJvmOptions jvmOptions = testExecutionContext.getJvmOptions();
+        AllJvmOptions jvmOptions = testMethodToFork.getJvmOptions();
+        prepareWorkingFolder(workingFolder, jvmOptions);
 
         List<String> jvmOptionsAsStrings = jvmOptions.asStrings(workingFolder);
 
-        List<String> jvmCommand = buildCommand( mainClassArguments
+        if (SystemProperties.REUSE_FORKED_JVM.evaluate() && testMethodToFork.canShareItsJvm()) {
+            return executeTestInWorkerJvm(mainClassArguments
+                                        , testMethodToFork
+                                        , jvmOptionsAsStrings
+                                        , mainClassToLaunchTestInANewJvm);
+        }
+
+        ClassDataSharingArchive.Usage archiveUsage = classDataSharingArchive.findUsage();
+        List<String> jvmCommand = buildCommand( mainClassArguments.buildMainClassArgumentsForJvmCommand()
                                               , jvmOptionsAsStrings
                                               , workingFolder.getPath()
-                                              , mainClassToLaunchTestInANewJvm);
+                                              , mainClassToLaunchTestInANewJvm
+                                              , archiveUsage);
+
+        JvmIssue jvmIssue = executeWithScheduledResources(jvmCommand, testMethodToFork);
+        classDataSharingArchive.jvmStopped(archiveUsage);
+        reportJvmStop(workingFolder, Collections.singletonList(workingFolder));
+        if (jvmIssue.isNone()) {
+            forkedJvmStartupTime.report(archiveUsage, workingFolder.getPath());
+        }
+        return jvmIssue;
+
+    }
+
+    // The records of a forked JVM that could not connect to the record channel are no longer awaited
+    private void reportJvmStop(WorkingFolder jvmWorkingFolder, List<WorkingFolder> workingFoldersOfTests) {
+        if (!SystemProperties.RECORD_CHANNEL.evaluate()) {
+            return;
+        }
+        List<String> workingFolderPaths = new ArrayList<>(workingFoldersOfTests.size());
+        for (WorkingFolder workingFolderOfTest : workingFoldersOfTests) {
+            workingFolderPaths.add(workingFolderOfTest.getPath());
+        }
+        recordChannelServer.jvmStopped(jvmWorkingFolder.getPath(), workingFolderPaths);
+    }
 
-        return execute(jvmCommand);
+    private JvmIssue executeWithScheduledResources(List<String> jvmCommand, TestMethodToFork testMethodToFork) {
+        long memoryInBytes = findMemoryToReserve(testMethodToFork.getJvmOptions());
+        try {
+            forkedJvmScheduler.waitForResources(memoryInBytes, testMethodToFork.needsTheMachineAlone());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return JvmIssue.buildFrom(e);
+        }
+        try {
+            return execute(jvmCommand);
+        } finally {
+            forkedJvmScheduler.releaseResources(memoryInBytes);
+        }
+    }
+
+    private long findMemoryToReserve(AllJvmOptions jvmOptions) {
+        long maxHeapSizeInBytes = jvmOptions.findMaxHeapSizeInBytes();
+        if (maxHeapSizeInBytes == -1) {
+            // Default max heap size of the JVM
+            return ForkedJvmScheduler.findPhysicalMemoryInBytes() / 4;
+        }
+        return maxHeapSizeInBytes;
+    }
+
+    private JvmIssue executeTestInWorkerJvm(MainClassArguments mainClassArguments
+                                          , TestMethodToFork testMethodToFork
+                                          , List<String> jvmOptionsAsStrings
+                                          , Class<?> mainClassToLaunchTestInANewJvm) {
+
+        AllJvmOptions jvmOptions = testMethodToFork.getJvmOptions();
+        String workingFolderPath = testMethodToFork.getWorkingFolder().getPath();
+
+        WorkerJvmPool.Key key = WorkerJvmPool.buildKey(jvmOptions, mainClassToLaunchTestInANewJvm);
+
+        long memoryInBytes = findMemoryToReserve(jvmOptions);
+        try {
+            forkedJvmScheduler.waitForResources(memoryInBytes, testMethodToFork.needsTheMachineAlone());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return JvmIssue.buildFrom(e);
+        }
+
+        try {
+
+            WorkerJvm workerJvm = workerJvmPool.borrowWorkerJvm(key);
+
+            ClassDataSharingArchive.Usage archiveUsage = ClassDataSharingArchive.Usage.DISABLED;
+            if (workerJvm == null) {
+                archiveUsage = classDataSharingArchive.findUsageWithoutArchiveCreation();
+                List<String> workerModeArguments = Collections.singletonList(WorkerJvm.WORKER_MODE_ARGUMENT);
+                List<String> jvmCommand = buildCommand( workerModeArguments
+                                                      , jvmOptionsAsStrings
+                                                      , workingFolderPath
+                                                      , mainClassToLaunchTestInANewJvm
+                                                      , archiveUsage);
+                try {
+                    workerJvm = WorkerJvm.start(jvmCommand);
+                } catch (IOException e) {
+                    return JvmIssue.buildFrom(e);
+                }
+            }
+
+            JvmIssue jvmIssue = workerJvm.executeTest(mainClassArguments);
+            if (jvmIssue.isNone()) {
+                forkedJvmStartupTime.report(archiveUsage, workingFolderPath);
+            }
+
+            workerJvmPool.giveBack(key, workerJvm);
+
+            return jvmIssue;
+
+        } finally {
+            forkedJvmScheduler.releaseResources(memoryInBytes);
+        }
 
     }
 
-    private List<String> buildCommand(MainClassArguments mainClassArguments
+    private List<String> buildCommand(List<String> mainClassArguments
                                     , List<String> jvmOptionsAsStrings
                                     , String workingFolderPath
-                                    , Class<?> mainClassToLaunchTest) {
+                                    , Class<?> mainClassToLaunchTest
+                                    , ClassDataSharingArchive.Usage archiveUsage) {
+        writeUserConfigClassNames(workingFolderPath);
         List<String> command = new ArrayList<>();
         command.add(retrieveJavaExePath());
         command.addAll(jvmOptionsAsStrings);
+        command.addAll(classDataSharingArchive.buildJvmOptions(archiveUsage));
         command.add(SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM
                                     .buildForJvm("true")
                    );
         command.add(SystemProperties.WORKING_FOLDER
                                     .buildForJvm(workingFolderPath)
                    );
+        command.add(SystemProperties.SQL_EXECUTIONS_KEPT_IN_MEMORY
+                                    .buildForJvm(String.valueOf(SystemProperties.SQL_EXECUTIONS_KEPT_IN_MEMORY.evaluate()))
+                   );
+        command.add(SystemProperties.SQL_AGGREGATE_ONLY
+                                    .buildForJvm(String.valueOf(SystemProperties.SQL_AGGREGATE_ONLY.evaluate()))
+                   );
+        command.add(SystemProperties.SQL_ASYNC_RECORDING
+                                    .buildForJvm(String.valueOf(SystemProperties.SQL_ASYNC_RECORDING.evaluate()))
+                   );
+        command.add(SystemProperties.SQL_RECORDING_OF_POOLED_THREADS
+                                    .buildForJvm(String.valueOf(SystemProperties.SQL_RECORDING_OF_POOLED_THREADS.evaluate()))
+                   );
+        if (SystemProperties.RECORD_CHANNEL.evaluate()) {
+            int recordChannelPort = recordChannelServer.getPort();
+            command.add(SystemProperties.RECORD_CHANNEL_PORT
+                                        .buildForJvm(String.valueOf(recordChannelPort))
+                       );
+            command.add(SystemProperties.RECORD_CHANNEL_TOKEN
+                                        .buildForJvm(recordChannelServer.getToken())
+                       );
+        }
         command.add("-cp");
-        command.add(retrieveCurrentClassPath());
+        command.add(classDataSharingArchive.buildClassPath(archiveUsage, retrieveCurrentClassPath()));
         command.add(mainClassToLaunchTest.getCanonicalName());
-        List<String> mainClassArgumentsAsStringList = mainClassArguments.buildMainClassArgumentsForJvmCommand();
-        command.addAll(mainClassArgumentsAsStringList);
+        command.addAll(mainClassArguments);
         return command;
     }
 
+    private void writeUserConfigClassNames(String workingFolderPath) {
+        try {
+            QuickPerfUserConfigClasses.INSTANCE.writeClassNamesTo(workingFolderPath);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private String retrieveJavaExePath() {
         String javaHomeDirectoryPath = System.getProperty("java.home");
         return    javaHomeDirectoryPath
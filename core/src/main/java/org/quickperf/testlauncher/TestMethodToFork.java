@@ -0,0 +1,99 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.testlauncher;
+
+import org.quickperf.AnnotationsExtractor;
+import org.quickperf.TestExecutionContext;
+import org.quickperf.WorkingFolder;
+import org.quickperf.config.library.QuickPerfConfigs;
+import org.quickperf.config.library.SetOfAnnotationConfigs;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
+class TestMethodToFork {
+
+    private final Method testMethod;
+
+    private final WorkingFolder workingFolder;
+
+    private final AllJvmOptions jvmOptions;
+
+    private final boolean pristineJvm;
+
+    private final boolean aloneOnMachine;
+
+    private TestMethodToFork(Method testMethod
+                           , WorkingFolder workingFolder
+                           , AllJvmOptions jvmOptions
+                           , boolean pristineJvm
+                           , boolean aloneOnMachine) {
+        this.testMethod = testMethod;
+        this.workingFolder = workingFolder;
+        this.jvmOptions = jvmOptions;
+        this.pristineJvm = pristineJvm;
+        this.aloneOnMachine = aloneOnMachine;
+    }
+
+    static TestMethodToFork buildFrom(Method testMethod, TestExecutionContext testExecutionContext) {
+        return new TestMethodToFork(testMethod
+                                  , testExecutionContext.getWorkingFolder()
+                                  , testExecutionContext.getJvmOptions()
+                                  , testExecutionContext.testExecutionNeedsAPristineJvm()
+                                  , testExecutionContext.testExecutionNeedsTheMachineAlone());
+    }
+
+    /**
+     * Returns null if the test method is not executed in a specific JVM.
+     * A new working folder is created otherwise.
+     */
+    static TestMethodToFork buildFrom(Method testMethod, QuickPerfConfigs quickPerfConfigs) {
+
+        SetOfAnnotationConfigs testAnnotationConfigs = quickPerfConfigs.getTestAnnotationConfigs();
+        Annotation[] perfAnnotations = AnnotationsExtractor.INSTANCE.extractAnnotationsFor(testMethod, testAnnotationConfigs);
+
+        if (   TestExecutionContext.quickPerfIsDisabled(perfAnnotations)
+            || !testAnnotationConfigs.hasTestMethodToBeLaunchedInASpecificJvmWith(perfAnnotations)) {
+            return null;
+        }
+
+        WorkingFolder workingFolder = WorkingFolder.createOrRetrieveWorkingFolder(true);
+        AllJvmOptions jvmOptions = testAnnotationConfigs.retrieveJvmOptionsFor(perfAnnotations, workingFolder);
+        return new TestMethodToFork(testMethod
+                                  , workingFolder
+                                  , jvmOptions
+                                  , testAnnotationConfigs.hasTestMethodToBeLaunchedInAPristineJvmWith(perfAnnotations)
+                                  , testAnnotationConfigs.hasTestMethodToBeLaunchedAloneWith(perfAnnotations));
+
+    }
+
+    boolean canShareItsJvm() {
+        return !pristineJvm && !aloneOnMachine && !jvmOptions.dependOn(workingFolder);
+    }
+
+    Method getTestMethod() {
+        return testMethod;
+    }
+
+    WorkingFolder getWorkingFolder() {
+        return workingFolder;
+    }
+
+    AllJvmOptions getJvmOptions() {
+        return jvmOptions;
+    }
+
+    boolean needsTheMachineAlone() {
+        return aloneOnMachine;
+    }
+
+}
@@ -11,9 +11,24 @@
 
 package org.quickperf.testlauncher;
 
+import org.quickperf.HeapDump;
+import org.quickperf.SystemProperties;
 import org.quickperf.issue.TestIssue;
+import org.quickperf.repository.RecordChannel;
 import org.quickperf.repository.TestIssueRepository;
 
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.Set;
+
 public class TestRunnerFromMain {
 
     public static final TestRunnerFromMain INSTANCE = new TestRunnerFromMain();
@@ -28,15 +43,16 @@ public class TestRunnerFromMain {
 
     public void executeTestMethod(FrameworkTestRunner frameworkTestRunner, String... mainArgs) throws ClassNotFoundException {
 
-        MainClassArguments mainClassArguments = MainClassArguments.buildFromMainArguments(mainArgs);
+        if (isWorkerJvm(mainArgs)) {
+            executeTestMethodsOnRequest(frameworkTestRunner);
+            System.exit(0);
+        }
 
-        TestIssue testIssue = executeTestMethod(frameworkTestRunner, mainClassArguments);
-
-        TestIssueRepository testIssueRepository = TestIssueRepository.INSTANCE;
+        MainClassArguments mainClassArguments = MainClassArguments.buildFromMainArguments(mainArgs);
 
-        String workingFolderPath = mainClassArguments.getWorkingFolderPath();
-        testIssueRepository.save(testIssue
-                                              , workingFolderPath);
+        for (MainClassArguments testMethodArguments : mainClassArguments.splitByTestMethod()) {
+            executeTestMethodAndSaveTestIssue(frameworkTestRunner, testMethodArguments);
+        }
 
         // To be sure that Tomcat or Jetty web server will stop
         System.exit(0);
@@ -52,4 +68,103 @@ public class TestRunnerFromMain {
         return frameworkTestRunner.executeTestMethod(testClass, methodName);
     }
 
+    private boolean isWorkerJvm(String... mainArgs) {
+        return mainArgs.length == 1 && WorkerJvm.WORKER_MODE_ARGUMENT.equals(mainArgs[0]);
+    }
+
+    private void executeTestMethodsOnRequest(FrameworkTestRunner frameworkTestRunner) throws ClassNotFoundException {
+
+        Set<Thread> nonDaemonThreadsBeforeTests = findAliveNonDaemonThreads();
+
+        BufferedReader requestReader = new BufferedReader(new InputStreamReader(System.in));
+
+        String request;
+        while ((request = readRequest(requestReader)) != null) {
+
+            String[] arguments = request.split(WorkerJvm.ARGUMENT_SEPARATOR);
+            MainClassArguments mainClassArguments = MainClassArguments.buildFromMainArguments(arguments);
+
+            TestIssue testIssue = executeTestMethodAndSaveTestIssue(frameworkTestRunner, mainClassArguments);
+
+            boolean dirtyJvm = isJvmDirty(testIssue, nonDaemonThreadsBeforeTests);
+            System.out.println(WorkerJvm.END_OF_TEST + " " + (dirtyJvm ? WorkerJvm.DIRTY_JVM : WorkerJvm.CLEAN_JVM));
+            System.out.flush();
+
+        }
+
+    }
+
+    private TestIssue executeTestMethodAndSaveTestIssue(FrameworkTestRunner frameworkTestRunner
+                                                      , MainClassArguments mainClassArguments) throws ClassNotFoundException {
+
+        String workingFolderPath = mainClassArguments.getWorkingFolderPath();
+        SystemProperties.WORKING_FOLDER.set(workingFolderPath);
+        updateHeapDumpPath(workingFolderPath);
+
+        ForkedJvmStartupTime.INSTANCE.saveIfFirstTestOfJvm(workingFolderPath);
+
+        TestIssue testIssue = executeTestMethod(frameworkTestRunner, mainClassArguments);
+
+        TestIssueRepository testIssueRepository = TestIssueRepository.INSTANCE;
+        testIssueRepository.save(testIssue, workingFolderPath);
+
+        RecordChannel.INSTANCE.sendEndOfTest(workingFolderPath);
+
+        return testIssue;
+
+    }
+
+    private String readRequest(BufferedReader requestReader) {
+        try {
+            return requestReader.readLine();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void updateHeapDumpPath(String workingFolderPath) {
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName hotSpotDiagnostic = new ObjectName("com.sun.management:type=HotSpotDiagnostic");
+            String heapDumpPath = workingFolderPath + File.separator + HeapDump.HEAP_DUMP_NAME;
+            if (SystemProperties.RECORD_CHANNEL_PORT.evaluate() != null) {
+                // The working folder may not exist, the heap dump stays in the folder given on the command line
+                CompositeData heapDumpPathOption = (CompositeData) mBeanServer.invoke(hotSpotDiagnostic
+                                                                                  , "getVMOption"
+                                                                                  , new Object[] {"HeapDumpPath"}
+                                                                                  , new String[] {String.class.getName()});
+                String heapDumpFolderPath = new File((String) heapDumpPathOption.get("value")).getParent();
+                if (heapDumpFolderPath == null) {
+                    return;
+                }
+                heapDumpPath = HeapDump.buildHeapDumpPath(heapDumpFolderPath, workingFolderPath);
+            }
+            mBeanServer.invoke(hotSpotDiagnostic
+                             , "setVMOption"
+                             , new Object[] {"HeapDumpPath", heapDumpPath}
+                             , new String[] {String.class.getName(), String.class.getName()});
+        } catch (JMException e) {
+            // Not a HotSpot JVM, the heap dump path stays the one given on the command line
+        }
+    }
+
+    private boolean isJvmDirty(TestIssue testIssue, Set<Thread> nonDaemonThreadsBeforeTests) {
+        if (testIssue.asThrowable() instanceof VirtualMachineError) {
+            return true;
+        }
+        Set<Thread> nonDaemonThreads = findAliveNonDaemonThreads();
+        nonDaemonThreads.removeAll(nonDaemonThreadsBeforeTests);
+        return !nonDaemonThreads.isEmpty();
+    }
+
+    private Set<Thread> findAliveNonDaemonThreads() {
+        Set<Thread> nonDaemonThreads = new HashSet<>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.isAlive() && !thread.isDaemon()) {
+                nonDaemonThreads.add(thread);
+            }
+        }
+        return nonDaemonThreads;
+    }
+
 }
@@ -0,0 +1,154 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.testlauncher;
+
+import org.quickperf.issue.JvmIssue;
+
+import java.io.*;
+import java.util.List;
+
+/**
+ * A forked JVM executing test methods one after another. A test method is requested
+ * by writing its main class arguments on the standard input of the JVM. The JVM writes
+ * an end of test line on its standard output once the test issue is saved.
+ */
+class WorkerJvm {
+
+    static final String WORKER_MODE_ARGUMENT = "quickPerfWorkerJvm";
+
+    static final String ARGUMENT_SEPARATOR = "\t";
+
+    static final String END_OF_TEST = "[QUICK PERF] END OF TEST";
+
+    static final String CLEAN_JVM = "clean";
+
+    static final String DIRTY_JVM = "dirty";
+
+    private final Process process;
+
+    private final BufferedWriter requestWriter;
+
+    private final BufferedReader outputReader;
+
+    private final StringBuffer errorOutput = new StringBuffer();
+
+    private final Thread errorDrainer;
+
+    private int testExecutionCount;
+
+    private boolean dirty;
+
+    // The error output of the next tests could not be read, the JVM is not reused
+    private volatile boolean errorOutputUnreadable;
+
+    private WorkerJvm(final Process process) {
+        this.process = process;
+        this.requestWriter = new BufferedWriter(new OutputStreamWriter(process.getOutputStream()));
+        this.outputReader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+        this.errorDrainer = new Thread(new Runnable() {
+            public void run() {
+                BufferedReader errorReader = new BufferedReader(new InputStreamReader(process.getErrorStream()));
+                try {
+                    String line;
+                    while ((line = errorReader.readLine()) != null) {
+                        errorOutput.append(line).append(System.lineSeparator());
+                    }
+                } catch (IOException e) {
+                    errorOutput.append("Unable to read the error output of the worker JVM: ").append(e)
+                               .append(System.lineSeparator());
+                    errorOutputUnreadable = true;
+                }
+            }
+        });
+        this.errorDrainer.setDaemon(true);
+        this.errorDrainer.start();
+    }
+
+    static WorkerJvm start(List<String> jvmCommand) throws IOException {
+        Process process = new ProcessBuilder(jvmCommand).start();
+        return new WorkerJvm(process);
+    }
+
+    JvmIssue executeTest(MainClassArguments mainClassArguments) {
+
+        errorOutput.setLength(0);
+
+        try {
+            requestWriter.write(buildRequest(mainClassArguments));
+            requestWriter.newLine();
+            requestWriter.flush();
+
+            StringBuilder testOutput = new StringBuilder();
+            String line;
+            while ((line = outputReader.readLine()) != null) {
+                int endOfTestIndex = line.indexOf(END_OF_TEST);
+                if (endOfTestIndex != -1) {
+                    testOutput.append(line, 0, endOfTestIndex);
+                    testExecutionCount++;
+                    dirty = line.endsWith(DIRTY_JVM);
+                    printTestOutput(testOutput);
+                    return JvmIssue.NONE;
+                }
+                testOutput.append(line).append(System.lineSeparator());
+            }
+
+            return buildJvmIssueFromStoppedJvm(testOutput);
+
+        } catch (IOException | InterruptedException e) {
+            dirty = true;
+            return JvmIssue.buildFrom(e);
+        }
+
+    }
+
+    private String buildRequest(MainClassArguments mainClassArguments) {
+        StringBuilder request = new StringBuilder();
+        List<String> arguments = mainClassArguments.buildMainClassArgumentsForJvmCommand();
+        for (String argument : arguments) {
+            if (request.length() != 0) {
+                request.append(ARGUMENT_SEPARATOR);
+            }
+            request.append(argument);
+        }
+        return request.toString();
+    }
+
+    private void printTestOutput(StringBuilder testOutput) {
+        if (testOutput.length() != 0) {
+            System.out.print(testOutput);
+        }
+    }
+
+    private JvmIssue buildJvmIssueFromStoppedJvm(StringBuilder testOutput) throws InterruptedException {
+        dirty = true;
+        process.waitFor();
+        errorDrainer.join();
+        String errorMessage = errorOutput.toString();
+        if (errorMessage.isEmpty()) {
+            errorMessage = testOutput.toString();
+        }
+        return JvmIssue.buildFrom(errorMessage);
+    }
+
+    boolean canExecuteAnotherTest(int maxTestExecutions) {
+        return !dirty && !errorOutputUnreadable && testExecutionCount < maxTestExecutions;
+    }
+
+    void stop() {
+        try {
+            requestWriter.close();
+        } catch (IOException e) {
+            process.destroy();
+        }
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.testlauncher;
+
+import org.quickperf.SystemProperties;
+
+import java.util.*;
+
+class WorkerJvmPool {
+
+    static final WorkerJvmPool INSTANCE = new WorkerJvmPool();
+
+    private final Map<Key, Deque<WorkerJvm>> idleWorkerJvmsByKey = new HashMap<>();
+
+    private WorkerJvmPool() {
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            public void run() {
+                stopIdleWorkerJvms();
+            }
+        }));
+    }
+
+    static Key buildKey(AllJvmOptions jvmOptions, Class<?> mainClass) {
+        return new Key(jvmOptions, mainClass.getName());
+    }
+
+    synchronized WorkerJvm borrowWorkerJvm(Key key) {
+        Deque<WorkerJvm> idleWorkerJvms = idleWorkerJvmsByKey.get(key);
+        if (idleWorkerJvms == null) {
+            return null;
+        }
+        return idleWorkerJvms.pollFirst();
+    }
+
+    synchronized void giveBack(Key key, WorkerJvm workerJvm) {
+        int maxTestExecutions = SystemProperties.FORKED_JVM_MAX_TEST_EXECUTIONS.evaluate();
+        if (!workerJvm.canExecuteAnotherTest(maxTestExecutions)) {
+            workerJvm.stop();
+            return;
+        }
+        Deque<WorkerJvm> idleWorkerJvms = idleWorkerJvmsByKey.get(key);
+        if (idleWorkerJvms == null) {
+            idleWorkerJvms = new ArrayDeque<>();
+            idleWorkerJvmsByKey.put(key, idleWorkerJvms);
+        }
+        idleWorkerJvms.addFirst(workerJvm);
+    }
+
+    private synchronized void stopIdleWorkerJvms() {
+        for (Deque<WorkerJvm> idleWorkerJvms : idleWorkerJvmsByKey.values()) {
+            for (WorkerJvm workerJvm : idleWorkerJvms) {
+                workerJvm.stop();
+            }
+        }
+        idleWorkerJvmsByKey.clear();
+    }
+
+    static class Key {
+
+        private final AllJvmOptions jvmOptions;
+
+        private final String mainClassName;
+
+        private Key(AllJvmOptions jvmOptions, String mainClassName) {
+            this.jvmOptions = jvmOptions;
+            this.mainClassName = mainClassName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Key key = (Key) o;
+
+            return jvmOptions.equals(key.jvmOptions) && mainClassName.equals(key.mainClassName);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * jvmOptions.hashCode() + mainClassName.hashCode();
+        }
+
+    }
+
+}
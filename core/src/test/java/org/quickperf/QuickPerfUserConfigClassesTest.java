@@ -0,0 +1,137 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.quickperf.config.SpecifiableGlobalAnnotations;
+import org.quickperf.perfrecording.PerfRecord;
+import org.quickperf.perfrecording.RecordablePerformance;
+
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QuickPerfUserConfigClassesTest {
+
+    public static class UserConfig implements RecordablePerformance<PerfRecord> {
+
+        @Override
+        public void startRecording(TestExecutionContext testExecutionContext) {}
+
+        @Override
+        public void stopRecording(TestExecutionContext testExecutionContext) {}
+
+        @Override
+        public PerfRecord findRecord(TestExecutionContext testExecutionContext) {
+            return PerfRecord.NONE;
+        }
+
+        @Override
+        public void cleanResources() {}
+
+    }
+
+    public static class UserConfigWithoutNoArgConstructor extends UserConfig {
+
+        public UserConfigWithoutNoArgConstructor(String name) {}
+
+    }
+
+    static class PackagePrivateUserConfig extends UserConfig {}
+
+    public abstract static class AbstractGlobalAnnotations implements SpecifiableGlobalAnnotations {}
+
+    public static class InheritedGlobalAnnotations extends AbstractGlobalAnnotations {
+
+        @Override
+        public Collection<Annotation> specifyAnnotationsAppliedOnEachTest() {
+            return Collections.emptyList();
+        }
+
+    }
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final QuickPerfUserConfigClasses quickPerfUserConfigClasses = QuickPerfUserConfigClasses.INSTANCE;
+
+    @Test public void
+    should_find_the_classes_implementing_a_quickperf_interface() throws Exception {
+
+        List<Class> classes = Arrays.asList(quickPerfUserConfigClasses.findClasses());
+
+        assertThat(classes).contains(UserConfig.class)
+                           .doesNotContain(AnnotationsExtractor.class, QuickPerfUserConfigClassesTest.class);
+
+    }
+
+    @Test public void
+    should_ignore_the_non_public_classes_and_the_classes_without_no_arg_constructor() throws Exception {
+
+        List<Class> classes = Arrays.asList(quickPerfUserConfigClasses.findClasses());
+
+        assertThat(classes).doesNotContain(UserConfigWithoutNoArgConstructor.class, PackagePrivateUserConfig.class);
+
+    }
+
+    @Test public void
+    should_find_the_classes_inheriting_the_implementation_of_a_quickperf_interface() throws Exception {
+
+        List<Class> classes = Arrays.asList(quickPerfUserConfigClasses.findClasses());
+
+        assertThat(classes).contains(InheritedGlobalAnnotations.class)
+                           .doesNotContain(AbstractGlobalAnnotations.class);
+
+    }
+
+    @Test public void
+    should_find_the_same_classes_on_each_call() throws Exception {
+
+        Class[] classes = quickPerfUserConfigClasses.findClasses();
+
+        assertThat(quickPerfUserConfigClasses.findClasses()).containsExactly(classes);
+
+    }
+
+    @Test public void
+    should_instantiate_a_class_implementing_an_interface() throws Exception {
+
+        RecordablePerformance perfRecorder = quickPerfUserConfigClasses.instantiateClassImplementing(RecordablePerformance.class);
+
+        assertThat(perfRecorder).isNotNull();
+
+    }
+
+    @Test public void
+    should_write_the_class_names_in_the_working_folder_of_a_forked_jvm() throws Exception {
+
+        String workingFolderPath = temporaryFolder.getRoot().getPath();
+
+        quickPerfUserConfigClasses.writeClassNamesTo(workingFolderPath);
+
+        Path classNamesFile = Paths.get(workingFolderPath, "user-config-classes.txt");
+        assertThat(Files.readAllLines(classNamesFile, StandardCharsets.UTF_8)).contains(UserConfig.class.getName());
+
+    }
+
+}
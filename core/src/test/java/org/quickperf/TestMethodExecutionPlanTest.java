@@ -0,0 +1,180 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf;
+
+import org.junit.Test;
+import org.quickperf.config.library.AnnotationConfig;
+import org.quickperf.config.library.QuickPerfConfigs;
+import org.quickperf.config.library.SetOfAnnotationConfigs;
+import org.quickperf.perfrecording.ExecutionOrderOfPerfRecorders;
+import org.quickperf.perfrecording.ExtractablePerfRecorderParametersFromAnnotation;
+import org.quickperf.perfrecording.PerfRecord;
+import org.quickperf.perfrecording.PerfRecorderParameters;
+import org.quickperf.perfrecording.RecordablePerformance;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestMethodExecutionPlanTest {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface PerfAnnotation1 {}
+
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface PerfAnnotation2 {}
+
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface PerfAnnotationWithParameter {
+        boolean value();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface OtherPerfAnnotationWithParameter {
+        boolean value();
+    }
+
+    public static class PerfRecorder1 extends EmptyPerfRecorder {}
+
+    public static class PerfRecorder2 extends EmptyPerfRecorder {}
+
+    public static class PerfRecorderWithParameter extends EmptyPerfRecorder {
+
+        private final PerfRecorderParameters perfRecorderParameters;
+
+        public PerfRecorderWithParameter(PerfRecorderParameters perfRecorderParameters) {
+            this.perfRecorderParameters = perfRecorderParameters;
+        }
+
+    }
+
+    @PerfAnnotation1
+    @PerfAnnotation2
+    private void annotatedTestMethod() {}
+
+    @PerfAnnotationWithParameter(true)
+    @OtherPerfAnnotationWithParameter(false)
+    private void testMethodWithTwoAnnotationsOfTheSamePerfRecorder() {}
+
+    @SuppressWarnings("unchecked")
+    private final QuickPerfConfigs quickPerfConfigs = new QuickPerfConfigs(
+            new SetOfAnnotationConfigs(Arrays.asList(
+                      new AnnotationConfig.Builder().perfRecorderClass(PerfRecorder1.class).build(PerfAnnotation1.class)
+                    , new AnnotationConfig.Builder().perfRecorderClass(PerfRecorder2.class).build(PerfAnnotation2.class)))
+          , new ExecutionOrderOfPerfRecorders(
+                      Arrays.<Class<? extends RecordablePerformance>>asList(PerfRecorder1.class, PerfRecorder2.class)
+                    , Arrays.<Class<? extends RecordablePerformance>>asList(PerfRecorder2.class, PerfRecorder1.class)));
+
+    @Test public void
+    should_build_the_execution_plan_of_a_test_method_once() throws NoSuchMethodException {
+
+        // GIVEN
+        Method testMethod = TestMethodExecutionPlanTest.class.getDeclaredMethod("annotatedTestMethod");
+
+        // WHEN
+        TestMethodExecutionPlan executionPlan = TestMethodExecutionPlan.of(quickPerfConfigs, testMethod);
+
+        // THEN
+        assertThat(TestMethodExecutionPlan.of(quickPerfConfigs, testMethod)).isSameAs(executionPlan);
+        assertThat(executionPlan.getPerfAnnotations()).hasSize(2);
+
+    }
+
+    @Test public void
+    should_build_new_sorted_perf_recorders_for_each_execution() throws NoSuchMethodException {
+
+        // GIVEN
+        Method testMethod = TestMethodExecutionPlanTest.class.getDeclaredMethod("annotatedTestMethod");
+        TestMethodExecutionPlan executionPlan = TestMethodExecutionPlan.of(quickPerfConfigs, testMethod);
+
+        // WHEN
+        RecordablePerformance[] perfRecorders = executionPlan.buildPerfRecorders();
+        RecordablePerformance[] otherPerfRecorders = executionPlan.buildPerfRecorders();
+
+        // THEN
+        List<RecordablePerformance> beforeTestMethod = executionPlan.selectPerfRecordersToExecuteBeforeTestMethod(perfRecorders);
+        assertThat(beforeTestMethod).hasSize(2);
+        assertThat(beforeTestMethod.get(0)).isInstanceOf(PerfRecorder1.class);
+        assertThat(beforeTestMethod.get(1)).isInstanceOf(PerfRecorder2.class);
+
+        List<RecordablePerformance> afterTestMethod = executionPlan.selectPerfRecordersToExecuteAfterTestMethod(perfRecorders);
+        assertThat(afterTestMethod).containsExactly(beforeTestMethod.get(1), beforeTestMethod.get(0));
+
+        assertThat(otherPerfRecorders).doesNotContain(perfRecorders);
+
+    }
+
+    @Test public void
+    should_build_one_perf_recorder_from_the_first_annotation_using_a_perf_recorder_class() throws NoSuchMethodException {
+
+        // GIVEN
+        @SuppressWarnings("unchecked")
+        QuickPerfConfigs quickPerfConfigs = new QuickPerfConfigs(
+                new SetOfAnnotationConfigs(Arrays.asList(
+                          new AnnotationConfig.Builder().perfRecorderClass(PerfRecorderWithParameter.class)
+                                                        .perfRecorderParamsExtractorFromAnnot(new ExtractablePerfRecorderParametersFromAnnotation<PerfAnnotationWithParameter>() {
+                                                            @Override
+                                                            public PerfRecorderParameters extractFrom(PerfAnnotationWithParameter annotation) {
+                                                                return new PerfRecorderParameters("param", annotation.value());
+                                                            }
+                                                        })
+                                                        .build(PerfAnnotationWithParameter.class)
+                        , new AnnotationConfig.Builder().perfRecorderClass(PerfRecorderWithParameter.class)
+                                                        .perfRecorderParamsExtractorFromAnnot(new ExtractablePerfRecorderParametersFromAnnotation<OtherPerfAnnotationWithParameter>() {
+                                                            @Override
+                                                            public PerfRecorderParameters extractFrom(OtherPerfAnnotationWithParameter annotation) {
+                                                                return new PerfRecorderParameters("param", annotation.value());
+                                                            }
+                                                        })
+                                                        .build(OtherPerfAnnotationWithParameter.class)))
+              , new ExecutionOrderOfPerfRecorders(
+                          Arrays.<Class<? extends RecordablePerformance>>asList(PerfRecorderWithParameter.class)
+                        , Arrays.<Class<? extends RecordablePerformance>>asList(PerfRecorderWithParameter.class)));
+        Method testMethod = TestMethodExecutionPlanTest.class.getDeclaredMethod("testMethodWithTwoAnnotationsOfTheSamePerfRecorder");
+        TestMethodExecutionPlan executionPlan = TestMethodExecutionPlan.of(quickPerfConfigs, testMethod);
+
+        // WHEN
+        RecordablePerformance[] perfRecorders = executionPlan.buildPerfRecorders();
+
+        // THEN
+        List<RecordablePerformance> beforeTestMethod = executionPlan.selectPerfRecordersToExecuteBeforeTestMethod(perfRecorders);
+        assertThat(beforeTestMethod).hasSize(1);
+        PerfRecorderWithParameter perfRecorder = (PerfRecorderWithParameter) beforeTestMethod.get(0);
+        assertThat(perfRecorder.perfRecorderParameters.getBooleanParam("param")).isTrue();
+        assertThat(executionPlan.selectPerfRecordersToExecuteAfterTestMethod(perfRecorders)).containsExactly(perfRecorder);
+
+    }
+
+    private static class EmptyPerfRecorder implements RecordablePerformance<PerfRecord> {
+
+        @Override
+        public void startRecording(TestExecutionContext testExecutionContext) {}
+
+        @Override
+        public void stopRecording(TestExecutionContext testExecutionContext) {}
+
+        @Override
+        public PerfRecord findRecord(TestExecutionContext testExecutionContext) {
+            return PerfRecord.NONE;
+        }
+
+        @Override
+        public void cleanResources() {}
+
+    }
+
+}
@@ -0,0 +1,31 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.config.library;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QuickPerfConfigsLoaderTest {
+
+    @Test public void
+    should_load_the_configs_once_for_a_class_loader() {
+
+        QuickPerfConfigs quickPerfConfigs = QuickPerfConfigsLoader.INSTANCE.loadQuickPerfConfigs();
+
+        assertThat(QuickPerfConfigsLoader.INSTANCE.loadQuickPerfConfigs()).isSameAs(quickPerfConfigs);
+        assertThat(quickPerfConfigs.getLoadingTimeInNs()).isPositive();
+
+    }
+
+}
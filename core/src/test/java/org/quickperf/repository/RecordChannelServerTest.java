@@ -0,0 +1,153 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.repository;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RecordChannelServerTest {
+
+    private final RecordChannelServer recordChannelServer = new RecordChannelServer();
+
+    @Test public void
+    should_receive_the_files_sent_before_the_end_of_test() {
+
+        // GIVEN
+        String workingFolderPath = "QuickPerf-test-1";
+        recordChannelServer.startTest(workingFolderPath);
+        RecordChannel recordChannel = new RecordChannel(recordChannelServer.getPort(), recordChannelServer.getToken(), workingFolderPath);
+        assertThat(recordChannel.isOpen()).isTrue();
+        byte[] content = {1, 2, 3};
+
+        // WHEN
+        recordChannel.send(workingFolderPath, "records.rec", content);
+        recordChannel.sendEndOfTest(workingFolderPath);
+        recordChannelServer.waitForEndOfTest(workingFolderPath);
+
+        // THEN
+        assertThat(recordChannelServer.find(workingFolderPath, "records.rec")).isEqualTo(content);
+
+    }
+
+    @Test public void
+    should_receive_the_files_of_a_stopped_jvm_whose_connection_is_closed() throws IOException {
+
+        // GIVEN
+        String workingFolderPath = "QuickPerf-test-2";
+        recordChannelServer.startTest(workingFolderPath);
+        RecordChannel recordChannel = new RecordChannel(recordChannelServer.getPort(), recordChannelServer.getToken(), workingFolderPath);
+        assertThat(recordChannel.isOpen()).isTrue();
+        byte[] content = {4, 5};
+
+        // WHEN
+        recordChannel.send(workingFolderPath, "records.rec", content);
+        recordChannel.close();
+        recordChannelServer.jvmStopped(workingFolderPath, Collections.singletonList(workingFolderPath));
+        recordChannelServer.waitForEndOfTest(workingFolderPath);
+
+        // THEN
+        assertThat(recordChannelServer.find(workingFolderPath, "records.rec")).isEqualTo(content);
+
+    }
+
+    @Test public void
+    should_stop_waiting_shortly_after_the_stop_of_a_jvm_that_never_connected() {
+
+        // GIVEN
+        String workingFolderPath = "QuickPerf-test-3";
+        recordChannelServer.startTest(workingFolderPath);
+
+        // WHEN
+        long startTime = System.currentTimeMillis();
+        recordChannelServer.jvmStopped(workingFolderPath, Collections.singletonList(workingFolderPath));
+        recordChannelServer.waitForEndOfTest(workingFolderPath);
+
+        // THEN
+        long waitingTime = System.currentTimeMillis() - startTime;
+        assertThat(waitingTime).isLessThan(5000);
+        assertThat(recordChannelServer.find(workingFolderPath, "records.rec")).isNull();
+
+    }
+
+    @Test public void
+    should_ignore_the_files_of_a_connection_with_an_invalid_token() throws IOException {
+
+        // GIVEN
+        String workingFolderPath = "QuickPerf-test-4";
+        recordChannelServer.startTest(workingFolderPath);
+        RecordChannel recordChannel = new RecordChannel(recordChannelServer.getPort(), "invalid token", workingFolderPath);
+        assertThat(recordChannel.isOpen()).isTrue();
+
+        // WHEN
+        sendUntilTheConnectionIsClosed(recordChannel, workingFolderPath);
+        recordChannelServer.jvmStopped(workingFolderPath, Collections.singletonList(workingFolderPath));
+        recordChannelServer.waitForEndOfTest(workingFolderPath);
+
+        // THEN
+        assertThat(recordChannelServer.find(workingFolderPath, "records.rec")).isNull();
+
+    }
+
+    private void sendUntilTheConnectionIsClosed(RecordChannel recordChannel, String workingFolderPath) {
+        byte[] content = new byte[64 * 1024];
+        try {
+            for (int i = 0; i < 1000; i++) {
+                recordChannel.send(workingFolderPath, "records.rec", content);
+            }
+        } catch (IllegalStateException e) {
+            // The connection is closed by the test JVM
+        }
+    }
+
+    @Test public void
+    should_ignore_the_files_of_a_test_not_started() {
+
+        // GIVEN
+        String startedTestPath = "QuickPerf-test-5";
+        String notStartedTestPath = "QuickPerf-test-6";
+        recordChannelServer.startTest(startedTestPath);
+        RecordChannel recordChannel = new RecordChannel(recordChannelServer.getPort(), recordChannelServer.getToken(), startedTestPath);
+        assertThat(recordChannel.isOpen()).isTrue();
+
+        // WHEN
+        recordChannel.send(notStartedTestPath, "records.rec", new byte[] {1});
+        recordChannel.send(startedTestPath, "records.rec", new byte[] {2});
+        recordChannel.sendEndOfTest(startedTestPath);
+        recordChannelServer.waitForEndOfTest(startedTestPath);
+
+        // THEN
+        assertThat(recordChannelServer.find(notStartedTestPath, "records.rec")).isNull();
+        assertThat(recordChannelServer.find(startedTestPath, "records.rec")).containsExactly(2);
+
+    }
+
+    @Test public void
+    should_not_send_the_files_larger_than_the_max_length() {
+
+        // GIVEN
+        RecordChannel recordChannel = new RecordChannel(recordChannelServer.getPort(), recordChannelServer.getToken(), "QuickPerf-test-7");
+
+        // WHEN
+        boolean smallFileSent = recordChannel.canSend(new byte[1]);
+        boolean largeFileSent = recordChannel.canSend(new byte[RecordChannel.MAX_FILE_LENGTH_IN_BYTES + 1]);
+
+        // THEN
+        assertThat(smallFileSent).isTrue();
+        assertThat(largeFileSent).isFalse();
+
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.repository;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RecordFileRepositoryTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static class Measure {
+
+        private final String name;
+
+        private final long value;
+
+        private final int[] details;
+
+        private final BigDecimal ratio;
+
+        private Measure(String name, long value, int[] details, BigDecimal ratio) {
+            this.name = name;
+            this.value = value;
+            this.details = details;
+            this.ratio = ratio;
+        }
+
+    }
+
+    private static class MeasureSerializer implements RecordSerializer<Measure> {
+
+        private final int version;
+
+        private MeasureSerializer(int version) {
+            this.version = version;
+        }
+
+        @Override
+        public int getVersion() {
+            return version;
+        }
+
+        @Override
+        public void write(Measure measure, RecordOutput output) {
+            output.writeString(measure.name);
+            output.writeString(measure.name);
+            output.writeString(null);
+            output.writeLong(measure.value);
+            output.writeInts(measure.details);
+            output.writeSerializable(measure.ratio);
+        }
+
+        @Override
+        public Measure read(RecordInput input) {
+            String name = input.readString();
+            assertThat(input.readString()).isSameAs(name);
+            assertThat(input.readString()).isNull();
+            return new Measure(name, input.readLong(), input.readInts(), (BigDecimal) input.readSerializable());
+        }
+
+    }
+
+    @Test public void
+    should_find_saved_record() {
+
+        // GIVEN
+        String workingFolderPath = temporaryFolder.getRoot().getPath();
+        int[] details = new int[3000];
+        details[2999] = 5;
+        Measure measure = new Measure("Measure é", 12L, details, new BigDecimal("1.5"));
+
+        // WHEN
+        RecordFileRepository.INSTANCE.save(workingFolderPath, "measure.rec", measure, new MeasureSerializer(1));
+        Measure foundMeasure = RecordFileRepository.INSTANCE.find(workingFolderPath, "measure.rec", new MeasureSerializer(1));
+
+        // THEN
+        assertThat(foundMeasure.name).isEqualTo("Measure é");
+        assertThat(foundMeasure.value).isEqualTo(12L);
+        assertThat(foundMeasure.details).isEqualTo(details);
+        assertThat(foundMeasure.ratio).isEqualTo(new BigDecimal("1.5"));
+
+    }
+
+    @Test public void
+    should_write_each_string_once() {
+
+        // GIVEN
+        String workingFolderPath = temporaryFolder.getRoot().getPath();
+        final String sql = "SELECT * FROM book WHERE id = ?";
+
+        // WHEN
+        RecordFileRepository.INSTANCE.save(workingFolderPath, "sql.rec", sql, new RecordSerializer<String>() {
+            @Override
+            public int getVersion() {
+                return 1;
+            }
+
+            @Override
+            public void write(String sql, RecordOutput output) {
+                for (int i = 0; i < 100; i++) {
+                    output.writeString(sql);
+                }
+            }
+
+            @Override
+            public String read(RecordInput input) {
+                return input.readString();
+            }
+        });
+
+        // THEN
+        long fileSize = new File(workingFolderPath, "sql.rec").length();
+        assertThat(fileSize).isLessThan(100 * sql.length());
+
+    }
+
+    @Test(expected = IllegalStateException.class) public void
+    should_reject_record_written_with_another_version() {
+
+        // GIVEN
+        String workingFolderPath = temporaryFolder.getRoot().getPath();
+        Measure measure = new Measure("Measure", 12L, new int[0], BigDecimal.ONE);
+        RecordFileRepository.INSTANCE.save(workingFolderPath, "measure.rec", measure, new MeasureSerializer(1));
+
+        // WHEN
+        RecordFileRepository.INSTANCE.find(workingFolderPath, "measure.rec", new MeasureSerializer(2));
+
+    }
+
+}
@@ -65,4 +65,66 @@ public class AllJvmOptionsTest {
 
     }
 
-}
\ No newline at end of file
+    @Test public void
+    jvm_options_with_same_values_in_same_order_should_be_equal() {
+
+        // GIVEN
+        List<JvmOption> jvmOptions = Arrays.asList(new JvmOption("-Xms20m"), new JvmOption("-Xmx20m"));
+        List<JvmOption> otherJvmOptions = Arrays.asList(new JvmOption("-Xms20m"), new JvmOption("-Xmx20m"));
+        List<JvmOption> reversedJvmOptions = Arrays.asList(new JvmOption("-Xmx20m"), new JvmOption("-Xms20m"));
+
+        // WHEN
+        AllJvmOptions allJvmOptions = new AllJvmOptions.Builder().addOptions(jvmOptions).build();
+        AllJvmOptions otherAllJvmOptions = new AllJvmOptions.Builder().addOptions(otherJvmOptions).build();
+        AllJvmOptions reversedAllJvmOptions = new AllJvmOptions.Builder().addOptions(reversedJvmOptions).build();
+
+        // THEN
+        assertThat(allJvmOptions).isEqualTo(otherAllJvmOptions);
+        assertThat(allJvmOptions.hashCode()).isEqualTo(otherAllJvmOptions.hashCode());
+        assertThat(allJvmOptions).isNotEqualTo(reversedAllJvmOptions);
+
+    }
+
+    @Test public void
+    should_detect_jvm_options_depending_on_working_folder() {
+
+        // GIVEN
+        WorkingFolder workingFolder = Mockito.mock(WorkingFolder.class);
+        Mockito.when(workingFolder.getPath()).thenReturn("/tmp/QuickPerf-123");
+
+        // WHEN
+        AllJvmOptions gcLogJvmOptions = new AllJvmOptions.Builder()
+                .addOptions(Arrays.asList(new JvmOption("-Xloggc:/tmp/QuickPerf-123/gc.log")))
+                .build();
+        AllJvmOptions heapJvmOptions = new AllJvmOptions.Builder()
+                .addOptions(Arrays.asList(new JvmOption("-Xmx20m")))
+                .build();
+
+        // THEN
+        assertThat(gcLogJvmOptions.dependOn(workingFolder)).isTrue();
+        assertThat(heapJvmOptions.dependOn(workingFolder)).isFalse();
+
+    }
+
+    @Test public void
+    should_find_max_heap_size_in_bytes() {
+
+        // GIVEN
+        AllJvmOptions xmxJvmOptions = new AllJvmOptions.Builder()
+                .addOptions(Arrays.asList(new JvmOption("-Xms10m"), new JvmOption("-Xmx20m")))
+                .build();
+        AllJvmOptions maxHeapSizeJvmOptions = new AllJvmOptions.Builder()
+                .addOptions(Arrays.asList(new JvmOption("-XX:MaxHeapSize=2G")))
+                .build();
+        AllJvmOptions jvmOptionsWithoutMaxHeapSize = new AllJvmOptions.Builder()
+                .addOptions(Arrays.asList(new JvmOption("-XX:+UseSerialGC")))
+                .build();
+
+        // THEN
+        assertThat(xmxJvmOptions.findMaxHeapSizeInBytes()).isEqualTo(20L * 1024 * 1024);
+        assertThat(maxHeapSizeJvmOptions.findMaxHeapSizeInBytes()).isEqualTo(2L * 1024 * 1024 * 1024);
+        assertThat(jvmOptionsWithoutMaxHeapSize.findMaxHeapSizeInBytes()).isEqualTo(-1);
+
+    }
+
+}
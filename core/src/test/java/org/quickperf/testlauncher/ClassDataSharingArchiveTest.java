@@ -0,0 +1,116 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.testlauncher;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.quickperf.testlauncher.ClassDataSharingArchive.ArchivedClassPath;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClassDataSharingArchiveTest {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test public void
+    should_put_the_directories_of_the_classpath_after_its_jars() throws IOException {
+
+        // GIVEN
+        File classes = aDirectoryWith("classes", "org/quickperf/Test.class");
+        File jar = aJarWith("library.jar", "org/library/Library.class");
+        String classPath = classes.getPath() + File.pathSeparator + jar.getPath();
+
+        // WHEN
+        ArchivedClassPath archivedClassPath = ArchivedClassPath.of(classPath);
+
+        // THEN
+        assertThat(archivedClassPath.findWhyClassesCanNotBeArchived()).isNull();
+        assertThat(archivedClassPath.getJarPart()).isEqualTo(jar.getPath());
+        assertThat(archivedClassPath.getJarsFollowedByOtherElements())
+                .isEqualTo(jar.getPath() + File.pathSeparator + classes.getPath());
+
+    }
+
+    @Test public void
+    should_not_archive_the_classes_if_a_file_is_in_a_directory_and_in_a_jar() throws IOException {
+
+        // GIVEN
+        File classes = aDirectoryWith("classes", "org/library/Library.class");
+        File jar = aJarWith("library.jar", "org/library/Library.class");
+        String classPath = classes.getPath() + File.pathSeparator + jar.getPath();
+
+        // WHEN
+        ArchivedClassPath archivedClassPath = ArchivedClassPath.of(classPath);
+
+        // THEN
+        assertThat(archivedClassPath.findWhyClassesCanNotBeArchived())
+                .isEqualTo("org/library/Library.class is both in " + jar.getPath() + " and in a directory of the classpath");
+
+    }
+
+    @Test public void
+    should_ignore_the_meta_inf_files_present_in_a_directory_and_in_a_jar() throws IOException {
+
+        // GIVEN
+        File classes = aDirectoryWith("classes", "META-INF/MANIFEST.MF");
+        File jar = aJarWith("library.jar", "META-INF/MANIFEST.MF");
+        String classPath = classes.getPath() + File.pathSeparator + jar.getPath();
+
+        // WHEN
+        ArchivedClassPath archivedClassPath = ArchivedClassPath.of(classPath);
+
+        // THEN
+        assertThat(archivedClassPath.findWhyClassesCanNotBeArchived()).isNull();
+
+    }
+
+    @Test public void
+    should_not_archive_the_classes_of_a_classpath_without_jar() throws IOException {
+
+        // GIVEN
+        File classes = aDirectoryWith("classes", "org/quickperf/Test.class");
+
+        // WHEN
+        ArchivedClassPath archivedClassPath = ArchivedClassPath.of(classes.getPath());
+
+        // THEN
+        assertThat(archivedClassPath.findWhyClassesCanNotBeArchived()).isEqualTo("no jar in the classpath");
+
+    }
+
+    private File aDirectoryWith(String directoryName, String filePath) throws IOException {
+        File directory = temporaryFolder.newFolder(directoryName);
+        File file = new File(directory, filePath);
+        file.getParentFile().mkdirs();
+        file.createNewFile();
+        return directory;
+    }
+
+    private File aJarWith(String jarName, String entryName) throws IOException {
+        File jar = temporaryFolder.newFile(jarName);
+        try (ZipOutputStream jarOutput = new ZipOutputStream(new FileOutputStream(jar))) {
+            jarOutput.putNextEntry(new ZipEntry(entryName));
+            jarOutput.write(1);
+            jarOutput.closeEntry();
+        }
+        return jar;
+    }
+
+}
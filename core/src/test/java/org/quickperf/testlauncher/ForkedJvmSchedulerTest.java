@@ -0,0 +1,152 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.testlauncher;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ForkedJvmSchedulerTest {
+
+    @Test public void
+    should_wait_for_a_running_jvm_if_max_number_of_jvms_is_reached() throws InterruptedException {
+
+        // GIVEN
+        final ForkedJvmScheduler scheduler = new ForkedJvmScheduler(1, 1000);
+        scheduler.waitForResources(10, false);
+
+        // WHEN
+        CountDownLatch started = startJvmInAnotherThread(scheduler, 10, false);
+
+        // THEN
+        waitUntilWaitingJvmsAre(1, scheduler);
+        assertThat(started.getCount()).isEqualTo(1);
+        scheduler.releaseResources(10);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    }
+
+    @Test public void
+    should_wait_for_a_running_jvm_if_memory_is_not_available() throws InterruptedException {
+
+        // GIVEN
+        final ForkedJvmScheduler scheduler = new ForkedJvmScheduler(4, 100);
+        scheduler.waitForResources(60, false);
+
+        // WHEN
+        CountDownLatch started = startJvmInAnotherThread(scheduler, 60, false);
+
+        // THEN
+        waitUntilWaitingJvmsAre(1, scheduler);
+        assertThat(started.getCount()).isEqualTo(1);
+        scheduler.releaseResources(60);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    }
+
+    @Test public void
+    should_start_a_jvm_needing_more_memory_than_available_if_no_other_jvm_is_running() throws InterruptedException {
+
+        // GIVEN
+        ForkedJvmScheduler scheduler = new ForkedJvmScheduler(4, 100);
+
+        // WHEN
+        CountDownLatch started = startJvmInAnotherThread(scheduler, 1000, false);
+
+        // THEN
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    }
+
+    @Test public void
+    a_jvm_needing_the_machine_alone_should_wait_for_the_others_and_block_the_next_ones() throws InterruptedException {
+
+        // GIVEN
+        ForkedJvmScheduler scheduler = new ForkedJvmScheduler(4, 1000);
+        scheduler.waitForResources(10, false);
+
+        // WHEN
+        CountDownLatch aloneJvmStarted = startJvmInAnotherThread(scheduler, 10, true);
+        waitUntilWaitingJvmsAre(1, scheduler);
+        CountDownLatch nextJvmStarted = startJvmInAnotherThread(scheduler, 10, false);
+        waitUntilWaitingJvmsAre(2, scheduler);
+
+        // THEN
+        assertThat(aloneJvmStarted.getCount()).isEqualTo(1);
+        assertThat(nextJvmStarted.getCount()).isEqualTo(1);
+
+        scheduler.releaseResources(10);
+        assertThat(aloneJvmStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        waitUntilWaitingJvmsAre(1, scheduler);
+        assertThat(nextJvmStarted.getCount()).isEqualTo(1);
+
+        scheduler.releaseResources(10);
+        assertThat(nextJvmStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+    }
+
+    @Test public void
+    the_jvms_needing_the_machine_alone_should_start_in_their_order_of_request() throws InterruptedException {
+
+        // GIVEN
+        ForkedJvmScheduler scheduler = new ForkedJvmScheduler(4, 1000);
+        scheduler.waitForResources(10, false);
+
+        // WHEN
+        CountDownLatch firstAloneJvmStarted = startJvmInAnotherThread(scheduler, 10, true);
+        waitUntilWaitingJvmsAre(1, scheduler);
+        CountDownLatch secondAloneJvmStarted = startJvmInAnotherThread(scheduler, 10, true);
+        waitUntilWaitingJvmsAre(2, scheduler);
+        scheduler.releaseResources(10);
+
+        // THEN
+        assertThat(firstAloneJvmStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        waitUntilWaitingJvmsAre(1, scheduler);
+        assertThat(secondAloneJvmStarted.getCount()).isEqualTo(1);
+
+        scheduler.releaseResources(10);
+        assertThat(secondAloneJvmStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+    }
+
+    /* A waiting JVM can only start after a release of resources: the
+       assertions following this wait are not time dependent. */
+    private void waitUntilWaitingJvmsAre(int waitingJvms, ForkedJvmScheduler scheduler) {
+        while (scheduler.getWaitingJvms() != waitingJvms) {
+            Thread.yield();
+        }
+    }
+
+    private CountDownLatch startJvmInAnotherThread(final ForkedJvmScheduler scheduler
+                                                 , final long memoryInBytes
+                                                 , final boolean aloneOnMachine) {
+        final CountDownLatch started = new CountDownLatch(1);
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    scheduler.waitForResources(memoryInBytes, aloneOnMachine);
+                    started.countDown();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return started;
+    }
+
+}
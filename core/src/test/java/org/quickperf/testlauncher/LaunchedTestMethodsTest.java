@@ -0,0 +1,65 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.testlauncher;
+
+import org.junit.Test;
+import org.quickperf.WorkingFolder;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LaunchedTestMethodsTest {
+
+    private final LaunchedTestMethods launchedTestMethods = LaunchedTestMethods.INSTANCE;
+
+    private final WorkingFolder workingFolder = WorkingFolder.createOrRetrieveWorkingFolder(false);
+
+    @Test public void
+    should_launch_again_a_test_method_taken_by_the_test_framework() throws NoSuchMethodException {
+
+        // GIVEN
+        Method testMethod = LaunchedTestMethodsTest.class.getDeclaredMethod("should_launch_again_a_test_method_taken_by_the_test_framework");
+        launchedTestMethods.markAsLaunched(testMethod);
+        launchedTestMethods.registerExecuted(testMethod, workingFolder);
+
+        // WHEN
+        LaunchedTestMethods.LaunchedTestMethod launchedTestMethod = launchedTestMethods.take(testMethod);
+
+        // THEN
+        assertThat(launchedTestMethod).isNotNull();
+        assertThat(launchedTestMethods.take(testMethod)).isNull();
+        assertThat(launchedTestMethods.markAsLaunched(testMethod)).isTrue();
+        launchedTestMethods.forget(testMethod);
+
+    }
+
+    @Test public void
+    should_launch_again_a_forgotten_test_method() throws NoSuchMethodException {
+
+        // GIVEN
+        Method testMethod = LaunchedTestMethodsTest.class.getDeclaredMethod("should_launch_again_a_forgotten_test_method");
+        launchedTestMethods.markAsLaunched(testMethod);
+
+        // WHEN
+        boolean launchedTwice = launchedTestMethods.markAsLaunched(testMethod);
+        launchedTestMethods.forget(testMethod);
+
+        // THEN
+        assertThat(launchedTwice).isFalse();
+        assertThat(launchedTestMethods.markAsLaunched(testMethod)).isTrue();
+        launchedTestMethods.forget(testMethod);
+
+    }
+
+}
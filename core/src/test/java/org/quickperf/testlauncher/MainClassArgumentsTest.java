@@ -0,0 +1,60 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.testlauncher;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MainClassArgumentsTest {
+
+    @Test public void
+    should_build_arguments_of_one_test_method_from_main_arguments() {
+
+        // WHEN
+        MainClassArguments mainClassArguments =
+                MainClassArguments.buildFromMainArguments("org.quickperf.MyTest", "test_method", "/tmp/QuickPerf-1");
+
+        // THEN
+        assertThat(mainClassArguments.getClassName()).isEqualTo("org.quickperf.MyTest");
+        assertThat(mainClassArguments.getMethodName()).isEqualTo("test_method");
+        assertThat(mainClassArguments.getWorkingFolderPath()).isEqualTo("/tmp/QuickPerf-1");
+        assertThat(mainClassArguments.buildMainClassArgumentsForJvmCommand())
+                .containsExactly("org.quickperf.MyTest", "test_method", "/tmp/QuickPerf-1");
+
+    }
+
+    @Test public void
+    should_split_arguments_of_several_test_methods_by_test_method() {
+
+        // GIVEN
+        MainClassArguments mainClassArguments =
+                MainClassArguments.buildFromMainArguments( "org.quickperf.MyTest"
+                                                         , "first_test", "/tmp/QuickPerf-1"
+                                                         , "second_test", "/tmp/QuickPerf-2");
+
+        // WHEN
+        List<MainClassArguments> argumentsByTestMethod = mainClassArguments.splitByTestMethod();
+
+        // THEN
+        assertThat(argumentsByTestMethod).hasSize(2);
+        MainClassArguments secondTestArguments = argumentsByTestMethod.get(1);
+        assertThat(secondTestArguments.getClassName()).isEqualTo("org.quickperf.MyTest");
+        assertThat(secondTestArguments.getMethodName()).isEqualTo("second_test");
+        assertThat(secondTestArguments.getWorkingFolderPath()).isEqualTo("/tmp/QuickPerf-2");
+
+    }
+
+}
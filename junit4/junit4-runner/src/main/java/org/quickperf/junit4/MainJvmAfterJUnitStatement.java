@@ -25,6 +25,7 @@ import org.quickperf.testlauncher.NewJvmTestLauncher;
 
 import java.lang.reflect.Method;
 import java.util.Collection;
+import java.util.Collections;
 
 public class MainJvmAfterJUnitStatement extends Statement {
 
@@ -38,19 +39,42 @@ public class MainJvmAfterJUnitStatement extends Statement {
 
     private final TestExecutionContext testExecutionContext;
 
+    private final QuickPerfConfigs quickPerfConfigs;
+
     private final SetOfAnnotationConfigs testAnnotationConfigs;
 
     private final Statement junitAfters;
 
+    private final Collection<Method> scheduledTestMethods;
+
     public MainJvmAfterJUnitStatement(
               FrameworkMethod frameworkMethod
             , TestExecutionContext testExecutionContext
             , QuickPerfConfigs quickPerfConfigs
             , Statement junitAfters) {
+        this(frameworkMethod
+           , testExecutionContext
+           , quickPerfConfigs
+           , junitAfters
+           , Collections.singletonList(frameworkMethod.getMethod()));
+    }
+
+    /**
+     * @param scheduledTestMethods test methods of the class executed by the runner, that can be
+     *                             executed in the JVM forked for this test method
+     */
+    public MainJvmAfterJUnitStatement(
+              FrameworkMethod frameworkMethod
+            , TestExecutionContext testExecutionContext
+            , QuickPerfConfigs quickPerfConfigs
+            , Statement junitAfters
+            , Collection<Method> scheduledTestMethods) {
         this.testExecutionContext = testExecutionContext;
         this.frameworkMethod = frameworkMethod;
+        this.quickPerfConfigs = quickPerfConfigs;
         this.testAnnotationConfigs = quickPerfConfigs.getTestAnnotationConfigs();
         this.junitAfters = junitAfters;
+        this.scheduledTestMethods = scheduledTestMethods;
     }
 
     @Override
@@ -76,7 +100,9 @@ public class MainJvmAfterJUnitStatement extends Statement {
             Method testMethod = frameworkMethod.getMethod();
             return newJvmTestLauncher.executeTestMethodInNewJwm(testMethod
                                                               , testExecutionContext
-                                                              , QuickPerfJunit4Core.class);
+                                                              , QuickPerfJunit4Core.class
+                                                              , quickPerfConfigs
+                                                              , scheduledTestMethods);
 
         }
         TestIssue testIssue = evaluateInSameJvm(junitAfters);
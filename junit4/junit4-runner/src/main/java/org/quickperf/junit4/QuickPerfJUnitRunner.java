@@ -12,6 +12,9 @@
 package org.quickperf.junit4;
 
 import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.NoTestsRemainException;
 import org.junit.runners.BlockJUnit4ClassRunner;
 import org.junit.runners.model.FrameworkMethod;
 import org.junit.runners.model.InitializationError;
@@ -23,7 +26,9 @@ import org.quickperf.SystemProperties;
 import org.quickperf.jvm.JvmVersion;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class QuickPerfJUnitRunner extends BlockJUnit4ClassRunner {
 
@@ -35,7 +40,11 @@ public class QuickPerfJUnitRunner extends BlockJUnit4ClassRunner {
 
     private final QuickPerfConfigs quickPerfConfigs = QuickPerfConfigsLoader.INSTANCE.loadQuickPerfConfigs();
 
-    private TestExecutionContext testExecutionContext;
+    // methodInvoker, withBefores and withAfters are called one after the other by the thread
+    // building the statement of a test method, so that test methods can run in parallel
+    private final ThreadLocal<TestExecutionContext> testExecutionContextOfCurrentThread = new ThreadLocal<>();
+
+    private final List<Filter> filters = new CopyOnWriteArrayList<>();
 
     public QuickPerfJUnitRunner(Class<?> klass) throws InitializationError {
         super(klass);
@@ -51,15 +60,49 @@ public class QuickPerfJUnitRunner extends BlockJUnit4ClassRunner {
         return getTestClass().getAnnotatedMethods(Test.class);
     }
 
+    @Override
+    public void filter(Filter filter) throws NoTestsRemainException {
+        super.filter(filter);
+        filters.add(filter);
+    }
+
+    /**
+     * @return the test methods that this runner executes, the ignored test methods
+     * and the ones excluded by a filter being not executed
+     */
+    private List<Method> findScheduledTestMethods() {
+        List<Method> scheduledTestMethods = new ArrayList<>();
+        for (FrameworkMethod testMethod : getChildren()) {
+            if (isScheduled(testMethod)) {
+                scheduledTestMethods.add(testMethod.getMethod());
+            }
+        }
+        return scheduledTestMethods;
+    }
+
+    private boolean isScheduled(FrameworkMethod testMethod) {
+        if (isIgnored(testMethod)) {
+            return false;
+        }
+        Description description = describeChild(testMethod);
+        for (Filter filter : filters) {
+            if (!filter.shouldRun(description)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public Statement methodInvoker(FrameworkMethod frameworkMethod, Object test) {
         Method testMethod = frameworkMethod.getMethod();
 
         int runnerAllocationOffset = findJUnit4AllocationOffset();
 
-        testExecutionContext = TestExecutionContext.buildFrom(quickPerfConfigs
-                                                            , testMethod
-                                                            , runnerAllocationOffset);
+        TestExecutionContext testExecutionContext = TestExecutionContext.buildFrom(quickPerfConfigs
+                                                                                 , testMethod
+                                                                                 , runnerAllocationOffset);
+        testExecutionContextOfCurrentThread.set(testExecutionContext);
 
         if(testExecutionContext.isQuickPerfDisabled()) {
             return super.methodInvoker(frameworkMethod, test);
@@ -86,6 +129,8 @@ public class QuickPerfJUnitRunner extends BlockJUnit4ClassRunner {
     @Override
     public Statement withBefores(FrameworkMethod frameworkMethod, Object testInstance, Statement statement) {
 
+        TestExecutionContext testExecutionContext = testExecutionContextOfCurrentThread.get();
+
         if (       SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()
                 || testExecutionContext.testExecutionUsesOneJVM()
                 || testExecutionContext.isQuickPerfDisabled()
@@ -100,6 +145,8 @@ public class QuickPerfJUnitRunner extends BlockJUnit4ClassRunner {
     @Override
     public Statement withAfters(FrameworkMethod frameworkMethod, Object testInstance, Statement statement) {
         Statement junitAfters = super.withAfters(frameworkMethod, testInstance, statement);
+        TestExecutionContext testExecutionContext = testExecutionContextOfCurrentThread.get();
+        testExecutionContextOfCurrentThread.remove();
         if(   SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()
            || testExecutionContext.isQuickPerfDisabled() ) {
             return junitAfters;
@@ -107,7 +154,8 @@ public class QuickPerfJUnitRunner extends BlockJUnit4ClassRunner {
         return new MainJvmAfterJUnitStatement(  frameworkMethod
                                               , testExecutionContext
                                               , quickPerfConfigs
-                                              , junitAfters);
+                                              , junitAfters
+                                              , findScheduledTestMethods());
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,138 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.junit4;
+
+import org.junit.runners.model.FrameworkMethod;
+import org.quickperf.AnnotationsExtractor;
+import org.quickperf.TestExecutionContext;
+import org.quickperf.annotation.DisableQuickPerf;
+import org.quickperf.annotation.FunctionalIteration;
+import org.quickperf.config.library.QuickPerfConfigs;
+import org.quickperf.config.library.QuickPerfConfigsLoader;
+import org.quickperf.config.library.SetOfAnnotationConfigs;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Executions of the test methods of a runner delegating them to other runners, each one
+ * bound to the thread executing it. A runner child is executed from the beginning to the end
+ * by the same thread, so that test methods can be run in parallel.
+ *
+ * @param <R> type of the runner executing a test method without the QuickPerf features
+ * @param <Q> type of the runner executing a test method with the QuickPerf features
+ */
+public class TestMethodExecutions<R, Q> {
+
+    public static class TestMethodExecution<R, Q> {
+
+        private boolean quickPerfFeaturesAreDisabled;
+
+        private boolean testMethodToBeLaunchedInASpecificJvm;
+
+        private R runnerWithoutQuickPerfFeatures;
+
+        private Q runnerWithQuickPerfFeatures;
+
+        private TestExecutionContext testExecutionContext;
+
+        private TestMethodExecution() { }
+
+        public boolean quickPerfFeaturesAreDisabled() {
+            return quickPerfFeaturesAreDisabled;
+        }
+
+        public boolean testMethodToBeLaunchedInASpecificJvm() {
+            return testMethodToBeLaunchedInASpecificJvm;
+        }
+
+        public R getRunnerWithoutQuickPerfFeatures() {
+            return runnerWithoutQuickPerfFeatures;
+        }
+
+        public void setRunnerWithoutQuickPerfFeatures(R runnerWithoutQuickPerfFeatures) {
+            this.runnerWithoutQuickPerfFeatures = runnerWithoutQuickPerfFeatures;
+        }
+
+        public Q getRunnerWithQuickPerfFeatures() {
+            return runnerWithQuickPerfFeatures;
+        }
+
+        public void setRunnerWithQuickPerfFeatures(Q runnerWithQuickPerfFeatures) {
+            this.runnerWithQuickPerfFeatures = runnerWithQuickPerfFeatures;
+        }
+
+        public TestExecutionContext getTestExecutionContext() {
+            return testExecutionContext;
+        }
+
+        public void setTestExecutionContext(TestExecutionContext testExecutionContext) {
+            this.testExecutionContext = testExecutionContext;
+        }
+
+    }
+
+    private final ThreadLocal<TestMethodExecution<R, Q>> testMethodExecutionOfCurrentThread = new ThreadLocal<>();
+
+    /**
+     * Binds the execution of the test method to the current thread until {@link #end()} is called.
+     * The QuickPerf features are disabled by {@link DisableQuickPerf} and {@link FunctionalIteration}.
+     *
+     * @param quickPerfConfigs <code>null</code> if the test method is not executed in the main JVM
+     */
+    public TestMethodExecution<R, Q> start(FrameworkMethod frameworkMethod, QuickPerfConfigs quickPerfConfigs) {
+        TestMethodExecution<R, Q> testMethodExecution = new TestMethodExecution<>();
+        testMethodExecutionOfCurrentThread.set(testMethodExecution);
+        Annotation[] annotations = retrieveAnnotations(frameworkMethod);
+        testMethodExecution.quickPerfFeaturesAreDisabled = quickPerfFeaturesAreDisabled(annotations);
+        if (!testMethodExecution.quickPerfFeaturesAreDisabled && quickPerfConfigs != null) {
+            SetOfAnnotationConfigs testAnnotationConfigs = quickPerfConfigs.getTestAnnotationConfigs();
+            testMethodExecution.testMethodToBeLaunchedInASpecificJvm =
+                    testAnnotationConfigs.hasTestMethodToBeLaunchedInASpecificJvmWith(annotations);
+        }
+        return testMethodExecution;
+    }
+
+    public void end() {
+        testMethodExecutionOfCurrentThread.remove();
+    }
+
+    /**
+     * @return <code>null</code> if the current thread is not executing a test method
+     */
+    public TestMethodExecution<R, Q> current() {
+        return testMethodExecutionOfCurrentThread.get();
+    }
+
+    public boolean quickPerfFeaturesAreDisabled() {
+        TestMethodExecution<R, Q> testMethodExecution = current();
+        return testMethodExecution != null && testMethodExecution.quickPerfFeaturesAreDisabled;
+    }
+
+    private Annotation[] retrieveAnnotations(FrameworkMethod frameworkMethod) {
+        QuickPerfConfigs quickPerfConfigs = QuickPerfConfigsLoader.INSTANCE.loadQuickPerfConfigs();
+        SetOfAnnotationConfigs setOfAnnotationConfigs = quickPerfConfigs.getTestAnnotationConfigs();
+        return AnnotationsExtractor.INSTANCE.extractAnnotationsFor(frameworkMethod.getMethod(), setOfAnnotationConfigs);
+    }
+
+    private static boolean quickPerfFeaturesAreDisabled(Annotation[] perfAnnotations) {
+        for (Annotation perfAnnotation : perfAnnotations) {
+            if(    perfAnnotation.annotationType().equals(DisableQuickPerf.class)
+                || perfAnnotation.annotationType().equals(FunctionalIteration.class)
+               ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,189 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.junit4;
+
+import org.junit.Test;
+import org.junit.runners.model.FrameworkMethod;
+import org.quickperf.annotation.DisableQuickPerf;
+import org.quickperf.config.library.QuickPerfConfigs;
+import org.quickperf.config.library.QuickPerfConfigsLoader;
+import org.quickperf.junit4.TestMethodExecutions.TestMethodExecution;
+import org.quickperf.jvm.annotations.ExpectNoHeapAllocation;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestMethodExecutionsTest {
+
+    public static class ATestClass {
+
+        @Test public void
+        a_test() { }
+
+        @DisableQuickPerf
+        @Test public void
+        a_test_with_quickperf_features_disabled() { }
+
+        @ExpectNoHeapAllocation
+        @Test public void
+        a_test_to_be_launched_in_a_specific_jvm() { }
+
+    }
+
+    private final QuickPerfConfigs quickPerfConfigs = QuickPerfConfigsLoader.INSTANCE.loadQuickPerfConfigs();
+
+    @Test public void
+    should_bind_each_test_method_execution_to_the_thread_executing_it() throws Exception {
+
+        // GIVEN
+        final TestMethodExecutions<String, String> testMethodExecutions = new TestMethodExecutions<>();
+        final CyclicBarrier allTestMethodsStarted = new CyclicBarrier(2);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+        // WHEN
+        Future<String> firstRunner = executorService.submit(
+                executeTestMethod(testMethodExecutions, "a_test", "first runner", allTestMethodsStarted));
+        Future<String> secondRunner = executorService.submit(
+                executeTestMethod(testMethodExecutions, "a_test", "second runner", allTestMethodsStarted));
+
+        // THEN
+        try {
+            assertThat(firstRunner.get()).isEqualTo("first runner");
+            assertThat(secondRunner.get()).isEqualTo("second runner");
+        } finally {
+            executorService.shutdown();
+        }
+
+    }
+
+    private Callable<String> executeTestMethod(final TestMethodExecutions<String, String> testMethodExecutions
+                                             , final String methodName
+                                             , final String runner
+                                             , final CyclicBarrier allTestMethodsStarted) {
+        return new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                TestMethodExecution<String, String> testMethodExecution =
+                        testMethodExecutions.start(frameworkMethod(methodName), quickPerfConfigs);
+                try {
+                    testMethodExecution.setRunnerWithQuickPerfFeatures(runner);
+                    allTestMethodsStarted.await();
+                    return testMethodExecutions.current().getRunnerWithQuickPerfFeatures();
+                } finally {
+                    testMethodExecutions.end();
+                }
+            }
+        };
+    }
+
+    @Test public void
+    should_not_share_a_test_method_execution_with_the_other_threads() throws Exception {
+
+        // GIVEN
+        final TestMethodExecutions<String, String> testMethodExecutions = new TestMethodExecutions<>();
+        testMethodExecutions.start(frameworkMethod("a_test_with_quickperf_features_disabled"), quickPerfConfigs);
+
+        // WHEN
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<Boolean> executionSeenByAnotherThread = executorService.submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return     testMethodExecutions.current() != null
+                        || testMethodExecutions.quickPerfFeaturesAreDisabled();
+            }
+        });
+
+        // THEN
+        try {
+            assertThat(executionSeenByAnotherThread.get()).isFalse();
+            assertThat(testMethodExecutions.quickPerfFeaturesAreDisabled()).isTrue();
+        } finally {
+            testMethodExecutions.end();
+            executorService.shutdown();
+        }
+
+    }
+
+    @Test public void
+    should_forget_the_test_method_execution_at_its_end() {
+
+        // GIVEN
+        TestMethodExecutions<String, String> testMethodExecutions = new TestMethodExecutions<>();
+        testMethodExecutions.start(frameworkMethod("a_test_with_quickperf_features_disabled"), quickPerfConfigs);
+
+        // WHEN
+        testMethodExecutions.end();
+
+        // THEN
+        assertThat(testMethodExecutions.current()).isNull();
+        assertThat(testMethodExecutions.quickPerfFeaturesAreDisabled()).isFalse();
+
+    }
+
+    @Test public void
+    should_find_the_test_methods_having_the_quickperf_features_disabled() {
+
+        // GIVEN
+        TestMethodExecutions<String, String> testMethodExecutions = new TestMethodExecutions<>();
+
+        // WHEN
+        TestMethodExecution<String, String> disabledExecution =
+                testMethodExecutions.start(frameworkMethod("a_test_with_quickperf_features_disabled"), quickPerfConfigs);
+        testMethodExecutions.end();
+        TestMethodExecution<String, String> enabledExecution =
+                testMethodExecutions.start(frameworkMethod("a_test"), quickPerfConfigs);
+        testMethodExecutions.end();
+
+        // THEN
+        assertThat(disabledExecution.quickPerfFeaturesAreDisabled()).isTrue();
+        assertThat(enabledExecution.quickPerfFeaturesAreDisabled()).isFalse();
+
+    }
+
+    @Test public void
+    should_find_the_test_methods_to_be_launched_in_a_specific_jvm() {
+
+        // GIVEN
+        TestMethodExecutions<String, String> testMethodExecutions = new TestMethodExecutions<>();
+
+        // WHEN
+        TestMethodExecution<String, String> specificJvmExecution =
+                testMethodExecutions.start(frameworkMethod("a_test_to_be_launched_in_a_specific_jvm"), quickPerfConfigs);
+        testMethodExecutions.end();
+        TestMethodExecution<String, String> executionInTheCurrentJvm =
+                testMethodExecutions.start(frameworkMethod("a_test"), quickPerfConfigs);
+        testMethodExecutions.end();
+        TestMethodExecution<String, String> executionInANewJvm =
+                testMethodExecutions.start(frameworkMethod("a_test_to_be_launched_in_a_specific_jvm"), null);
+        testMethodExecutions.end();
+
+        // THEN
+        assertThat(specificJvmExecution.testMethodToBeLaunchedInASpecificJvm()).isTrue();
+        assertThat(executionInTheCurrentJvm.testMethodToBeLaunchedInASpecificJvm()).isFalse();
+        assertThat(executionInANewJvm.testMethodToBeLaunchedInASpecificJvm()).isFalse();
+
+    }
+
+    private static FrameworkMethod frameworkMethod(String methodName) {
+        try {
+            return new FrameworkMethod(ATestClass.class.getMethod(methodName));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
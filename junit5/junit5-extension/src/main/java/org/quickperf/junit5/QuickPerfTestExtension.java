@@ -11,10 +11,13 @@
 
 package org.quickperf.junit5;
 
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.InvocationInterceptor;
 import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+import org.junit.platform.engine.support.descriptor.MethodSource;
 import org.quickperf.SystemProperties;
 import org.quickperf.TestExecutionContext;
 import org.quickperf.config.library.QuickPerfConfigs;
@@ -28,9 +31,16 @@ import org.quickperf.perfrecording.PerformanceRecording;
 import org.quickperf.reporter.QuickPerfReporter;
 import org.quickperf.testlauncher.NewJvmTestLauncher;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 public class QuickPerfTestExtension implements BeforeEachCallback, InvocationInterceptor {
 
@@ -42,14 +52,23 @@ public class QuickPerfTestExtension implements BeforeEachCallback, InvocationInt
 
     private final QuickPerfReporter quickPerfReporter = QuickPerfReporter.INSTANCE;
 
-    private TestExecutionContext testExecutionContext;
+    private static final String JUNIT5_CONDITION_PACKAGE = "org.junit.jupiter.api.condition.";
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(QuickPerfTestExtension.class);
 
     @Override
     public void beforeEach(ExtensionContext extensionContext) {
         int junit5AllocationOffset = 40;
-        testExecutionContext = TestExecutionContext.buildFrom(quickPerfConfigs
-                                                            , extensionContext.getRequiredTestMethod()
-                                                            , junit5AllocationOffset);
+        TestExecutionContext testExecutionContext = TestExecutionContext.buildFrom(quickPerfConfigs
+                                                                                 , extensionContext.getRequiredTestMethod()
+                                                                                 , junit5AllocationOffset);
+        getStore(extensionContext).put(TestExecutionContext.class, testExecutionContext);
+    }
+
+    // The store of the extension context is specific to each test method invocation,
+    // so that test methods can be executed concurrently
+    private ExtensionContext.Store getStore(ExtensionContext extensionContext) {
+        return extensionContext.getStore(NAMESPACE);
     }
 
     @Override
@@ -57,18 +76,20 @@ public class QuickPerfTestExtension implements BeforeEachCallback, InvocationInt
                                     , ReflectiveInvocationContext<Method> invocationContext
                                     , ExtensionContext extensionContext) throws Throwable {
 
+        TestExecutionContext testExecutionContext = getStore(extensionContext).get(TestExecutionContext.class, TestExecutionContext.class);
+
         if (testExecutionContext.isQuickPerfDisabled()) {
             invocation.proceed();
             return;
         }
 
         if(SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
-            executeTestMethodInNewJvmAndRecordPerformance(invocation, invocationContext);
+            executeTestMethodInNewJvmAndRecordPerformance(invocation, invocationContext, testExecutionContext);
             return;
         }
 
         JvmOrTestIssue jvmOrTestIssue =
-                executeTestMethodAndRecordPerformance(invocation, invocationContext);
+                executeTestMethodAndRecordPerformance(invocation, invocationContext, extensionContext, testExecutionContext);
 
         SetOfAnnotationConfigs testAnnotationConfigs = quickPerfConfigs.getTestAnnotationConfigs();
 
@@ -84,7 +105,7 @@ public class QuickPerfTestExtension implements BeforeEachCallback, InvocationInt
 
     }
 
-    private void executeTestMethodInNewJvmAndRecordPerformance(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext) throws IllegalAccessException, InvocationTargetException {
+    private void executeTestMethodInNewJvmAndRecordPerformance(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext, TestExecutionContext testExecutionContext) throws IllegalAccessException, InvocationTargetException {
         Object[] args = invocationContext.getArguments().toArray();
         Object target = invocationContext.getTarget().orElse(null);
         Method method = makeAccessible(invocationContext.getExecutable());
@@ -108,14 +129,14 @@ public class QuickPerfTestExtension implements BeforeEachCallback, InvocationInt
         return executable;
     }
 
-    private JvmOrTestIssue executeTestMethodAndRecordPerformance(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext) {
+    private JvmOrTestIssue executeTestMethodAndRecordPerformance(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext, ExtensionContext extensionContext, TestExecutionContext testExecutionContext) {
         if (testExecutionContext.testExecutionUsesTwoJVMs()) {
             Method testMethod = invocationContext.getExecutable();
-            JvmOrTestIssue jvmOrTestIssue = executeTestMethodInNewJwm(testMethod);
+            JvmOrTestIssue jvmOrTestIssue = executeTestMethodInNewJwm(testMethod, extensionContext.getUniqueId(), testExecutionContext);
             tryToSkipInvocation(invocation); // because the test method is invoked directly inside the 'newJvmTestLauncher'
             return jvmOrTestIssue;
         }
-        TestIssue testIssue = executeTestMethodAndRecordPerformanceInSameJvm(invocation);
+        TestIssue testIssue = executeTestMethodAndRecordPerformanceInSameJvm(invocation, testExecutionContext);
         return JvmOrTestIssue.buildFrom(testIssue);
     }
 
@@ -128,14 +149,36 @@ public class QuickPerfTestExtension implements BeforeEachCallback, InvocationInt
         }
     }
 
-    private JvmOrTestIssue executeTestMethodInNewJwm(Method testMethod) {
+    private JvmOrTestIssue executeTestMethodInNewJwm(Method testMethod, String uniqueId, TestExecutionContext testExecutionContext) {
         NewJvmTestLauncher newJvmTestLauncher = NewJvmTestLauncher.INSTANCE;
         return newJvmTestLauncher.executeTestMethodInNewJwm(testMethod
                                                           , testExecutionContext
-                                                          , QuickPerfJunit5Core.class);
+                                                          , QuickPerfJunit5Core.class
+                                                          , quickPerfConfigs
+                                                          , findScheduledTestMethodsOf(testMethod.getDeclaringClass(), testMethod, uniqueId));
+    }
+
+    private List<Method> findScheduledTestMethodsOf(Class<?> testClass, Method testMethod, String uniqueId) {
+        Optional<Set<MethodSource>> scheduledTestMethods = QuickPerfTestPlanListener.getScheduledTestMethodsOfPlanContaining(uniqueId);
+        if (!scheduledTestMethods.isPresent()) {
+            return Collections.singletonList(testMethod);
+        }
+        return Arrays.stream(testClass.getDeclaredMethods())
+                     .filter(method -> method.isAnnotationPresent(Test.class))
+                     .filter(method -> scheduledTestMethods.get().contains(MethodSource.from(testClass, method)))
+                     .filter(method -> !isDisabledOrConditional(method))
+                     .collect(Collectors.toList());
+    }
+
+    // The execution conditions are evaluated by JUnit 5 just before each test method execution
+    private boolean isDisabledOrConditional(Method method) {
+        return Arrays.stream(method.getAnnotations())
+                     .map(Annotation::annotationType)
+                     .anyMatch(annotationType -> annotationType.equals(Disabled.class)
+                                              || annotationType.getName().startsWith(JUNIT5_CONDITION_PACKAGE));
     }
 
-    private TestIssue executeTestMethodAndRecordPerformanceInSameJvm(Invocation<Void> invocation) {
+    private TestIssue executeTestMethodAndRecordPerformanceInSameJvm(Invocation<Void> invocation, TestExecutionContext testExecutionContext) {
         performanceRecording.start(testExecutionContext);
         try {
             invocation.proceed();
@@ -0,0 +1,91 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.junit5;
+
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Keeps the test methods selected by the launchers, a test method excluded by a filter
+ * (tag, class name, <code>-Dtest=</code>...) having to be executed in no forked JVM.
+ * The test plans of nested or concurrent launchers are kept apart.
+ */
+public class QuickPerfTestPlanListener implements TestExecutionListener {
+
+    // The test plan started last comes first, a nested test plan being started after its enclosing one
+    private static final Deque<ScheduledTestMethods> SCHEDULED_TEST_METHODS_BY_PLAN = new ConcurrentLinkedDeque<>();
+
+    private static class ScheduledTestMethods {
+
+        private final TestPlan testPlan;
+
+        private final Set<String> uniqueIds;
+
+        private final Set<MethodSource> methodSources;
+
+        private ScheduledTestMethods(TestPlan testPlan, Set<String> uniqueIds, Set<MethodSource> methodSources) {
+            this.testPlan = testPlan;
+            this.uniqueIds = uniqueIds;
+            this.methodSources = methodSources;
+        }
+
+    }
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        Set<String> uniqueIds = new HashSet<>();
+        Set<MethodSource> methodSources = new HashSet<>();
+        for (TestIdentifier root : testPlan.getRoots()) {
+            for (TestIdentifier testIdentifier : testPlan.getDescendants(root)) {
+                Optional<TestSource> testSource = testIdentifier.getSource();
+                if (testSource.isPresent() && testSource.get() instanceof MethodSource) {
+                    uniqueIds.add(testIdentifier.getUniqueId());
+                    methodSources.add((MethodSource) testSource.get());
+                }
+            }
+        }
+        SCHEDULED_TEST_METHODS_BY_PLAN.addFirst(new ScheduledTestMethods(testPlan
+                                                                       , Collections.unmodifiableSet(uniqueIds)
+                                                                       , Collections.unmodifiableSet(methodSources)));
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        SCHEDULED_TEST_METHODS_BY_PLAN.removeIf(scheduledTestMethods -> scheduledTestMethods.testPlan == testPlan);
+    }
+
+    /**
+     * @param uniqueId the unique id of a test method execution
+     * @return the test methods of the test plan executing the test method, an empty value if the test
+     * method is not launched by a launcher that notifies this listener
+     */
+    static Optional<Set<MethodSource>> getScheduledTestMethodsOfPlanContaining(String uniqueId) {
+        for (ScheduledTestMethods scheduledTestMethods : SCHEDULED_TEST_METHODS_BY_PLAN) {
+            if (scheduledTestMethods.uniqueIds.contains(uniqueId)) {
+                return Optional.of(scheduledTestMethods.methodSources);
+            }
+        }
+        return Optional.empty();
+    }
+
+}
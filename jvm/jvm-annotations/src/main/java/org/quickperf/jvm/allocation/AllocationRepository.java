@@ -18,7 +18,7 @@ import org.quickperf.repository.LongRepositoryFactory;
 
 public class AllocationRepository {
 
-    private static final String BYTE_WATCHER_FILE_NAME = "allocation.ser";
+    private static final String BYTE_WATCHER_FILE_NAME = "allocation.rec";
 
     public void saveAllocationInBytes(long allocation, TestExecutionContext testExecutionContext) {
         LongRepository longRepository = LongRepositoryFactory.getLongRepository(testExecutionContext);
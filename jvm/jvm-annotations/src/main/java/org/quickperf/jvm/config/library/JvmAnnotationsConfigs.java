@@ -73,6 +73,7 @@ class JvmAnnotationsConfigs {
 
     static final AnnotationConfig ENABLE_GC_LOGGING = new AnnotationConfig.Builder()
             .testHasToBeLaunchedInASpecificJvm(EnableGcLoggingAnnotToJvmOptionConverter.INSTANCE)
+            .specificJvmHasToBePristine()
             .build(EnableGcLogging.class);
 
     static final AnnotationConfig DISPLAY_ALLOCATION_BY_BYTE_WATCHER = new AnnotationConfig.Builder()
@@ -98,6 +99,8 @@ class JvmAnnotationsConfigs {
             .perfMeasureExtractor(JfrEventsMeasureExtractor.INSTANCE)
             .perfIssueVerifier(DisplayJvmProfilingValueVerifier.INSTANCE)
             .testHasToBeLaunchedInASpecificJvm(JfrAnnotationToJvmOptionConverter.INSTANCE)
+            .specificJvmHasToBePristine()
+            .specificJvmHasToRunAlone()
             .build(ProfileJvm.class);
 
     static final AnnotationConfig CHECK_JVM = new AnnotationConfig.Builder()
@@ -105,23 +108,31 @@ class JvmAnnotationsConfigs {
             .perfMeasureExtractor(JmcRuleCountMeasureExtractor.INSTANCE)
             .perfIssueVerifier(JmcRulesPerfVerifier.INSTANCE)
             .testHasToBeLaunchedInASpecificJvm(JfrAnnotationToJvmOptionConverter.INSTANCE)
+            .specificJvmHasToBePristine()
+            .specificJvmHasToRunAlone()
             .build(ExpectNoJvmIssue.class);
 
     static final AnnotationConfig PROFILE_QUICK_PERF_WITH_JFR = new AnnotationConfig.Builder()
             .perfRecorderClass(JfrEventsRecorder.class)
             .testHasToBeLaunchedInASpecificJvm(QuickPerfProfilingAnnotToJvmOptionConverter.INSTANCE)
+            .specificJvmHasToBePristine()
+            .specificJvmHasToRunAlone()
             .build(ProfileQuickPerfInTestJvm.class);
 
     static final AnnotationConfig DISPLAY_RSS_FROM_PROCESS_STATUS = new AnnotationConfig.Builder()
             .perfRecorderClass(ProcessStatusRecorder.class)
             .perfIssueVerifier(MeasureRssPerfVerifier.INSTANCE)
             .testHasToBeLaunchedInASpecificJvm()
+            .specificJvmHasToBePristine()
+            .specificJvmHasToRunAlone()
             .build(MeasureRSS.class);
 
     static final AnnotationConfig MAX_RSS_FROM_PROCESS_STATUS = new AnnotationConfig.Builder()
             .perfRecorderClass(ProcessStatusRecorder.class)
             .perfIssueVerifier(ExpectMaxRssPerfVerifier.INSTANCE)
             .testHasToBeLaunchedInASpecificJvm()
+            .specificJvmHasToBePristine()
+            .specificJvmHasToRunAlone()
             .build(ExpectMaxRSS.class);
 
 }
@@ -28,6 +28,7 @@ public class JfrEventsRecorder implements RecordablePerformance<JfrRecording> {
     public void startRecording(TestExecutionContext testExecutionContext) {
         jfrProfiler = JavaFlightRecorderProfilerFactory.getJavaFlightRecorderProfiler();
         WorkingFolder workingFolder = testExecutionContext.getWorkingFolder();
+        workingFolder.createIfNotExists();
         jfrProfiler.startProfiling(workingFolder.getPath());
     }
 
@@ -20,14 +20,12 @@ import org.junit.runner.manipulation.Sorter;
 import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.BlockJUnit4ClassRunner;
 import org.junit.runners.model.*;
-import org.quickperf.annotation.FunctionalIteration;
 import org.quickperf.config.library.QuickPerfConfigsLoader;
-import org.quickperf.AnnotationsExtractor;
 import org.quickperf.TestExecutionContext;
-import org.quickperf.annotation.DisableQuickPerf;
 import org.quickperf.config.library.QuickPerfConfigs;
-import org.quickperf.config.library.SetOfAnnotationConfigs;
 import org.quickperf.junit4.MainJvmAfterJUnitStatement;
+import org.quickperf.junit4.TestMethodExecutions;
+import org.quickperf.junit4.TestMethodExecutions.TestMethodExecution;
 import org.quickperf.SystemProperties;
 
 import java.lang.annotation.Annotation;
@@ -39,24 +37,16 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
     // Only used if test method is executed in a dedicated JVM
     private static SpringRunnerWithQuickPerfFeatures QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM;
 
-    private SpringRunnerWithQuickPerfFeatures springRunnerWithQuickPerfFeatures;
-
-    private SpringRunnerWithCallableProtectedMethods springRunner;
-
     private QuickPerfConfigs quickPerfConfigs;
 
     private final Class<?> testClass;
 
-    private boolean quickPerfFeaturesAreDisabled;
-
     private static final Statement NO_STATEMENT = new Statement() {
         @Override
         public void evaluate() {}
     };
 
-    private TestExecutionContext testExecutionContext;
-
-    private boolean testMethodToBeLaunchedInASpecificJvm;
+    private final TestMethodExecutions<SpringRunnerWithCallableProtectedMethods, SpringRunnerWithQuickPerfFeatures> testMethodExecutions = new TestMethodExecutions<>();
 
     public QuickPerfSpringRunner(Class<?> klass) throws InitializationError {
         super(init(klass));
@@ -78,68 +68,67 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
 
         Method testMethod = frameworkMethod.getMethod();
 
-        if(quickPerfFeaturesAreDisabled) {
-            return springRunner.methodInvoker(frameworkMethod, test);
+        if(quickPerfFeaturesAreDisabled()) {
+            return springRunner().methodInvoker(frameworkMethod, test);
         }
 
-        if (       testMethodToBeLaunchedInASpecificJvm
+        if (       testMethodToBeLaunchedInASpecificJvm()
                 && !SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
-            testExecutionContext = TestExecutionContext.buildNewJvmFrom(quickPerfConfigs
-                                                                     , testMethod);
+            testMethodExecution().setTestExecutionContext(TestExecutionContext.buildNewJvmFrom(quickPerfConfigs, testMethod));
             return NO_STATEMENT;
         }
 
         int runnerAllocationOffset = 0;
-        testExecutionContext = TestExecutionContext.buildFrom(quickPerfConfigs
-                                                            , testMethod
-                                                            , runnerAllocationOffset);
+        testMethodExecution().setTestExecutionContext(TestExecutionContext.buildFrom(quickPerfConfigs
+                                                                                     , testMethod
+                                                                                     , runnerAllocationOffset));
 
         if(SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             return QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.methodInvoker(frameworkMethod, test);
         }
 
-        return springRunnerWithQuickPerfFeatures.methodInvoker(frameworkMethod, test);
+        return springRunnerWithQuickPerfFeatures().methodInvoker(frameworkMethod, test);
 
     }
 
     @Override
     protected Statement withBefores(FrameworkMethod frameworkMethod, Object testInstance, Statement statement) {
-        if(quickPerfFeaturesAreDisabled) {
-            return springRunner.withBefores(frameworkMethod, testInstance, statement);
+        if(quickPerfFeaturesAreDisabled()) {
+            return springRunner().withBefores(frameworkMethod, testInstance, statement);
         }
-        if (  testMethodToBeLaunchedInASpecificJvm
+        if (  testMethodToBeLaunchedInASpecificJvm()
            && !SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             return NO_STATEMENT;
         }
         if(SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             return QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.withBefores(frameworkMethod, testInstance, statement);
         }
-        return springRunnerWithQuickPerfFeatures.withBefores(frameworkMethod, testInstance, statement);
+        return springRunnerWithQuickPerfFeatures().withBefores(frameworkMethod, testInstance, statement);
     }
 
     @Override
     protected Statement withAfters(FrameworkMethod frameworkMethod, Object testInstance, Statement statement) {
-        if(quickPerfFeaturesAreDisabled) {
-            return springRunner.withAfters(frameworkMethod, testInstance, statement);
+        if(quickPerfFeaturesAreDisabled()) {
+            return springRunner().withAfters(frameworkMethod, testInstance, statement);
         }
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             return QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.withAfters(frameworkMethod, testInstance, statement);
         }
-        if(testMethodToBeLaunchedInASpecificJvm) {
+        if(testMethodToBeLaunchedInASpecificJvm()) {
             return new MainJvmAfterJUnitStatement(frameworkMethod
-                                                , testExecutionContext
+                                                , testMethodExecution().getTestExecutionContext()
                                                 , quickPerfConfigs
                                                 , NO_STATEMENT);
         }
         // The test method is not executed in a specific JVM and performance properties
         // are evaluated
-        return springRunnerWithQuickPerfFeatures.withAfters(frameworkMethod, testInstance, statement);
+        return springRunnerWithQuickPerfFeatures().withAfters(frameworkMethod, testInstance, statement);
     }
 
     @Override
     public Description getDescription() {
-        if(quickPerfFeaturesAreDisabled) {
-            return springRunner.getDescription();
+        if(quickPerfFeaturesAreDisabled()) {
+            return springRunner().getDescription();
         }
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             return QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.getDescription();
@@ -149,8 +138,8 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
 
     @Override
     public void run(RunNotifier notifier) {
-        if(quickPerfFeaturesAreDisabled) {
-            springRunner.run(notifier);
+        if(quickPerfFeaturesAreDisabled()) {
+            springRunner().run(notifier);
             return;
         }
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
@@ -162,8 +151,8 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
 
     @Override
     protected Statement withBeforeClasses(Statement statement) {
-        if(quickPerfFeaturesAreDisabled) {
-            return springRunner.withBeforeClasses(statement);
+        if(quickPerfFeaturesAreDisabled()) {
+            return springRunner().withBeforeClasses(statement);
         }
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             return QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.withBeforeClasses(statement);
@@ -173,8 +162,8 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
 
     @Override
     protected Statement withAfterClasses(Statement statement) {
-        if(quickPerfFeaturesAreDisabled) {
-            return springRunner.withAfterClasses(statement);
+        if(quickPerfFeaturesAreDisabled()) {
+            return springRunner().withAfterClasses(statement);
         }
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             return QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.withAfterClasses(statement);
@@ -187,8 +176,8 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             return QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.createTest();
         }
-        if(quickPerfFeaturesAreDisabled) {
-            return springRunner.createTest();
+        if(quickPerfFeaturesAreDisabled()) {
+            return springRunner().createTest();
         }
         return super.createTest();
     }
@@ -196,52 +185,50 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
     @Override
     protected void runChild(FrameworkMethod frameworkMethod, RunNotifier notifier) {
 
-        Annotation[] annotations = retrieveAnnotations(frameworkMethod);
-
-        if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
-            QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.runChild(frameworkMethod, notifier);
-        } else if(quickPerfFeaturesAreDisabled(annotations)) {
-            this.quickPerfFeaturesAreDisabled = true;
-            this.springRunner = SpringRunnerWithCallableProtectedMethods.buildSpringRunner(testClass);
-            springRunner.runChild(frameworkMethod, notifier);
-        } else {
-            SetOfAnnotationConfigs testAnnotationConfigs = this.quickPerfConfigs.getTestAnnotationConfigs();
-            this.testMethodToBeLaunchedInASpecificJvm = testAnnotationConfigs.hasTestMethodToBeLaunchedInASpecificJvmWith(annotations);
-
-            if (testMethodToBeLaunchedInASpecificJvm) {
+        TestMethodExecution<SpringRunnerWithCallableProtectedMethods, SpringRunnerWithQuickPerfFeatures> testMethodExecution =
+                testMethodExecutions.start(frameworkMethod, quickPerfConfigs);
+
+        try {
+            if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
+                QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.runChild(frameworkMethod, notifier);
+            } else if (testMethodExecution.quickPerfFeaturesAreDisabled()) {
+                SpringRunnerWithCallableProtectedMethods springRunner =
+                        SpringRunnerWithCallableProtectedMethods.buildSpringRunner(testClass);
+                testMethodExecution.setRunnerWithoutQuickPerfFeatures(springRunner);
+                springRunner.runChild(frameworkMethod, notifier);
+            } else if (testMethodExecution.testMethodToBeLaunchedInASpecificJvm()) {
                 super.runChild(frameworkMethod, notifier);
             } else {
-                Method method = frameworkMethod.getMethod();
-                Class<?> testClass = method.getDeclaringClass();
-                this.springRunnerWithQuickPerfFeatures =
-                        SpringRunnerWithQuickPerfFeatures.build(testClass);
+                Class<?> declaringClass = frameworkMethod.getMethod().getDeclaringClass();
+                SpringRunnerWithQuickPerfFeatures springRunnerWithQuickPerfFeatures =
+                        SpringRunnerWithQuickPerfFeatures.build(declaringClass);
+                testMethodExecution.setRunnerWithQuickPerfFeatures(springRunnerWithQuickPerfFeatures);
                 springRunnerWithQuickPerfFeatures.runChild(frameworkMethod, notifier);
             }
-
+        } finally {
+            testMethodExecutions.end();
         }
-    }
 
-    private Annotation[] retrieveAnnotations(FrameworkMethod frameworkMethod) {
+    }
 
-        QuickPerfConfigs quickPerfConfigs = QuickPerfConfigsLoader.INSTANCE.loadQuickPerfConfigs();
-        SetOfAnnotationConfigs setOfAnnotationConfigs = quickPerfConfigs.getTestAnnotationConfigs();
+    private TestMethodExecution<SpringRunnerWithCallableProtectedMethods, SpringRunnerWithQuickPerfFeatures> testMethodExecution() {
+        return testMethodExecutions.current();
+    }
 
-        Method method = frameworkMethod.getMethod();
+    private boolean quickPerfFeaturesAreDisabled() {
+        return testMethodExecutions.quickPerfFeaturesAreDisabled();
+    }
 
-        AnnotationsExtractor annotationsExtractor = AnnotationsExtractor.INSTANCE;
-        return annotationsExtractor.extractAnnotationsFor(method, setOfAnnotationConfigs);
+    private SpringRunnerWithCallableProtectedMethods springRunner() {
+        return testMethodExecution().getRunnerWithoutQuickPerfFeatures();
+    }
 
+    private SpringRunnerWithQuickPerfFeatures springRunnerWithQuickPerfFeatures() {
+        return testMethodExecution().getRunnerWithQuickPerfFeatures();
     }
 
-    private static boolean quickPerfFeaturesAreDisabled(Annotation[] perfAnnotations) {
-        for (Annotation perfAnnotation : perfAnnotations) {
-            if(    perfAnnotation.annotationType().equals(DisableQuickPerf.class)
-                || perfAnnotation.annotationType().equals(FunctionalIteration.class)
-            ) {
-                return true;
-            }
-        }
-        return false;
+    private boolean testMethodToBeLaunchedInASpecificJvm() {
+        return testMethodExecution().testMethodToBeLaunchedInASpecificJvm();
     }
 
     @Override
@@ -249,8 +236,8 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             return QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.possiblyExpectingExceptions(frameworkMethod, testInstance, next);
         }
-        if(quickPerfFeaturesAreDisabled) {
-            return springRunner.possiblyExpectingExceptions(frameworkMethod, testInstance, next);
+        if(quickPerfFeaturesAreDisabled()) {
+            return springRunner().possiblyExpectingExceptions(frameworkMethod, testInstance, next);
         }
         return super.possiblyExpectingExceptions(frameworkMethod, testInstance, next);
     }
@@ -261,8 +248,8 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             return QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.withPotentialTimeout(frameworkMethod, testInstance, next);
         }
-        if(quickPerfFeaturesAreDisabled) {
-            return springRunner.withPotentialTimeout(frameworkMethod, testInstance, next);
+        if(quickPerfFeaturesAreDisabled()) {
+            return springRunner().withPotentialTimeout(frameworkMethod, testInstance, next);
         }
         return super.withPotentialTimeout(frameworkMethod, testInstance, next);
     }
@@ -272,8 +259,8 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             return QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.isIgnored(child);
         }
-        if(quickPerfFeaturesAreDisabled) {
-            return springRunner.isIgnored(child);
+        if(quickPerfFeaturesAreDisabled()) {
+            return springRunner().isIgnored(child);
         }
         return super.isIgnored(child);
     }
@@ -283,8 +270,8 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             return QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.describeChild(method);
         }
-        if(quickPerfFeaturesAreDisabled) {
-            return springRunner.describeChild(method);
+        if(quickPerfFeaturesAreDisabled()) {
+            return springRunner().describeChild(method);
         }
         return super.describeChild(method);
     }
@@ -294,8 +281,8 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             return QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.getChildren();
         }
-        if(quickPerfFeaturesAreDisabled) {
-            return springRunner.getChildren();
+        if(quickPerfFeaturesAreDisabled()) {
+            return springRunner().getChildren();
         }
         return super.getChildren();
     }
@@ -305,8 +292,8 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             return QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.computeTestMethods();
         }
-        if(quickPerfFeaturesAreDisabled) {
-            return springRunner.computeTestMethods();
+        if(quickPerfFeaturesAreDisabled()) {
+            return springRunner().computeTestMethods();
         }
         return super.computeTestMethods();
     }
@@ -315,8 +302,8 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
     protected void collectInitializationErrors(List<Throwable> errors) {
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.collectInitializationErrors(errors);
-        } else if(quickPerfFeaturesAreDisabled) {
-            springRunner.collectInitializationErrors(errors);
+        } else if(quickPerfFeaturesAreDisabled()) {
+            springRunner().collectInitializationErrors(errors);
         } else {
             super.collectInitializationErrors(errors);
         }
@@ -326,8 +313,8 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
     protected void validateNoNonStaticInnerClass(List<Throwable> errors) {
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.validateNoNonStaticInnerClass(errors);
-        } else if(quickPerfFeaturesAreDisabled) {
-            springRunner.validateNoNonStaticInnerClass(errors);
+        } else if(quickPerfFeaturesAreDisabled()) {
+            springRunner().validateNoNonStaticInnerClass(errors);
         } else {
             super.validateNoNonStaticInnerClass(errors);
         }
@@ -337,8 +324,8 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
     protected void validateConstructor(List<Throwable> errors) {
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.validateConstructor(errors);
-        } else if(quickPerfFeaturesAreDisabled) {
-            springRunner.validateConstructor(errors);
+        } else if(quickPerfFeaturesAreDisabled()) {
+            springRunner().validateConstructor(errors);
         } else {
             super.validateConstructor(errors);
         }
@@ -348,8 +335,8 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
     protected void validateOnlyOneConstructor(List<Throwable> errors) {
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.validateOnlyOneConstructor(errors);
-        } else if(quickPerfFeaturesAreDisabled) {
-            springRunner.validateOnlyOneConstructor(errors);
+        } else if(quickPerfFeaturesAreDisabled()) {
+            springRunner().validateOnlyOneConstructor(errors);
         } else {
             super.validateOnlyOneConstructor(errors);
         }
@@ -359,8 +346,8 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
     protected void validateZeroArgConstructor(List<Throwable> errors) {
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.validateZeroArgConstructor(errors);
-        } else if(quickPerfFeaturesAreDisabled) {
-            springRunner.validateZeroArgConstructor(errors);
+        } else if(quickPerfFeaturesAreDisabled()) {
+            springRunner().validateZeroArgConstructor(errors);
         } else {
             super.validateZeroArgConstructor(errors);
         }
@@ -371,8 +358,8 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
     protected void validateInstanceMethods(List<Throwable> errors) {
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.validateInstanceMethods(errors);
-        } else if(quickPerfFeaturesAreDisabled) {
-            springRunner.validateInstanceMethods(errors);
+        } else if(quickPerfFeaturesAreDisabled()) {
+            springRunner().validateInstanceMethods(errors);
         } else {
             super.validateInstanceMethods(errors);
         }
@@ -382,8 +369,8 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
     protected void validateFields(List<Throwable> errors) {
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.validateFields(errors);
-        } else if(quickPerfFeaturesAreDisabled) {
-            springRunner.validateFields(errors);
+        } else if(quickPerfFeaturesAreDisabled()) {
+            springRunner().validateFields(errors);
         } else {
             super.validateFields(errors);
         }
@@ -393,8 +380,8 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
     protected void validateTestMethods(List<Throwable> errors) {
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.validateTestMethods(errors);
-        } else if(quickPerfFeaturesAreDisabled) {
-            springRunner.validateTestMethods(errors);
+        } else if(quickPerfFeaturesAreDisabled()) {
+            springRunner().validateTestMethods(errors);
         } else {
             super.validateTestMethods(errors);
         }
@@ -405,8 +392,8 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             return QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.testName(method);
         }
-        if(quickPerfFeaturesAreDisabled) {
-            return springRunner.testName(method);
+        if(quickPerfFeaturesAreDisabled()) {
+            return springRunner().testName(method);
         }
         return super.testName(method);
     }
@@ -416,15 +403,15 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             return QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.methodBlock(method);
         }
-        if(quickPerfFeaturesAreDisabled) {
-            return springRunner.methodBlock(method);
+        if(quickPerfFeaturesAreDisabled()) {
+            return springRunner().methodBlock(method);
         }
 
-        if(testMethodToBeLaunchedInASpecificJvm) {
+        if(testMethodToBeLaunchedInASpecificJvm()) {
             return super.methodBlock(method);
         }
 
-        return springRunnerWithQuickPerfFeatures.methodBlock(method);
+        return springRunnerWithQuickPerfFeatures().methodBlock(method);
 
     }
 
@@ -433,8 +420,8 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             return QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.rules(target);
         }
-        if(quickPerfFeaturesAreDisabled) {
-            return springRunner.rules(target);
+        if(quickPerfFeaturesAreDisabled()) {
+            return springRunner().rules(target);
         }
         return super.rules(target);
     }
@@ -444,8 +431,8 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             return QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.getTestRules(target);
         }
-        if(quickPerfFeaturesAreDisabled) {
-            return springRunner.getTestRules(target);
+        if(quickPerfFeaturesAreDisabled()) {
+            return springRunner().getTestRules(target);
         }
         return super.getTestRules(target);
     }
@@ -455,8 +442,8 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             return QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.createTestClass(testClass);
         }
-        if(quickPerfFeaturesAreDisabled) {
-            return springRunner.createTestClass(testClass);
+        if(quickPerfFeaturesAreDisabled()) {
+            return springRunner().createTestClass(testClass);
         }
         return super.createTestClass(testClass);
     }
@@ -465,8 +452,8 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
     protected void validatePublicVoidNoArgMethods(Class<? extends Annotation> annotation, boolean isStatic, List<Throwable> errors) {
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.validatePublicVoidNoArgMethods(annotation, isStatic, errors);
-        } else if(quickPerfFeaturesAreDisabled) {
-            springRunner.validatePublicVoidNoArgMethods(annotation, isStatic, errors);
+        } else if(quickPerfFeaturesAreDisabled()) {
+            springRunner().validatePublicVoidNoArgMethods(annotation, isStatic, errors);
         } else {
             super.validatePublicVoidNoArgMethods(annotation, isStatic, errors);
         }
@@ -485,8 +472,8 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             return QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.classRules();
         }
-        if(quickPerfFeaturesAreDisabled) {
-            return springRunner.classRules();
+        if(quickPerfFeaturesAreDisabled()) {
+            return springRunner().classRules();
         }
         return super.classRules();
     }
@@ -496,8 +483,8 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             return QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.childrenInvoker(notifier);
         }
-        if(quickPerfFeaturesAreDisabled) {
-            return springRunner.childrenInvoker(notifier);
+        if(quickPerfFeaturesAreDisabled()) {
+            return springRunner().childrenInvoker(notifier);
         }
         return super.childrenInvoker(notifier);
     }
@@ -507,8 +494,8 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             return QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.getName();
         }
-        if(quickPerfFeaturesAreDisabled) {
-            return springRunner.getName();
+        if(quickPerfFeaturesAreDisabled()) {
+            return springRunner().getName();
         }
         return super.getName();
     }
@@ -518,8 +505,8 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             return QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.getRunnerAnnotations();
         }
-        if(quickPerfFeaturesAreDisabled) {
-            return springRunner.getRunnerAnnotations();
+        if(quickPerfFeaturesAreDisabled()) {
+            return springRunner().getRunnerAnnotations();
         }
         return super.getRunnerAnnotations();
     }
@@ -528,8 +515,8 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
     public void filter(Filter filter) throws NoTestsRemainException {
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.filter(filter);
-        } else if (quickPerfFeaturesAreDisabled){
-            springRunner.filter(filter);
+        } else if (quickPerfFeaturesAreDisabled()){
+            springRunner().filter(filter);
         } else {
             super.filter(filter);
         }
@@ -539,10 +526,10 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
     public void sort(Sorter sorter) {
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.sort(sorter);
-        } else if (quickPerfFeaturesAreDisabled){
-            springRunner.sort(sorter);
+        } else if (quickPerfFeaturesAreDisabled()){
+            springRunner().sort(sorter);
         } else {
-            springRunnerWithQuickPerfFeatures.sort(sorter);
+            super.sort(sorter);
         }
     }
 
@@ -550,10 +537,10 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
     public void setScheduler(RunnerScheduler scheduler) {
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.setScheduler(scheduler);
-        }  else if (quickPerfFeaturesAreDisabled) {
-            springRunner.setScheduler(scheduler);
+        }  else if (quickPerfFeaturesAreDisabled()) {
+            springRunner().setScheduler(scheduler);
         } else {
-            springRunnerWithQuickPerfFeatures.setScheduler(scheduler);
+            super.setScheduler(scheduler);
         }
     }
 
@@ -562,10 +549,10 @@ public class QuickPerfSpringRunner extends BlockJUnit4ClassRunner {
         if (SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
             return QUICK_PERF_SPRING_RUNNER_FOR_SPECIFIC_JVM.testCount();
         }
-        if (quickPerfFeaturesAreDisabled) {
-            return springRunner.testCount();
+        if (quickPerfFeaturesAreDisabled()) {
+            return springRunner().testCount();
         }
-        return springRunnerWithQuickPerfFeatures.testCount();
+        return super.testCount();
     }
 
 }
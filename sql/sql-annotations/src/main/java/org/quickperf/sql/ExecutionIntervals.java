@@ -0,0 +1,90 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.sql;
+
+import java.util.Arrays;
+
+/**
+ * Time intervals of the SQL executions, their union being computed from the sorted
+ * interval bounds: the executions complete in any order, a long execution being able
+ * to complete after shorter executions started later.
+ *
+ * The intervals are merged when the arrays are full, the memory being only used by
+ * the disjoint intervals.
+ */
+class ExecutionIntervals {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] startNanoTimes = new long[INITIAL_CAPACITY];
+
+    private long[] endNanoTimes = new long[INITIAL_CAPACITY];
+
+    private int size;
+
+    void add(long startNanoTime, long endNanoTime) {
+        if (size == startNanoTimes.length) {
+            merge();
+            if (size > startNanoTimes.length / 2) {
+                startNanoTimes = Arrays.copyOf(startNanoTimes, startNanoTimes.length * 2);
+                endNanoTimes = Arrays.copyOf(endNanoTimes, endNanoTimes.length * 2);
+            }
+        }
+        startNanoTimes[size] = startNanoTime;
+        endNanoTimes[size] = endNanoTime;
+        size++;
+    }
+
+    /**
+     * @return the time during which at least one execution was running
+     */
+    long getUnionDurationInNanos() {
+        merge();
+        long unionDuration = 0;
+        for (int i = 0; i < size; i++) {
+            unionDuration += endNanoTimes[i] - startNanoTimes[i];
+        }
+        return unionDuration;
+    }
+
+    // The number of running executions at a given time only depends on the numbers of
+    // start and end times before it, so the start and end times can be sorted separately.
+    // The merged intervals are written in place, before the bounds still to be read.
+    private void merge() {
+        Arrays.sort(startNanoTimes, 0, size);
+        Arrays.sort(endNanoTimes, 0, size);
+        int mergedSize = 0;
+        int runningExecutions = 0;
+        long mergedStartNanoTime = 0;
+        int startIndex = 0;
+        for (int endIndex = 0; endIndex < size; ) {
+            if (startIndex < size && startNanoTimes[startIndex] <= endNanoTimes[endIndex]) {
+                if (runningExecutions == 0) {
+                    mergedStartNanoTime = startNanoTimes[startIndex];
+                }
+                runningExecutions++;
+                startIndex++;
+            } else {
+                runningExecutions--;
+                if (runningExecutions == 0) {
+                    startNanoTimes[mergedSize] = mergedStartNanoTime;
+                    endNanoTimes[mergedSize] = endNanoTimes[endIndex];
+                    mergedSize++;
+                }
+                endIndex++;
+            }
+        }
+        size = mergedSize;
+    }
+
+}
@@ -15,22 +15,49 @@ import net.ttddyy.dsproxy.ExecutionInfo;
 import net.ttddyy.dsproxy.QueryInfo;
 import org.quickperf.TestExecutionContext;
 import org.quickperf.WorkingFolder;
+import org.quickperf.sql.annotation.ExpectMaxSelectedColumn;
+import org.quickperf.sql.annotation.ExpectSelectedColumn;
 import org.quickperf.sql.repository.SqlRepository;
 import org.quickperf.sql.repository.SqlRepositoryFactory;
 
+import java.lang.annotation.Annotation;
 import java.util.List;
 
 
-public class PersistenceSqlRecorder implements SqlRecorder<SqlExecutions> {
+public class PersistenceSqlRecorder implements SqlRecorder<SqlExecutions>, ColumnCountRecorder {
 
     private final DataSourceProxyVerifier datasourceProxyVerifier = new DataSourceProxyVerifier();
 
     private SqlRepository sqlRepository;
 
+    private long recordingStartNanoTime;
+
+    private boolean columnCountRecorded;
+
     @Override
     public void startRecording(TestExecutionContext testExecutionContext) {
+        columnCountRecorded = hasColumnAnnotation(testExecutionContext.getPerfAnnotations());
         SqlRecorderRegistry.INSTANCE.register(this);
         sqlRepository = SqlRepositoryFactory.getSqlRepository(testExecutionContext);
+        recordingStartNanoTime = System.nanoTime();
+    }
+
+    private static boolean hasColumnAnnotation(Annotation[] perfAnnotations) {
+        if (perfAnnotations == null) {
+            return false;
+        }
+        for (Annotation perfAnnotation : perfAnnotations) {
+            if (       perfAnnotation instanceof ExpectSelectedColumn
+                    || perfAnnotation instanceof ExpectMaxSelectedColumn) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean recordsColumnCount() {
+        return columnCountRecorded;
     }
 
     @Override
@@ -41,8 +68,13 @@ public class PersistenceSqlRecorder implements SqlRecorder<SqlExecutions> {
 
     @Override
     public void stopRecording(TestExecutionContext testExecutionContext) {
+        long recordingDurationInNanos = System.nanoTime() - recordingStartNanoTime;
         SqlRecorderRegistry.unregister(this);
         WorkingFolder workingFolder = testExecutionContext.getWorkingFolder();
+        SqlExecutions sqlExecutions = sqlRepository.findExecutedQueries(workingFolder);
+        if (!sqlExecutions.isEmpty()) {
+            sqlExecutions.setRecordingDurationInNanos(recordingDurationInNanos);
+        }
         sqlRepository.flush(workingFolder);
         if(datasourceProxyVerifier.hasQuickPerfBuiltSeveralDataSourceProxies()) {
             System.out.println();
@@ -61,6 +93,10 @@ public class PersistenceSqlRecorder implements SqlRecorder<SqlExecutions> {
     }
 
     @Override
-    public void cleanResources() {}
+    public void cleanResources() {
+        if (sqlRepository != null) {
+            sqlRepository.cleanResources();
+        }
+    }
 
 }
@@ -19,10 +19,27 @@ public class QueryTypeRetriever {
 
     public static final QueryTypeRetriever INSTANCE = new QueryTypeRetriever();
 
+    // ORM workloads repeat a small set of statements, the statements with inlined literals are evicted
+    static final int MAX_CACHED_QUERIES = 1024;
+
+    private final LruCache<String, QueryType> queryTypeBySql = new LruCache<>(MAX_CACHED_QUERIES);
+
     private QueryTypeRetriever() { }
 
     public QueryType typeOf(QueryInfo query) {
-        String queryAsString = query.getQuery();
+        return typeOf(query.getQuery());
+    }
+
+    public QueryType typeOf(String sql) {
+        QueryType queryType = queryTypeBySql.get(sql);
+        if (queryType == null) {
+            queryType = retrieveTypeOf(sql);
+            queryTypeBySql.put(sql, queryType);
+        }
+        return queryType;
+    }
+
+    private QueryType retrieveTypeOf(String queryAsString) {
         String trimmedQuery = QueryUtils.removeCommentAndWhiteSpace(queryAsString);
 
         // Because of ttddyy bug
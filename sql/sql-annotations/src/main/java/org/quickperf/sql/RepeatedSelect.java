@@ -0,0 +1,133 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql;
+
+import org.quickperf.repository.RecordInput;
+import org.quickperf.repository.RecordOutput;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class RepeatedSelect {
+
+    // Beyond it, the new parameter value sets are counted without being kept
+    static final int MAX_KEPT_DISTINCT_PARAMS = 1000;
+
+    private final String sql;
+
+    private long executionCount;
+
+    private long elapsedTime;
+
+    private long lastExecutionNumber;
+
+    // Null when read from a record
+    private Set<List<Object>> distinctParams = new HashSet<>();
+
+    private long distinctParamsCount;
+
+    private boolean distinctParamsCountIsMinimum;
+
+    RepeatedSelect(String sql) {
+        this.sql = sql;
+    }
+
+    /**
+     * The elapsed time of a batch execution is added once, whatever the number of times the
+     * select is in the batch.
+     *
+     * Once {@link #MAX_KEPT_DISTINCT_PARAMS} parameter value sets are kept, the parameters not kept are
+     * counted as new parameters: the number of distinct parameter value sets becomes a minimum.
+     *
+     * @param executionNumber number identifying the execution of the select
+     * @return <code>true</code> if these parameters were already used
+     */
+    boolean add(List<Object> params, long elapsedTime, long executionNumber) {
+        executionCount++;
+        if (executionNumber != lastExecutionNumber) {
+            this.elapsedTime += elapsedTime;
+            lastExecutionNumber = executionNumber;
+        }
+        if (distinctParams.contains(params)) {
+            return true;
+        }
+        distinctParamsCount++;
+        if (distinctParams.size() < MAX_KEPT_DISTINCT_PARAMS) {
+            distinctParams.add(params);
+        } else {
+            distinctParamsCountIsMinimum = true;
+        }
+        return false;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public long getExecutionCount() {
+        return executionCount;
+    }
+
+    /**
+     * @return a minimum if more than {@link #MAX_KEPT_DISTINCT_PARAMS} parameter value sets were used
+     */
+    public long getDistinctParamsCount() {
+        return distinctParamsCount;
+    }
+
+    public boolean distinctParamsCountIsMinimum() {
+        return distinctParamsCountIsMinimum;
+    }
+
+    public long getElapsedTimeInMs() {
+        return elapsedTime;
+    }
+
+    public boolean isRepeated() {
+        return executionCount > 1;
+    }
+
+    public boolean hasExactlySameExecutions() {
+        return executionCount > distinctParamsCount;
+    }
+
+    public boolean hasDifferentParams() {
+        return distinctParamsCount > 1;
+    }
+
+    void writeTo(RecordOutput output) {
+        output.writeString(sql);
+        output.writeLong(executionCount);
+        output.writeLong(elapsedTime);
+        output.writeLong(distinctParamsCount);
+        output.writeBoolean(distinctParamsCountIsMinimum);
+    }
+
+    static RepeatedSelect readFrom(RecordInput input) {
+        RepeatedSelect repeatedSelect = new RepeatedSelect(input.readString());
+        repeatedSelect.executionCount = input.readLong();
+        repeatedSelect.elapsedTime = input.readLong();
+        repeatedSelect.distinctParamsCount = input.readLong();
+        repeatedSelect.distinctParamsCountIsMinimum = input.readBoolean();
+        repeatedSelect.distinctParams = null;
+        return repeatedSelect;
+    }
+
+    @Override
+    public String toString() {
+        return "executed " + executionCount + " times with " + (distinctParamsCountIsMinimum ? "at least " : "") + distinctParamsCount
+             + (distinctParamsCount == 1 ? " parameter value set" : " different parameter value sets")
+             + " (" + elapsedTime + " ms): " + sql;
+    }
+
+}
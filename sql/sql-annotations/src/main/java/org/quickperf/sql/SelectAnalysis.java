@@ -0,0 +1,158 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.sql;
+
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import org.quickperf.repository.RecordInput;
+import org.quickperf.repository.RecordOutput;
+import org.quickperf.sql.select.QueryParamsExtractor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Select statements executed several times, with the same or different parameters.
+ */
+class SelectAnalysis {
+
+    private static final Comparator<RepeatedSelect> MOST_EXECUTED_FIRST = new Comparator<RepeatedSelect>() {
+        @Override
+        public int compare(RepeatedSelect select1, RepeatedSelect select2) {
+            return Long.compare(select2.getExecutionCount(), select1.getExecutionCount());
+        }
+    };
+
+    private boolean exactlySameSelect;
+
+    private boolean sameSelectWithDifferentParams;
+
+    private IllegalStateException selectParamsIssue;
+
+    // Null if the params of the select queries can't be retrieved or if the analysis is read from a record
+    private Map<String, RepeatedSelect> selects = new HashMap<>();
+
+    private List<RepeatedSelect> repeatedSelectsOfRecord;
+
+    // Number of the analysed executions, identifying the execution of the analysed queries
+    private long executionCount;
+
+    static SelectAnalysis buildFrom(Iterable<SqlExecution> sqlExecutions) {
+        SelectAnalysis selectAnalysis = new SelectAnalysis();
+        for (SqlExecution sqlExecution : sqlExecutions) {
+            selectAnalysis.add(sqlExecution);
+        }
+        return selectAnalysis;
+    }
+
+    void add(SqlExecution sqlExecution) {
+        executionCount++;
+        List<QueryInfo> queries = sqlExecution.getQueries();
+        for (int i = 0; i < queries.size() && selects != null; i++) {
+            if (sqlExecution.getQueryType(i) == QueryType.SELECT) {
+                addSelect(queries.get(i), sqlExecution.getElapsedTime());
+            }
+        }
+    }
+
+    private void addSelect(QueryInfo query, long elapsedTime) {
+        List<Object> params;
+        try {
+            params = QueryParamsExtractor.INSTANCE.getParamsOf(query);
+        } catch (IllegalStateException e) {
+            // Only thrown if a measure needing the parameters of the select queries is requested
+            selectParamsIssue = e;
+            selects = null;
+            return;
+        }
+        String sql = query.getQuery();
+        RepeatedSelect select = selects.get(sql);
+        if (select == null) {
+            select = new RepeatedSelect(sql);
+            selects.put(sql, select);
+        }
+        if (select.add(params, elapsedTime, executionCount)) {
+            exactlySameSelect = true;
+        } else if (select.hasDifferentParams()) {
+            sameSelectWithDifferentParams = true;
+        }
+    }
+
+    boolean hasExactlySameSelect() {
+        throwIfSelectParamsIssue();
+        return exactlySameSelect;
+    }
+
+    boolean hasSameSelectWithDifferentParams() {
+        throwIfSelectParamsIssue();
+        return sameSelectWithDifferentParams;
+    }
+
+    List<RepeatedSelect> getRepeatedSelects() {
+        throwIfSelectParamsIssue();
+        if (repeatedSelectsOfRecord != null) {
+            return repeatedSelectsOfRecord;
+        }
+        List<RepeatedSelect> repeatedSelects = new ArrayList<>();
+        for (RepeatedSelect select : selects.values()) {
+            if (select.isRepeated()) {
+                repeatedSelects.add(select);
+            }
+        }
+        Collections.sort(repeatedSelects, MOST_EXECUTED_FIRST);
+        return repeatedSelects;
+    }
+
+    private void throwIfSelectParamsIssue() {
+        if (selectParamsIssue != null) {
+            throw selectParamsIssue;
+        }
+    }
+
+    void writeTo(RecordOutput output) {
+        output.writeBoolean(exactlySameSelect);
+        output.writeBoolean(sameSelectWithDifferentParams);
+        output.writeString(selectParamsIssue == null ? null : selectParamsIssue.getMessage());
+        if (selectParamsIssue == null) {
+            List<RepeatedSelect> repeatedSelects = getRepeatedSelects();
+            output.writeInt(repeatedSelects.size());
+            for (RepeatedSelect repeatedSelect : repeatedSelects) {
+                repeatedSelect.writeTo(output);
+            }
+        }
+    }
+
+    static SelectAnalysis readFrom(RecordInput input) {
+        SelectAnalysis selectAnalysis = new SelectAnalysis();
+        selectAnalysis.exactlySameSelect = input.readBoolean();
+        selectAnalysis.sameSelectWithDifferentParams = input.readBoolean();
+        String selectParamsIssueMessage = input.readString();
+        if (selectParamsIssueMessage != null) {
+            selectAnalysis.selectParamsIssue = new IllegalStateException(selectParamsIssueMessage);
+        } else {
+            int numberOfRepeatedSelects = input.readInt();
+            List<RepeatedSelect> repeatedSelects = new ArrayList<>(numberOfRepeatedSelects);
+            for (int i = 0; i < numberOfRepeatedSelects; i++) {
+                repeatedSelects.add(RepeatedSelect.readFrom(input));
+            }
+            selectAnalysis.repeatedSelectsOfRecord = repeatedSelects;
+        }
+        selectAnalysis.selects = null;
+        return selectAnalysis;
+    }
+
+}
@@ -0,0 +1,422 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.sql;
+
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import org.quickperf.repository.RecordInput;
+import org.quickperf.repository.RecordOutput;
+import org.quickperf.sql.time.LatencyHistogram;
+import org.quickperf.sql.update.columns.NumberOfUpdatedColumnsStatistics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures of the SQL executions of a test, computed in one pass over the executions.
+ * The query types are the ones retrieved when the executions were captured.
+ *
+ * The index can also be updated at each added execution, for executions
+ * not kept in memory.
+ *
+ * The SQL texts are analysed when a measure needs them, once for all the
+ * executions of a same SQL text, and not when the executions are added.
+ */
+public class SqlAnalysisIndex {
+
+    private static final QueryType[] QUERY_TYPES = QueryType.values();
+
+    private static final int MAX_SQL_TEXTS_TO_ANALYSE = 1024;
+
+    private static final Comparator<SqlFingerprintStatistics> MOST_EXECUTED_FINGERPRINT_FIRST = new Comparator<SqlFingerprintStatistics>() {
+        @Override
+        public int compare(SqlFingerprintStatistics statistics1, SqlFingerprintStatistics statistics2) {
+            return Long.compare(statistics2.getCount(), statistics1.getCount());
+        }
+    };
+
+    private final long[] queryNumberByType = new long[QUERY_TYPES.length];
+
+    private long minUpdatedColumnCount;
+
+    private long maxUpdatedColumnCount;
+
+    private long maxNumberOfSelectedColumns;
+
+    private long maxElapsedTime;
+
+    private LatencyHistogram latencyHistogram = new LatencyHistogram();
+
+    // Time during which at least one query was executed, the concurrent executions being counted once
+    private final ExecutionIntervals executionIntervals = new ExecutionIntervals();
+
+    // Executions without start time, or JDBC time of an index read from a record
+    private long jdbcTimeWithoutIntervalsInNanos;
+
+    private boolean crossJoin;
+
+    private boolean likeWithLeadingWildcard;
+
+    private boolean queryWithUnboundParameters;
+
+    private final Map<String, SqlFingerprintStatistics> statisticsByFingerprint = new LinkedHashMap<>();
+
+    // Statistics of the SQL texts not analysed yet
+    private final Map<String, SqlFingerprintStatistics> statisticsOfSqlTextsToAnalyse = new LinkedHashMap<>();
+
+    // Null if the select statements are analysed from the executions, when requested
+    private SelectAnalysis selectAnalysis;
+
+    private final Iterable<SqlExecution> sqlExecutions;
+
+    private SqlAnalysisIndex(Iterable<SqlExecution> sqlExecutions) {
+        this.sqlExecutions = sqlExecutions;
+    }
+
+    /**
+     * The select statements are analysed from the executions the first time they are requested.
+     */
+    static SqlAnalysisIndex buildFrom(Iterable<SqlExecution> sqlExecutions) {
+        SqlAnalysisIndex analysisIndex = new SqlAnalysisIndex(sqlExecutions);
+        for (SqlExecution sqlExecution : sqlExecutions) {
+            analysisIndex.add(sqlExecution);
+        }
+        return analysisIndex;
+    }
+
+    /**
+     * Index of executions that are not kept: the select statements are analysed at each added execution.
+     */
+    static SqlAnalysisIndex updatedAtEachExecution() {
+        SqlAnalysisIndex analysisIndex = new SqlAnalysisIndex(Collections.<SqlExecution>emptyList());
+        analysisIndex.selectAnalysis = new SelectAnalysis();
+        return analysisIndex;
+    }
+
+    /**
+     * The select statements are no longer analysed at each added execution, their
+     * parameters not being kept in memory: they are analysed from the executions
+     * the first time they are requested.
+     */
+    void stopSelectAnalysis() {
+        selectAnalysis = null;
+    }
+
+    void add(SqlExecution sqlExecution) {
+        if (selectAnalysis != null) {
+            selectAnalysis.add(sqlExecution);
+        }
+        long columnCount = sqlExecution.getColumnCount();
+        if (columnCount > maxNumberOfSelectedColumns) {
+            maxNumberOfSelectedColumns = columnCount;
+        }
+        long elapsedTime = sqlExecution.getElapsedTime();
+        if (elapsedTime > maxElapsedTime) {
+            maxElapsedTime = elapsedTime;
+        }
+        indexTimeInNanos(sqlExecution);
+        List<QueryInfo> queries = sqlExecution.getQueries();
+        for (int i = 0; i < queries.size(); i++) {
+            QueryInfo query = queries.get(i);
+            QueryType queryType = sqlExecution.getQueryType(i);
+            queryNumberByType[queryType.ordinal()]++;
+            addSqlTextToAnalyse(query.getQuery(), queryType, elapsedTime);
+        }
+    }
+
+    private void addSqlTextToAnalyse(String sql, QueryType queryType, long elapsedTime) {
+        SqlFingerprintStatistics statisticsOfSqlText = statisticsOfSqlTextsToAnalyse.get(sql);
+        if (statisticsOfSqlText == null) {
+            if (statisticsOfSqlTextsToAnalyse.size() == MAX_SQL_TEXTS_TO_ANALYSE) {
+                analyseSqlTexts();
+            }
+            statisticsOfSqlText = new SqlFingerprintStatistics(sql, queryType);
+            statisticsOfSqlTextsToAnalyse.put(sql, statisticsOfSqlText);
+        }
+        statisticsOfSqlText.add(elapsedTime);
+    }
+
+    private void analyseSqlTexts() {
+        for (SqlFingerprintStatistics statisticsOfSqlText : statisticsOfSqlTextsToAnalyse.values()) {
+            String sql = statisticsOfSqlText.getFingerprint();
+            indexSqlText(sql);
+            indexFingerprint(statisticsOfSqlText);
+            if (statisticsOfSqlText.getQueryType() == QueryType.UPDATE) {
+                indexUpdate(sql);
+            }
+        }
+        statisticsOfSqlTextsToAnalyse.clear();
+    }
+
+    private void indexTimeInNanos(SqlExecution sqlExecution) {
+        long elapsedTimeInNanos = sqlExecution.getElapsedTimeInNanos();
+        latencyHistogram.recordValue(elapsedTimeInNanos);
+        long startNanoTime = sqlExecution.getStartNanoTime();
+        if (startNanoTime == SqlExecution.UNKNOWN_START_NANO_TIME) {
+            jdbcTimeWithoutIntervalsInNanos += elapsedTimeInNanos;
+        } else {
+            executionIntervals.add(startNanoTime, startNanoTime + elapsedTimeInNanos);
+        }
+    }
+
+    private void indexSqlText(String sql) {
+        String sqlInLowerCase = sql.toLowerCase();
+        if (!crossJoin) {
+            crossJoin = sqlInLowerCase.contains("cross join");
+        }
+        if (!likeWithLeadingWildcard) {
+            likeWithLeadingWildcard = searchLikeWithLeadingWildcardOn(sqlInLowerCase);
+        }
+        if (!queryWithUnboundParameters) {
+            queryWithUnboundParameters = oneUnboundParameter(sql);
+        }
+    }
+
+    private boolean searchLikeWithLeadingWildcardOn(String sqlInLowerCase) {
+        String sqlInLowerCaseWithoutWhiteSpaces = sqlInLowerCase.replace(" ", "");
+        return     sqlInLowerCaseWithoutWhiteSpaces.contains("like'%")
+                || sqlInLowerCaseWithoutWhiteSpaces.contains("like'_")
+                ;
+    }
+
+    private boolean oneUnboundParameter(String sql) {
+
+        String sqlStrippedOfQuotes = stripQuotesContent(sql);
+
+        String sqlInLowerCase = sqlStrippedOfQuotes.toLowerCase();
+
+        if(sqlInLowerCase.contains("where")){
+            String[] splitWhere = sqlInLowerCase.split("where");
+            String[] andOrParts = splitWhere[1].split("and | or");
+            for (String wherePart : andOrParts) {
+                wherePart = wherePart.replaceAll(" ", "");
+                if (!wherePart.contains("=?")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private String stripQuotesContent(String sql) {
+        StringBuilder sqlStrippedOfQuotes = new StringBuilder(sql.length());
+        boolean isBetweenQuotes = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                isBetweenQuotes = !isBetweenQuotes;
+            } else if (!isBetweenQuotes) {
+                sqlStrippedOfQuotes.append(c);
+            }
+        }
+        return sqlStrippedOfQuotes.toString();
+    }
+
+    private void indexFingerprint(SqlFingerprintStatistics statisticsOfSqlText) {
+        String fingerprint = SqlFingerprint.INSTANCE.of(statisticsOfSqlText.getFingerprint());
+        SqlFingerprintStatistics statistics = statisticsByFingerprint.get(fingerprint);
+        if (statistics == null) {
+            statistics = new SqlFingerprintStatistics(fingerprint, statisticsOfSqlText.getQueryType());
+            statisticsByFingerprint.put(fingerprint, statistics);
+        }
+        statistics.addAll(statisticsOfSqlText);
+    }
+
+    private void indexUpdate(String sql) {
+        long updatedColumnCount = countUpdatedColumn(sql);
+        if (minUpdatedColumnCount == 0 || updatedColumnCount < minUpdatedColumnCount) {
+            minUpdatedColumnCount = updatedColumnCount;
+        }
+        if (updatedColumnCount > maxUpdatedColumnCount) {
+            maxUpdatedColumnCount = updatedColumnCount;
+        }
+    }
+
+    private long countUpdatedColumn(String sql) {
+        // UPDATE book SET isbn = ?, title = ? WHERE id = ?
+        String sqlInLowerCase = sql.toLowerCase();
+        int setIndex = sqlInLowerCase.indexOf("set");
+        int whereIndex = sqlInLowerCase.indexOf("where");
+        whereIndex = whereIndex > -1 ? whereIndex : sql.length();
+
+        String sqlSetClause = sql.substring(setIndex, whereIndex);
+        return countUnquotedEquals(sqlSetClause);
+    }
+
+    /**
+     * Examples :
+     *  - "SET isbn = ?, title = ? " returns 2
+     *  - "SET isbn = '123', title = '1 + 1 = 0' " returns 2
+     */
+    private long countUnquotedEquals(String setClause) {
+        boolean inQuote = false;
+        long equalCounter = 0;
+        for (int i = 0; i < setClause.length(); i++) {
+            char c = setClause.charAt(i);
+            if (c == '\'') {
+               inQuote = !inQuote;
+            }
+            if (!inQuote && c == '=') {
+                equalCounter++;
+            }
+        }
+        return equalCounter;
+    }
+
+    public long getQueryNumberOfType(QueryType queryType) {
+        return queryNumberByType[queryType.ordinal()];
+    }
+
+    public NumberOfUpdatedColumnsStatistics getUpdatedColumnsStatistics() {
+        analyseSqlTexts();
+        return new NumberOfUpdatedColumnsStatistics(minUpdatedColumnCount, maxUpdatedColumnCount);
+    }
+
+    public long getMaxNumberOfSelectedColumns() {
+        return maxNumberOfSelectedColumns;
+    }
+
+    public long getMaxElapsedTime() {
+        return maxElapsedTime;
+    }
+
+    public LatencyHistogram getLatencyHistogram() {
+        return latencyHistogram;
+    }
+
+    public long getJdbcTimeInNanos() {
+        return jdbcTimeWithoutIntervalsInNanos + executionIntervals.getUnionDurationInNanos();
+    }
+
+    public boolean hasCrossJoin() {
+        analyseSqlTexts();
+        return crossJoin;
+    }
+
+    public boolean hasLikeWithLeadingWildcard() {
+        analyseSqlTexts();
+        return likeWithLeadingWildcard;
+    }
+
+    public boolean hasQueryWithUnboundParameters() {
+        analyseSqlTexts();
+        return queryWithUnboundParameters;
+    }
+
+    public boolean hasExactlySameSelect() {
+        return getSelectAnalysis().hasExactlySameSelect();
+    }
+
+    public boolean hasSameSelectWithDifferentParams() {
+        return getSelectAnalysis().hasSameSelectWithDifferentParams();
+    }
+
+    private SelectAnalysis getSelectAnalysis() {
+        SelectAnalysis analysis = selectAnalysis;
+        if (analysis == null) {
+            analysis = SelectAnalysis.buildFrom(sqlExecutions);
+            selectAnalysis = analysis;
+        }
+        return analysis;
+    }
+
+    /**
+     * @return the statistics of each query fingerprint, the most executed first
+     */
+    public List<SqlFingerprintStatistics> getFingerprintHistogram() {
+        analyseSqlTexts();
+        List<SqlFingerprintStatistics> histogram = new ArrayList<>(statisticsByFingerprint.values());
+        Collections.sort(histogram, MOST_EXECUTED_FINGERPRINT_FIRST);
+        return histogram;
+    }
+
+    /**
+     * @return <code>null</code> if no query of this type was executed
+     */
+    public SqlFingerprintStatistics getMostExecutedFingerprintOfType(QueryType queryType) {
+        analyseSqlTexts();
+        SqlFingerprintStatistics mostExecuted = null;
+        for (SqlFingerprintStatistics statistics : statisticsByFingerprint.values()) {
+            if (       statistics.getQueryType() == queryType
+                    && (mostExecuted == null || statistics.getCount() > mostExecuted.getCount())) {
+                mostExecuted = statistics;
+            }
+        }
+        return mostExecuted;
+    }
+
+    /**
+     * @return the select statements executed several times, the most executed first
+     */
+    public List<RepeatedSelect> getRepeatedSelects() {
+        return getSelectAnalysis().getRepeatedSelects();
+    }
+
+    void writeTo(RecordOutput output) {
+        analyseSqlTexts();
+        output.writeInt(queryNumberByType.length);
+        for (long queryNumber : queryNumberByType) {
+            output.writeLong(queryNumber);
+        }
+        output.writeLong(minUpdatedColumnCount);
+        output.writeLong(maxUpdatedColumnCount);
+        output.writeLong(maxNumberOfSelectedColumns);
+        output.writeLong(maxElapsedTime);
+        latencyHistogram.writeTo(output);
+        output.writeLong(getJdbcTimeInNanos());
+        output.writeBoolean(crossJoin);
+        output.writeBoolean(likeWithLeadingWildcard);
+        output.writeBoolean(queryWithUnboundParameters);
+        output.writeInt(statisticsByFingerprint.size());
+        for (SqlFingerprintStatistics statistics : statisticsByFingerprint.values()) {
+            statistics.writeTo(output);
+        }
+        output.writeBoolean(selectAnalysis != null);
+        if (selectAnalysis != null) {
+            selectAnalysis.writeTo(output);
+        }
+    }
+
+    /**
+     * @param sqlExecutions executions from which the select statements are analysed
+     *                      if the index was written without them
+     */
+    static SqlAnalysisIndex readFrom(RecordInput input, Iterable<SqlExecution> sqlExecutions) {
+        SqlAnalysisIndex analysisIndex = new SqlAnalysisIndex(sqlExecutions);
+        int numberOfQueryTypes = input.readInt();
+        for (int i = 0; i < numberOfQueryTypes; i++) {
+            analysisIndex.queryNumberByType[i] = input.readLong();
+        }
+        analysisIndex.minUpdatedColumnCount = input.readLong();
+        analysisIndex.maxUpdatedColumnCount = input.readLong();
+        analysisIndex.maxNumberOfSelectedColumns = input.readLong();
+        analysisIndex.maxElapsedTime = input.readLong();
+        analysisIndex.latencyHistogram = LatencyHistogram.readFrom(input);
+        analysisIndex.jdbcTimeWithoutIntervalsInNanos = input.readLong();
+        analysisIndex.crossJoin = input.readBoolean();
+        analysisIndex.likeWithLeadingWildcard = input.readBoolean();
+        analysisIndex.queryWithUnboundParameters = input.readBoolean();
+        int numberOfFingerprints = input.readInt();
+        for (int i = 0; i < numberOfFingerprints; i++) {
+            SqlFingerprintStatistics statistics = SqlFingerprintStatistics.readFrom(input);
+            analysisIndex.statisticsByFingerprint.put(statistics.getFingerprint(), statistics);
+        }
+        analysisIndex.selectAnalysis = input.readBoolean() ? SelectAnalysis.readFrom(input) : null;
+        return analysisIndex;
+    }
+
+}
@@ -16,44 +16,121 @@ import net.ttddyy.dsproxy.QueryInfo;
 import net.ttddyy.dsproxy.QueryType;
 import net.ttddyy.dsproxy.StatementType;
 import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.quickperf.repository.RecordInput;
+import org.quickperf.repository.RecordOutput;
 import org.quickperf.sql.formatter.QuickPerfSqlFormatter;
 
-import java.io.Externalizable;
-import java.io.IOException;
-import java.io.ObjectInput;
-import java.io.ObjectOutput;
 import java.lang.reflect.Method;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
-public class SqlExecution implements Externalizable {
+public class SqlExecution {
 
-    private ExecutionInfo executionInfo;
+    private static final SqlParameterMethods PARAMETER_METHODS = SqlParameterMethods.INSTANCE;
 
-    private List<QueryInfo> queries;
+    private static final String NUMBER_OF_RETURNED_COLUMNS = "quickPerfNumberOfReturnedColumns";
 
-    private long columnCount;
+    private static final String START_NANO_TIME = "quickPerfStartNanoTime";
 
-    // Necessary for serialization
-    public SqlExecution() {}
+    private static final String END_NANO_TIME = "quickPerfEndNanoTime";
 
-    public SqlExecution(ExecutionInfo executionInfo, List<QueryInfo> queries) {
+    static final long UNKNOWN_START_NANO_TIME = Long.MIN_VALUE;
+
+    private final ExecutionInfo executionInfo;
+
+    private final List<QueryInfo> queries;
+
+    private final QueryType[] queryTypes;
+
+    private final long columnCount;
+
+    private final long startNanoTime;
+
+    private final long elapsedTimeInNanos;
+
+    private SqlExecution(ExecutionInfo executionInfo, List<QueryInfo> queries, long columnCount
+                       , long startNanoTime, long elapsedTimeInNanos) {
         this.executionInfo = executionInfo;
         this.queries = queries;
+        this.queryTypes = retrieveTypesOf(queries);
+        this.columnCount = columnCount;
+        this.startNanoTime = startNanoTime;
+        this.elapsedTimeInNanos = elapsedTimeInNanos;
+    }
 
-        // Exception with H2 if column count is retrieved from
-        // MaxSelectedColumnsPerMeasureExtractor
-        if (atLeastOneSelect(queries)) {
-            this.columnCount = retrieveNumberOfReturnedColumns(executionInfo);
+    /**
+     * The execution only keeps copies of the values of <code>executionInfo</code>
+     * not referencing JDBC objects, the number of returned columns being the one kept by
+     * {@link #keepNumberOfReturnedColumns(ExecutionInfo, List)}, <code>0</code> otherwise.
+     */
+    public SqlExecution(ExecutionInfo executionInfo, List<QueryInfo> queries) {
+        this.executionInfo = copyWithoutJdbcObjects(executionInfo);
+        this.queries = queries;
+        this.queryTypes = retrieveTypesOf(queries);
+
+        Long keptNumberOfReturnedColumns = executionInfo.getCustomValue(NUMBER_OF_RETURNED_COLUMNS, Long.class);
+        this.columnCount = keptNumberOfReturnedColumns == null ? 0 : keptNumberOfReturnedColumns;
+
+        Long startNanoTime = executionInfo.getCustomValue(START_NANO_TIME, Long.class);
+        Long endNanoTime = executionInfo.getCustomValue(END_NANO_TIME, Long.class);
+        if (startNanoTime != null && endNanoTime != null) {
+            this.startNanoTime = startNanoTime;
+            this.elapsedTimeInNanos = endNanoTime - startNanoTime;
+        } else {
+            this.startNanoTime = UNKNOWN_START_NANO_TIME;
+            this.elapsedTimeInNanos = TimeUnit.MILLISECONDS.toNanos(executionInfo.getElapsedTime());
         }
     }
 
-    private boolean atLeastOneSelect(List<QueryInfo> queries) {
+    private static ExecutionInfo copyWithoutJdbcObjects(ExecutionInfo executionInfo) {
+        ExecutionInfo copy = new ExecutionInfo();
+        copy.setDataSourceName(executionInfo.getDataSourceName());
+        copy.setConnectionId(executionInfo.getConnectionId());
+        copy.setStatementType(executionInfo.getStatementType());
+        copy.setBatch(executionInfo.isBatch());
+        copy.setBatchSize(executionInfo.getBatchSize());
+        copy.setElapsedTime(executionInfo.getElapsedTime());
+        copy.setSuccess(executionInfo.isSuccess());
+        return copy;
+    }
+
+    public static void keepStartTime(ExecutionInfo executionInfo) {
+        executionInfo.addCustomValue(START_NANO_TIME, System.nanoTime());
+    }
+
+    /**
+     * Called when the query is executed, for an execution built later.
+     */
+    public static void keepEndTime(ExecutionInfo executionInfo) {
+        executionInfo.addCustomValue(END_NANO_TIME, System.nanoTime());
+    }
+
+    /**
+     * Retrieves the number of returned columns while the result set is open,
+     * for an execution built after the query execution. Only called by the data source listener
+     * when a {@link ColumnCountRecorder} records it, <code>getMetaData()</code> being expensive with some drivers.
+     */
+    public static void keepNumberOfReturnedColumns(ExecutionInfo executionInfo, List<QueryInfo> queries) {
+        if (atLeastOneSelect(retrieveTypesOf(queries))) {
+            long numberOfReturnedColumns = retrieveNumberOfReturnedColumns(executionInfo);
+            executionInfo.addCustomValue(NUMBER_OF_RETURNED_COLUMNS, numberOfReturnedColumns);
+        }
+    }
+
+    private static QueryType[] retrieveTypesOf(List<QueryInfo> queries) {
         QueryTypeRetriever queryTypeRetriever = QueryTypeRetriever.INSTANCE;
-        for (QueryInfo query : queries) {
-            QueryType queryType = queryTypeRetriever.typeOf(query);
+        QueryType[] queryTypes = new QueryType[queries.size()];
+        for (int i = 0; i < queryTypes.length; i++) {
+            queryTypes[i] = queryTypeRetriever.typeOf(queries.get(i));
+        }
+        return queryTypes;
+    }
+
+    private static boolean atLeastOneSelect(QueryType[] queryTypes) {
+        for (QueryType queryType : queryTypes) {
             if (queryType == QueryType.SELECT) {
                 return true;
             }
@@ -61,7 +138,7 @@ public class SqlExecution implements Externalizable {
         return false;
     }
 
-    private long retrieveNumberOfReturnedColumns(ExecutionInfo executionInfo) {
+    private static long retrieveNumberOfReturnedColumns(ExecutionInfo executionInfo) {
         ResultSet resultSet = (ResultSet) executionInfo.getResult();
         try {
             return resultSet.getMetaData().getColumnCount();
@@ -83,125 +160,120 @@ public class SqlExecution implements Externalizable {
         return false;
     }
 
-    @Override
-    public void writeExternal(ObjectOutput out) throws IOException {
+    public void writeTo(RecordOutput output) {
+
+        writeExecutionInfo(output);
 
-        writeExecutionInfo(out);
+        output.writeLong(columnCount);
 
-        out.writeLong(columnCount);
+        output.writeLong(startNanoTime);
+        output.writeLong(elapsedTimeInNanos);
 
-        writeQueries(out);
+        writeQueries(output);
 
     }
 
-    private void writeExecutionInfo(ObjectOutput out) throws IOException {
-        out.writeUTF(executionInfo.getDataSourceName());
-        out.writeUTF(executionInfo.getConnectionId());
-        out.writeUTF(executionInfo.getStatementType().name());
-        out.writeBoolean(executionInfo.isBatch());
-        out.writeInt(executionInfo.getBatchSize());
+    private void writeExecutionInfo(RecordOutput output) {
+        output.writeString(executionInfo.getDataSourceName());
+        output.writeString(executionInfo.getConnectionId());
+        output.writeString(executionInfo.getStatementType().name());
+        output.writeBoolean(executionInfo.isBatch());
+        output.writeInt(executionInfo.getBatchSize());
+        output.writeLong(executionInfo.getElapsedTime());
     }
 
-    private void writeQueries(ObjectOutput out) throws IOException {
+    private void writeQueries(RecordOutput output) {
 
         int numberOfQueries = queries.size();
-        out.writeInt(numberOfQueries);
+        output.writeInt(numberOfQueries);
 
         for (QueryInfo query : queries) {
-            writeQuery(out, query);
+            writeQuery(output, query);
         }
     }
 
-    private void writeQuery(ObjectOutput out, QueryInfo query) throws IOException {
+    private void writeQuery(RecordOutput output, QueryInfo query) {
 
-        String queryAsString = query.getQuery();
-        out.writeUTF(queryAsString);
+        output.writeString(query.getQuery());
 
         List<List<ParameterSetOperation>> parametersList = query.getParametersList();
 
         int numberOfParametersList = parametersList.size();
-        out.writeInt(numberOfParametersList);
+        output.writeInt(numberOfParametersList);
 
         for (List<ParameterSetOperation> parameters : parametersList) {
 
             int numberOfParams = parameters.size();
-            out.writeInt(numberOfParams);
+            output.writeInt(numberOfParams);
 
             for (ParameterSetOperation parameter : parameters) {
-                writeParameter(out, parameter);
+                writeParameter(output, parameter);
             }
 
         }
     }
 
-    private void writeParameter(ObjectOutput out, ParameterSetOperation parameter) throws IOException {
+    private void writeParameter(RecordOutput output, ParameterSetOperation parameter) {
+        // The method signature is written once in the string table of the record
         Method method = parameter.getMethod();
-        writeMethod(out, method);
+        output.writeString(PARAMETER_METHODS.signatureOf(method));
 
         Object[] args = parameter.getArgs();
-        writeArgs(out, args);
-    }
-
-    private void writeMethod(ObjectOutput out, Method method) throws IOException {
-        out.writeObject(method.getDeclaringClass());
-        out.writeUTF(method.getName());
-        out.writeObject(method.getParameterTypes());
-    }
-
-    private void writeArgs(ObjectOutput out, Object[] args) throws IOException {
-        int numberOfArgs = args.length;
-        out.writeInt(numberOfArgs);
+        output.writeInt(args.length);
         for (Object arg : args) {
-            out.writeObject(arg);
+            SqlParameterArgs.INSTANCE.write(output, arg);
         }
     }
 
-    @Override
-    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
-        this.executionInfo = readExecutionInfo(in);
-        this.columnCount = in.readLong();
-        this.queries = readQueries(in);
+    public static SqlExecution readFrom(RecordInput input) {
+        ExecutionInfo executionInfo = readExecutionInfo(input);
+        long columnCount = input.readLong();
+        long startNanoTime = input.readLong();
+        long elapsedTimeInNanos = input.readLong();
+        List<QueryInfo> queries = readQueries(input);
+        return new SqlExecution(executionInfo, queries, columnCount, startNanoTime, elapsedTimeInNanos);
     }
 
-    private ExecutionInfo readExecutionInfo(ObjectInput in) throws IOException {
+    private static ExecutionInfo readExecutionInfo(RecordInput input) {
         ExecutionInfo executionInfo = new ExecutionInfo();
-        executionInfo.setDataSourceName(in.readUTF());
-        executionInfo.setConnectionId(in.readUTF());
-        executionInfo.setStatementType(StatementType.valueOf(in.readUTF()));
-        executionInfo.setBatch(in.readBoolean());
-        executionInfo.setBatchSize(in.readInt());
+        executionInfo.setDataSourceName(input.readString());
+        executionInfo.setConnectionId(input.readString());
+        executionInfo.setStatementType(StatementType.valueOf(input.readString()));
+        executionInfo.setBatch(input.readBoolean());
+        executionInfo.setBatchSize(input.readInt());
+        executionInfo.setElapsedTime(input.readLong());
         return executionInfo;
     }
 
-    private List<QueryInfo> readQueries(ObjectInput in) throws IOException, ClassNotFoundException {
-        int numberOfQueries = in.readInt();
+    private static List<QueryInfo> readQueries(RecordInput input) {
+        int numberOfQueries = input.readInt();
         List<QueryInfo> queries = new ArrayList<>(numberOfQueries);
         for (int i = 0; i < numberOfQueries; i++) {
-            QueryInfo query = readQuery(in);
+            QueryInfo query = readQuery(input);
             queries.add(query);
         }
         return queries;
     }
 
-    private QueryInfo readQuery(ObjectInput in) throws IOException, ClassNotFoundException {
+    private static QueryInfo readQuery(RecordInput input) {
         QueryInfo query = new QueryInfo();
-        query.setQuery(in.readUTF());
+        query.setQuery(input.readString());
 
-        int numberOfParametersList = in.readInt();
+        int numberOfParametersList = input.readInt();
         List<List<ParameterSetOperation>> parametersList = new ArrayList<>(numberOfParametersList);
 
         for (int j = 0; j < numberOfParametersList; j++) {
 
-            int numberOfParams = in.readInt();
+            int numberOfParams = input.readInt();
             List<ParameterSetOperation> parameters = new ArrayList<>(numberOfParams);
             for (int k = 0; k < numberOfParams; k++) {
 
                 ParameterSetOperation parameterSetOperation = new ParameterSetOperation();
 
-                Method method = readMethod(in);
+                Method method = PARAMETER_METHODS.findMethod(input.readString());
                 parameterSetOperation.setMethod(method);
 
-                Object[] args = readArgs(in);
+                Object[] args = readArgs(input);
                 parameterSetOperation.setArgs(args);
 
                 parameters.add(parameterSetOperation);
@@ -216,26 +288,11 @@ public class SqlExecution implements Externalizable {
         return query;
     }
 
-    private Method readMethod(ObjectInput in) throws ClassNotFoundException, IOException {
-        Class<?> declaringClass = (Class<?>) in.readObject();
-        String methodName = in.readUTF();
-        Class<?>[] parameterTypes = (Class<?>[]) in.readObject();
-
-        Method method;
-        try {
-            method = declaringClass.getMethod(methodName, parameterTypes);
-        } catch (NoSuchMethodException e) {
-            throw new IllegalStateException(e);
-        }
-        return method;
-    }
-
-    private Object[] readArgs(ObjectInput in) throws IOException, ClassNotFoundException {
-        int numberOfArgs = in.readInt();
+    private static Object[] readArgs(RecordInput input) {
+        int numberOfArgs = input.readInt();
         Object[] args = new Object[numberOfArgs];
         for (int l = 0; l < numberOfArgs; l++) {
-            Object object = in.readObject();
-            args[l] = object;
+            args[l] = SqlParameterArgs.INSTANCE.read(input);
         }
         return args;
     }
@@ -244,6 +301,13 @@ public class SqlExecution implements Externalizable {
         return queries;
     }
 
+    /**
+     * Returns the type of the query at the given position of {@link #getQueries()}.
+     */
+    public QueryType getQueryType(int queryIndex) {
+        return queryTypes[queryIndex];
+    }
+
     public long getColumnCount() {
         return columnCount;
     }
@@ -252,6 +316,18 @@ public class SqlExecution implements Externalizable {
     	return executionInfo.getElapsedTime();
     }
 
+    public long getElapsedTimeInNanos() {
+        return elapsedTimeInNanos;
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} at the beginning of the execution,
+     * {@link #UNKNOWN_START_NANO_TIME} if it was not kept
+     */
+    long getStartNanoTime() {
+        return startNanoTime;
+    }
+
     @Override
     public String toString() {
         return QuickPerfSqlFormatter.INSTANCE.format(executionInfo, queries);
@@ -0,0 +1,198 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gives the SQL executions to the recorders from a background thread, the thread
+ * executing the query only enqueues the execution.
+ *
+ * The recorders are retrieved when the execution is enqueued, so the execution is
+ * given to the recorders of the test sending it. The failure of a recorder is thrown
+ * to the thread waiting for the recording of its executions. The recording thread is
+ * started again if it dies.
+ */
+public class SqlExecutionQueue {
+
+    public static final SqlExecutionQueue INSTANCE = new SqlExecutionQueue();
+
+    static final int CAPACITY = 8192;
+
+    private static final long WAITING_TIME_IN_NS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private static final long MAX_AWAITING_TIME_IN_NS = TimeUnit.SECONDS.toNanos(60);
+
+    private final ConcurrentLinkedQueue<EnqueuedSqlExecution> sqlExecutions = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final AtomicLong enqueuedCount = new AtomicLong();
+
+    private volatile long recordedCount;
+
+    private volatile Thread recordingThread;
+
+    // First failure of each recorder, until the recording of its executions is awaited
+    private final ConcurrentMap<SqlRecorder, Throwable> recordingFailures = new ConcurrentHashMap<>();
+
+    private final long maxAwaitingTimeInNs;
+
+    SqlExecutionQueue() {
+        this(MAX_AWAITING_TIME_IN_NS);
+    }
+
+    SqlExecutionQueue(long maxAwaitingTimeInNs) {
+        this.maxAwaitingTimeInNs = maxAwaitingTimeInNs;
+    }
+
+    public void enqueue(SqlRecorder[] sqlRecorders, ExecutionInfo executionInfo, List<QueryInfo> queries, int listenerIdentifier) {
+        EnqueuedSqlExecution sqlExecution = new EnqueuedSqlExecution(sqlRecorders, executionInfo
+                                                                   , new ArrayList<>(queries), listenerIdentifier);
+        reserveSlot();
+        enqueuedCount.incrementAndGet();
+        sqlExecutions.offer(sqlExecution);
+        LockSupport.unpark(retrieveRecordingThread());
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    private void reserveSlot() {
+        while (true) {
+            int currentSize = size.get();
+            if (currentSize >= CAPACITY) {
+                LockSupport.parkNanos(WAITING_TIME_IN_NS);
+            } else if (size.compareAndSet(currentSize, currentSize + 1)) {
+                return;
+            }
+        }
+    }
+
+    private Thread retrieveRecordingThread() {
+        Thread thread = recordingThread;
+        if (thread == null) {
+            synchronized (this) {
+                thread = recordingThread;
+                if (thread == null) {
+                    thread = new Thread(new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                recordSqlExecutions();
+                            } finally {
+                                forgetRecordingThread(Thread.currentThread());
+                            }
+                        }
+                    }, "QuickPerf SQL recording");
+                    thread.setDaemon(true);
+                    thread.start();
+                    recordingThread = thread;
+                }
+            }
+        }
+        return thread;
+    }
+
+    private synchronized void forgetRecordingThread(Thread thread) {
+        if (recordingThread == thread) {
+            recordingThread = null;
+        }
+    }
+
+    private void recordSqlExecutions() {
+        while (true) {
+            EnqueuedSqlExecution sqlExecution = sqlExecutions.poll();
+            if (sqlExecution == null) {
+                LockSupport.park(this);
+                continue;
+            }
+            size.decrementAndGet();
+            try {
+                sqlExecution.record(recordingFailures);
+            } finally {
+                recordedCount++;
+            }
+        }
+    }
+
+    /**
+     * Waits for the recording of the executions enqueued before this call.
+     *
+     * @throws IllegalStateException if the recorder failed to record an execution or if the
+     * executions are not recorded in time
+     */
+    public void awaitRecordingOfEnqueuedExecutions(SqlRecorder sqlRecorder) {
+        long enqueuedCountToRecord = enqueuedCount.get();
+        long startTime = System.nanoTime();
+        while (recordedCount < enqueuedCountToRecord) {
+            if (System.nanoTime() - startTime > maxAwaitingTimeInNs) {
+                recordingFailures.remove(sqlRecorder);
+                throw new IllegalStateException("The SQL executions were not recorded with "
+                                              + sqlRecorder.getClass().getSimpleName() + " after "
+                                              + TimeUnit.NANOSECONDS.toMillis(maxAwaitingTimeInNs) + " ms, "
+                                              + (enqueuedCountToRecord - recordedCount) + " executions remain to be recorded");
+            }
+            LockSupport.unpark(retrieveRecordingThread());
+            LockSupport.parkNanos(WAITING_TIME_IN_NS);
+        }
+        Throwable recordingFailure = recordingFailures.remove(sqlRecorder);
+        if (recordingFailure != null) {
+            throw new IllegalStateException("Unable to record the SQL executions with "
+                                          + sqlRecorder.getClass().getSimpleName(), recordingFailure);
+        }
+    }
+
+    private static class EnqueuedSqlExecution {
+
+        private final SqlRecorder[] sqlRecorders;
+
+        private final ExecutionInfo executionInfo;
+
+        private final List<QueryInfo> queries;
+
+        private final int listenerIdentifier;
+
+        EnqueuedSqlExecution(SqlRecorder[] sqlRecorders, ExecutionInfo executionInfo, List<QueryInfo> queries, int listenerIdentifier) {
+            this.sqlRecorders = sqlRecorders;
+            this.executionInfo = executionInfo;
+            this.queries = queries;
+            this.listenerIdentifier = listenerIdentifier;
+        }
+
+        @SuppressWarnings("unchecked")
+        void record(ConcurrentMap<SqlRecorder, Throwable> recordingFailures) {
+            for (SqlRecorder sqlRecorder : sqlRecorders) {
+                try {
+                    sqlRecorder.addQueryExecution(executionInfo, queries, listenerIdentifier);
+                } catch (Throwable e) {
+                    recordingFailures.putIfAbsent(sqlRecorder, e);
+                }
+            }
+        }
+
+    }
+
+}
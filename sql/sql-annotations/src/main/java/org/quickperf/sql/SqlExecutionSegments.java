@@ -0,0 +1,169 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.sql;
+
+import org.quickperf.repository.RecordFileRepository;
+import org.quickperf.repository.RecordInput;
+import org.quickperf.repository.RecordOutput;
+import org.quickperf.repository.RecordSerializer;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * SQL executions appended to segment files, read back one segment at a time.
+ */
+class SqlExecutionSegments implements Iterable<SqlExecution> {
+
+    private static final RecordSerializer<Collection<SqlExecution>> SEGMENT_SERIALIZER = new RecordSerializer<Collection<SqlExecution>>() {
+
+        @Override
+        public int getVersion() {
+            return 2;
+        }
+
+        @Override
+        public void write(Collection<SqlExecution> sqlExecutions, RecordOutput output) {
+            output.writeInt(sqlExecutions.size());
+            for (SqlExecution sqlExecution : sqlExecutions) {
+                sqlExecution.writeTo(output);
+            }
+        }
+
+        @Override
+        public Collection<SqlExecution> read(RecordInput input) {
+            int numberOfExecutions = input.readInt();
+            List<SqlExecution> sqlExecutions = new ArrayList<>(numberOfExecutions);
+            for (int i = 0; i < numberOfExecutions; i++) {
+                sqlExecutions.add(SqlExecution.readFrom(input));
+            }
+            return sqlExecutions;
+        }
+
+    };
+
+    private final RecordFileRepository recordFileRepository = RecordFileRepository.INSTANCE;
+
+    private final Path directory;
+
+    private final boolean deletedOnExit;
+
+    private int segmentCount;
+
+    private SqlExecutionSegments(Path directory, boolean deletedOnExit, int segmentCount) {
+        this.directory = directory;
+        this.deletedOnExit = deletedOnExit;
+        this.segmentCount = segmentCount;
+    }
+
+    /**
+     * The segments are written in the working folder of the test. Without working folder,
+     * the test being executed in the JVM running the tests, they are written in a temporary
+     * directory deleted on JVM exit if the segments are not deleted before.
+     */
+    static SqlExecutionSegments createIn(String workingFolderPath) {
+        try {
+            if (workingFolderPath.isEmpty()) {
+                Path directory = Files.createTempDirectory("QuickPerf-sql-");
+                directory.toFile().deleteOnExit();
+                return new SqlExecutionSegments(directory, true, 0);
+            }
+            Path workingFolder = Files.createDirectories(Paths.get(workingFolderPath));
+            Path directory = Files.createTempDirectory(workingFolder, "sql-");
+            return new SqlExecutionSegments(directory, false, 0);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to create a directory for the SQL executions", e);
+        }
+    }
+
+    void append(Collection<SqlExecution> sqlExecutions) {
+        Path segmentPath = segmentPath(segmentCount);
+        recordFileRepository.saveInFile(segmentPath, sqlExecutions, SEGMENT_SERIALIZER);
+        if (deletedOnExit) {
+            segmentPath.toFile().deleteOnExit();
+        }
+        segmentCount++;
+    }
+
+    private Path segmentPath(int segmentIndex) {
+        return directory.resolve("sql-" + segmentIndex + ".rec");
+    }
+
+    @Override
+    public Iterator<SqlExecution> iterator() {
+        return new Iterator<SqlExecution>() {
+
+            private int nextSegmentIndex;
+
+            private Iterator<SqlExecution> segmentIterator = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!segmentIterator.hasNext() && nextSegmentIndex < segmentCount) {
+                    Path segmentPath = segmentPath(nextSegmentIndex++);
+                    segmentIterator = recordFileRepository.findInFile(segmentPath, SEGMENT_SERIALIZER).iterator();
+                }
+                return segmentIterator.hasNext();
+            }
+
+            @Override
+            public SqlExecution next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return segmentIterator.next();
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+
+        };
+    }
+
+    void writeTo(RecordOutput output) {
+        output.writeString(directory.toString());
+        output.writeInt(segmentCount);
+    }
+
+    static SqlExecutionSegments readFrom(RecordInput input) {
+        Path directory = Paths.get(input.readString());
+        int segmentCount = input.readInt();
+        return new SqlExecutionSegments(directory, false, segmentCount);
+    }
+
+    void delete() {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory)) {
+            for (Path segment : segments) {
+                Files.delete(segment);
+            }
+            Files.delete(directory);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to delete " + directory, e);
+        }
+    }
+
+}
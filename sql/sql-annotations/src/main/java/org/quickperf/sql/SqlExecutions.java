@@ -17,26 +17,135 @@ import net.ttddyy.dsproxy.QueryType;
 import org.quickperf.issue.PerfIssue;
 import org.quickperf.issue.PerfIssuesFormat;
 import org.quickperf.perfrecording.ViewablePerfRecordIfPerfIssue;
+import org.quickperf.repository.RecordInput;
+import org.quickperf.repository.RecordOutput;
+import org.quickperf.sql.time.LatencyHistogram;
 import org.quickperf.sql.update.columns.NumberOfUpdatedColumnsStatistics;
 
-import java.io.Serializable;
 import java.util.*;
 
-public class SqlExecutions implements Iterable<SqlExecution>, ViewablePerfRecordIfPerfIssue, Serializable {
+public class SqlExecutions implements Iterable<SqlExecution>, ViewablePerfRecordIfPerfIssue {
 
     public static final SqlExecutions NONE = new SqlExecutions();
 
     private final Deque<SqlExecution> sqlExecutions = new ArrayDeque<>();
 
+    // Executions no longer kept in memory, null if all the executions are in memory
+    private SqlExecutionSegments spilledSqlExecutions;
+
+    private final int maxKeptExecutions;
+
+    private long numberOfDroppedExecutions;
+
+    // 0 if unknown
+    private long recordingDurationInNanos;
+
+    private boolean analysisIndexIsRunning;
+
+    private volatile SqlAnalysisIndex analysisIndex;
+
+    public SqlExecutions() {
+        this.maxKeptExecutions = Integer.MAX_VALUE;
+    }
+
+    private SqlExecutions(int maxKeptExecutions) {
+        this.maxKeptExecutions = maxKeptExecutions;
+        this.analysisIndex = SqlAnalysisIndex.updatedAtEachExecution();
+        this.analysisIndexIsRunning = true;
+    }
+
+    /**
+     * Only the last executions are kept, to be displayed in the report. The
+     * analysis index is updated at each added execution.
+     */
+    public static SqlExecutions keepingOnlyLast(int numberOfExecutions) {
+        return new SqlExecutions(numberOfExecutions);
+    }
+
     public void add(ExecutionInfo execInfo, List<QueryInfo> queries) {
         SqlExecution sqlExecution = new SqlExecution(execInfo, queries);
+        if (analysisIndexIsRunning) {
+            analysisIndex.add(sqlExecution);
+        } else {
+            analysisIndex = null;
+        }
         sqlExecutions.addLast(sqlExecution);
+        if (sqlExecutions.size() > maxKeptExecutions) {
+            sqlExecutions.pollFirst();
+            numberOfDroppedExecutions++;
+        }
+    }
+
+    public int getNumberOfExecutionsInMemory() {
+        return sqlExecutions.size();
+    }
+
+    /**
+     * Appends the executions kept in memory to a segment file of the working folder. From then
+     * on, the analysis index is updated at each added execution, the select statements being
+     * analysed from all the executions only if requested.
+     */
+    public void spillExecutionsInMemory(String workingFolderPath) {
+        if (spilledSqlExecutions == null) {
+            analysisIndex = getAnalysisIndex();
+            analysisIndex.stopSelectAnalysis();
+            analysisIndexIsRunning = true;
+            spilledSqlExecutions = SqlExecutionSegments.createIn(workingFolderPath);
+        }
+        spilledSqlExecutions.append(sqlExecutions);
+        sqlExecutions.clear();
+    }
+
+    public void deleteSpilledExecutions() {
+        if (spilledSqlExecutions != null) {
+            spilledSqlExecutions.delete();
+        }
+    }
+
+    public void writeTo(RecordOutput output) {
+        output.writeInt(sqlExecutions.size());
+        for (SqlExecution sqlExecution : sqlExecutions) {
+            sqlExecution.writeTo(output);
+        }
+        output.writeLong(numberOfDroppedExecutions);
+        output.writeLong(recordingDurationInNanos);
+        output.writeBoolean(spilledSqlExecutions != null);
+        if (spilledSqlExecutions != null) {
+            spilledSqlExecutions.writeTo(output);
+        }
+        output.writeBoolean(analysisIndexIsRunning);
+        if (analysisIndexIsRunning) {
+            analysisIndex.writeTo(output);
+        }
+    }
+
+    public static SqlExecutions readFrom(RecordInput input) {
+        SqlExecutions sqlExecutions = new SqlExecutions();
+        int numberOfExecutions = input.readInt();
+        for (int i = 0; i < numberOfExecutions; i++) {
+            sqlExecutions.sqlExecutions.addLast(SqlExecution.readFrom(input));
+        }
+        sqlExecutions.numberOfDroppedExecutions = input.readLong();
+        sqlExecutions.recordingDurationInNanos = input.readLong();
+        if (input.readBoolean()) {
+            sqlExecutions.spilledSqlExecutions = SqlExecutionSegments.readFrom(input);
+        }
+        if (input.readBoolean()) {
+            sqlExecutions.analysisIndex = SqlAnalysisIndex.readFrom(input, sqlExecutions);
+            sqlExecutions.analysisIndexIsRunning = true;
+        }
+        return sqlExecutions;
     }
 
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        for (SqlExecution sqlExecution : sqlExecutions) {
+        if (numberOfDroppedExecutions > 0) {
+            sb.append("\t").append(numberOfDroppedExecutions).append(" previous SQL executions are not kept");
+            sb.append(System.lineSeparator());
+            sb.append(System.lineSeparator());
+        }
+        for (SqlExecution sqlExecution : this) {
             sb.append("\t").append(sqlExecution.toString());
             sb.append(System.lineSeparator());
             sb.append(System.lineSeparator());
@@ -45,7 +154,7 @@ public class SqlExecutions implements Iterable<SqlExecution>, ViewablePerfRecord
     }
 
     public boolean oneExecutionHasQueryRespecting(SqlExecutionPredicate predicate) {
-        for (SqlExecution sqlExecution : sqlExecutions) {
+        for (SqlExecution sqlExecution : this) {
             if (predicate.test(sqlExecution)) {
                 return true;
             }
@@ -54,84 +163,86 @@ public class SqlExecutions implements Iterable<SqlExecution>, ViewablePerfRecord
     }
 
     public boolean isEmpty() {
-        return this == NONE || sqlExecutions.isEmpty();
+        return    this == NONE
+               || (sqlExecutions.isEmpty() && spilledSqlExecutions == null && numberOfDroppedExecutions == 0);
     }
 
     public long retrieveQueryNumberOfType(QueryType queryType) {
-        long queryNumber = 0;
-        QueryTypeRetriever queryTypeRetriever = QueryTypeRetriever.INSTANCE;
-        for (SqlExecution sqlExecution : sqlExecutions) {
-            for (QueryInfo query : sqlExecution.getQueries()) {
-                if (queryType.equals(queryTypeRetriever.typeOf(query))) {
-                    queryNumber++;
-                }
-            }
-        }
-        return queryNumber;
+        return getAnalysisIndex().getQueryNumberOfType(queryType);
     }
 
     public NumberOfUpdatedColumnsStatistics getUpdatedColumnsStatistics() {
+        return getAnalysisIndex().getUpdatedColumnsStatistics();
+    }
 
-        long minColumnCount = 0;
-        long maxColumnCount = 0;
+    public long getMaxNumberOfSelectedColumns() {
+        return getAnalysisIndex().getMaxNumberOfSelectedColumns();
+    }
 
-        for (SqlExecution sqlExecution : sqlExecutions) {
-            for (QueryInfo query : sqlExecution.getQueries()) {
-                QueryTypeRetriever queryTypeRetriever = QueryTypeRetriever.INSTANCE;
-                if (queryTypeRetriever.typeOf(query) == QueryType.UPDATE) {
-                    long updatedColumnCount = countUpdatedColumn(query.getQuery());
-                    if(minColumnCount == 0 || updatedColumnCount < minColumnCount) {
-                        minColumnCount = updatedColumnCount;
-                    }
-                    if (updatedColumnCount > maxColumnCount) {
-                        maxColumnCount = updatedColumnCount;
-                    }
-                }
-            }
-        }
+    public long getMaxElapsedTime() {
+        return getAnalysisIndex().getMaxElapsedTime();
+    }
 
-        return new NumberOfUpdatedColumnsStatistics(minColumnCount, maxColumnCount);
+    public boolean hasCrossJoin() {
+        return getAnalysisIndex().hasCrossJoin();
+    }
 
+    public boolean hasLikeWithLeadingWildcard() {
+        return getAnalysisIndex().hasLikeWithLeadingWildcard();
     }
 
-    private long countUpdatedColumn(String sql) {
-        // UPDATE book SET isbn = ?, title = ? WHERE id = ?
-        int setIndex = sql.toLowerCase().indexOf("set");
-        int whereIndex = sql.toLowerCase().indexOf("where");
-        whereIndex = whereIndex > -1 ? whereIndex : sql.length();
+    public boolean hasQueryWithUnboundParameters() {
+        return getAnalysisIndex().hasQueryWithUnboundParameters();
+    }
 
-        String sqlSetClause = sql.substring(setIndex, whereIndex);
-        return countUnquotedEquals(sqlSetClause);
+    public boolean hasExactlySameSelect() {
+        return getAnalysisIndex().hasExactlySameSelect();
     }
 
-    /**
-     * Examples :
-     *  - "SET isbn = ?, title = ? " returns 2
-     *  - "SET isbn = '123', title = '1 + 1 = 0' " returns 2
-     */
-    private long countUnquotedEquals(String setClause) {
-        boolean inQuote = false;
-        long equalCounter = 0;
-        for (char c : setClause.toCharArray()) {
-            if (c == '\'') {
-               inQuote = !inQuote;
-            }
-            if (!inQuote && c == '=') {
-                equalCounter++;
-            }
-        }
-        return equalCounter;
+    public boolean hasSameSelectWithDifferentParams() {
+        return getAnalysisIndex().hasSameSelectWithDifferentParams();
     }
 
-    public long getMaxNumberOfSelectedColumns() {
-        long maxNumberOfColumnsForAllExecs = 0;
-        for (SqlExecution sqlExecution : sqlExecutions) {
-            long columnCount = sqlExecution.getColumnCount();
-            if (columnCount > maxNumberOfColumnsForAllExecs) {
-                maxNumberOfColumnsForAllExecs = columnCount;
-            }
+    public long getRecordingDurationInNanos() {
+        return recordingDurationInNanos;
+    }
+
+    public void setRecordingDurationInNanos(long recordingDurationInNanos) {
+        this.recordingDurationInNanos = recordingDurationInNanos;
+    }
+
+    public long getJdbcTimeInNanos() {
+        return getAnalysisIndex().getJdbcTimeInNanos();
+    }
+
+    public LatencyHistogram getLatencyHistogram() {
+        return getAnalysisIndex().getLatencyHistogram();
+    }
+
+    public List<RepeatedSelect> getRepeatedSelects() {
+        return getAnalysisIndex().getRepeatedSelects();
+    }
+
+    public List<SqlFingerprintStatistics> getFingerprintHistogram() {
+        return getAnalysisIndex().getFingerprintHistogram();
+    }
+
+    public SqlFingerprintStatistics getMostExecutedFingerprintOfType(QueryType queryType) {
+        return getAnalysisIndex().getMostExecutedFingerprintOfType(queryType);
+    }
+
+    /**
+     * The index is built at the first analysis of the SQL executions,
+     * and built again if an execution is added afterwards, unless
+     * the index is updated at each added execution.
+     */
+    public SqlAnalysisIndex getAnalysisIndex() {
+        SqlAnalysisIndex index = analysisIndex;
+        if (index == null) {
+            index = SqlAnalysisIndex.buildFrom(this);
+            analysisIndex = index;
         }
-        return maxNumberOfColumnsForAllExecs;
+        return index;
     }
 
     @Override
@@ -147,6 +258,33 @@ public class SqlExecutions implements Iterable<SqlExecution>, ViewablePerfRecord
 
     @Override
     public Iterator<SqlExecution> iterator() {
-        return sqlExecutions.iterator();
+        if (spilledSqlExecutions == null) {
+            return sqlExecutions.iterator();
+        }
+        final Iterator<SqlExecution> spilledExecutionsIterator = spilledSqlExecutions.iterator();
+        return new Iterator<SqlExecution>() {
+
+            private Iterator<SqlExecution> currentIterator = spilledExecutionsIterator;
+
+            @Override
+            public boolean hasNext() {
+                if (!currentIterator.hasNext() && currentIterator == spilledExecutionsIterator) {
+                    currentIterator = sqlExecutions.iterator();
+                }
+                return currentIterator.hasNext();
+            }
+
+            @Override
+            public SqlExecution next() {
+                hasNext();
+                return currentIterator.next();
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+
+        };
     }
 }
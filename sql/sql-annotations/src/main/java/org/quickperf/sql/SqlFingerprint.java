@@ -0,0 +1,116 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql;
+
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes a SQL statement so that statements only differing by their literal values,
+ * the length of their IN lists or their white spaces have the same fingerprint.
+ *
+ * <code>SELECT * FROM Book WHERE id IN (1, 2) AND title = 'Java'</code> has the fingerprint
+ * <code>select * from book where id in (?) and title = ?</code>
+ */
+public class SqlFingerprint {
+
+    public static final SqlFingerprint INSTANCE = new SqlFingerprint();
+
+    // ORM workloads repeat a small set of statements, the statements with inlined literals are evicted
+    static final int MAX_CACHED_QUERIES = 1024;
+
+    private static final Pattern IN_LIST = Pattern.compile("\\bin ?\\(\\?(, \\?)*\\)");
+
+    private final LruCache<String, String> fingerprintBySql = new LruCache<>(MAX_CACHED_QUERIES);
+
+    private SqlFingerprint() { }
+
+    public String of(String sql) {
+        String fingerprint = fingerprintBySql.get(sql);
+        if (fingerprint == null) {
+            fingerprint = computeFingerprintOf(sql);
+            fingerprintBySql.put(sql, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    private String computeFingerprintOf(String sql) {
+        StringBuilder fingerprint = new StringBuilder(sql.length());
+        int i = 0;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                i = skipStringLiteral(sql, i);
+                fingerprint.append('?');
+            } else if (Character.isDigit(c) && !isPartOfIdentifier(fingerprint)) {
+                i = skipNumericLiteral(sql, i);
+                fingerprint.append('?');
+            } else if (Character.isWhitespace(c)) {
+                i = skipWhiteSpaces(sql, i);
+                if (fingerprint.length() != 0 && i < sql.length()) {
+                    fingerprint.append(' ');
+                }
+            } else {
+                fingerprint.append(Character.toLowerCase(c));
+                i++;
+            }
+        }
+        return normalizeInLists(fingerprint.toString());
+    }
+
+    private int skipStringLiteral(String sql, int quoteIndex) {
+        int i = quoteIndex + 1;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == '\'') {
+                boolean escapedQuote = i + 1 < sql.length() && sql.charAt(i + 1) == '\'';
+                if (!escapedQuote) {
+                    return i + 1;
+                }
+                i++;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private boolean isPartOfIdentifier(StringBuilder fingerprint) {
+        if (fingerprint.length() == 0) {
+            return false;
+        }
+        char previousChar = fingerprint.charAt(fingerprint.length() - 1);
+        return Character.isLetterOrDigit(previousChar) || previousChar == '_' || previousChar == '$';
+    }
+
+    private int skipNumericLiteral(String sql, int firstDigitIndex) {
+        int i = firstDigitIndex;
+        while (i < sql.length() && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+            i++;
+        }
+        return i;
+    }
+
+    private int skipWhiteSpaces(String sql, int firstWhiteSpaceIndex) {
+        int i = firstWhiteSpaceIndex;
+        while (i < sql.length() && Character.isWhitespace(sql.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private String normalizeInLists(String fingerprint) {
+        String withoutSpacesInParentheses = fingerprint.replace("( ", "(")
+                                                       .replace(" )", ")")
+                                                       .replace(" ,", ",")
+                                                       .replace(",?", ", ?");
+        return IN_LIST.matcher(withoutSpacesInParentheses).replaceAll("in (?)");
+    }
+
+}
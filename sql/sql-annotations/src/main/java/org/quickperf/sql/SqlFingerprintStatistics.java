@@ -0,0 +1,99 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql;
+
+import net.ttddyy.dsproxy.QueryType;
+import org.quickperf.repository.RecordInput;
+import org.quickperf.repository.RecordOutput;
+
+/**
+ * Number of executions, total and max execution times of the queries having the same fingerprint.
+ *
+ * @see SqlFingerprint
+ */
+public class SqlFingerprintStatistics {
+
+    private final String fingerprint;
+
+    private final QueryType queryType;
+
+    private long count;
+
+    private long totalTime;
+
+    private long maxTime;
+
+    SqlFingerprintStatistics(String fingerprint, QueryType queryType) {
+        this.fingerprint = fingerprint;
+        this.queryType = queryType;
+    }
+
+    void add(long elapsedTime) {
+        count++;
+        totalTime += elapsedTime;
+        if (elapsedTime > maxTime) {
+            maxTime = elapsedTime;
+        }
+    }
+
+    void addAll(SqlFingerprintStatistics statistics) {
+        count += statistics.count;
+        totalTime += statistics.totalTime;
+        if (statistics.maxTime > maxTime) {
+            maxTime = statistics.maxTime;
+        }
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public QueryType getQueryType() {
+        return queryType;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalTimeInMs() {
+        return totalTime;
+    }
+
+    public long getMaxTimeInMs() {
+        return maxTime;
+    }
+
+    void writeTo(RecordOutput output) {
+        output.writeString(fingerprint);
+        output.writeInt(queryType.ordinal());
+        output.writeLong(count);
+        output.writeLong(totalTime);
+        output.writeLong(maxTime);
+    }
+
+    static SqlFingerprintStatistics readFrom(RecordInput input) {
+        String fingerprint = input.readString();
+        QueryType queryType = QueryType.values()[input.readInt()];
+        SqlFingerprintStatistics statistics = new SqlFingerprintStatistics(fingerprint, queryType);
+        statistics.count = input.readLong();
+        statistics.totalTime = input.readLong();
+        statistics.maxTime = input.readLong();
+        return statistics;
+    }
+
+    @Override
+    public String toString() {
+        return count + " x | total " + totalTime + " ms | max " + maxTime + " ms | " + fingerprint;
+    }
+
+}
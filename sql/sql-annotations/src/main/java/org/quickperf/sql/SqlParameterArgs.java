@@ -0,0 +1,184 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.sql;
+
+import org.quickperf.repository.RecordInput;
+import org.quickperf.repository.RecordOutput;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+
+/**
+ * Writes the usual SQL parameter values with primitive values. Other serializable values
+ * fall back to Java serialization, and the remaining ones are read as a {@link NotSerializableArg}.
+ */
+class SqlParameterArgs {
+
+    static final SqlParameterArgs INSTANCE = new SqlParameterArgs();
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte SHORT = 4;
+    private static final byte BYTE = 5;
+    private static final byte BOOLEAN = 6;
+    private static final byte DOUBLE = 7;
+    private static final byte FLOAT = 8;
+    private static final byte BIG_DECIMAL = 9;
+    private static final byte DATE = 10;
+    private static final byte TIME = 11;
+    private static final byte TIMESTAMP = 12;
+    private static final byte SERIALIZABLE = 13;
+    private static final byte AS_STRING = 14;
+
+    private SqlParameterArgs() { }
+
+    void write(RecordOutput output, Object arg) {
+        if (arg == null) {
+            output.writeByte(NULL);
+        } else if (arg instanceof String) {
+            output.writeByte(STRING);
+            output.writeString((String) arg);
+        } else if (arg instanceof Integer) {
+            output.writeByte(INTEGER);
+            output.writeInt((Integer) arg);
+        } else if (arg instanceof Long) {
+            output.writeByte(LONG);
+            output.writeLong((Long) arg);
+        } else if (arg instanceof Short) {
+            output.writeByte(SHORT);
+            output.writeShort((Short) arg);
+        } else if (arg instanceof Byte) {
+            output.writeByte(BYTE);
+            output.writeByte((Byte) arg);
+        } else if (arg instanceof Boolean) {
+            output.writeByte(BOOLEAN);
+            output.writeBoolean((Boolean) arg);
+        } else if (arg instanceof Double) {
+            output.writeByte(DOUBLE);
+            output.writeDouble((Double) arg);
+        } else if (arg instanceof Float) {
+            output.writeByte(FLOAT);
+            output.writeFloat((Float) arg);
+        } else if (arg instanceof BigDecimal) {
+            output.writeByte(BIG_DECIMAL);
+            output.writeString(arg.toString());
+        } else if (arg instanceof Timestamp) {
+            Timestamp timestamp = (Timestamp) arg;
+            output.writeByte(TIMESTAMP);
+            output.writeLong(timestamp.getTime());
+            output.writeInt(timestamp.getNanos());
+        } else if (arg instanceof Date) {
+            output.writeByte(DATE);
+            output.writeLong(((Date) arg).getTime());
+        } else if (arg instanceof Time) {
+            output.writeByte(TIME);
+            output.writeLong(((Time) arg).getTime());
+        } else if (arg instanceof Serializable) {
+            output.writeByte(SERIALIZABLE);
+            output.writeSerializable((Serializable) arg);
+        } else {
+            output.writeByte(AS_STRING);
+            output.writeString(arg.getClass().getName());
+            output.writeString(arg.toString());
+        }
+    }
+
+    Object read(RecordInput input) {
+        byte type = input.readByte();
+        switch (type) {
+            case NULL:
+                return null;
+            case STRING:
+                return input.readString();
+            case AS_STRING:
+                return new NotSerializableArg(input.readString(), input.readString());
+            case INTEGER:
+                return input.readInt();
+            case LONG:
+                return input.readLong();
+            case SHORT:
+                return input.readShort();
+            case BYTE:
+                return input.readByte();
+            case BOOLEAN:
+                return input.readBoolean();
+            case DOUBLE:
+                return input.readDouble();
+            case FLOAT:
+                return input.readFloat();
+            case BIG_DECIMAL:
+                return new BigDecimal(input.readString());
+            case TIMESTAMP:
+                Timestamp timestamp = new Timestamp(input.readLong());
+                timestamp.setNanos(input.readInt());
+                return timestamp;
+            case DATE:
+                return new Date(input.readLong());
+            case TIME:
+                return new Time(input.readLong());
+            case SERIALIZABLE:
+                return input.readSerializable();
+            default:
+                throw new IllegalStateException("Unknown SQL parameter type " + type);
+        }
+    }
+
+    /**
+     * Value of a parameter neither usual nor serializable, read from another JVM:
+     * only its class name and its string representation are known.
+     */
+    static class NotSerializableArg {
+
+        private final String className;
+
+        private final String text;
+
+        NotSerializableArg(String className, String text) {
+            this.className = className;
+            this.text = text;
+        }
+
+        String getClassName() {
+            return className;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof NotSerializableArg)) {
+                return false;
+            }
+            NotSerializableArg otherArg = (NotSerializableArg) other;
+            return className.equals(otherArg.className) && text.equals(otherArg.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * className.hashCode() + text.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.sql;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JDBC methods having bound the SQL parameters, identified by a signature such as
+ * <code>java.sql.PreparedStatement#setInt(int,int)</code>.
+ */
+class SqlParameterMethods {
+
+    static final SqlParameterMethods INSTANCE = new SqlParameterMethods();
+
+    private static final Map<String, Class<?>> PRIMITIVE_TYPE_BY_NAME = new HashMap<>();
+
+    static {
+        Class<?>[] primitiveTypes = {boolean.class, byte.class, char.class, short.class
+                                   , int.class, long.class, float.class, double.class};
+        for (Class<?> primitiveType : primitiveTypes) {
+            PRIMITIVE_TYPE_BY_NAME.put(primitiveType.getName(), primitiveType);
+        }
+    }
+
+    private final ConcurrentHashMap<Method, String> signatureByMethod = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, Method> methodBySignature = new ConcurrentHashMap<>();
+
+    private SqlParameterMethods() { }
+
+    String signatureOf(Method method) {
+        String signature = signatureByMethod.get(method);
+        if (signature == null) {
+            signature = buildSignature(method);
+            signatureByMethod.putIfAbsent(method, signature);
+        }
+        return signature;
+    }
+
+    private String buildSignature(Method method) {
+        StringBuilder signature = new StringBuilder();
+        signature.append(method.getDeclaringClass().getName())
+                 .append('#')
+                 .append(method.getName())
+                 .append('(');
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (i > 0) {
+                signature.append(',');
+            }
+            signature.append(parameterTypes[i].getName());
+        }
+        return signature.append(')').toString();
+    }
+
+    Method findMethod(String signature) {
+        Method method = methodBySignature.get(signature);
+        if (method == null) {
+            method = retrieveMethod(signature);
+            methodBySignature.putIfAbsent(signature, method);
+        }
+        return method;
+    }
+
+    private Method retrieveMethod(String signature) {
+
+        int classEnd = signature.indexOf('#');
+        int nameEnd = signature.indexOf('(');
+
+        String declaringClassName = signature.substring(0, classEnd);
+        String methodName = signature.substring(classEnd + 1, nameEnd);
+        String parameterTypeNames = signature.substring(nameEnd + 1, signature.length() - 1);
+
+        try {
+            Class<?> declaringClass = loadClass(declaringClassName);
+            Class<?>[] parameterTypes = loadParameterTypes(parameterTypeNames);
+            return declaringClass.getMethod(methodName, parameterTypes);
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            throw new IllegalStateException("Unable to find method " + signature, e);
+        }
+
+    }
+
+    private Class<?>[] loadParameterTypes(String parameterTypeNames) throws ClassNotFoundException {
+        if (parameterTypeNames.isEmpty()) {
+            return new Class<?>[0];
+        }
+        String[] typeNames = parameterTypeNames.split(",");
+        Class<?>[] parameterTypes = new Class<?>[typeNames.length];
+        for (int i = 0; i < typeNames.length; i++) {
+            parameterTypes[i] = loadClass(typeNames[i]);
+        }
+        return parameterTypes;
+    }
+
+    private Class<?> loadClass(String className) throws ClassNotFoundException {
+        Class<?> primitiveType = PRIMITIVE_TYPE_BY_NAME.get(className);
+        if (primitiveType != null) {
+            return primitiveType;
+        }
+        return Class.forName(className, false, SqlParameterMethods.class.getClassLoader());
+    }
+
+}
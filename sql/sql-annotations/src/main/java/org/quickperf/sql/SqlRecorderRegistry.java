@@ -11,47 +11,170 @@
 
 package org.quickperf.sql;
 
-import java.util.ArrayList;
-import java.util.Collection;
+import org.quickperf.SystemProperties;
 
-import static org.quickperf.SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
+/**
+ * Recorders of the tests recording SQL executions.
+ *
+ * The recorders registered by a test are bound to the thread registering them and to
+ * the threads it creates during the test. An execution from another thread, such as a thread of a pool
+ * created before the test, is given to the recorders of the only test recording SQL executions.
+ * If several tests are recording at the same time in the JVM running the tests, the execution is not
+ * recorded, unless {@link SystemProperties#SQL_RECORDING_OF_POOLED_THREADS} gives it to the recorders
+ * of all these tests. A JVM executing the test code in a new JVM executes one test at a time, so that
+ * the execution is always given to the recorders of the recording tests.
+ *
+ * Looking up the recorders of a thread doesn't take any lock.
+ */
 public class SqlRecorderRegistry {
 
+    private static final SqlRecorder[] NO_SQL_RECORDERS = new SqlRecorder[0];
+
+    private static final TestRecording[] NO_TEST_RECORDINGS = new TestRecording[0];
+
     public static final SqlRecorderRegistry INSTANCE = new SqlRecorderRegistry();
 
-    private final Collection<SqlRecorder> sqlRecordersOfTestJvm = new ArrayList<>();
+    private final InheritableThreadLocal<TestRecording> testRecordingOfThread = new InheritableThreadLocal<>();
 
-    private static final InheritableThreadLocal<Collection<SqlRecorder>> SQL_RECORDERS_WHEN_ONE_JVM = new InheritableThreadLocal<Collection<SqlRecorder>>() {
-        @Override
-        protected Collection<SqlRecorder> initialValue() {
-            return new ArrayList<>();
-        }
-    };
+    private volatile TestRecording[] activeTestRecordings = NO_TEST_RECORDINGS;
+
+    private final boolean pooledThreadsRecordedForSeveralTests;
 
-    private SqlRecorderRegistry() {}
+    SqlRecorderRegistry() {
+        this(       SystemProperties.SQL_RECORDING_OF_POOLED_THREADS.evaluate()
+                 || SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate());
+    }
+
+    SqlRecorderRegistry(boolean pooledThreadsRecordedForSeveralTests) {
+        this.pooledThreadsRecordedForSeveralTests = pooledThreadsRecordedForSeveralTests;
+    }
 
     public void register(SqlRecorder sqlRecorder) {
-        if(TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
-            sqlRecordersOfTestJvm.add(sqlRecorder);
-        } else {
-            Collection<SqlRecorder> sqlRecorders = SQL_RECORDERS_WHEN_ONE_JVM.get();
-            sqlRecorders.add(sqlRecorder);
+        TestRecording testRecording = testRecordingOfThread.get();
+        // A thread created during another test inherits the recording of this test
+        if (testRecording == null || !testRecording.isActiveFor(Thread.currentThread())) {
+            testRecording = new TestRecording();
+            testRecordingOfThread.set(testRecording);
+            addActiveTestRecording(testRecording);
         }
+        testRecording.add(sqlRecorder);
     }
 
     public static void unregister(SqlRecorder sqlRecorder) {
-        if(!TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
-            Collection<SqlRecorder> sqlRecorders = SQL_RECORDERS_WHEN_ONE_JVM.get();
-            sqlRecorders.remove(sqlRecorder);
+        INSTANCE.remove(sqlRecorder);
+    }
+
+    void remove(SqlRecorder sqlRecorder) {
+        try {
+            // The recorder receives the executions enqueued during the test
+            SqlExecutionQueue.INSTANCE.awaitRecordingOfEnqueuedExecutions(sqlRecorder);
+        } finally {
+            removeFromActiveTestRecordings(sqlRecorder);
+        }
+    }
+
+    private void removeFromActiveTestRecordings(SqlRecorder sqlRecorder) {
+        for (TestRecording testRecording : activeTestRecordings) {
+            if (testRecording.remove(sqlRecorder)) {
+                if (!testRecording.isActive()) {
+                    removeActiveTestRecording(testRecording);
+                }
+                return;
+            }
         }
     }
 
-    public Collection<SqlRecorder> getSqlRecorders() {
-        if(TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
-            return sqlRecordersOfTestJvm;
+    private synchronized void addActiveTestRecording(TestRecording testRecording) {
+        TestRecording[] testRecordings = Arrays.copyOf(activeTestRecordings, activeTestRecordings.length + 1);
+        testRecordings[testRecordings.length - 1] = testRecording;
+        activeTestRecordings = testRecordings;
+    }
+
+    private synchronized void removeActiveTestRecording(TestRecording testRecording) {
+        activeTestRecordings = withoutElement(testRecording, activeTestRecordings, NO_TEST_RECORDINGS);
+    }
+
+    public boolean isRecordingActive() {
+        return activeTestRecordings.length != 0;
+    }
+
+    public SqlRecorder[] getSqlRecordersOfCurrentThread() {
+        TestRecording testRecording = testRecordingOfThread.get();
+        if (testRecording != null && testRecording.isActive()) {
+            return testRecording.sqlRecorders;
         }
-        return SQL_RECORDERS_WHEN_ONE_JVM.get();
+        TestRecording[] testRecordings = activeTestRecordings;
+        if (testRecordings.length == 1) {
+            return testRecordings[0].sqlRecorders;
+        }
+        if (testRecordings.length == 0 || !pooledThreadsRecordedForSeveralTests) {
+            return NO_SQL_RECORDERS;
+        }
+        return sqlRecordersOf(testRecordings);
+    }
+
+    private static SqlRecorder[] sqlRecordersOf(TestRecording[] testRecordings) {
+        List<SqlRecorder> sqlRecorders = new ArrayList<>();
+        for (TestRecording testRecording : testRecordings) {
+            Collections.addAll(sqlRecorders, testRecording.sqlRecorders);
+        }
+        return sqlRecorders.toArray(NO_SQL_RECORDERS);
+    }
+
+    private static <T> T[] withoutElement(T element, T[] elements, T[] emptyElements) {
+        for (int i = 0; i < elements.length; i++) {
+            if (elements[i] == element) {
+                if (elements.length == 1) {
+                    return emptyElements;
+                }
+                T[] newElements = Arrays.copyOf(elements, elements.length - 1);
+                System.arraycopy(elements, i + 1, newElements, i, elements.length - i - 1);
+                return newElements;
+            }
+        }
+        return elements;
+    }
+
+    private static class TestRecording {
+
+        private final Thread testThread = Thread.currentThread();
+
+        // Copied on write, the recording is over when no recorder remains
+        private volatile SqlRecorder[] sqlRecorders = NO_SQL_RECORDERS;
+
+        private volatile boolean active = true;
+
+        boolean isActive() {
+            return active;
+        }
+
+        boolean isActiveFor(Thread thread) {
+            return active && testThread == thread;
+        }
+
+        synchronized void add(SqlRecorder sqlRecorder) {
+            SqlRecorder[] newSqlRecorders = Arrays.copyOf(sqlRecorders, sqlRecorders.length + 1);
+            newSqlRecorders[newSqlRecorders.length - 1] = sqlRecorder;
+            sqlRecorders = newSqlRecorders;
+        }
+
+        synchronized boolean remove(SqlRecorder sqlRecorder) {
+            SqlRecorder[] newSqlRecorders = withoutElement(sqlRecorder, sqlRecorders, NO_SQL_RECORDERS);
+            if (newSqlRecorders == sqlRecorders) {
+                return false;
+            }
+            sqlRecorders = newSqlRecorders;
+            if (newSqlRecorders.length == 0) {
+                active = false;
+            }
+            return true;
+        }
+
     }
 
 }
@@ -26,4 +26,11 @@ public @interface ExpectMaxQueryExecutionTime {
 	
 	TimeUnit unit();
 
+	/**
+	 * Percentile of the query execution times to compare with the expected time,
+	 * for example 99 to ignore the slowest 1% of the executions. 100 compares the max execution time.
+	 * It has to be greater than 0 and lower than or equal to 100.
+	 */
+	double percentile() default 100;
+
 }
@@ -22,4 +22,11 @@ public @interface ExpectMaxSelect {
 
     int value() default 0;
 
+    /**
+     * If <code>true</code>, the maximum applies to the number of executions of each SELECT fingerprint.
+     * The SELECT statements only differing by their literal values or the length of their IN lists
+     * have the same fingerprint.
+     */
+    boolean perFingerprint() default false;
+
 }
@@ -107,6 +107,10 @@ public class SqlAnnotationBuilder {
     }
 
     public static ExpectMaxSelect expectMaxSelect(final int value) {
+        return expectMaxSelect(value, false);
+    }
+
+    public static ExpectMaxSelect expectMaxSelect(final int value, final boolean perFingerprint) {
         return new ExpectMaxSelect() {
             @Override
             public Class<? extends Annotation> annotationType() {
@@ -116,6 +120,10 @@ public class SqlAnnotationBuilder {
             public int value() {
                 return value;
             }
+            @Override
+            public boolean perFingerprint() {
+                return perFingerprint;
+            }
         };
     }
 
@@ -184,7 +192,105 @@ public class SqlAnnotationBuilder {
         };
     }
 
+    public static ExpectMaxTotalQueryTime expectMaxTotalQueryTime(final long value, final TimeUnit unit) {
+        return new ExpectMaxTotalQueryTime() {
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return ExpectMaxTotalQueryTime.class;
+            }
+            @Override
+            public long value() {
+                return value;
+            }
+            @Override
+            public TimeUnit unit() {
+                return unit;
+            }
+        };
+    }
+
+    public static ExpectMaxConnections expectMaxConnections(final int value) {
+        return new ExpectMaxConnections() {
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return ExpectMaxConnections.class;
+            }
+            @Override
+            public int value() {
+                return value;
+            }
+        };
+    }
+
+    public static ExpectMaxConnectionHoldTime expectMaxConnectionHoldTime(final long value, final TimeUnit unit) {
+        return new ExpectMaxConnectionHoldTime() {
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return ExpectMaxConnectionHoldTime.class;
+            }
+            @Override
+            public long value() {
+                return value;
+            }
+            @Override
+            public TimeUnit unit() {
+                return unit;
+            }
+        };
+    }
+
+    public static ExpectNoConnectionLeak expectNoConnectionLeak() {
+        return new ExpectNoConnectionLeak() {
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return ExpectNoConnectionLeak.class;
+            }
+        };
+    }
+
+    public static ExpectMaxFetchedRows expectMaxFetchedRows(final int value) {
+        return expectMaxFetchedRows(value, true);
+    }
+
+    public static ExpectMaxFetchedRows expectMaxFetchedRows(final int value, final boolean allowUnreadRows) {
+        return new ExpectMaxFetchedRows() {
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return ExpectMaxFetchedRows.class;
+            }
+            @Override
+            public int value() {
+                return value;
+            }
+            @Override
+            public boolean allowUnreadRows() {
+                return allowUnreadRows;
+            }
+        };
+    }
+
+    public static ExpectFetchSizeAtLeast expectFetchSizeAtLeast(final int fetchSize, final int rowsThreshold) {
+        return new ExpectFetchSizeAtLeast() {
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return ExpectFetchSizeAtLeast.class;
+            }
+            @Override
+            public int fetchSize() {
+                return fetchSize;
+            }
+            @Override
+            public int rowsThreshold() {
+                return rowsThreshold;
+            }
+        };
+    }
+
     public static ExpectMaxQueryExecutionTime expectMaxQueryExecutionTime(final int value, final TimeUnit unit) {
+        return expectMaxQueryExecutionTime(value, unit, 100);
+    }
+
+    public static ExpectMaxQueryExecutionTime expectMaxQueryExecutionTime(final int value, final TimeUnit unit, final double percentile) {
         return new ExpectMaxQueryExecutionTime() {
             @Override
             public Class<? extends Annotation> annotationType() {
@@ -198,6 +304,10 @@ public class SqlAnnotationBuilder {
             public TimeUnit unit() {
                 return unit;
             }
+            @Override
+            public double percentile() {
+                return percentile;
+            }
         };
     }
 
@@ -12,14 +12,34 @@
 package org.quickperf.sql.batch;
 
 import org.quickperf.measure.PerfMeasure;
+import org.quickperf.repository.RecordInput;
+import org.quickperf.repository.RecordOutput;
+import org.quickperf.repository.RecordSerializer;
 import org.quickperf.unit.CountUnit;
 
-import java.io.Serializable;
-
 /*
 * Different batch sizes of batch executions.
 */
-class SqlBatchSizes implements PerfMeasure<int[], CountUnit>, Serializable {
+class SqlBatchSizes implements PerfMeasure<int[], CountUnit> {
+
+    static final RecordSerializer<SqlBatchSizes> SERIALIZER = new RecordSerializer<SqlBatchSizes>() {
+
+        @Override
+        public int getVersion() {
+            return 1;
+        }
+
+        @Override
+        public void write(SqlBatchSizes sqlBatchSizes, RecordOutput output) {
+            output.writeInts(sqlBatchSizes.measuredBatchSizes);
+        }
+
+        @Override
+        public SqlBatchSizes read(RecordInput input) {
+            return new SqlBatchSizes(input.readInts());
+        }
+
+    };
 
     private static final String NO_COMMENT = "";
 
@@ -16,7 +16,7 @@ import net.ttddyy.dsproxy.QueryInfo;
 import net.ttddyy.dsproxy.QueryType;
 import org.quickperf.TestExecutionContext;
 import org.quickperf.WorkingFolder;
-import org.quickperf.repository.ObjectFileRepository;
+import org.quickperf.repository.RecordFileRepository;
 import org.quickperf.sql.QueryTypeRetriever;
 import org.quickperf.sql.SqlRecorder;
 import org.quickperf.sql.SqlRecorderRegistry;
@@ -25,7 +25,7 @@ import java.util.List;
 
 public class SqlStatementBatchRecorder implements SqlRecorder<SqlBatchSizes> {
 
-    private static final String BATCH_FILE_NAME = "ExpectJdbcBatching.ser";
+    private static final String BATCH_FILE_NAME = "ExpectJdbcBatching.rec";
 
     private boolean previousStatementsAreBatched = true;
 
@@ -48,18 +48,22 @@ public class SqlStatementBatchRecorder implements SqlRecorder<SqlBatchSizes> {
     }
 
     private void saveCharacteristicsOfBatchExecutions(int[] batchExecutions, WorkingFolder workingFolder) {
-        ObjectFileRepository objectFileRepository = ObjectFileRepository.INSTANCE;
-        objectFileRepository.save(workingFolder, BATCH_FILE_NAME, new SqlBatchSizes(batchExecutions));
+        RecordFileRepository recordFileRepository = RecordFileRepository.INSTANCE;
+        recordFileRepository.save(workingFolder.getPath()
+                                , BATCH_FILE_NAME
+                                , new SqlBatchSizes(batchExecutions)
+                                , SqlBatchSizes.SERIALIZER);
     }
 
     @Override
     public SqlBatchSizes findRecord(TestExecutionContext testExecutionContext) {
 
         if (testExecutionContext.testExecutionUsesTwoJVMs()) {
-            ObjectFileRepository objectFileRepository = ObjectFileRepository.INSTANCE;
+            RecordFileRepository recordFileRepository = RecordFileRepository.INSTANCE;
             WorkingFolder workingFolder = testExecutionContext.getWorkingFolder();
-            return (SqlBatchSizes) objectFileRepository.find(workingFolder.getPath()
-                                                           , BATCH_FILE_NAME);
+            return recordFileRepository.find(workingFolder.getPath()
+                                           , BATCH_FILE_NAME
+                                           , SqlBatchSizes.SERIALIZER);
         }
 
         return new SqlBatchSizes(differentBatchSizes);
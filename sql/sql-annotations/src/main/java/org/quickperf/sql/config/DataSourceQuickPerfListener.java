@@ -14,10 +14,13 @@ package org.quickperf.sql.config;
 import net.ttddyy.dsproxy.ExecutionInfo;
 import net.ttddyy.dsproxy.QueryInfo;
 import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.quickperf.SystemProperties;
+import org.quickperf.sql.ColumnCountRecorder;
+import org.quickperf.sql.SqlExecution;
+import org.quickperf.sql.SqlExecutionQueue;
 import org.quickperf.sql.SqlRecorder;
 import org.quickperf.sql.SqlRecorderRegistry;
 
-import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -25,15 +28,47 @@ class DataSourceQuickPerfListener implements QueryExecutionListener {
 
     private final int listenerIdentifier = ThreadLocalRandom.current().nextInt();
 
+    private final boolean asyncRecording = SystemProperties.SQL_ASYNC_RECORDING.evaluate();
+
+    private final SqlRecorderRegistry sqlRecorderRegistry;
+
+    DataSourceQuickPerfListener() {
+        this(SqlRecorderRegistry.INSTANCE);
+    }
+
+    DataSourceQuickPerfListener(SqlRecorderRegistry sqlRecorderRegistry) {
+        this.sqlRecorderRegistry = sqlRecorderRegistry;
+    }
+
     @Override
-    public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> queries) {}
+    public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> queries) {
+        if (sqlRecorderRegistry.isRecordingActive()) {
+            SqlExecution.keepStartTime(executionInfo);
+        }
+    }
 
 
     @Override
     @SuppressWarnings("unchecked")
     public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queries) {
 
-        Collection<SqlRecorder> sqlRecorders = SqlRecorderRegistry.INSTANCE.getSqlRecorders();
+        if (!sqlRecorderRegistry.isRecordingActive()) {
+            return;
+        }
+
+        SqlExecution.keepEndTime(executionInfo);
+
+        SqlRecorder[] sqlRecorders = sqlRecorderRegistry.getSqlRecordersOfCurrentThread();
+
+        // The result set may be closed when the execution is recorded
+        if (columnCountIsRecordedBy(sqlRecorders)) {
+            SqlExecution.keepNumberOfReturnedColumns(executionInfo, queries);
+        }
+
+        if (asyncRecording && sqlRecorders.length != 0) {
+            SqlExecutionQueue.INSTANCE.enqueue(sqlRecorders, executionInfo, queries, listenerIdentifier);
+            return;
+        }
 
         for (SqlRecorder sqlRecorder : sqlRecorders) {
             sqlRecorder.addQueryExecution(executionInfo, queries, listenerIdentifier);
@@ -41,4 +76,14 @@ class DataSourceQuickPerfListener implements QueryExecutionListener {
 
     }
 
+    private static boolean columnCountIsRecordedBy(SqlRecorder[] sqlRecorders) {
+        for (SqlRecorder sqlRecorder : sqlRecorders) {
+            if (       sqlRecorder instanceof ColumnCountRecorder
+                    && ((ColumnCountRecorder) sqlRecorder).recordsColumnCount()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.config;
+
+import net.ttddyy.dsproxy.ConnectionInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import org.quickperf.sql.SqlRecorder;
+import org.quickperf.sql.SqlRecorderRegistry;
+import org.quickperf.sql.connection.ConnectionListener;
+
+import java.sql.Connection;
+
+/**
+ * Sends the lifecycle of the connections of the QuickPerf data source
+ * to the recorders listening to it.
+ */
+class QuickPerfConnectionListener implements MethodExecutionListener {
+
+    private final SqlRecorderRegistry sqlRecorderRegistry;
+
+    private final ThreadLocal<Long> acquisitionStartNanoTime = new ThreadLocal<>();
+
+    QuickPerfConnectionListener(SqlRecorderRegistry sqlRecorderRegistry) {
+        this.sqlRecorderRegistry = sqlRecorderRegistry;
+    }
+
+    void connectionAcquisitionStarted() {
+        if (sqlRecorderRegistry.isRecordingActive()) {
+            acquisitionStartNanoTime.set(System.nanoTime());
+        }
+    }
+
+    void connectionAcquisitionEnded() {
+        acquisitionStartNanoTime.remove();
+    }
+
+    void connectionOpened(ConnectionInfo connectionInfo) {
+        Long startNanoTime = acquisitionStartNanoTime.get();
+        long acquisitionTimeInNanos = startNanoTime == null ? 0 : System.nanoTime() - startNanoTime;
+        for (SqlRecorder sqlRecorder : sqlRecorderRegistry.getSqlRecordersOfCurrentThread()) {
+            if (sqlRecorder instanceof ConnectionListener) {
+                ((ConnectionListener) sqlRecorder).connectionOpened(connectionInfo, acquisitionTimeInNanos);
+            }
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {}
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+
+        if (       !sqlRecorderRegistry.isRecordingActive()
+                || !(executionContext.getTarget() instanceof Connection)
+                || executionContext.getThrown() != null) {
+            return;
+        }
+
+        String methodName = executionContext.getMethod().getName();
+        boolean close = "close".equals(methodName);
+        boolean statementCreation =    "createStatement".equals(methodName)
+                                    || "prepareStatement".equals(methodName)
+                                    || "prepareCall".equals(methodName);
+        if (!close && !statementCreation) {
+            return;
+        }
+
+        ConnectionInfo connectionInfo = executionContext.getConnectionInfo();
+        for (SqlRecorder sqlRecorder : sqlRecorderRegistry.getSqlRecordersOfCurrentThread()) {
+            if (sqlRecorder instanceof ConnectionListener) {
+                ConnectionListener connectionListener = (ConnectionListener) sqlRecorder;
+                if (close) {
+                    connectionListener.connectionClosed(connectionInfo);
+                } else {
+                    connectionListener.statementCreated(connectionInfo);
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.config;
+
+import net.ttddyy.dsproxy.ConnectionInfo;
+import net.ttddyy.dsproxy.proxy.JdbcProxyFactory;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import org.quickperf.sql.SqlRecorder;
+import org.quickperf.sql.SqlRecorderRegistry;
+import org.quickperf.sql.rows.ResultSetReading;
+import org.quickperf.sql.rows.ResultSetReadingProxy;
+import org.quickperf.sql.rows.RowCountingRecorder;
+
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * The statements are always proxied, so that a statement created outside a test recording
+ * is recorded when executed during one. {@link DataSourceQuickPerfListener} returns at once
+ * from the executions happening when no SQL recorder is active.
+ * The result sets are only wrapped when a recorder counts their rows.
+ */
+class QuickPerfJdbcProxyFactory implements JdbcProxyFactory {
+
+    private final JdbcProxyFactory delegate;
+
+    private final SqlRecorderRegistry sqlRecorderRegistry;
+
+    private final QuickPerfConnectionListener connectionListener;
+
+    QuickPerfJdbcProxyFactory(JdbcProxyFactory delegate, SqlRecorderRegistry sqlRecorderRegistry
+                            , QuickPerfConnectionListener connectionListener) {
+        this.delegate = delegate;
+        this.sqlRecorderRegistry = sqlRecorderRegistry;
+        this.connectionListener = connectionListener;
+    }
+
+    @Override
+    public DataSource createDataSource(DataSource dataSource, ProxyConfig proxyConfig) {
+        return delegate.createDataSource(dataSource, proxyConfig);
+    }
+
+    @Override
+    public Connection createConnection(Connection connection, ConnectionInfo connectionInfo, ProxyConfig proxyConfig) {
+        Connection proxyConnection = delegate.createConnection(connection, connectionInfo, proxyConfig);
+        if (sqlRecorderRegistry.isRecordingActive()) {
+            connectionListener.connectionOpened(connectionInfo);
+        }
+        return proxyConnection;
+    }
+
+    @Override
+    public Statement createStatement(Statement statement, ConnectionInfo connectionInfo
+                                   , Connection proxyConnection, ProxyConfig proxyConfig) {
+        return delegate.createStatement(statement, connectionInfo, proxyConnection, proxyConfig);
+    }
+
+    @Override
+    public PreparedStatement createPreparedStatement(PreparedStatement preparedStatement, String query
+                                                   , ConnectionInfo connectionInfo, Connection proxyConnection
+                                                   , ProxyConfig proxyConfig, boolean generateKey) {
+        return delegate.createPreparedStatement(preparedStatement, query, connectionInfo, proxyConnection, proxyConfig, generateKey);
+    }
+
+    @Override
+    public CallableStatement createCallableStatement(CallableStatement callableStatement, String query
+                                                   , ConnectionInfo connectionInfo, Connection proxyConnection
+                                                   , ProxyConfig proxyConfig) {
+        return delegate.createCallableStatement(callableStatement, query, connectionInfo, proxyConnection, proxyConfig);
+    }
+
+    /**
+     * Called for the result sets returned by an execution and by <code>Statement.getResultSet()</code>,
+     * the reading being given to the row counting recorders of the current thread.
+     */
+    @Override
+    public ResultSet createResultSet(ResultSet resultSet, ConnectionInfo connectionInfo, ProxyConfig proxyConfig) {
+        if (!sqlRecorderRegistry.isRecordingActive()) {
+            return resultSet;
+        }
+        ResultSet wrappedResultSet = null;
+        ResultSetReading reading = null;
+        Statement statement = null;
+        for (SqlRecorder sqlRecorder : sqlRecorderRegistry.getSqlRecordersOfCurrentThread()) {
+            if (sqlRecorder instanceof RowCountingRecorder) {
+                if (wrappedResultSet == null) {
+                    statement = retrieveStatementOf(resultSet);
+                    wrappedResultSet = ResultSetReadingProxy.wrap(resultSet, statement);
+                    reading = ResultSetReadingProxy.readingOf(wrappedResultSet);
+                }
+                ((RowCountingRecorder) sqlRecorder).resultSetWrapped(reading, statement);
+            }
+        }
+        return wrappedResultSet == null ? resultSet : wrappedResultSet;
+    }
+
+    private static Statement retrieveStatementOf(ResultSet resultSet) {
+        try {
+            return resultSet.getStatement();
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public ResultSet createGeneratedKeys(ResultSet resultSet, ConnectionInfo connectionInfo, ProxyConfig proxyConfig) {
+        return delegate.createGeneratedKeys(resultSet, connectionInfo, proxyConfig);
+    }
+
+}
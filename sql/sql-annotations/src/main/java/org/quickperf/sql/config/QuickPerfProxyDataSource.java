@@ -0,0 +1,50 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Measures the time to acquire a connection from the proxied data source.
+ */
+class QuickPerfProxyDataSource extends ProxyDataSource {
+
+    private final QuickPerfConnectionListener connectionListener;
+
+    QuickPerfProxyDataSource(QuickPerfConnectionListener connectionListener) {
+        this.connectionListener = connectionListener;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        connectionListener.connectionAcquisitionStarted();
+        try {
+            return super.getConnection();
+        } finally {
+            connectionListener.connectionAcquisitionEnded();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        connectionListener.connectionAcquisitionStarted();
+        try {
+            return super.getConnection(username, password);
+        } finally {
+            connectionListener.connectionAcquisitionEnded();
+        }
+    }
+
+}
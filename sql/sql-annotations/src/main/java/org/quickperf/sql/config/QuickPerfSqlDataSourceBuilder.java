@@ -12,7 +12,11 @@
 package org.quickperf.sql.config;
 
 import net.ttddyy.dsproxy.listener.ChainListener;
+import net.ttddyy.dsproxy.proxy.JdbcProxyFactory;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogicFactory;
 import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.quickperf.sql.SqlRecorderRegistry;
 
 import javax.sql.DataSource;
 
@@ -25,15 +29,31 @@ public class QuickPerfSqlDataSourceBuilder {
     private QuickPerfSqlDataSourceBuilder() {}
 
     public ProxyDataSource buildProxy(DataSource dataSource) {
+        return buildProxy(dataSource, SqlRecorderRegistry.INSTANCE);
+    }
+
+    ProxyDataSource buildProxy(DataSource dataSource, SqlRecorderRegistry sqlRecorderRegistry) {
 
-        ProxyDataSource proxyDataSource = new ProxyDataSource();
+        QuickPerfConnectionListener connectionListener = new QuickPerfConnectionListener(sqlRecorderRegistry);
+
+        ProxyDataSource proxyDataSource = new QuickPerfProxyDataSource(connectionListener);
 
         ChainListener chainListener = new ChainListener();
 
-        DataSourceQuickPerfListener dataSourceQuickPerfListener = new DataSourceQuickPerfListener();
+        DataSourceQuickPerfListener dataSourceQuickPerfListener = new DataSourceQuickPerfListener(sqlRecorderRegistry);
         chainListener.addListener(dataSourceQuickPerfListener);
 
-        proxyDataSource.addListener(chainListener);
+        QuickPerfJdbcProxyFactory jdbcProxyFactory =
+                new QuickPerfJdbcProxyFactory(JdbcProxyFactory.DEFAULT, sqlRecorderRegistry, connectionListener);
+
+        ProxyConfig proxyConfig = ProxyConfig.Builder.create()
+                                 .queryListener(chainListener)
+                                 .jdbcProxyFactory(jdbcProxyFactory)
+                                 .methodListener(connectionListener)
+                                 // Enables the wrapping of the result sets by jdbcProxyFactory
+                                 .resultSetProxyLogicFactory(ResultSetProxyLogicFactory.DEFAULT)
+                                 .build();
+        proxyDataSource.setProxyConfig(proxyConfig);
 
         proxyDataSource.setDataSource(dataSource);
 
@@ -35,9 +35,18 @@ import org.quickperf.sql.select.columns.SelectedColumnNumberPerfIssueVerifier;
 import org.quickperf.sql.select.columns.SelectedColumnNumberPerfMeasureExtractor;
 import org.quickperf.sql.time.SqlQueryExecutionTimeExtractor;
 import org.quickperf.sql.time.SqlQueryMaxExecutionTimeVerifier;
+import org.quickperf.sql.time.SqlQueryMaxTotalTimeVerifier;
+import org.quickperf.sql.time.SqlQueryTotalTimeExtractor;
 import org.quickperf.sql.update.UpdateCountMeasureExtractor;
 import org.quickperf.sql.update.UpdateNumberPerfIssueVerifier;
 import org.quickperf.sql.update.columns.MaxUpdatedColumnsPerMeasureExtractor;
+import org.quickperf.sql.connection.ConnectionRecorder;
+import org.quickperf.sql.connection.MaxConnectionHoldTimeVerifier;
+import org.quickperf.sql.connection.MaxConnectionsVerifier;
+import org.quickperf.sql.connection.NoConnectionLeakVerifier;
+import org.quickperf.sql.rows.FetchSizeVerifier;
+import org.quickperf.sql.rows.FetchedRowsRecorder;
+import org.quickperf.sql.rows.MaxFetchedRowsVerifier;
 import org.quickperf.sql.update.columns.MaxUpdatedColumnsPerfIssueVerifier;
 import org.quickperf.sql.update.columns.UpdatedColumnsMeasureExtractor;
 import org.quickperf.sql.update.columns.UpdatedColumnsPerfIssueVerifier;
@@ -58,13 +67,13 @@ class SqlAnnotationsConfigs {
 
     static final AnnotationConfig NUMBER_OF_SQL_SELECT = new AnnotationConfig.Builder()
             .perfRecorderClass(PersistenceSqlRecorder.class)
-            .perfMeasureExtractor(SelectCountMeasureExtractor.INSTANCE)
+            .perfMeasureExtractor(SelectCountsExtractor.INSTANCE)
             .perfIssueVerifier(SelectNumberPerfIssueVerifier.INSTANCE)
             .build(ExpectSelect.class);
 
     static final AnnotationConfig MAX_SQL_SELECT = new AnnotationConfig.Builder()
             .perfRecorderClass(PersistenceSqlRecorder.class)
-            .perfMeasureExtractor(SelectCountMeasureExtractor.INSTANCE)
+            .perfMeasureExtractor(SelectCountsExtractor.INSTANCE)
             .perfIssueVerifier(MaxOfSelectsPerfIssueVerifier.INSTANCE)
             .build(ExpectMaxSelect.class);
 
@@ -153,6 +162,37 @@ class SqlAnnotationsConfigs {
 			.perfIssueVerifier(SqlQueryMaxExecutionTimeVerifier.INSTANCE)
 			.build(ExpectMaxQueryExecutionTime.class);
 
+    static final AnnotationConfig EXPECT_MAX_TOTAL_QUERY_TIME = new AnnotationConfig.Builder()
+            .perfRecorderClass(PersistenceSqlRecorder.class)
+            .perfMeasureExtractor(SqlQueryTotalTimeExtractor.INSTANCE)
+            .perfIssueVerifier(SqlQueryMaxTotalTimeVerifier.INSTANCE)
+            .build(ExpectMaxTotalQueryTime.class);
+
+    static final AnnotationConfig EXPECT_MAX_CONNECTIONS = new AnnotationConfig.Builder()
+            .perfRecorderClass(ConnectionRecorder.class)
+            .perfIssueVerifier(MaxConnectionsVerifier.INSTANCE)
+            .build(ExpectMaxConnections.class);
+
+    static final AnnotationConfig EXPECT_MAX_CONNECTION_HOLD_TIME = new AnnotationConfig.Builder()
+            .perfRecorderClass(ConnectionRecorder.class)
+            .perfIssueVerifier(MaxConnectionHoldTimeVerifier.INSTANCE)
+            .build(ExpectMaxConnectionHoldTime.class);
+
+    static final AnnotationConfig EXPECT_NO_CONNECTION_LEAK = new AnnotationConfig.Builder()
+            .perfRecorderClass(ConnectionRecorder.class)
+            .perfIssueVerifier(NoConnectionLeakVerifier.INSTANCE)
+            .build(ExpectNoConnectionLeak.class);
+
+    static final AnnotationConfig EXPECT_MAX_FETCHED_ROWS = new AnnotationConfig.Builder()
+            .perfRecorderClass(FetchedRowsRecorder.class)
+            .perfIssueVerifier(MaxFetchedRowsVerifier.INSTANCE)
+            .build(ExpectMaxFetchedRows.class);
+
+    static final AnnotationConfig EXPECT_FETCH_SIZE_AT_LEAST = new AnnotationConfig.Builder()
+            .perfRecorderClass(FetchedRowsRecorder.class)
+            .perfIssueVerifier(FetchSizeVerifier.INSTANCE)
+            .build(ExpectFetchSizeAtLeast.class);
+
     static final AnnotationConfig EXPECT_UPDATED_COLUMN = new AnnotationConfig.Builder()
     		.perfRecorderClass(PersistenceSqlRecorder.class)
     		.perfMeasureExtractor(UpdatedColumnsMeasureExtractor.INSTANCE)
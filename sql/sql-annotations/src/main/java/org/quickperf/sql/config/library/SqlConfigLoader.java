@@ -16,8 +16,10 @@ import org.quickperf.config.library.AnnotationConfig;
 import org.quickperf.config.library.QuickPerfConfigLoader;
 import org.quickperf.sql.PersistenceSqlRecorder;
 import org.quickperf.sql.batch.SqlStatementBatchRecorder;
+import org.quickperf.sql.connection.ConnectionRecorder;
 import org.quickperf.sql.display.DisplaySqlOfTestMethodBodyRecorder;
 import org.quickperf.sql.display.DisplaySqlRecorder;
+import org.quickperf.sql.rows.FetchedRowsRecorder;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -47,6 +49,12 @@ public class SqlConfigLoader implements QuickPerfConfigLoader {
                 , SqlAnnotationsConfigs.DISABLE_EXACTLY_SAME_SQL_SELECTS
                 , SqlAnnotationsConfigs.ENABLE_EXACTLY_SAME_SQL_SELECTS
                 , SqlAnnotationsConfigs.EXPECT_MAX_QUERY_EXECUTION_TIME
+                , SqlAnnotationsConfigs.EXPECT_MAX_TOTAL_QUERY_TIME
+                , SqlAnnotationsConfigs.EXPECT_MAX_CONNECTIONS
+                , SqlAnnotationsConfigs.EXPECT_MAX_CONNECTION_HOLD_TIME
+                , SqlAnnotationsConfigs.EXPECT_NO_CONNECTION_LEAK
+                , SqlAnnotationsConfigs.EXPECT_MAX_FETCHED_ROWS
+                , SqlAnnotationsConfigs.EXPECT_FETCH_SIZE_AT_LEAST
                 , SqlAnnotationsConfigs.EXPECT_UPDATED_COLUMN
                 , SqlAnnotationsConfigs.ENABLE_QUERIES_WITHOUT_BIND_PARAMETERS
                 , SqlAnnotationsConfigs.DISABLE_QUERIES_WITHOUT_BIND_PARAMETERS
@@ -60,7 +68,8 @@ public class SqlConfigLoader implements QuickPerfConfigLoader {
                 , new RecorderExecutionOrder(DisplaySqlRecorder.class, 2001)
                 , new RecorderExecutionOrder(DisplaySqlOfTestMethodBodyRecorder.class, 2002)
                 , new RecorderExecutionOrder(SqlStatementBatchRecorder.class, 2003)
-
+                , new RecorderExecutionOrder(ConnectionRecorder.class, 2004)
+                , new RecorderExecutionOrder(FetchedRowsRecorder.class, 2005)
         );
     }
 
@@ -71,6 +80,8 @@ public class SqlConfigLoader implements QuickPerfConfigLoader {
                 , new RecorderExecutionOrder(DisplaySqlRecorder.class, 7001)
                 , new RecorderExecutionOrder(DisplaySqlOfTestMethodBodyRecorder.class, 7002)
                 , new RecorderExecutionOrder(SqlStatementBatchRecorder.class, 7003)
+                , new RecorderExecutionOrder(ConnectionRecorder.class, 7004)
+                , new RecorderExecutionOrder(FetchedRowsRecorder.class, 7005)
         );
     }
 
@@ -0,0 +1,154 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.connection;
+
+import org.quickperf.repository.RecordInput;
+import org.quickperf.repository.RecordOutput;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Open and close timestamps, acquisition time and statement count of a connection.
+ */
+public class ConnectionLifecycle {
+
+    private static final long NOT_CLOSED = Long.MIN_VALUE;
+
+    private static final int MAX_NUMBER_OF_STACK_FRAMES = 15;
+
+    private final String connectionId;
+
+    private final String acquiringThreadName;
+
+    private final long acquisitionTimeInNanos;
+
+    private final long openNanoTime;
+
+    private long closeNanoTime = NOT_CLOSED;
+
+    private int statementCount;
+
+    // The stack is only formatted if displayed or saved
+    private Throwable acquiringStack;
+
+    private String formattedAcquiringStack;
+
+    ConnectionLifecycle(String connectionId, long acquisitionTimeInNanos, long openNanoTime, Throwable acquiringStack) {
+        this.connectionId = connectionId;
+        this.acquiringThreadName = Thread.currentThread().getName();
+        this.acquisitionTimeInNanos = acquisitionTimeInNanos;
+        this.openNanoTime = openNanoTime;
+        this.acquiringStack = acquiringStack;
+    }
+
+    private ConnectionLifecycle(String connectionId, String acquiringThreadName, long acquisitionTimeInNanos, long openNanoTime) {
+        this.connectionId = connectionId;
+        this.acquiringThreadName = acquiringThreadName;
+        this.acquisitionTimeInNanos = acquisitionTimeInNanos;
+        this.openNanoTime = openNanoTime;
+    }
+
+    void statementCreated() {
+        statementCount++;
+    }
+
+    void closed(long closeNanoTime) {
+        this.closeNanoTime = closeNanoTime;
+    }
+
+    public String getConnectionId() {
+        return connectionId;
+    }
+
+    public long getAcquisitionTimeInNanos() {
+        return acquisitionTimeInNanos;
+    }
+
+    public long getOpenNanoTime() {
+        return openNanoTime;
+    }
+
+    public boolean isClosed() {
+        return closeNanoTime != NOT_CLOSED;
+    }
+
+    public long getCloseNanoTime() {
+        return closeNanoTime;
+    }
+
+    /**
+     * @param endNanoTime end of the hold time of a connection not closed
+     */
+    public long getHoldTimeInNanos(long endNanoTime) {
+        return (isClosed() ? closeNanoTime : endNanoTime) - openNanoTime;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public String getAcquiringStack() {
+        if (formattedAcquiringStack == null && acquiringStack != null) {
+            formattedAcquiringStack = format(acquiringStack.getStackTrace());
+            acquiringStack = null;
+        }
+        return formattedAcquiringStack;
+    }
+
+    private static String format(StackTraceElement[] stackTrace) {
+        int firstCallerFrame = 0;
+        for (int i = 0; i < stackTrace.length; i++) {
+            String className = stackTrace[i].getClassName();
+            if (       className.startsWith("org.quickperf.sql.")
+                    || className.startsWith("net.ttddyy.dsproxy.")) {
+                firstCallerFrame = i + 1;
+            }
+        }
+        StringBuilder formattedStack = new StringBuilder();
+        int lastFrame = Math.min(stackTrace.length, firstCallerFrame + MAX_NUMBER_OF_STACK_FRAMES);
+        for (int i = firstCallerFrame; i < lastFrame; i++) {
+            formattedStack.append("\t\tat ").append(stackTrace[i]).append(System.lineSeparator());
+        }
+        return formattedStack.toString();
+    }
+
+    void writeTo(RecordOutput output) {
+        output.writeString(connectionId);
+        output.writeString(acquiringThreadName);
+        output.writeLong(acquisitionTimeInNanos);
+        output.writeLong(openNanoTime);
+        output.writeLong(closeNanoTime);
+        output.writeInt(statementCount);
+        output.writeString(getAcquiringStack());
+    }
+
+    static ConnectionLifecycle readFrom(RecordInput input) {
+        ConnectionLifecycle lifecycle = new ConnectionLifecycle(input.readString(), input.readString()
+                                                              , input.readLong(), input.readLong());
+        lifecycle.closeNanoTime = input.readLong();
+        lifecycle.statementCount = input.readInt();
+        lifecycle.formattedAcquiringStack = input.readString();
+        return lifecycle;
+    }
+
+    String format(long endNanoTime) {
+        return "Connection " + connectionId
+             + " acquired in " + formatMillis(acquisitionTimeInNanos) + " ms by thread " + acquiringThreadName
+             + ", " + (isClosed() ? "held " : "not closed after ") + formatMillis(getHoldTimeInNanos(endNanoTime)) + " ms"
+             + ", " + statementCount + " statement" + (statementCount > 1 ? "s" : "");
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.valueOf(TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.connection;
+
+import org.quickperf.measure.PerfMeasure;
+import org.quickperf.repository.RecordInput;
+import org.quickperf.repository.RecordOutput;
+import org.quickperf.repository.RecordSerializer;
+import org.quickperf.unit.CountUnit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Lifecycles of the connections opened during the recording.
+ */
+public class ConnectionLifecycles implements PerfMeasure<List<ConnectionLifecycle>, CountUnit> {
+
+    static final RecordSerializer<ConnectionLifecycles> SERIALIZER = new RecordSerializer<ConnectionLifecycles>() {
+
+        @Override
+        public int getVersion() {
+            return 1;
+        }
+
+        @Override
+        public void write(ConnectionLifecycles connectionLifecycles, RecordOutput output) {
+            output.writeLong(connectionLifecycles.recordingEndNanoTime);
+            output.writeInt(connectionLifecycles.lifecycles.size());
+            for (ConnectionLifecycle lifecycle : connectionLifecycles.lifecycles) {
+                lifecycle.writeTo(output);
+            }
+        }
+
+        @Override
+        public ConnectionLifecycles read(RecordInput input) {
+            long recordingEndNanoTime = input.readLong();
+            int numberOfLifecycles = input.readInt();
+            List<ConnectionLifecycle> lifecycles = new ArrayList<>(numberOfLifecycles);
+            for (int i = 0; i < numberOfLifecycles; i++) {
+                lifecycles.add(ConnectionLifecycle.readFrom(input));
+            }
+            return new ConnectionLifecycles(lifecycles, recordingEndNanoTime);
+        }
+
+    };
+
+    private static final String NO_COMMENT = "";
+
+    private final List<ConnectionLifecycle> lifecycles;
+
+    private final long recordingEndNanoTime;
+
+    ConnectionLifecycles(List<ConnectionLifecycle> lifecycles, long recordingEndNanoTime) {
+        this.lifecycles = lifecycles;
+        this.recordingEndNanoTime = recordingEndNanoTime;
+    }
+
+    @Override
+    public List<ConnectionLifecycle> getValue() {
+        return Collections.unmodifiableList(lifecycles);
+    }
+
+    @Override
+    public CountUnit getUnit() {
+        return CountUnit.COUNT;
+    }
+
+    @Override
+    public String getComment() {
+        return NO_COMMENT;
+    }
+
+    public long getRecordingEndNanoTime() {
+        return recordingEndNanoTime;
+    }
+
+    /**
+     * @return the max number of connections open at the same time, the connections
+     * not closed being open until the end of the recording
+     */
+    public int getMaxSimultaneousConnections() {
+        int numberOfEvents = lifecycles.size();
+        long[] openNanoTimes = new long[numberOfEvents];
+        long[] closeNanoTimes = new long[numberOfEvents];
+        for (int i = 0; i < numberOfEvents; i++) {
+            ConnectionLifecycle lifecycle = lifecycles.get(i);
+            openNanoTimes[i] = lifecycle.getOpenNanoTime();
+            closeNanoTimes[i] = lifecycle.isClosed() ? lifecycle.getCloseNanoTime() : Long.MAX_VALUE;
+        }
+        Arrays.sort(openNanoTimes);
+        Arrays.sort(closeNanoTimes);
+        int openConnections = 0;
+        int maxOpenConnections = 0;
+        int closeIndex = 0;
+        for (long openNanoTime : openNanoTimes) {
+            while (closeIndex < numberOfEvents && closeNanoTimes[closeIndex] <= openNanoTime) {
+                closeIndex++;
+                openConnections--;
+            }
+            openConnections++;
+            maxOpenConnections = Math.max(maxOpenConnections, openConnections);
+        }
+        return maxOpenConnections;
+    }
+
+    public List<ConnectionLifecycle> findConnectionsHeldLongerThan(long holdTimeInNanos) {
+        List<ConnectionLifecycle> connectionsHeldLonger = new ArrayList<>();
+        for (ConnectionLifecycle lifecycle : lifecycles) {
+            if (lifecycle.getHoldTimeInNanos(recordingEndNanoTime) > holdTimeInNanos) {
+                connectionsHeldLonger.add(lifecycle);
+            }
+        }
+        return connectionsHeldLonger;
+    }
+
+    public List<ConnectionLifecycle> findNotClosedConnections() {
+        List<ConnectionLifecycle> notClosedConnections = new ArrayList<>();
+        for (ConnectionLifecycle lifecycle : lifecycles) {
+            if (!lifecycle.isClosed()) {
+                notClosedConnections.add(lifecycle);
+            }
+        }
+        return notClosedConnections;
+    }
+
+    /**
+     * @param withAcquiringStack <code>true</code> to display where the connections were acquired
+     */
+    public String format(List<ConnectionLifecycle> lifecyclesToFormat, boolean withAcquiringStack) {
+        StringBuilder formattedLifecycles = new StringBuilder();
+        for (ConnectionLifecycle lifecycle : lifecyclesToFormat) {
+            formattedLifecycles.append("\t* ").append(lifecycle.format(recordingEndNanoTime))
+                               .append(System.lineSeparator());
+            String acquiringStack = lifecycle.getAcquiringStack();
+            if (withAcquiringStack && acquiringStack != null) {
+                formattedLifecycles.append(acquiringStack);
+            }
+        }
+        return formattedLifecycles.toString();
+    }
+
+}
@@ -0,0 +1,28 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.connection;
+
+import net.ttddyy.dsproxy.ConnectionInfo;
+
+/**
+ * Notified of the lifecycle of the connections of the QuickPerf data source.
+ * The {@link ConnectionInfo} of a connection is the same object during all its lifecycle.
+ */
+public interface ConnectionListener {
+
+    void connectionOpened(ConnectionInfo connectionInfo, long acquisitionTimeInNanos);
+
+    void statementCreated(ConnectionInfo connectionInfo);
+
+    void connectionClosed(ConnectionInfo connectionInfo);
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.connection;
+
+import net.ttddyy.dsproxy.ConnectionInfo;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.quickperf.TestExecutionContext;
+import org.quickperf.WorkingFolder;
+import org.quickperf.repository.RecordFileRepository;
+import org.quickperf.sql.SqlRecorder;
+import org.quickperf.sql.SqlRecorderRegistry;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ConnectionRecorder implements SqlRecorder<ConnectionLifecycles>, ConnectionListener {
+
+    private static final String CONNECTION_FILE_NAME = "connection-lifecycles.rec";
+
+    private final Map<ConnectionInfo, ConnectionLifecycle> lifecycleByConnection = new IdentityHashMap<>();
+
+    private final List<ConnectionLifecycle> lifecycles = new ArrayList<>();
+
+    private long recordingEndNanoTime;
+
+    @Override
+    public void startRecording(TestExecutionContext testExecutionContext) {
+        SqlRecorderRegistry.INSTANCE.register(this);
+    }
+
+    @Override
+    public void stopRecording(TestExecutionContext testExecutionContext) {
+        SqlRecorderRegistry.unregister(this);
+        synchronized (this) {
+            recordingEndNanoTime = System.nanoTime();
+        }
+        if (testExecutionContext.testExecutionUsesTwoJVMs()) {
+            WorkingFolder workingFolder = testExecutionContext.getWorkingFolder();
+            RecordFileRepository.INSTANCE.save(workingFolder.getPath()
+                                             , CONNECTION_FILE_NAME
+                                             , buildConnectionLifecycles()
+                                             , ConnectionLifecycles.SERIALIZER);
+        }
+    }
+
+    @Override
+    public ConnectionLifecycles findRecord(TestExecutionContext testExecutionContext) {
+        if (testExecutionContext.testExecutionUsesTwoJVMs()) {
+            WorkingFolder workingFolder = testExecutionContext.getWorkingFolder();
+            return RecordFileRepository.INSTANCE.find(workingFolder.getPath()
+                                                    , CONNECTION_FILE_NAME
+                                                    , ConnectionLifecycles.SERIALIZER);
+        }
+        return buildConnectionLifecycles();
+    }
+
+    private synchronized ConnectionLifecycles buildConnectionLifecycles() {
+        return new ConnectionLifecycles(new ArrayList<>(lifecycles), recordingEndNanoTime);
+    }
+
+    @Override
+    public void addQueryExecution(ExecutionInfo execInfo, List<QueryInfo> queries, int listenerIdentifier) { }
+
+    @Override
+    public void connectionOpened(ConnectionInfo connectionInfo, long acquisitionTimeInNanos) {
+        ConnectionLifecycle lifecycle = new ConnectionLifecycle(connectionInfo.getConnectionId()
+                                                              , acquisitionTimeInNanos
+                                                              , System.nanoTime()
+                                                              , new Throwable());
+        synchronized (this) {
+            lifecycleByConnection.put(connectionInfo, lifecycle);
+            lifecycles.add(lifecycle);
+        }
+    }
+
+    @Override
+    public synchronized void statementCreated(ConnectionInfo connectionInfo) {
+        ConnectionLifecycle lifecycle = lifecycleByConnection.get(connectionInfo);
+        if (lifecycle != null) {
+            lifecycle.statementCreated();
+        }
+    }
+
+    @Override
+    public synchronized void connectionClosed(ConnectionInfo connectionInfo) {
+        ConnectionLifecycle lifecycle = lifecycleByConnection.remove(connectionInfo);
+        if (lifecycle != null) {
+            lifecycle.closed(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void cleanResources() { }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.connection;
+
+import org.quickperf.issue.PerfIssue;
+import org.quickperf.issue.VerifiablePerformanceIssue;
+import org.quickperf.sql.annotation.ExpectMaxConnectionHoldTime;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class MaxConnectionHoldTimeVerifier implements VerifiablePerformanceIssue<ExpectMaxConnectionHoldTime, ConnectionLifecycles> {
+
+    public static final MaxConnectionHoldTimeVerifier INSTANCE = new MaxConnectionHoldTimeVerifier();
+
+    private MaxConnectionHoldTimeVerifier() {}
+
+    @Override
+    public PerfIssue verifyPerfIssue(ExpectMaxConnectionHoldTime annotation, ConnectionLifecycles connectionLifecycles) {
+
+        long maxHoldTimeInNanos = annotation.unit().toNanos(annotation.value());
+
+        List<ConnectionLifecycle> connectionsHeldLonger = connectionLifecycles.findConnectionsHeldLongerThan(maxHoldTimeInNanos);
+
+        if (!connectionsHeldLonger.isEmpty()) {
+
+            String description = "You may think that the connections were held for at most <"
+                               + annotation.value() + " " + formatUnit(annotation.unit()) + ">"
+                               + System.lineSeparator()
+                               + "       " + "But in fact <" + connectionsHeldLonger.size()
+                               + "> connection(s) were held longer..."
+                               + System.lineSeparator()
+                               + System.lineSeparator()
+                               + connectionLifecycles.format(connectionsHeldLonger, true);
+
+            return new PerfIssue(description);
+
+        }
+
+        return PerfIssue.NONE;
+
+    }
+
+    private String formatUnit(TimeUnit unit) {
+        return unit.name().toLowerCase();
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.connection;
+
+import org.quickperf.issue.PerfIssue;
+import org.quickperf.issue.VerifiablePerformanceIssue;
+import org.quickperf.sql.annotation.ExpectMaxConnections;
+
+public class MaxConnectionsVerifier implements VerifiablePerformanceIssue<ExpectMaxConnections, ConnectionLifecycles> {
+
+    public static final MaxConnectionsVerifier INSTANCE = new MaxConnectionsVerifier();
+
+    private MaxConnectionsVerifier() {}
+
+    @Override
+    public PerfIssue verifyPerfIssue(ExpectMaxConnections annotation, ConnectionLifecycles connectionLifecycles) {
+
+        int maxSimultaneousConnections = connectionLifecycles.getMaxSimultaneousConnections();
+
+        if (maxSimultaneousConnections > annotation.value()) {
+
+            String description = "You may think that at most <" + annotation.value()
+                               + "> connection(s) were open at the same time"
+                               + System.lineSeparator()
+                               + "       " + "But in fact <" + maxSimultaneousConnections + ">..."
+                               + System.lineSeparator()
+                               + System.lineSeparator()
+                               + "[CONNECTIONS]"
+                               + System.lineSeparator()
+                               + connectionLifecycles.format(connectionLifecycles.getValue(), true);
+
+            return new PerfIssue(description);
+
+        }
+
+        return PerfIssue.NONE;
+
+    }
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.connection;
+
+import org.quickperf.issue.PerfIssue;
+import org.quickperf.issue.VerifiablePerformanceIssue;
+import org.quickperf.sql.annotation.ExpectNoConnectionLeak;
+
+import java.util.List;
+
+public class NoConnectionLeakVerifier implements VerifiablePerformanceIssue<ExpectNoConnectionLeak, ConnectionLifecycles> {
+
+    public static final NoConnectionLeakVerifier INSTANCE = new NoConnectionLeakVerifier();
+
+    private NoConnectionLeakVerifier() {}
+
+    @Override
+    public PerfIssue verifyPerfIssue(ExpectNoConnectionLeak annotation, ConnectionLifecycles connectionLifecycles) {
+
+        List<ConnectionLifecycle> notClosedConnections = connectionLifecycles.findNotClosedConnections();
+
+        if (!notClosedConnections.isEmpty()) {
+
+            String description = "<" + notClosedConnections.size()
+                               + "> connection(s) acquired during the test were not closed"
+                               + System.lineSeparator()
+                               + System.lineSeparator()
+                               + connectionLifecycles.format(notClosedConnections, true);
+
+            return new PerfIssue(description);
+
+        }
+
+        return PerfIssue.NONE;
+
+    }
+
+}
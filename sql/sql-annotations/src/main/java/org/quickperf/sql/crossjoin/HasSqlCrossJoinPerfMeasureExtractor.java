@@ -13,10 +13,7 @@ package org.quickperf.sql.crossjoin;
 
 import org.quickperf.ExtractablePerformanceMeasure;
 import org.quickperf.measure.BooleanMeasure;
-import org.quickperf.sql.SqlExecution;
-import org.quickperf.sql.SqlExecutionPredicate;
 import org.quickperf.sql.SqlExecutions;
-import org.quickperf.sql.SqlQueryPredicate;
 
 public class HasSqlCrossJoinPerfMeasureExtractor implements ExtractablePerformanceMeasure<SqlExecutions, BooleanMeasure> {
 
@@ -24,24 +21,9 @@ public class HasSqlCrossJoinPerfMeasureExtractor implements ExtractablePerforman
 
     private HasSqlCrossJoinPerfMeasureExtractor() { }
 
-    private static final SqlQueryPredicate CROSS_JOIN_QUERY_PREDICATE = new SqlQueryPredicate() {
-        @Override
-        public boolean test(String sqlQuery) {
-            String sqlQueryAsString = sqlQuery.toLowerCase();
-            return sqlQueryAsString.contains("cross join");
-        }
-    };
-
-    private static final SqlExecutionPredicate CROSS_JOIN_PREDICATE = new SqlExecutionPredicate() {
-        @Override
-        public boolean test(SqlExecution sqlExecution) {
-            return sqlExecution.hasQueryFollowing(CROSS_JOIN_QUERY_PREDICATE);
-        }
-    };
-
     @Override
     public BooleanMeasure extractPerfMeasureFrom(SqlExecutions sqlExecutions) {
-        boolean existsCrossJoin = sqlExecutions.oneExecutionHasQueryRespecting(CROSS_JOIN_PREDICATE);
+        boolean existsCrossJoin = sqlExecutions.hasCrossJoin();
         return new BooleanMeasure(existsCrossJoin);
     }
 
@@ -17,7 +17,6 @@ import org.quickperf.sql.SqlFormatter;
 import org.quickperf.sql.config.SpecifiableSqlFormatter;
 
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
 
 class SqlFormatterDefinedByUserRetriever {
 
@@ -39,39 +38,16 @@ class SqlFormatterDefinedByUserRetriever {
         return SqlFormatter.NONE;
     }
 
-    private SpecifiableSqlFormatter findClassImplementingSpecifiableSqlFormatter() throws ClassNotFoundException, IOException, InstantiationException, IllegalAccessException {
+    private SpecifiableSqlFormatter findClassImplementingSpecifiableSqlFormatter() throws ClassNotFoundException, IOException {
 
         QuickPerfUserConfigClasses quickPerfUserConfigClasses = QuickPerfUserConfigClasses.INSTANCE;
 
-        Class[] classes = quickPerfUserConfigClasses.findClasses();
-        for (Class clazz : classes) {
-            Class[] interfaces = clazz.getInterfaces();
-            for (Class interfaceClass : interfaces) {
-                if (isSpecifiableSqlFormatterImpl(interfaceClass)) {
-                    if (!SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
-                        System.out.println("A class specifying a SQL basicFormatter has been found: " + clazz.getCanonicalName());
-                    }
-                    try {
-                        return instantiateSpecifiableSqlFormatter(clazz);
-                    } catch (InvocationTargetException | NoSuchMethodException e) {
-                        e.printStackTrace();
-                    }
-                }
-            }
+        SpecifiableSqlFormatter sqlFormatterImpl = quickPerfUserConfigClasses.instantiateClassImplementing(SpecifiableSqlFormatter.class);
+        if (sqlFormatterImpl != null && !SystemProperties.TEST_CODE_EXECUTING_IN_NEW_JVM.evaluate()) {
+            System.out.println("A class specifying a SQL basicFormatter has been found: " + sqlFormatterImpl.getClass().getCanonicalName());
         }
+        return sqlFormatterImpl;
 
-        return null;
-
-    }
-
-    @SuppressWarnings("unchecked")
-    private SpecifiableSqlFormatter instantiateSpecifiableSqlFormatter(Class clazz) throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
-        return (SpecifiableSqlFormatter) clazz.getDeclaredConstructor()
-                                         .newInstance();
-    }
-
-    private boolean isSpecifiableSqlFormatterImpl(Class interfaceClass) {
-        return interfaceClass.getCanonicalName().equals(SpecifiableSqlFormatter.class.getCanonicalName());
     }
 
 }
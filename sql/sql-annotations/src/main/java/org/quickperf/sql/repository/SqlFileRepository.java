@@ -14,33 +14,60 @@ package org.quickperf.sql.repository;
 import net.ttddyy.dsproxy.ExecutionInfo;
 import net.ttddyy.dsproxy.QueryInfo;
 import org.quickperf.WorkingFolder;
-import org.quickperf.repository.ObjectFileRepository;
+import org.quickperf.repository.RecordFileRepository;
+import org.quickperf.repository.RecordInput;
+import org.quickperf.repository.RecordOutput;
+import org.quickperf.repository.RecordSerializer;
 import org.quickperf.sql.SqlExecutions;
 
-import java.io.File;
 import java.util.List;
 
 class SqlFileRepository implements SqlRepository {
 
-    private static final String SQL_FILE_NAME = "sql.ser";
+    private static final String SQL_FILE_NAME = "sql.rec";
 
-    private final SqlMemoryRepository sqlMemoryRepository = new SqlMemoryRepository();
+    private static final RecordSerializer<SqlExecutions> SQL_EXECUTIONS_SERIALIZER = new RecordSerializer<SqlExecutions>() {
+
+        @Override
+        public int getVersion() {
+            return 9;
+        }
+
+        @Override
+        public void write(SqlExecutions sqlExecutions, RecordOutput output) {
+            sqlExecutions.writeTo(output);
+        }
+
+        @Override
+        public SqlExecutions read(RecordInput input) {
+            return SqlExecutions.readFrom(input);
+        }
+
+    };
+
+    private final SqlRepository sqlRepositoryOfTestJvm;
+
+    private SqlExecutions sqlExecutionsFromFile;
 
     private boolean flushed;
 
-    private final ObjectFileRepository objectFileRepository = ObjectFileRepository.getInstance();
+    private final RecordFileRepository recordFileRepository = RecordFileRepository.INSTANCE;
+
+    SqlFileRepository(SqlRepository sqlRepositoryOfTestJvm) {
+        this.sqlRepositoryOfTestJvm = sqlRepositoryOfTestJvm;
+    }
 
     @Override
     public void addQueryExecution(ExecutionInfo execInfo, List<QueryInfo> queries) {
-        sqlMemoryRepository.addQueryExecution(execInfo, queries);
+        sqlRepositoryOfTestJvm.addQueryExecution(execInfo, queries);
     }
 
     @Override
     public void flush(WorkingFolder workingFolder) {
         if(!flushed) {
-            SqlExecutions executedQueries = sqlMemoryRepository.findExecutedQueries(workingFolder);
+            SqlExecutions executedQueries = sqlRepositoryOfTestJvm.findExecutedQueries(workingFolder);
             if(!executedQueries.isEmpty()) {
-                objectFileRepository.save(workingFolder, SQL_FILE_NAME, executedQueries);
+                recordFileRepository.save(workingFolder.getPath(), SQL_FILE_NAME, executedQueries, SQL_EXECUTIONS_SERIALIZER);
             }
             flushed = true;
         }
@@ -48,30 +75,30 @@ class SqlFileRepository implements SqlRepository {
 
     @Override
     public SqlExecutions findExecutedQueries(WorkingFolder workingFolder) {
-        SqlExecutions sqlExecutionsFromMemory = sqlMemoryRepository.findExecutedQueries(workingFolder);
+        SqlExecutions sqlExecutionsFromMemory = sqlRepositoryOfTestJvm.findExecutedQueries(workingFolder);
         if(sqlExecutionsFromMemory.isEmpty()) {
-            SqlExecutions sqlExecutionsFromFile = retrieveExecutedQueriesFromFile(workingFolder);
-            sqlMemoryRepository.saveSqlExecutions(sqlExecutionsFromFile);
+            if (sqlExecutionsFromFile == null) {
+                sqlExecutionsFromFile = retrieveExecutedQueriesFromFile(workingFolder);
+            }
             return sqlExecutionsFromFile;
         }
         return sqlExecutionsFromMemory;
     }
 
-    private SqlExecutions retrieveExecutedQueriesFromFile(WorkingFolder workingFolder) {
-        if(!sqlFileExists(workingFolder)) {
-            return SqlExecutions.NONE;
-        }
-        Object sqlExecutionsAsObject = objectFileRepository.find(workingFolder.getPath(), SQL_FILE_NAME);
-        if(sqlExecutionsAsObject == null) {
-            return SqlExecutions.NONE;
+    @Override
+    public void cleanResources() {
+        // The executions spilled by the JVM executing the test are deleted by the JVM reading them
+        if (sqlExecutionsFromFile != null) {
+            sqlExecutionsFromFile.deleteSpilledExecutions();
         }
-        return (SqlExecutions) sqlExecutionsAsObject;
     }
 
-    private boolean sqlFileExists(WorkingFolder workingFolder) {
+    private SqlExecutions retrieveExecutedQueriesFromFile(WorkingFolder workingFolder) {
         String workingFolderPath = workingFolder.getPath();
-        File sqlFile = new File(workingFolderPath + File.separator + SQL_FILE_NAME);
-        return sqlFile.exists();
+        if(!recordFileRepository.exists(workingFolderPath, SQL_FILE_NAME)) {
+            return SqlExecutions.NONE;
+        }
+        return recordFileRepository.find(workingFolderPath, SQL_FILE_NAME, SQL_EXECUTIONS_SERIALIZER);
     }
 
 }
@@ -20,7 +20,7 @@ import java.util.List;
 
 class SqlMemoryRepository implements SqlRepository{
 
-    private SqlExecutions sqlExecutions = new SqlExecutions();
+    private final SqlExecutions sqlExecutions = new SqlExecutions();
 
     @Override
     public void addQueryExecution(ExecutionInfo execInfo, List<QueryInfo> queries) {
@@ -35,8 +35,7 @@ class SqlMemoryRepository implements SqlRepository{
         return sqlExecutions;
     }
 
-    public void saveSqlExecutions(SqlExecutions sqlExecutions) {
-        this.sqlExecutions = sqlExecutions;
-    }
+    @Override
+    public void cleanResources() { }
 
 }
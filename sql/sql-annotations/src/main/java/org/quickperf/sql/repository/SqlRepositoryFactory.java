@@ -11,17 +11,35 @@
 
 package org.quickperf.sql.repository;
 
+import org.quickperf.SystemProperties;
 import org.quickperf.TestExecutionContext;
+import org.quickperf.WorkingFolder;
 
 public class SqlRepositoryFactory {
 
+    // Executions kept for the report of a test verified from aggregated measures
+    private static final int DEFAULT_EXECUTIONS_KEPT_IN_AGGREGATE_ONLY_MODE = 100;
+
     private SqlRepositoryFactory() {}
 
     public static SqlRepository getSqlRepository(TestExecutionContext testExecutionContext) {
+        SqlRepository sqlRepositoryOfTestJvm = buildSqlRepositoryOfTestJvm(testExecutionContext.getWorkingFolder());
         if(testExecutionContext.testExecutionUsesTwoJVMs()) {
-            return new SqlFileRepository();
+            return new SqlFileRepository(sqlRepositoryOfTestJvm);
+        }
+        return sqlRepositoryOfTestJvm;
+    }
+
+    private static SqlRepository buildSqlRepositoryOfTestJvm(WorkingFolder workingFolder) {
+        int maxExecutionsInMemory = SystemProperties.SQL_EXECUTIONS_KEPT_IN_MEMORY.evaluate();
+        if (SystemProperties.SQL_AGGREGATE_ONLY.evaluate()) {
+            int keptExecutions = maxExecutionsInMemory < 1 ? DEFAULT_EXECUTIONS_KEPT_IN_AGGREGATE_ONLY_MODE : maxExecutionsInMemory;
+            return new SqlAggregateOnlyRepository(keptExecutions);
+        }
+        if (maxExecutionsInMemory < 1) {
+            return new SqlMemoryRepository();
         }
-        return new SqlMemoryRepository();
+        return new SqlSpillingRepository(maxExecutionsInMemory, workingFolder);
     }
 
 }
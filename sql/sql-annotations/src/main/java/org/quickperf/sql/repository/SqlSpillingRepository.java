@@ -0,0 +1,60 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.sql.repository;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.quickperf.WorkingFolder;
+import org.quickperf.sql.SqlExecutions;
+
+import java.util.List;
+
+/**
+ * Keeps a bounded number of SQL executions in memory. The other ones are appended
+ * to segment files, the analysis measures being updated at each execution.
+ */
+class SqlSpillingRepository implements SqlRepository {
+
+    private final SqlExecutions sqlExecutions = new SqlExecutions();
+
+    private final int maxExecutionsInMemory;
+
+    private final WorkingFolder workingFolder;
+
+    SqlSpillingRepository(int maxExecutionsInMemory, WorkingFolder workingFolder) {
+        this.maxExecutionsInMemory = maxExecutionsInMemory;
+        this.workingFolder = workingFolder;
+    }
+
+    @Override
+    public void addQueryExecution(ExecutionInfo execInfo, List<QueryInfo> queries) {
+        sqlExecutions.add(execInfo, queries);
+        if (sqlExecutions.getNumberOfExecutionsInMemory() >= maxExecutionsInMemory) {
+            sqlExecutions.spillExecutionsInMemory(workingFolder.getPath());
+        }
+    }
+
+    @Override
+    public void flush(WorkingFolder working) { }
+
+    @Override
+    public SqlExecutions findExecutedQueries(WorkingFolder workingFolder) {
+        return sqlExecutions;
+    }
+
+    @Override
+    public void cleanResources() {
+        sqlExecutions.deleteSpilledExecutions();
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.rows;
+
+import org.quickperf.repository.RecordInput;
+import org.quickperf.repository.RecordOutput;
+
+/**
+ * Rows returned by the execution of a query.
+ */
+public class ExecutionRows {
+
+    static final int UNKNOWN_FETCH_SIZE = -1;
+
+    private static final String UNKNOWN_SQL = "[SQL of the result set not recorded]";
+
+    private final String sql;
+
+    private final int fetchedRowCount;
+
+    private final int readRowCount;
+
+    private final boolean endReached;
+
+    private final long estimatedBytes;
+
+    private final int fetchSize;
+
+    ExecutionRows(String sql, int fetchedRowCount, int readRowCount, boolean endReached, long estimatedBytes) {
+        this(sql, fetchedRowCount, readRowCount, endReached, estimatedBytes, UNKNOWN_FETCH_SIZE);
+    }
+
+    ExecutionRows(String sql, int fetchedRowCount, int readRowCount, boolean endReached, long estimatedBytes
+                , int fetchSize) {
+        this.sql = sql;
+        this.fetchedRowCount = fetchedRowCount;
+        this.readRowCount = readRowCount;
+        this.endReached = endReached;
+        this.estimatedBytes = estimatedBytes;
+        this.fetchSize = fetchSize;
+    }
+
+    static ExecutionRows of(ResultSetReading reading) {
+        String sql = reading.getSql();
+        return new ExecutionRows(sql == null ? UNKNOWN_SQL : sql
+                               , reading.getFetchedRowCount()
+                               , reading.getReadRowCount()
+                               , reading.isEndReached()
+                               , reading.getEstimatedBytes()
+                               , reading.getFetchSize());
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public int getFetchedRowCount() {
+        return fetchedRowCount;
+    }
+
+    public int getReadRowCount() {
+        return readRowCount;
+    }
+
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * @return the fetch size of the statement, <code>0</code> if the driver default is used
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    boolean isFetchSizeKnown() {
+        return fetchSize != UNKNOWN_FETCH_SIZE;
+    }
+
+    /**
+     * @return <code>true</code> if rows were fetched without any value read
+     * or if the result set was not read until its end, the driver having
+     * then possibly transferred rows the application never used
+     */
+    public boolean hasUnreadRows() {
+        return readRowCount < fetchedRowCount || !endReached;
+    }
+
+    void writeTo(RecordOutput output) {
+        output.writeString(sql);
+        output.writeInt(fetchedRowCount);
+        output.writeInt(readRowCount);
+        output.writeBoolean(endReached);
+        output.writeLong(estimatedBytes);
+        output.writeInt(fetchSize);
+    }
+
+    static ExecutionRows readFrom(RecordInput input) {
+        return new ExecutionRows(input.readString(), input.readInt(), input.readInt()
+                               , input.readBoolean(), input.readLong(), input.readInt());
+    }
+
+    @Override
+    public String toString() {
+        return fetchedRowCount + " row" + (fetchedRowCount > 1 ? "s" : "") + " fetched"
+             + ", " + readRowCount + " read"
+             + (endReached ? "" : ", result set not read until its end")
+             + ", ~" + estimatedBytes + " bytes: " + sql;
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.rows;
+
+import org.quickperf.issue.PerfIssue;
+import org.quickperf.issue.VerifiablePerformanceIssue;
+import org.quickperf.sql.annotation.ExpectFetchSizeAtLeast;
+
+import java.util.List;
+
+public class FetchSizeVerifier implements VerifiablePerformanceIssue<ExpectFetchSizeAtLeast, FetchedRows> {
+
+    public static final FetchSizeVerifier INSTANCE = new FetchSizeVerifier();
+
+    private FetchSizeVerifier() {}
+
+    @Override
+    public PerfIssue verifyPerfIssue(ExpectFetchSizeAtLeast annotation, FetchedRows fetchedRows) {
+
+        List<ExecutionRows> executionsWithUnsuitableFetchSize =
+                fetchedRows.findExecutionsWithFetchSizeLowerThan(annotation.fetchSize(), annotation.rowsThreshold());
+
+        if (executionsWithUnsuitableFetchSize.isEmpty()) {
+            return PerfIssue.NONE;
+        }
+
+        StringBuilder description = new StringBuilder();
+        description.append("You may think that the queries returning at least <").append(annotation.rowsThreshold())
+                   .append("> rows were executed with a fetch size of at least <").append(annotation.fetchSize())
+                   .append(">").append(System.lineSeparator())
+                   .append("       ").append("But in fact <").append(executionsWithUnsuitableFetchSize.size())
+                   .append("> were not...").append(System.lineSeparator())
+                   .append(System.lineSeparator());
+        for (ExecutionRows executionRows : executionsWithUnsuitableFetchSize) {
+            description.append("\t* ").append(executionRows.getFetchedRowCount()).append(" rows fetched with ")
+                       .append(formatFetchSize(executionRows.getFetchSize())).append(": ")
+                       .append(executionRows.getSql()).append(System.lineSeparator());
+        }
+        description.append(System.lineSeparator())
+                   .append("With the default fetch size, some drivers load the whole result set in memory")
+                   .append(" and others need a round trip every few rows: use Statement.setFetchSize(int).");
+
+        return new PerfIssue(description.toString());
+
+    }
+
+    private static String formatFetchSize(int fetchSize) {
+        if (fetchSize == 0) {
+            return "the default fetch size of the driver";
+        }
+        return "a fetch size of " + fetchSize;
+    }
+
+}
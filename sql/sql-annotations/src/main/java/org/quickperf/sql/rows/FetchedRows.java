@@ -0,0 +1,160 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.rows;
+
+import org.quickperf.measure.PerfMeasure;
+import org.quickperf.repository.RecordInput;
+import org.quickperf.repository.RecordOutput;
+import org.quickperf.repository.RecordSerializer;
+import org.quickperf.unit.CountUnit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Rows returned by the queries executed during the recording.
+ */
+public class FetchedRows implements PerfMeasure<List<ExecutionRows>, CountUnit> {
+
+    static final RecordSerializer<FetchedRows> SERIALIZER = new RecordSerializer<FetchedRows>() {
+
+        @Override
+        public int getVersion() {
+            return 2;
+        }
+
+        @Override
+        public void write(FetchedRows fetchedRows, RecordOutput output) {
+            output.writeInt(fetchedRows.executionRows.size());
+            for (ExecutionRows executionRows : fetchedRows.executionRows) {
+                executionRows.writeTo(output);
+            }
+        }
+
+        @Override
+        public FetchedRows read(RecordInput input) {
+            int numberOfExecutions = input.readInt();
+            List<ExecutionRows> executionRows = new ArrayList<>(numberOfExecutions);
+            for (int i = 0; i < numberOfExecutions; i++) {
+                executionRows.add(ExecutionRows.readFrom(input));
+            }
+            return new FetchedRows(executionRows);
+        }
+
+    };
+
+    private static final Comparator<ExecutionRows> MOST_FETCHED_ROWS_FIRST = new Comparator<ExecutionRows>() {
+        @Override
+        public int compare(ExecutionRows first, ExecutionRows second) {
+            return Integer.compare(second.getFetchedRowCount(), first.getFetchedRowCount());
+        }
+    };
+
+    private static final int MAX_NUMBER_OF_DISPLAYED_EXECUTIONS = 10;
+
+    private static final String NO_COMMENT = "";
+
+    private final List<ExecutionRows> executionRows;
+
+    FetchedRows(List<ExecutionRows> executionRows) {
+        this.executionRows = executionRows;
+    }
+
+    @Override
+    public List<ExecutionRows> getValue() {
+        return Collections.unmodifiableList(executionRows);
+    }
+
+    @Override
+    public CountUnit getUnit() {
+        return CountUnit.COUNT;
+    }
+
+    @Override
+    public String getComment() {
+        return NO_COMMENT;
+    }
+
+    public long getFetchedRowCount() {
+        long fetchedRowCount = 0;
+        for (ExecutionRows rows : executionRows) {
+            fetchedRowCount += rows.getFetchedRowCount();
+        }
+        return fetchedRowCount;
+    }
+
+    public long getReadRowCount() {
+        long readRowCount = 0;
+        for (ExecutionRows rows : executionRows) {
+            readRowCount += rows.getReadRowCount();
+        }
+        return readRowCount;
+    }
+
+    public long getEstimatedBytes() {
+        long estimatedBytes = 0;
+        for (ExecutionRows rows : executionRows) {
+            estimatedBytes += rows.getEstimatedBytes();
+        }
+        return estimatedBytes;
+    }
+
+    public List<ExecutionRows> findExecutionsWithUnreadRows() {
+        List<ExecutionRows> executionsWithUnreadRows = new ArrayList<>();
+        for (ExecutionRows rows : executionRows) {
+            if (rows.hasUnreadRows()) {
+                executionsWithUnreadRows.add(rows);
+            }
+        }
+        return executionsWithUnreadRows;
+    }
+
+    /**
+     * @return the executions fetching at least <code>rowsThreshold</code> rows with a fetch size
+     * lower than <code>minFetchSize</code> or with the default fetch size of the driver,
+     * the executions whose fetch size is unknown being excluded
+     */
+    public List<ExecutionRows> findExecutionsWithFetchSizeLowerThan(int minFetchSize, int rowsThreshold) {
+        List<ExecutionRows> executionsWithUnsuitableFetchSize = new ArrayList<>();
+        for (ExecutionRows rows : executionRows) {
+            if (       rows.isFetchSizeKnown()
+                    && rows.getFetchedRowCount() >= rowsThreshold
+                    && rows.getFetchSize() < minFetchSize) {
+                executionsWithUnsuitableFetchSize.add(rows);
+            }
+        }
+        return executionsWithUnsuitableFetchSize;
+    }
+
+    /**
+     * @return the executions fetching the most rows first, at most ten of them
+     */
+    public static String format(List<ExecutionRows> executionRowsToFormat) {
+        List<ExecutionRows> sortedExecutionRows = new ArrayList<>(executionRowsToFormat);
+        Collections.sort(sortedExecutionRows, MOST_FETCHED_ROWS_FIRST);
+        StringBuilder formattedExecutions = new StringBuilder();
+        int numberOfDisplayedExecutions = Math.min(sortedExecutionRows.size(), MAX_NUMBER_OF_DISPLAYED_EXECUTIONS);
+        for (int i = 0; i < numberOfDisplayedExecutions; i++) {
+            formattedExecutions.append("\t* ").append(sortedExecutionRows.get(i))
+                               .append(System.lineSeparator());
+        }
+        int numberOfHiddenExecutions = sortedExecutionRows.size() - numberOfDisplayedExecutions;
+        if (numberOfHiddenExecutions > 0) {
+            formattedExecutions.append("\t... and ").append(numberOfHiddenExecutions).append(" more")
+                               .append(System.lineSeparator());
+        }
+        return formattedExecutions.toString();
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.rows;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.quickperf.TestExecutionContext;
+import org.quickperf.WorkingFolder;
+import org.quickperf.repository.RecordFileRepository;
+import org.quickperf.sql.SqlRecorder;
+import org.quickperf.sql.SqlRecorderRegistry;
+
+import java.lang.ref.WeakReference;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+public class FetchedRowsRecorder implements SqlRecorder<FetchedRows>, RowCountingRecorder {
+
+    private static final String FETCHED_ROWS_FILE_NAME = "fetched-rows.rec";
+
+    private final List<ResultSetReading> readings = new ArrayList<>();
+
+    // Statements of the readings whose SQL is not yet known
+    private final Map<ResultSetReading, WeakReference<Statement>> readingsWithoutSql = new HashMap<>();
+
+    // SQL of the last execution returning a result set retrieved afterwards with getResultSet()
+    private final Map<Statement, String> sqlOfStatements = new WeakHashMap<>();
+
+    private FetchedRows fetchedRows;
+
+    @Override
+    public void startRecording(TestExecutionContext testExecutionContext) {
+        SqlRecorderRegistry.INSTANCE.register(this);
+    }
+
+    @Override
+    public void stopRecording(TestExecutionContext testExecutionContext) {
+        SqlRecorderRegistry.unregister(this);
+        fetchedRows = buildFetchedRows();
+        if (testExecutionContext.testExecutionUsesTwoJVMs()) {
+            WorkingFolder workingFolder = testExecutionContext.getWorkingFolder();
+            RecordFileRepository.INSTANCE.save(workingFolder.getPath()
+                                             , FETCHED_ROWS_FILE_NAME
+                                             , fetchedRows
+                                             , FetchedRows.SERIALIZER);
+        }
+    }
+
+    private synchronized FetchedRows buildFetchedRows() {
+        List<ExecutionRows> executionRows = new ArrayList<>(readings.size());
+        for (ResultSetReading reading : readings) {
+            executionRows.add(ExecutionRows.of(reading));
+        }
+        return new FetchedRows(executionRows);
+    }
+
+    @Override
+    public FetchedRows findRecord(TestExecutionContext testExecutionContext) {
+        if (testExecutionContext.testExecutionUsesTwoJVMs()) {
+            WorkingFolder workingFolder = testExecutionContext.getWorkingFolder();
+            return RecordFileRepository.INSTANCE.find(workingFolder.getPath()
+                                                    , FETCHED_ROWS_FILE_NAME
+                                                    , FetchedRows.SERIALIZER);
+        }
+        return fetchedRows;
+    }
+
+    @Override
+    public synchronized void resultSetWrapped(ResultSetReading reading, Statement statement) {
+        readings.add(reading);
+        String sql = statement == null ? null : sqlOfStatements.get(statement);
+        if (sql != null) {
+            reading.setSql(sql);
+        } else if (statement != null) {
+            readingsWithoutSql.put(reading, new WeakReference<>(statement));
+        }
+    }
+
+    /**
+     * The SQL of a result set returned by <code>executeQuery()</code> is the one of the execution.
+     * The SQL of a result set retrieved with <code>getResultSet()</code> is the one of the last
+     * execution of its statement returning a result set: the execution and the result set are
+     * notified in any order with the asynchronous recording.
+     */
+    @Override
+    public void addQueryExecution(ExecutionInfo execInfo, List<QueryInfo> queries, int listenerIdentifier) {
+        if (queries.isEmpty()) {
+            return;
+        }
+        String sql = queries.get(0).getQuery();
+        ResultSetReading reading = ResultSetReadingProxy.readingOf(execInfo.getResult());
+        synchronized (this) {
+            if (reading != null) {
+                reading.setSql(sql);
+                readingsWithoutSql.remove(reading);
+            } else if (Boolean.TRUE.equals(execInfo.getResult()) && execInfo.getStatement() != null) {
+                Statement statement = execInfo.getStatement();
+                sqlOfStatements.put(statement, sql);
+                setSqlOfReadingsWithoutSql(statement, sql);
+            }
+        }
+    }
+
+    private void setSqlOfReadingsWithoutSql(Statement statement, String sql) {
+        Iterator<Map.Entry<ResultSetReading, WeakReference<Statement>>> iterator = readingsWithoutSql.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<ResultSetReading, WeakReference<Statement>> readingWithoutSql = iterator.next();
+            if (readingWithoutSql.getValue().get() == statement) {
+                readingWithoutSql.getKey().setSql(sql);
+                iterator.remove();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void cleanResources() {
+        readings.clear();
+        readingsWithoutSql.clear();
+        sqlOfStatements.clear();
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.rows;
+
+import org.quickperf.issue.PerfIssue;
+import org.quickperf.issue.VerifiablePerformanceIssue;
+import org.quickperf.sql.annotation.ExpectMaxFetchedRows;
+
+import java.util.List;
+
+public class MaxFetchedRowsVerifier implements VerifiablePerformanceIssue<ExpectMaxFetchedRows, FetchedRows> {
+
+    public static final MaxFetchedRowsVerifier INSTANCE = new MaxFetchedRowsVerifier();
+
+    private MaxFetchedRowsVerifier() {}
+
+    @Override
+    public PerfIssue verifyPerfIssue(ExpectMaxFetchedRows annotation, FetchedRows fetchedRows) {
+
+        long fetchedRowCount = fetchedRows.getFetchedRowCount();
+        List<ExecutionRows> executionsWithUnreadRows = fetchedRows.findExecutionsWithUnreadRows();
+
+        boolean tooManyFetchedRows = fetchedRowCount > annotation.value();
+        boolean forbiddenUnreadRows = !annotation.allowUnreadRows() && !executionsWithUnreadRows.isEmpty();
+
+        if (!tooManyFetchedRows && !forbiddenUnreadRows) {
+            return PerfIssue.NONE;
+        }
+
+        StringBuilder description = new StringBuilder();
+
+        if (tooManyFetchedRows) {
+            description.append("You may think that at most <").append(annotation.value())
+                       .append("> rows were fetched").append(System.lineSeparator())
+                       .append("       ").append("But in fact <").append(fetchedRowCount)
+                       .append("> rows (").append(fetchedRows.getReadRowCount()).append(" read, ~")
+                       .append(fetchedRows.getEstimatedBytes()).append(" bytes)...")
+                       .append(System.lineSeparator())
+                       .append(System.lineSeparator())
+                       .append("[FETCHED ROWS]").append(System.lineSeparator())
+                       .append(FetchedRows.format(fetchedRows.getValue()));
+        }
+
+        if (!executionsWithUnreadRows.isEmpty()) {
+            if (tooManyFetchedRows) {
+                description.append(System.lineSeparator());
+            }
+            description.append("[UNREAD ROWS] The driver may have transferred rows the test never read:")
+                       .append(System.lineSeparator())
+                       .append(FetchedRows.format(executionsWithUnreadRows));
+        }
+
+        return new PerfIssue(description.toString());
+
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.rows;
+
+import java.util.Date;
+
+/**
+ * Counters of the reading of a result set, without reference to the result set.
+ */
+public class ResultSetReading {
+
+    // Also the size estimated for a LOB: its content is only transferred when it is read
+    private static final int REFERENCE_SIZE_IN_BYTES = 8;
+
+    private int fetchedRowCount;
+
+    private int readRowCount;
+
+    private boolean currentRowRead;
+
+    private boolean endReached;
+
+    private long estimatedBytes;
+
+    private final int fetchSize;
+
+    // Null until the execution returning the result set is recorded
+    private String sql;
+
+    ResultSetReading(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    void rowFetched() {
+        fetchedRowCount++;
+        currentRowRead = false;
+    }
+
+    void endReached() {
+        endReached = true;
+    }
+
+    void valueRead(Object value) {
+        if (!currentRowRead) {
+            currentRowRead = true;
+            readRowCount++;
+        }
+        estimatedBytes += estimateSizeInBytes(value);
+    }
+
+    private static long estimateSizeInBytes(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String) {
+            return ((String) value).length();
+        }
+        if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        }
+        if (value instanceof Number || value instanceof Date) {
+            return 8;
+        }
+        if (value instanceof Boolean) {
+            return 1;
+        }
+        if (value instanceof Character) {
+            return 2;
+        }
+        return REFERENCE_SIZE_IN_BYTES;
+    }
+
+    void setSql(String sql) {
+        this.sql = sql;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * @return the fetch size of the statement when the result set was returned,
+     * <code>0</code> if the driver default is used
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public int getFetchedRowCount() {
+        return fetchedRowCount;
+    }
+
+    public int getReadRowCount() {
+        return readRowCount;
+    }
+
+    public boolean isEndReached() {
+        return endReached;
+    }
+
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.rows;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps a result set to count the rows fetched with <code>next()</code>, the rows
+ * from which a value is read and the estimated size of the read values.
+ */
+public class ResultSetReadingProxy {
+
+    private ResultSetReadingProxy() {}
+
+    private interface ReadingHolder {
+
+        ResultSetReading getQuickPerfResultSetReading();
+
+    }
+
+    public static ResultSet wrap(ResultSet resultSet) {
+        return wrap(resultSet, null);
+    }
+
+    /**
+     * To call on the thread executing the statement: the fetch size of the statement is read there.
+     *
+     * @param statement statement of the result set, <code>null</code> if unknown
+     */
+    public static ResultSet wrap(ResultSet resultSet, Statement statement) {
+        ReadingInvocationHandler invocationHandler = new ReadingInvocationHandler(resultSet, retrieveFetchSizeOf(statement));
+        return (ResultSet) Proxy.newProxyInstance(ResultSetReadingProxy.class.getClassLoader()
+                                                , new Class<?>[]{ResultSet.class, ReadingHolder.class}
+                                                , invocationHandler);
+    }
+
+    private static int retrieveFetchSizeOf(Statement statement) {
+        if (statement == null) {
+            return ExecutionRows.UNKNOWN_FETCH_SIZE;
+        }
+        try {
+            return statement.getFetchSize();
+        } catch (SQLException e) {
+            return ExecutionRows.UNKNOWN_FETCH_SIZE;
+        }
+    }
+
+    /**
+     * @return the reading of a result set wrapped by {@link #wrap(ResultSet)},
+     * <code>null</code> otherwise
+     */
+    public static ResultSetReading readingOf(Object result) {
+        if (result instanceof ReadingHolder) {
+            return ((ReadingHolder) result).getQuickPerfResultSetReading();
+        }
+        return null;
+    }
+
+    private static class ReadingInvocationHandler implements InvocationHandler {
+
+        private final ResultSet resultSet;
+
+        private final ResultSetReading reading;
+
+        private ReadingInvocationHandler(ResultSet resultSet, int fetchSize) {
+            this.resultSet = resultSet;
+            this.reading = new ResultSetReading(fetchSize);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+            String methodName = method.getName();
+
+            if ("getQuickPerfResultSetReading".equals(methodName)) {
+                return reading;
+            }
+            if ("equals".equals(methodName)) {
+                return proxy == args[0];
+            }
+            if ("hashCode".equals(methodName)) {
+                return System.identityHashCode(proxy);
+            }
+
+            Object result;
+            try {
+                result = method.invoke(resultSet, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+
+            if ("next".equals(methodName)) {
+                if (Boolean.TRUE.equals(result)) {
+                    reading.rowFetched();
+                } else {
+                    reading.endReached();
+                }
+            } else if (isColumnValueGetter(methodName, args)) {
+                reading.valueRead(result);
+            }
+
+            return result;
+
+        }
+
+        private boolean isColumnValueGetter(String methodName, Object[] args) {
+            return methodName.startsWith("get") && args != null && args.length != 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,30 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.rows;
+
+import java.sql.Statement;
+
+/**
+ * SQL recorder needing the rows read from the result sets: the result sets
+ * of the data source are only wrapped while such a recorder is active.
+ */
+public interface RowCountingRecorder {
+
+    /**
+     * Called by the thread executing the statement, for each result set returned by
+     * an execution or by <code>Statement.getResultSet()</code>.
+     *
+     * @param statement statement of the result set, <code>null</code> if unknown
+     */
+    void resultSetWrapped(ResultSetReading reading, Statement statement);
+
+}
@@ -11,15 +11,13 @@
 
 package org.quickperf.sql.select;
 
-import net.ttddyy.dsproxy.QueryInfo;
-import net.ttddyy.dsproxy.QueryType;
 import org.quickperf.ExtractablePerformanceMeasure;
 import org.quickperf.measure.BooleanMeasure;
-import org.quickperf.sql.QueryTypeRetriever;
-import org.quickperf.sql.SqlExecution;
+import org.quickperf.sql.RepeatedSelect;
 import org.quickperf.sql.SqlExecutions;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
 
 public class HasExactlySameSelectExtractor implements ExtractablePerformanceMeasure<SqlExecutions, BooleanMeasure> {
 
@@ -29,66 +27,16 @@ public class HasExactlySameSelectExtractor implements ExtractablePerformanceMeas
 
     @Override
     public BooleanMeasure extractPerfMeasureFrom(SqlExecutions sqlExecutions) {
-        SqlSelects sqlSelects = new SqlSelects();
-        for (SqlExecution sqlExecution : sqlExecutions) {
-            for (QueryInfo query : sqlExecution.getQueries()) {
-                if (       isSelectType(query)
-                        && sqlSelects.exactlySameSqlQueryExists(query)
-                    ) {
-                        return BooleanMeasure.TRUE;
-                    }
-                if (isSelectType(query)) {
-                    sqlSelects.add(query);
-                }
+        List<RepeatedSelect> selects = new ArrayList<>();
+        for (RepeatedSelect repeatedSelect : sqlExecutions.getRepeatedSelects()) {
+            if (repeatedSelect.hasExactlySameExecutions()) {
+                selects.add(repeatedSelect);
             }
         }
-        return BooleanMeasure.FALSE;
-    }
-
-    private boolean isSelectType(QueryInfo query) {
-        QueryType queryType = QueryTypeRetriever.INSTANCE.typeOf(query);
-        return QueryType.SELECT.equals(queryType);
-    }
-
-    private static class SqlSelects {
-
-        private final Map<String, ParamsCalls> callsParamsByQuery = new HashMap<>();
-
-        boolean exactlySameSqlQueryExists(QueryInfo query) {
-            String queryAsString = query.getQuery();
-            ParamsCalls paramsCalls = callsParamsByQuery.get(queryAsString);
-            if (paramsCalls == null) {
-                return false;
-            }
-            List<Object> paramsList = QueryParamsExtractor.INSTANCE.getParamsOf(query);
-            return paramsCalls.alreadySameParamsCalled(paramsList);
-        }
-
-        void add(QueryInfo query) {
-            String queryAsString = query.getQuery();
-            ParamsCalls paramsCalls = callsParamsByQuery.get(queryAsString);
-            if (paramsCalls == null) {
-                paramsCalls = new ParamsCalls();
-            }
-            List<Object> paramsList = QueryParamsExtractor.INSTANCE.getParamsOf(query);
-            paramsCalls.addParams(paramsList);
-            callsParamsByQuery.put(queryAsString, paramsCalls);
+        if (selects.isEmpty()) {
+            return BooleanMeasure.FALSE;
         }
-
-        private static class ParamsCalls {
-
-            private final List<List<Object>> paramsCalls = new ArrayList<>();
-
-            boolean alreadySameParamsCalled(List<Object> params) {
-                return paramsCalls.contains(params);
-            }
-
-            void addParams(List<Object> params) {
-                paramsCalls.add(params);
-            }
-
-        }
-
+        return new BooleanMeasure(true, RepeatedSelectsFormatter.INSTANCE.format(selects));
     }
 
 }
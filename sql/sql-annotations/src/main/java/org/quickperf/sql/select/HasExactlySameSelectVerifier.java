@@ -28,7 +28,9 @@ public class HasExactlySameSelectVerifier implements VerifiablePerformanceIssue<
     public PerfIssue verifyPerfIssue(DisableExactlySameSelects annotation, BooleanMeasure hasExactlySameSelects) {
 
         if(hasExactlySameSelects.getValue()) {
-            String description = "Exactly same SELECT statements";
+            String description = "Exactly same SELECT statements"
+                               + System.lineSeparator()
+                               + hasExactlySameSelects.getComment();
             if(SqlFrameworksInClassPath.INSTANCE.containsHibernate()) {
                 description += System.lineSeparator()
                              + HibernateSuggestion.SESSION.getMessage()
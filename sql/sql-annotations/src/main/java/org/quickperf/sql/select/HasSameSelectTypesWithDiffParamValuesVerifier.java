@@ -31,6 +31,8 @@ public class HasSameSelectTypesWithDiffParamValuesVerifier implements Verifiable
 
         if(sameSelectTypesWithDifferentParams.getValue()) {
             String description = "Same SELECT types with different parameter values"
+                                + System.lineSeparator()
+                                + sameSelectTypesWithDifferentParams.getComment()
                                 + System.lineSeparator()
                                 + System.lineSeparator()
                                 + JdbcSuggestion.SERVER_ROUND_TRIPS.getMessage();
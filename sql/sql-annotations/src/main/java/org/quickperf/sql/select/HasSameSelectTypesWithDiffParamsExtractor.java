@@ -11,15 +11,13 @@
 
 package org.quickperf.sql.select;
 
-import net.ttddyy.dsproxy.QueryInfo;
-import net.ttddyy.dsproxy.QueryType;
 import org.quickperf.ExtractablePerformanceMeasure;
 import org.quickperf.measure.BooleanMeasure;
-import org.quickperf.sql.QueryTypeRetriever;
-import org.quickperf.sql.SqlExecution;
+import org.quickperf.sql.RepeatedSelect;
 import org.quickperf.sql.SqlExecutions;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
 
 public class HasSameSelectTypesWithDiffParamsExtractor implements ExtractablePerformanceMeasure<SqlExecutions, BooleanMeasure> {
 
@@ -30,65 +28,16 @@ public class HasSameSelectTypesWithDiffParamsExtractor implements ExtractablePer
 
     @Override
     public BooleanMeasure extractPerfMeasureFrom(SqlExecutions sqlExecutions) {
-        HasSameSelectTypesWithDiffParamsExtractor.SqlSelects sqlSelects = new HasSameSelectTypesWithDiffParamsExtractor.SqlSelects();
-        for (SqlExecution sqlExecution : sqlExecutions) {
-            for (QueryInfo query : sqlExecution.getQueries()) {
-                if (   isSelectType(query)
-                    && sqlSelects.sameSqlQueryWithDifferentParams(query)) {
-                        return BooleanMeasure.TRUE;
-                    }
-                if (isSelectType(query)) {
-                    sqlSelects.add(query);
-                }
+        List<RepeatedSelect> selects = new ArrayList<>();
+        for (RepeatedSelect repeatedSelect : sqlExecutions.getRepeatedSelects()) {
+            if (repeatedSelect.hasDifferentParams()) {
+                selects.add(repeatedSelect);
             }
         }
-        return BooleanMeasure.FALSE;
-    }
-
-    private boolean isSelectType(QueryInfo query) {
-        QueryType queryType = QueryTypeRetriever.INSTANCE.typeOf(query);
-        return QueryType.SELECT.equals(queryType);
-    }
-
-    private static class SqlSelects {
-
-        private final Map<String, ParamsCalls> callsParamsByQuery = new HashMap<>();
-
-        void add(QueryInfo query) {
-            String queryAsString = query.getQuery();
-            HasSameSelectTypesWithDiffParamsExtractor.SqlSelects.ParamsCalls paramsCalls = callsParamsByQuery.get(queryAsString);
-            if (paramsCalls == null) {
-                paramsCalls = new HasSameSelectTypesWithDiffParamsExtractor.SqlSelects.ParamsCalls();
-            }
-            List<Object> paramsList = QueryParamsExtractor.INSTANCE.getParamsOf(query);
-            paramsCalls.addParams(paramsList);
-            callsParamsByQuery.put(queryAsString, paramsCalls);
-        }
-
-        boolean sameSqlQueryWithDifferentParams(QueryInfo query) {
-            String queryAsString = query.getQuery();
-            HasSameSelectTypesWithDiffParamsExtractor.SqlSelects.ParamsCalls paramsCalls = callsParamsByQuery.get(queryAsString);
-            if (paramsCalls == null) {
-                return false;
-            }
-            List<Object> paramsList = QueryParamsExtractor.INSTANCE.getParamsOf(query);
-            return !paramsCalls.alreadySameParamsCalled(paramsList);
+        if (selects.isEmpty()) {
+            return BooleanMeasure.FALSE;
         }
-
-        private static class ParamsCalls {
-
-            private final List<List<Object>> paramsCalls = new ArrayList<>();
-
-            boolean alreadySameParamsCalled(List<Object> params) {
-                return paramsCalls.contains(params);
-            }
-
-            void addParams(List<Object> params) {
-                paramsCalls.add(params);
-            }
-
-        }
-
+        return new BooleanMeasure(true, RepeatedSelectsFormatter.INSTANCE.format(selects));
     }
 
 }
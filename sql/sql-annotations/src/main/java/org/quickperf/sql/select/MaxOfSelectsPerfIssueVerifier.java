@@ -13,32 +13,44 @@ package org.quickperf.sql.select;
 
 import org.quickperf.issue.PerfIssue;
 import org.quickperf.issue.VerifiablePerformanceIssue;
+import org.quickperf.sql.SqlFingerprintStatistics;
 import org.quickperf.sql.annotation.ExpectMaxSelect;
 import org.quickperf.sql.framework.HibernateSuggestion;
 import org.quickperf.sql.framework.JdbcSuggestion;
 import org.quickperf.sql.framework.SqlFrameworksInClassPath;
 import org.quickperf.unit.Count;
 
-public class MaxOfSelectsPerfIssueVerifier implements VerifiablePerformanceIssue<ExpectMaxSelect, Count> {
+public class MaxOfSelectsPerfIssueVerifier implements VerifiablePerformanceIssue<ExpectMaxSelect, SelectCounts> {
 
     public static final MaxOfSelectsPerfIssueVerifier INSTANCE = new MaxOfSelectsPerfIssueVerifier();
 
     private MaxOfSelectsPerfIssueVerifier() {}
 
     @Override
-    public PerfIssue verifyPerfIssue(ExpectMaxSelect annotation, Count measuredCount) {
+    public PerfIssue verifyPerfIssue(ExpectMaxSelect annotation, SelectCounts selectCounts) {
 
         Count expectedCount = new Count(annotation.value());
 
+        if (annotation.perFingerprint()) {
+            Count measuredCount = selectCounts.getExecutionCountOfMostExecutedFingerprint();
+            if (measuredCount.isGreaterThan(expectedCount)) {
+                return buildPerFingerprintPerfIssue(selectCounts, expectedCount);
+            }
+            return PerfIssue.NONE;
+        }
+
+        Count measuredCount = selectCounts.getSelectCount();
          if(measuredCount.isGreaterThan(expectedCount)) {
-            return buildPerfIssue(measuredCount, expectedCount);
+            return buildPerfIssue(selectCounts, expectedCount);
         }
 
         return PerfIssue.NONE;
 
     }
 
-    private PerfIssue buildPerfIssue(Count measuredCount, Count expectedCount) {
+    private PerfIssue buildPerfIssue(SelectCounts selectCounts, Count expectedCount) {
+
+        Count measuredCount = selectCounts.getSelectCount();
 
         String description = "You may think that at most <" + expectedCount.getValue() + "> select statement"
                            + (expectedCount.getValue() > 1 ? "s were" : " was" )
@@ -46,11 +58,38 @@ public class MaxOfSelectsPerfIssueVerifier implements VerifiablePerformanceIssue
                            + System.lineSeparator()
                            + "       " + "But in fact <" + measuredCount.getValue() + ">..."
                            + System.lineSeparator()
+                           + selectCounts.formatRepeatedSelectFingerprints()
                            + System.lineSeparator()
                            + JdbcSuggestion.SERVER_ROUND_TRIPS.getMessage()
                            + System.lineSeparator()
                            ;
 
+        return buildPerfIssue(description);
+
+    }
+
+    private PerfIssue buildPerFingerprintPerfIssue(SelectCounts selectCounts, Count expectedCount) {
+
+        SqlFingerprintStatistics mostExecutedFingerprint = selectCounts.getMostExecutedSelectFingerprint();
+
+        String description = "You may think that each select statement was sent at most <" + expectedCount.getValue()
+                           + "> time" + (expectedCount.getValue() > 1 ? "s" : "") + " to the database"
+                           + System.lineSeparator()
+                           + "       " + "But in fact <" + mostExecutedFingerprint.getCount() + "> for "
+                           + mostExecutedFingerprint.getFingerprint()
+                           + System.lineSeparator()
+                           + selectCounts.formatRepeatedSelectFingerprints()
+                           + System.lineSeparator()
+                           + JdbcSuggestion.SERVER_ROUND_TRIPS.getMessage()
+                           + System.lineSeparator()
+                           ;
+
+        return buildPerfIssue(description);
+
+    }
+
+    private PerfIssue buildPerfIssue(String description) {
+
         if(SqlFrameworksInClassPath.INSTANCE.containsHibernate()) {
             String nPlusOneSelectMessage = HibernateSuggestion.N_PLUS_ONE_SELECT
                                                               .getMessage();
@@ -18,13 +18,13 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-class QueryParamsExtractor {
+public class QueryParamsExtractor {
 
-    static final QueryParamsExtractor INSTANCE = new QueryParamsExtractor();
+    public static final QueryParamsExtractor INSTANCE = new QueryParamsExtractor();
 
     private QueryParamsExtractor() {}
 
-    List<Object> getParamsOf(QueryInfo query) {
+    public List<Object> getParamsOf(QueryInfo query) {
 
         List<ParameterSetOperation> parameterSetOperations = retrieveParameterSetOperations(query);
 
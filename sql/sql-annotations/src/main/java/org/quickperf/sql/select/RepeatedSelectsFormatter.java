@@ -0,0 +1,43 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.select;
+
+import org.quickperf.sql.RepeatedSelect;
+
+import java.util.List;
+
+class RepeatedSelectsFormatter {
+
+    static final RepeatedSelectsFormatter INSTANCE = new RepeatedSelectsFormatter();
+
+    private static final int MAX_NUMBER_OF_DISPLAYED_SELECTS = 10;
+
+    private RepeatedSelectsFormatter() {}
+
+    String format(List<RepeatedSelect> repeatedSelects) {
+        StringBuilder description = new StringBuilder();
+        int numberOfDisplayedSelects = Math.min(repeatedSelects.size(), MAX_NUMBER_OF_DISPLAYED_SELECTS);
+        for (int i = 0; i < numberOfDisplayedSelects; i++) {
+            if (i > 0) {
+                description.append(System.lineSeparator());
+            }
+            description.append("\t* SELECT ").append(repeatedSelects.get(i));
+        }
+        int numberOfHiddenSelects = repeatedSelects.size() - numberOfDisplayedSelects;
+        if (numberOfHiddenSelects > 0) {
+            description.append(System.lineSeparator())
+                       .append("\t* ").append(numberOfHiddenSelects).append(" other repeated SELECT statements");
+        }
+        return description.toString();
+    }
+
+}
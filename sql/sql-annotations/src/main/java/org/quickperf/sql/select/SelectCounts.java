@@ -0,0 +1,90 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.select;
+
+import org.quickperf.measure.PerfMeasure;
+import org.quickperf.sql.SqlFingerprintStatistics;
+import org.quickperf.unit.Count;
+import org.quickperf.unit.CountUnit;
+
+import java.util.List;
+
+public class SelectCounts implements PerfMeasure<Long, CountUnit> {
+
+    private static final String NO_COMMENT = "";
+
+    private final Count selectCount;
+
+    private final SqlFingerprintStatistics mostExecutedSelectFingerprint;
+
+    private final List<SqlFingerprintStatistics> repeatedSelectFingerprints;
+
+    SelectCounts(Count selectCount
+               , SqlFingerprintStatistics mostExecutedSelectFingerprint
+               , List<SqlFingerprintStatistics> repeatedSelectFingerprints) {
+        this.selectCount = selectCount;
+        this.mostExecutedSelectFingerprint = mostExecutedSelectFingerprint;
+        this.repeatedSelectFingerprints = repeatedSelectFingerprints;
+    }
+
+    public Count getSelectCount() {
+        return selectCount;
+    }
+
+    public Count getExecutionCountOfMostExecutedFingerprint() {
+        if (mostExecutedSelectFingerprint == null) {
+            return new Count(0);
+        }
+        return new Count(mostExecutedSelectFingerprint.getCount());
+    }
+
+    public SqlFingerprintStatistics getMostExecutedSelectFingerprint() {
+        return mostExecutedSelectFingerprint;
+    }
+
+    /**
+     * @return the select fingerprints executed several times, the most executed first
+     */
+    public List<SqlFingerprintStatistics> getRepeatedSelectFingerprints() {
+        return repeatedSelectFingerprints;
+    }
+
+    String formatRepeatedSelectFingerprints() {
+        if (repeatedSelectFingerprints.isEmpty()) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(System.lineSeparator())
+          .append("[SELECT FINGERPRINTS EXECUTED SEVERAL TIMES]");
+        for (SqlFingerprintStatistics statistics : repeatedSelectFingerprints) {
+            sb.append(System.lineSeparator()).append("\t").append(statistics);
+        }
+        sb.append(System.lineSeparator());
+        return sb.toString();
+    }
+
+    @Override
+    public Long getValue() {
+        return selectCount.getValue();
+    }
+
+    @Override
+    public CountUnit getUnit() {
+        return CountUnit.COUNT;
+    }
+
+    @Override
+    public String getComment() {
+        return NO_COMMENT;
+    }
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.select;
+
+import net.ttddyy.dsproxy.QueryType;
+import org.quickperf.ExtractablePerformanceMeasure;
+import org.quickperf.sql.SqlExecutions;
+import org.quickperf.sql.SqlFingerprintStatistics;
+import org.quickperf.unit.Count;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SelectCountsExtractor implements ExtractablePerformanceMeasure<SqlExecutions, SelectCounts> {
+
+    public static final SelectCountsExtractor INSTANCE = new SelectCountsExtractor();
+
+    private SelectCountsExtractor() {}
+
+    @Override
+    public SelectCounts extractPerfMeasureFrom(SqlExecutions sqlExecutions) {
+        Count selectCount = new Count(sqlExecutions.retrieveQueryNumberOfType(QueryType.SELECT));
+        return new SelectCounts(selectCount
+                              , sqlExecutions.getMostExecutedFingerprintOfType(QueryType.SELECT)
+                              , findRepeatedSelectFingerprints(sqlExecutions));
+    }
+
+    private List<SqlFingerprintStatistics> findRepeatedSelectFingerprints(SqlExecutions sqlExecutions) {
+        List<SqlFingerprintStatistics> repeatedSelectFingerprints = new ArrayList<>();
+        for (SqlFingerprintStatistics statistics : sqlExecutions.getFingerprintHistogram()) {
+            if (statistics.getCount() == 1) {
+                break;
+            }
+            if (statistics.getQueryType() == QueryType.SELECT) {
+                repeatedSelectFingerprints.add(statistics);
+            }
+        }
+        return repeatedSelectFingerprints;
+    }
+
+}
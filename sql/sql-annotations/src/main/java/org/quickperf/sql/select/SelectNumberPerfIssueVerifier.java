@@ -19,26 +19,28 @@ import org.quickperf.sql.framework.JdbcSuggestion;
 import org.quickperf.sql.framework.SqlFrameworksInClassPath;
 import org.quickperf.unit.Count;
 
-public class SelectNumberPerfIssueVerifier implements VerifiablePerformanceIssue<ExpectSelect, Count> {
+public class SelectNumberPerfIssueVerifier implements VerifiablePerformanceIssue<ExpectSelect, SelectCounts> {
 
     public static final SelectNumberPerfIssueVerifier INSTANCE = new SelectNumberPerfIssueVerifier();
 
     private SelectNumberPerfIssueVerifier() {}
 
     @Override
-    public PerfIssue verifyPerfIssue(ExpectSelect annotation, Count measuredCount) {
+    public PerfIssue verifyPerfIssue(ExpectSelect annotation, SelectCounts selectCounts) {
 
         Count expectedCount = new Count(annotation.value());
 
-        if (!measuredCount.isEqualTo(expectedCount)) {
-            return buildPerfIssue(measuredCount, expectedCount);
+        if (!selectCounts.getSelectCount().isEqualTo(expectedCount)) {
+            return buildPerfIssue(selectCounts, expectedCount);
         }
 
         return PerfIssue.NONE;
 
     }
 
-    private PerfIssue buildPerfIssue(Count measuredCount, Count expectedCount) {
+    private PerfIssue buildPerfIssue(SelectCounts selectCounts, Count expectedCount) {
+
+        Count measuredCount = selectCounts.getSelectCount();
 
         String description = "You may think that <" + expectedCount.getValue() + "> select statement"
                            + (expectedCount.getValue() > 1 ? "s were" : " was" )
@@ -52,6 +54,7 @@ public class SelectNumberPerfIssueVerifier implements VerifiablePerformanceIssue
         }
 
         description += System.lineSeparator()
+                     + selectCounts.formatRepeatedSelectFingerprints()
                      + System.lineSeparator()
                      + JdbcSuggestion.SERVER_ROUND_TRIPS.getMessage();
 
@@ -21,11 +21,25 @@ public class ExecutionTime extends AbstractComparablePerfMeasure<ExecutionTime>
 	
 	private final TimeUnit unit;
 	
+	private final LatencyHistogram latencyHistogram;
+	
 	private static final String NO_COMMENT = "";
 	
 	public ExecutionTime(Long expectedTimeValue, TimeUnit timeUnit) {
-		this.value = expectedTimeValue;
+		this(expectedTimeValue, timeUnit, null);
+	}
+	
+	public ExecutionTime(Long timeValue, TimeUnit timeUnit, LatencyHistogram latencyHistogram) {
+		this.value = timeValue;
 		this.unit = timeUnit;
+		this.latencyHistogram = latencyHistogram;
+	}
+	
+	/**
+	 * @return <code>null</code> if the execution time is not measured from several executions
+	 */
+	public LatencyHistogram getLatencyHistogram() {
+		return latencyHistogram;
 	}
 	
 	@Override
@@ -0,0 +1,192 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.time;
+
+import org.quickperf.repository.RecordInput;
+import org.quickperf.repository.RecordOutput;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Distribution of latencies in nanoseconds, with buckets whose width grows with the latency,
+ * in the manner of HdrHistogram: a percentile is known with a relative error below 1/64.
+ * A percentile is the upper bound of its bucket, so it overestimates the latency by up to 1/64.
+ * The number of recorded values, their total, min and max are exact.
+ */
+public class LatencyHistogram {
+
+    // 64 linear sub-buckets in each power of two above 128 ns
+    private static final int SUB_BUCKET_BITS = 6;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT << 1;
+
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private static final double[] DISPLAYED_PERCENTILES = {50, 90, 95, 99, 99.9};
+
+    private final long[] counts = new long[BUCKET_COUNT];
+
+    private long count;
+
+    private long total;
+
+    private long min = Long.MAX_VALUE;
+
+    private long max;
+
+    public void recordValue(long latencyInNanos) {
+        long latency = Math.max(0, latencyInNanos);
+        counts[indexOf(latency)]++;
+        count++;
+        total += latency;
+        if (latency < min) {
+            min = latency;
+        }
+        if (latency > max) {
+            max = latency;
+        }
+    }
+
+    private static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS - 1;
+        int subBucket = (int) (value >>> shift);
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket - SUB_BUCKET_COUNT;
+    }
+
+    private static long highestValueOf(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long subBucket = SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalInNanos() {
+        return total;
+    }
+
+    public long getMinInNanos() {
+        return count == 0 ? 0 : min;
+    }
+
+    public long getMaxInNanos() {
+        return max;
+    }
+
+    /**
+     * @param percentile greater than 0 and lower than or equal to 100
+     * @return the latency under which the given percentage of the recorded values are,
+     * overestimated by up to 1/64 because it is the upper bound of a bucket
+     * @throws IllegalArgumentException if the percentile is not greater than 0 and lower than or equal to 100
+     */
+    public long getValueAtPercentileInNanos(double percentile) {
+        checkPercentile(percentile);
+        if (count == 0) {
+            return 0;
+        }
+        if (percentile >= 100) {
+            return max;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long cumulatedCount = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulatedCount += counts[i];
+            if (cumulatedCount >= rank) {
+                return Math.max(min, Math.min(highestValueOf(i), max));
+            }
+        }
+        return max;
+    }
+
+    public static void checkPercentile(double percentile) {
+        if (!(percentile > 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("The percentile has to be greater than 0 and lower than"
+                                             + " or equal to 100, found " + formatPercentile(percentile));
+        }
+    }
+
+    public void writeTo(RecordOutput output) {
+        output.writeLong(count);
+        output.writeLong(total);
+        output.writeLong(min);
+        output.writeLong(max);
+        int numberOfUsedBuckets = 0;
+        for (long bucketCount : counts) {
+            if (bucketCount != 0) {
+                numberOfUsedBuckets++;
+            }
+        }
+        output.writeInt(numberOfUsedBuckets);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                output.writeInt(i);
+                output.writeLong(counts[i]);
+            }
+        }
+    }
+
+    public static LatencyHistogram readFrom(RecordInput input) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.count = input.readLong();
+        histogram.total = input.readLong();
+        histogram.min = input.readLong();
+        histogram.max = input.readLong();
+        int numberOfUsedBuckets = input.readInt();
+        for (int i = 0; i < numberOfUsedBuckets; i++) {
+            int index = input.readInt();
+            histogram.counts[index] = input.readLong();
+        }
+        return histogram;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(count).append(" executions, total ").append(format(total))
+          .append(", min ").append(format(getMinInNanos()));
+        for (double percentile : DISPLAYED_PERCENTILES) {
+            sb.append(", p").append(formatPercentile(percentile))
+              .append(' ').append(format(getValueAtPercentileInNanos(percentile)));
+        }
+        sb.append(", max ").append(format(max));
+        return sb.toString();
+    }
+
+    static String formatPercentile(double percentile) {
+        if (percentile == Math.rint(percentile)) {
+            return String.valueOf((long) percentile);
+        }
+        return String.valueOf(percentile);
+    }
+
+    static String format(long nanos) {
+        if (nanos < TimeUnit.MICROSECONDS.toNanos(1)) {
+            return nanos + " ns";
+        }
+        if (nanos < TimeUnit.MILLISECONDS.toNanos(1)) {
+            return String.format(Locale.ENGLISH, "%.1f us", nanos / 1e3);
+        }
+        return String.format(Locale.ENGLISH, "%.1f ms", nanos / 1e6);
+    }
+
+}
@@ -14,7 +14,6 @@ package org.quickperf.sql.time;
 import java.util.concurrent.TimeUnit;
 
 import org.quickperf.ExtractablePerformanceMeasure;
-import org.quickperf.sql.SqlExecution;
 import org.quickperf.sql.SqlExecutions;
 
 public class SqlQueryExecutionTimeExtractor implements ExtractablePerformanceMeasure<SqlExecutions, ExecutionTime> {
@@ -25,20 +24,8 @@ public class SqlQueryExecutionTimeExtractor implements ExtractablePerformanceMea
 
 	@Override
 	public ExecutionTime extractPerfMeasureFrom(SqlExecutions perfRecord) {
-		
-		long maxExecutionTime = 0;
-		
-		for (SqlExecution execution : perfRecord) {
-
-			long executionTime = execution.getElapsedTime();
-
-			if(executionTime > maxExecutionTime) {
-				maxExecutionTime = executionTime;
-			}
-
-		}
-		
-		return new ExecutionTime(maxExecutionTime, TimeUnit.MILLISECONDS);
+		LatencyHistogram latencyHistogram = perfRecord.getLatencyHistogram();
+		return new ExecutionTime(latencyHistogram.getMaxInNanos(), TimeUnit.NANOSECONDS, latencyHistogram);
 	}
 
 }
@@ -15,6 +15,8 @@ import org.quickperf.issue.PerfIssue;
 import org.quickperf.issue.VerifiablePerformanceIssue;
 import org.quickperf.sql.annotation.ExpectMaxQueryExecutionTime;
 
+import java.util.concurrent.TimeUnit;
+
 public class SqlQueryMaxExecutionTimeVerifier implements VerifiablePerformanceIssue<ExpectMaxQueryExecutionTime, ExecutionTime> {
 	
 	public static final SqlQueryMaxExecutionTimeVerifier INSTANCE = new SqlQueryMaxExecutionTimeVerifier();
@@ -24,17 +26,50 @@ public class SqlQueryMaxExecutionTimeVerifier implements VerifiablePerformanceIs
 	@Override
 	public PerfIssue verifyPerfIssue(ExpectMaxQueryExecutionTime annotation, ExecutionTime measure) {
 		
+		LatencyHistogram.checkPercentile(annotation.percentile());
+		
 		ExecutionTime maxExpectedSqlExecutionTime = new ExecutionTime(annotation.value(), annotation.unit());
 		
+		LatencyHistogram latencyHistogram = measure.getLatencyHistogram();
+		
+		if(annotation.percentile() < 100 && latencyHistogram != null) {
+			return verifyPercentile(annotation.percentile(), latencyHistogram, maxExpectedSqlExecutionTime);
+		}
+		
 		if(measure.isGreaterThan(maxExpectedSqlExecutionTime)) {
 
 			String message = "At least one request exceeds the max expected query execution time <" + maxExpectedSqlExecutionTime + ">.";
 
-			return new PerfIssue(message);
+			return new PerfIssue(message + formatDistribution(latencyHistogram));
+
+		}
+		
+		return PerfIssue.NONE;
+	}
+
+	private PerfIssue verifyPercentile(double percentile, LatencyHistogram latencyHistogram, ExecutionTime maxExpectedSqlExecutionTime) {
+		
+		long timeAtPercentileInNanos = latencyHistogram.getValueAtPercentileInNanos(percentile);
+		ExecutionTime timeAtPercentile = new ExecutionTime(timeAtPercentileInNanos, TimeUnit.NANOSECONDS);
+		
+		if(timeAtPercentile.isGreaterThan(maxExpectedSqlExecutionTime)) {
+
+			String message = "The p" + LatencyHistogram.formatPercentile(percentile) + " query execution time"
+			               + " <" + LatencyHistogram.format(timeAtPercentileInNanos) + ">"
+			               + " exceeds the max expected query execution time <" + maxExpectedSqlExecutionTime + ">.";
+
+			return new PerfIssue(message + formatDistribution(latencyHistogram));
 
 		}
 		
 		return PerfIssue.NONE;
 	}
 
+	private String formatDistribution(LatencyHistogram latencyHistogram) {
+		if(latencyHistogram == null) {
+			return "";
+		}
+		return System.lineSeparator() + "Query execution times: " + latencyHistogram;
+	}
+
 }
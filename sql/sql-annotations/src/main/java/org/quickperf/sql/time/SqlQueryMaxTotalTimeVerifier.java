@@ -0,0 +1,59 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.time;
+
+import org.quickperf.issue.PerfIssue;
+import org.quickperf.issue.VerifiablePerformanceIssue;
+import org.quickperf.sql.annotation.ExpectMaxTotalQueryTime;
+
+import java.util.Locale;
+
+public class SqlQueryMaxTotalTimeVerifier implements VerifiablePerformanceIssue<ExpectMaxTotalQueryTime, TotalQueryTime> {
+
+    public static final SqlQueryMaxTotalTimeVerifier INSTANCE = new SqlQueryMaxTotalTimeVerifier();
+
+    private SqlQueryMaxTotalTimeVerifier() {}
+
+    @Override
+    public PerfIssue verifyPerfIssue(ExpectMaxTotalQueryTime annotation, TotalQueryTime totalQueryTime) {
+
+        long maxExpectedTimeInNanos = annotation.unit().toNanos(annotation.value());
+
+        if (totalQueryTime.getValue() > maxExpectedTimeInNanos) {
+
+            String description = "You may think that the queries were executed in at most <"
+                               + LatencyHistogram.format(maxExpectedTimeInNanos) + ">"
+                               + System.lineSeparator()
+                               + "       " + "But in fact <" + totalQueryTime + "> for <"
+                               + totalQueryTime.getExecutionCount() + "> executions..."
+                               + formatJdbcShare(totalQueryTime);
+
+            return new PerfIssue(description);
+
+        }
+
+        return PerfIssue.NONE;
+
+    }
+
+    private String formatJdbcShare(TotalQueryTime totalQueryTime) {
+        double jdbcShare = totalQueryTime.getJdbcShareOfTestDuration();
+        if (jdbcShare < 0) {
+            return "";
+        }
+        return System.lineSeparator()
+             + System.lineSeparator()
+             + "The test spent " + String.format(Locale.ENGLISH, "%.1f", jdbcShare) + "% of its <"
+             + LatencyHistogram.format(totalQueryTime.getRecordingDurationInNanos()) + "> in JDBC.";
+    }
+
+}
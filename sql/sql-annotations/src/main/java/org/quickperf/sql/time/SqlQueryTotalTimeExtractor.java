@@ -9,23 +9,24 @@
  * Copyright 2019-2020 the original author or authors.
  */
 
-package org.quickperf.sql.select;
+package org.quickperf.sql.time;
 
-import net.ttddyy.dsproxy.QueryType;
 import org.quickperf.ExtractablePerformanceMeasure;
 import org.quickperf.sql.SqlExecutions;
-import org.quickperf.unit.Count;
 
-public class SelectCountMeasureExtractor implements ExtractablePerformanceMeasure<SqlExecutions, Count> {
+public class SqlQueryTotalTimeExtractor implements ExtractablePerformanceMeasure<SqlExecutions, TotalQueryTime> {
 
-    public static final SelectCountMeasureExtractor INSTANCE = new SelectCountMeasureExtractor();
+    public static final SqlQueryTotalTimeExtractor INSTANCE = new SqlQueryTotalTimeExtractor();
 
-    private SelectCountMeasureExtractor() {}
+    private SqlQueryTotalTimeExtractor() {}
 
     @Override
-    public Count extractPerfMeasureFrom(SqlExecutions sqlExecutions) {
-        long selectCount = sqlExecutions.retrieveQueryNumberOfType(QueryType.SELECT);
-        return new Count(selectCount);
+    public TotalQueryTime extractPerfMeasureFrom(SqlExecutions sqlExecutions) {
+        LatencyHistogram latencyHistogram = sqlExecutions.getLatencyHistogram();
+        return new TotalQueryTime(latencyHistogram.getTotalInNanos()
+                                , latencyHistogram.getCount()
+                                , sqlExecutions.getJdbcTimeInNanos()
+                                , sqlExecutions.getRecordingDurationInNanos());
     }
 
 }
@@ -0,0 +1,88 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.time;
+
+import org.quickperf.measure.AbstractComparablePerfMeasure;
+
+import java.util.concurrent.TimeUnit;
+
+public class TotalQueryTime extends AbstractComparablePerfMeasure<TotalQueryTime> {
+
+    private static final String NO_COMMENT = "";
+
+    private final long totalTimeInNanos;
+
+    private final long executionCount;
+
+    private final long jdbcTimeInNanos;
+
+    private final long recordingDurationInNanos;
+
+    /**
+     * @param jdbcTimeInNanos time during which at least one query was executed
+     * @param recordingDurationInNanos duration of the test, 0 if unknown
+     */
+    public TotalQueryTime(long totalTimeInNanos, long executionCount, long jdbcTimeInNanos, long recordingDurationInNanos) {
+        this.totalTimeInNanos = totalTimeInNanos;
+        this.executionCount = executionCount;
+        this.jdbcTimeInNanos = jdbcTimeInNanos;
+        this.recordingDurationInNanos = recordingDurationInNanos;
+    }
+
+    @Override
+    public Long getValue() {
+        return totalTimeInNanos;
+    }
+
+    @Override
+    public TimeUnit getUnit() {
+        return TimeUnit.NANOSECONDS;
+    }
+
+    @Override
+    public String getComment() {
+        return NO_COMMENT;
+    }
+
+    public long getExecutionCount() {
+        return executionCount;
+    }
+
+    public long getJdbcTimeInNanos() {
+        return jdbcTimeInNanos;
+    }
+
+    public long getRecordingDurationInNanos() {
+        return recordingDurationInNanos;
+    }
+
+    /**
+     * @return the percentage of the test duration spent in JDBC, -1 if the test duration is unknown
+     */
+    public double getJdbcShareOfTestDuration() {
+        if (recordingDurationInNanos <= 0) {
+            return -1;
+        }
+        return Math.min(100, 100. * jdbcTimeInNanos / recordingDurationInNanos);
+    }
+
+    @Override
+    public int compareTo(TotalQueryTime otherTotalQueryTime) {
+        return Long.compare(totalTimeInNanos, otherTotalQueryTime.totalTimeInNanos);
+    }
+
+    @Override
+    public String toString() {
+        return LatencyHistogram.format(totalTimeInNanos);
+    }
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.sql;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LruCacheTest {
+
+    @Test public void
+    should_evict_the_least_recently_used_entry_beyond_the_capacity() {
+
+        // GIVEN
+        LruCache<String, Integer> lruCache = new LruCache<>(2);
+        lruCache.put("a", 1);
+        lruCache.put("b", 2);
+        lruCache.get("a");
+
+        // WHEN
+        lruCache.put("c", 3);
+
+        // THEN
+        assertThat(lruCache.size()).isEqualTo(2);
+        assertThat(lruCache.get("a")).isEqualTo(1);
+        assertThat(lruCache.get("b")).isNull();
+        assertThat(lruCache.get("c")).isEqualTo(3);
+
+    }
+
+}
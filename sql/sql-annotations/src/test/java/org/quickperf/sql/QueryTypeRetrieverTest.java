@@ -0,0 +1,68 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.sql;
+
+import net.ttddyy.dsproxy.QueryType;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QueryTypeRetrieverTest {
+
+    @Test public void
+    should_retrieve_the_type_of_a_query_preceded_by_a_comment() {
+
+        // GIVEN
+        String sql = "/* load books */ SELECT * FROM Book";
+
+        // WHEN
+        QueryType firstType = QueryTypeRetriever.INSTANCE.typeOf(sql);
+        QueryType typeFromCache = QueryTypeRetriever.INSTANCE.typeOf(sql);
+
+        // THEN
+        assertThat(firstType).isEqualTo(QueryType.SELECT);
+        assertThat(typeFromCache).isEqualTo(QueryType.SELECT);
+
+    }
+
+    @Test public void
+    should_retrieve_other_type_for_drop() {
+
+        // WHEN
+        QueryType queryType = QueryTypeRetriever.INSTANCE.typeOf("drop table Book");
+
+        // THEN
+        assertThat(queryType).isEqualTo(QueryType.OTHER);
+
+    }
+
+    @Test public void
+    should_retrieve_the_type_of_queries_evicted_from_the_cache() {
+
+        // GIVEN
+        QueryTypeRetriever.INSTANCE.typeOf("INSERT INTO Book VALUES (1)");
+        for (int i = 0; i < QueryTypeRetriever.MAX_CACHED_QUERIES; i++) {
+            QueryTypeRetriever.INSTANCE.typeOf("DELETE FROM Book WHERE id = " + i);
+        }
+
+        // WHEN
+        QueryType evictedQueryType = QueryTypeRetriever.INSTANCE.typeOf("INSERT INTO Book VALUES (1)");
+        QueryType queryTypeAfterTheCacheIsFull = QueryTypeRetriever.INSTANCE.typeOf("UPDATE Book SET isbn = ?");
+
+        // THEN
+        assertThat(evictedQueryType).isEqualTo(QueryType.INSERT);
+        assertThat(queryTypeAfterTheCacheIsFull).isEqualTo(QueryType.UPDATE);
+
+    }
+
+}
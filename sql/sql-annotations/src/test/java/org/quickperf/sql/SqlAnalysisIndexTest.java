@@ -0,0 +1,321 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.Test;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SqlAnalysisIndexTest {
+
+    @Test public void
+    should_count_queries_by_type_and_updated_columns_in_one_pass() throws SQLException {
+
+        // GIVEN
+        SqlExecutions sqlExecutions = new SqlExecutions();
+        sqlExecutions.add(anExecution(), asList(query("SELECT * FROM Book")
+                                              , query("SELECT * FROM Book")
+                                              , query("UPDATE Book SET isbn = ?, title = '1 = 1' WHERE id = ?")
+                                              , query("INSERT INTO Book VALUES (1)")));
+
+        // WHEN
+        SqlAnalysisIndex analysisIndex = sqlExecutions.getAnalysisIndex();
+
+        // THEN
+        assertThat(analysisIndex.getQueryNumberOfType(QueryType.SELECT)).isEqualTo(2);
+        assertThat(analysisIndex.getQueryNumberOfType(QueryType.UPDATE)).isEqualTo(1);
+        assertThat(analysisIndex.getQueryNumberOfType(QueryType.INSERT)).isEqualTo(1);
+        assertThat(analysisIndex.getQueryNumberOfType(QueryType.DELETE)).isZero();
+        assertThat(analysisIndex.getUpdatedColumnsStatistics().getMax()).isEqualTo(2);
+        assertThat(analysisIndex.hasExactlySameSelect()).isTrue();
+        assertThat(analysisIndex.hasSameSelectWithDifferentParams()).isFalse();
+
+    }
+
+    @Test public void
+    should_analyse_the_select_statements_only_when_requested() throws SQLException {
+
+        // GIVEN
+        QueryInfo select = query("SELECT * FROM Book WHERE id = ?");
+        SqlExecutions sqlExecutions = new SqlExecutions();
+        sqlExecutions.add(anExecution(), asList(select, select));
+
+        // WHEN
+        SqlAnalysisIndex analysisIndex = sqlExecutions.getAnalysisIndex();
+        long selectNumber = analysisIndex.getQueryNumberOfType(QueryType.SELECT);
+        verify(select, never()).getParametersList();
+        boolean exactlySameSelect = analysisIndex.hasExactlySameSelect();
+
+        // THEN
+        assertThat(selectNumber).isEqualTo(2);
+        assertThat(exactlySameSelect).isTrue();
+        verify(select, times(2)).getParametersList();
+
+    }
+
+    @Test public void
+    should_analyse_the_sql_texts_of_executions_not_kept_in_memory() throws SQLException {
+
+        // GIVEN
+        SqlExecutions sqlExecutions = SqlExecutions.keepingOnlyLast(1);
+        sqlExecutions.add(anExecution(), asList(query("SELECT * FROM Book CROSS JOIN Author")));
+        for (int id = 0; id < 2000; id++) {
+            sqlExecutions.add(anExecution(), asList(query("SELECT * FROM Book WHERE id = " + id)
+                                                  , query("UPDATE Book SET isbn = ?, title = ? WHERE id = ?")));
+        }
+
+        // WHEN
+        SqlAnalysisIndex analysisIndex = sqlExecutions.getAnalysisIndex();
+
+        // THEN
+        assertThat(analysisIndex.hasCrossJoin()).isTrue();
+        assertThat(analysisIndex.getUpdatedColumnsStatistics().getMax()).isEqualTo(2);
+        List<SqlFingerprintStatistics> fingerprintHistogram = analysisIndex.getFingerprintHistogram();
+        assertThat(fingerprintHistogram).hasSize(3);
+        assertThat(fingerprintHistogram.get(0).getCount()).isEqualTo(2000);
+        assertThat(fingerprintHistogram.get(1).getCount()).isEqualTo(2000);
+        assertThat(analysisIndex.getMostExecutedFingerprintOfType(QueryType.SELECT).getFingerprint())
+                .isEqualTo("select * from book where id = ?");
+
+    }
+
+    @Test public void
+    should_build_the_index_once_until_an_execution_is_added() throws SQLException {
+
+        // GIVEN
+        SqlExecutions sqlExecutions = new SqlExecutions();
+        sqlExecutions.add(anExecution(), asList(query("SELECT * FROM Book")));
+        SqlAnalysisIndex firstIndex = sqlExecutions.getAnalysisIndex();
+
+        // WHEN
+        SqlAnalysisIndex indexBeforeAdd = sqlExecutions.getAnalysisIndex();
+        sqlExecutions.add(anExecution(), asList(query("DELETE FROM Book")));
+        SqlAnalysisIndex indexAfterAdd = sqlExecutions.getAnalysisIndex();
+
+        // THEN
+        assertThat(indexBeforeAdd).isSameAs(firstIndex);
+        assertThat(indexAfterAdd).isNotSameAs(firstIndex);
+        assertThat(indexAfterAdd.getQueryNumberOfType(QueryType.DELETE)).isEqualTo(1);
+
+    }
+
+    @Test public void
+    should_find_queries_to_avoid_and_max_elapsed_time() throws SQLException {
+
+        // GIVEN
+        SqlExecutions sqlExecutions = new SqlExecutions();
+        ExecutionInfo slowExecution = anExecution();
+        when(slowExecution.getElapsedTime()).thenReturn(30L);
+        sqlExecutions.add(slowExecution, asList(query("SELECT * FROM Book b CROSS JOIN Author a")));
+        sqlExecutions.add(anExecution(), asList(query("SELECT * FROM Book WHERE title LIKE '%Java'")));
+
+        // WHEN
+        SqlAnalysisIndex analysisIndex = sqlExecutions.getAnalysisIndex();
+
+        // THEN
+        assertThat(analysisIndex.getMaxElapsedTime()).isEqualTo(30);
+        assertThat(analysisIndex.hasCrossJoin()).isTrue();
+        assertThat(analysisIndex.hasLikeWithLeadingWildcard()).isTrue();
+        assertThat(analysisIndex.hasQueryWithUnboundParameters()).isTrue();
+
+    }
+
+    @Test public void
+    should_count_the_executions_and_the_distinct_params_of_each_repeated_select() throws SQLException {
+
+        // GIVEN
+        SqlExecutions sqlExecutions = new SqlExecutions();
+        String selectById = "SELECT * FROM Book WHERE id = ?";
+        for (int id = 1; id <= 3; id++) {
+            ExecutionInfo execution = anExecution();
+            when(execution.getElapsedTime()).thenReturn(2L);
+            sqlExecutions.add(execution, asList(query(selectById, id)));
+        }
+        sqlExecutions.add(anExecution(), asList(query(selectById, 1)));
+        sqlExecutions.add(anExecution(), asList(query("SELECT * FROM Author WHERE id = ?", 1)));
+
+        // WHEN
+        List<RepeatedSelect> repeatedSelects = sqlExecutions.getAnalysisIndex().getRepeatedSelects();
+
+        // THEN
+        assertThat(repeatedSelects).hasSize(1);
+        RepeatedSelect repeatedSelect = repeatedSelects.get(0);
+        assertThat(repeatedSelect.getSql()).isEqualTo(selectById);
+        assertThat(repeatedSelect.getExecutionCount()).isEqualTo(4);
+        assertThat(repeatedSelect.getDistinctParamsCount()).isEqualTo(3);
+        assertThat(repeatedSelect.getElapsedTimeInMs()).isEqualTo(6);
+        assertThat(repeatedSelect.hasExactlySameExecutions()).isTrue();
+        assertThat(repeatedSelect.hasDifferentParams()).isTrue();
+
+    }
+
+    @Test public void
+    should_add_once_the_elapsed_time_of_a_batch_to_the_time_of_a_repeated_select() throws SQLException {
+
+        // GIVEN
+        SqlExecutions sqlExecutions = new SqlExecutions();
+        String selectById = "SELECT * FROM Book WHERE id = ?";
+        ExecutionInfo batchExecution = anExecution();
+        when(batchExecution.getElapsedTime()).thenReturn(5L);
+        sqlExecutions.add(batchExecution, asList(query(selectById, 1), query(selectById, 2), query(selectById, 3)));
+
+        // WHEN
+        List<RepeatedSelect> repeatedSelects = sqlExecutions.getAnalysisIndex().getRepeatedSelects();
+
+        // THEN
+        RepeatedSelect repeatedSelect = repeatedSelects.get(0);
+        assertThat(repeatedSelect.getExecutionCount()).isEqualTo(3);
+        assertThat(repeatedSelect.getElapsedTimeInMs()).isEqualTo(5);
+
+    }
+
+    @Test public void
+    should_keep_a_bounded_number_of_distinct_params_of_a_repeated_select() throws SQLException {
+
+        // GIVEN
+        SqlExecutions sqlExecutions = new SqlExecutions();
+        String selectById = "SELECT * FROM Book WHERE id = ?";
+        int numberOfDistinctParams = RepeatedSelect.MAX_KEPT_DISTINCT_PARAMS + 10;
+        for (int id = 1; id <= numberOfDistinctParams; id++) {
+            sqlExecutions.add(anExecution(), asList(query(selectById, id)));
+        }
+        sqlExecutions.add(anExecution(), asList(query(selectById, 1)));
+
+        // WHEN
+        SqlAnalysisIndex analysisIndex = sqlExecutions.getAnalysisIndex();
+
+        // THEN
+        RepeatedSelect repeatedSelect = analysisIndex.getRepeatedSelects().get(0);
+        assertThat(repeatedSelect.getDistinctParamsCount()).isEqualTo(numberOfDistinctParams);
+        assertThat(repeatedSelect.distinctParamsCountIsMinimum()).isTrue();
+        assertThat(repeatedSelect.toString()).contains("at least " + numberOfDistinctParams);
+        assertThat(analysisIndex.hasExactlySameSelect()).isTrue();
+
+    }
+
+    @Test public void
+    should_count_once_the_time_of_concurrent_executions_in_the_jdbc_time() throws InterruptedException {
+
+        // GIVEN
+        ExecutionInfo firstExecution = new ExecutionInfo();
+        ExecutionInfo secondExecution = new ExecutionInfo();
+        SqlExecution.keepStartTime(firstExecution);
+        Thread.sleep(2);
+        SqlExecution.keepStartTime(secondExecution);
+        Thread.sleep(2);
+        SqlExecution.keepEndTime(firstExecution);
+        Thread.sleep(2);
+        SqlExecution.keepEndTime(secondExecution);
+
+        SqlExecutions sqlExecutions = new SqlExecutions();
+        sqlExecutions.add(firstExecution, asList(query("INSERT INTO Book VALUES (1)")));
+        sqlExecutions.add(secondExecution, asList(query("INSERT INTO Book VALUES (2)")));
+
+        // WHEN
+        SqlAnalysisIndex analysisIndex = sqlExecutions.getAnalysisIndex();
+
+        // THEN
+        long totalTimeInNanos = analysisIndex.getLatencyHistogram().getTotalInNanos();
+        long maxTimeInNanos = analysisIndex.getLatencyHistogram().getMaxInNanos();
+        assertThat(maxTimeInNanos).isGreaterThanOrEqualTo(4_000_000L);
+        assertThat(analysisIndex.getJdbcTimeInNanos()).isGreaterThan(maxTimeInNanos)
+                                                      .isLessThan(totalTimeInNanos);
+
+    }
+
+    @Test public void
+    should_count_once_the_time_of_an_execution_completed_before_an_overlapping_execution_started_earlier() {
+
+        // GIVEN
+        SqlExecutions sqlExecutions = new SqlExecutions();
+        sqlExecutions.add(anExecutionBetween(2, 5), asList(query("INSERT INTO Book VALUES (2)")));
+        sqlExecutions.add(anExecutionBetween(0, 10), asList(query("INSERT INTO Book VALUES (1)")));
+        sqlExecutions.add(anExecutionBetween(12, 14), asList(query("INSERT INTO Book VALUES (3)")));
+
+        // WHEN
+        SqlAnalysisIndex analysisIndex = sqlExecutions.getAnalysisIndex();
+
+        // THEN
+        assertThat(analysisIndex.getJdbcTimeInNanos()).isEqualTo(12);
+
+    }
+
+    @Test public void
+    should_merge_the_overlapping_executions_of_many_executions_completed_in_any_order() {
+
+        // GIVEN
+        SqlExecutions sqlExecutions = new SqlExecutions();
+        for (int i = 999; i >= 0; i--) {
+            // [0, 20], [10, 30], ... [9990, 10010]
+            sqlExecutions.add(anExecutionBetween(10 * i, 10 * i + 20), asList(query("INSERT INTO Book VALUES (1)")));
+        }
+        sqlExecutions.add(anExecutionBetween(20_000, 20_005), asList(query("INSERT INTO Book VALUES (1)")));
+
+        // WHEN
+        SqlAnalysisIndex analysisIndex = sqlExecutions.getAnalysisIndex();
+
+        // THEN
+        assertThat(analysisIndex.getJdbcTimeInNanos()).isEqualTo(10_015);
+
+    }
+
+    private ExecutionInfo anExecutionBetween(long startNanoTime, long endNanoTime) {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.addCustomValue("quickPerfStartNanoTime", startNanoTime);
+        executionInfo.addCustomValue("quickPerfEndNanoTime", endNanoTime);
+        return executionInfo;
+    }
+
+    private QueryInfo query(String sql, Object param) {
+        QueryInfo queryInfo = mock(QueryInfo.class);
+        when(queryInfo.getQuery()).thenReturn(sql);
+        ParameterSetOperation parameterSetOperation = new ParameterSetOperation(null, new Object[] {1, param});
+        List<List<ParameterSetOperation>> parametersList = singletonList(singletonList(parameterSetOperation));
+        when(queryInfo.getParametersList()).thenReturn(parametersList);
+        return queryInfo;
+    }
+
+    private QueryInfo query(String sql) {
+        QueryInfo queryInfo = mock(QueryInfo.class);
+        when(queryInfo.getQuery()).thenReturn(sql);
+        List<List<ParameterSetOperation>> noParameterList = emptyList();
+        when(queryInfo.getParametersList()).thenReturn(noParameterList);
+        return queryInfo;
+    }
+
+    private ExecutionInfo anExecution() throws SQLException {
+        ExecutionInfo execInfo = mock(ExecutionInfo.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(execInfo.getResult()).thenReturn(resultSet);
+        when(resultSet.getMetaData()).thenReturn(mock(ResultSetMetaData.class));
+        return execInfo;
+    }
+
+}
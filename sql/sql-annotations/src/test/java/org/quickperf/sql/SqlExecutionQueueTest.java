@@ -0,0 +1,265 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.StatementType;
+import org.junit.Test;
+import org.quickperf.TestExecutionContext;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SqlExecutionQueueTest {
+
+    @Test public void
+    should_record_the_enqueued_executions_before_the_end_of_the_wait() {
+
+        // GIVEN
+        SqlExecutionQueue sqlExecutionQueue = new SqlExecutionQueue();
+        SqlExecutionsRecorder sqlRecorder = new SqlExecutionsRecorder();
+
+        // WHEN
+        for (int i = 0; i < 3 * SqlExecutionQueue.CAPACITY; i++) {
+            sqlExecutionQueue.enqueue(new SqlRecorder[] {sqlRecorder}, anExecution(i), anInsert(), 0);
+        }
+        sqlExecutionQueue.awaitRecordingOfEnqueuedExecutions(sqlRecorder);
+
+        // THEN
+        SqlExecutions sqlExecutions = sqlRecorder.findRecord(null);
+        assertThat(sqlExecutions.getNumberOfExecutionsInMemory()).isEqualTo(3 * SqlExecutionQueue.CAPACITY);
+        assertThat(sqlExecutions.getMaxElapsedTime()).isEqualTo(3 * SqlExecutionQueue.CAPACITY - 1);
+
+    }
+
+    @Test public void
+    should_throw_the_recorder_failure_at_the_end_of_the_wait() {
+
+        // GIVEN
+        SqlExecutionQueue sqlExecutionQueue = new SqlExecutionQueue();
+        SqlExecutionsRecorder sqlRecorder = new SqlExecutionsRecorder();
+        FailingRecorder failingRecorder = new FailingRecorder();
+
+        // WHEN
+        sqlExecutionQueue.enqueue(new SqlRecorder[] {failingRecorder, sqlRecorder}, anExecution(1), anInsert(), 0);
+        Throwable failure = catchThrowable(failingRecorder, sqlExecutionQueue);
+
+        // THEN
+        assertThat(failure).isInstanceOf(IllegalStateException.class)
+                           .hasCauseInstanceOf(UnsupportedOperationException.class);
+        sqlExecutionQueue.awaitRecordingOfEnqueuedExecutions(sqlRecorder);
+        assertThat(sqlRecorder.findRecord(null).getNumberOfExecutionsInMemory()).isEqualTo(1);
+        assertThat(catchThrowable(failingRecorder, sqlExecutionQueue)).isNull();
+
+    }
+
+    @Test public void
+    should_keep_recording_after_an_error_of_a_recorder() {
+
+        // GIVEN
+        SqlExecutionQueue sqlExecutionQueue = new SqlExecutionQueue();
+        SqlExecutionsRecorder sqlRecorder = new SqlExecutionsRecorder();
+        RecorderThrowingAnError recorderThrowingAnError = new RecorderThrowingAnError();
+
+        // WHEN
+        sqlExecutionQueue.enqueue(new SqlRecorder[] {recorderThrowingAnError}, anExecution(1), anInsert(), 0);
+        Throwable failure = catchThrowable(recorderThrowingAnError, sqlExecutionQueue);
+        sqlExecutionQueue.enqueue(new SqlRecorder[] {sqlRecorder}, anExecution(2), anInsert(), 0);
+        sqlExecutionQueue.awaitRecordingOfEnqueuedExecutions(sqlRecorder);
+
+        // THEN
+        assertThat(failure).isInstanceOf(IllegalStateException.class)
+                           .hasCauseInstanceOf(AssertionError.class);
+        assertThat(sqlRecorder.findRecord(null).getNumberOfExecutionsInMemory()).isEqualTo(1);
+
+    }
+
+    @Test public void
+    should_stop_waiting_for_executions_not_recorded_in_time() {
+
+        // GIVEN
+        long maxAwaitingTimeInNs = TimeUnit.MILLISECONDS.toNanos(100);
+        SqlExecutionQueue sqlExecutionQueue = new SqlExecutionQueue(maxAwaitingTimeInNs);
+        BlockedRecorder blockedRecorder = new BlockedRecorder();
+        sqlExecutionQueue.enqueue(new SqlRecorder[] {blockedRecorder}, anExecution(1), anInsert(), 0);
+
+        try {
+
+            // WHEN
+            Throwable failure = catchThrowable(blockedRecorder, sqlExecutionQueue);
+
+            // THEN
+            assertThat(failure).isInstanceOf(IllegalStateException.class)
+                               .hasMessage("The SQL executions were not recorded with BlockedRecorder after 100 ms, "
+                                         + "1 executions remain to be recorded");
+
+        } finally {
+            blockedRecorder.release();
+        }
+
+    }
+
+    @Test public void
+    should_not_exceed_the_capacity_with_concurrent_enqueues() throws InterruptedException {
+
+        // GIVEN
+        final SqlExecutionQueue sqlExecutionQueue = new SqlExecutionQueue();
+        final SqlExecutionsRecorder sqlRecorder = new SqlExecutionsRecorder();
+        final int executionsPerThread = SqlExecutionQueue.CAPACITY;
+        final AtomicInteger maxSize = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+
+        // WHEN
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < executionsPerThread; j++) {
+                        sqlExecutionQueue.enqueue(new SqlRecorder[] {sqlRecorder}, anExecution(j), anInsert(), 0);
+                        int size = sqlExecutionQueue.size();
+                        if (size > maxSize.get()) {
+                            maxSize.set(size);
+                        }
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        sqlExecutionQueue.awaitRecordingOfEnqueuedExecutions(sqlRecorder);
+
+        // THEN
+        assertThat(sqlRecorder.findRecord(null).getNumberOfExecutionsInMemory())
+                .isEqualTo(threads.length * executionsPerThread);
+        assertThat(maxSize.get()).isLessThanOrEqualTo(SqlExecutionQueue.CAPACITY);
+
+    }
+
+    private static Throwable catchThrowable(SqlRecorder sqlRecorder, SqlExecutionQueue sqlExecutionQueue) {
+        try {
+            sqlExecutionQueue.awaitRecordingOfEnqueuedExecutions(sqlRecorder);
+            return null;
+        } catch (IllegalStateException e) {
+            return e;
+        }
+    }
+
+    @Test public void
+    should_keep_the_number_of_returned_columns_before_the_result_set_is_closed() throws SQLException {
+
+        // GIVEN
+        ExecutionInfo executionInfo = anExecution(1);
+        ResultSet resultSet = mock(ResultSet.class);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(3);
+        executionInfo.setResult(resultSet);
+        List<QueryInfo> select = Collections.singletonList(new QueryInfo("SELECT * FROM book"));
+
+        // WHEN
+        SqlExecution.keepNumberOfReturnedColumns(executionInfo, select);
+        when(resultSet.getMetaData()).thenThrow(new SQLException("Result set closed"));
+
+        // THEN
+        SqlExecution sqlExecution = new SqlExecution(executionInfo, select);
+        assertThat(sqlExecution.getColumnCount()).isEqualTo(3);
+
+    }
+
+    private static class SqlExecutionsRecorder implements SqlRecorder<SqlExecutions> {
+
+        private final SqlExecutions sqlExecutions = new SqlExecutions();
+
+        @Override
+        public void addQueryExecution(ExecutionInfo execInfo, List<QueryInfo> queries, int listenerIdentifier) {
+            sqlExecutions.add(execInfo, queries);
+        }
+
+        @Override
+        public void startRecording(TestExecutionContext testExecutionContext) { }
+
+        @Override
+        public void stopRecording(TestExecutionContext testExecutionContext) { }
+
+        @Override
+        public SqlExecutions findRecord(TestExecutionContext testExecutionContext) {
+            return sqlExecutions;
+        }
+
+        @Override
+        public void cleanResources() { }
+
+    }
+
+    private static class FailingRecorder extends SqlExecutionsRecorder {
+
+        @Override
+        public void addQueryExecution(ExecutionInfo execInfo, List<QueryInfo> queries, int listenerIdentifier) {
+            throw new UnsupportedOperationException("Recording failure");
+        }
+
+    }
+
+    private static class RecorderThrowingAnError extends SqlExecutionsRecorder {
+
+        @Override
+        public void addQueryExecution(ExecutionInfo execInfo, List<QueryInfo> queries, int listenerIdentifier) {
+            throw new AssertionError("Recording error");
+        }
+
+    }
+
+    private static class BlockedRecorder extends SqlExecutionsRecorder {
+
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        @Override
+        public void addQueryExecution(ExecutionInfo execInfo, List<QueryInfo> queries, int listenerIdentifier) {
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        void release() {
+            released.countDown();
+        }
+
+    }
+
+    private ExecutionInfo anExecution(long elapsedTime) {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setStatementType(StatementType.STATEMENT);
+        executionInfo.setElapsedTime(elapsedTime);
+        return executionInfo;
+    }
+
+    private List<QueryInfo> anInsert() {
+        return Collections.singletonList(new QueryInfo("INSERT INTO book (id) VALUES (1)"));
+    }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SqlFingerprintTest {
+
+    @Test public void
+    should_give_the_same_fingerprint_to_statements_only_differing_by_their_literals() {
+
+        // GIVEN
+        String select1 = "SELECT * FROM Book b1_0 WHERE b1_0.id = 1 AND b1_0.title = 'Java'";
+        String select2 = "select *  from Book b1_0\n where b1_0.id=22 and b1_0.title='It''s Java'";
+
+        // WHEN
+        String fingerprint1 = SqlFingerprint.INSTANCE.of(select1);
+        String fingerprint2 = SqlFingerprint.INSTANCE.of(select2);
+
+        // THEN
+        assertThat(fingerprint1).isEqualTo("select * from book b1_0 where b1_0.id = ? and b1_0.title = ?");
+        assertThat(fingerprint2).isEqualTo("select * from book b1_0 where b1_0.id=? and b1_0.title=?");
+
+    }
+
+    @Test public void
+    should_give_the_same_fingerprint_to_in_lists_of_different_lengths() {
+
+        // GIVEN
+        String select1 = "SELECT * FROM Book WHERE id IN (1, 2, 3)";
+        String select2 = "SELECT * FROM Book WHERE id in( ?,? )";
+
+        // WHEN
+        String fingerprint1 = SqlFingerprint.INSTANCE.of(select1);
+        String fingerprint2 = SqlFingerprint.INSTANCE.of(select2);
+
+        // THEN
+        assertThat(fingerprint1).isEqualTo("select * from book where id in (?)")
+                                .isEqualTo(fingerprint2);
+
+    }
+
+}
@@ -0,0 +1,221 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.sql;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class SqlRecorderRegistryTest {
+
+    private final SqlRecorderRegistry registry = new SqlRecorderRegistry(false);
+
+    private final SqlRecorderRegistry registryOfPooledThreads = new SqlRecorderRegistry(true);
+
+    @Test public void
+    should_be_recording_only_while_a_sql_recorder_is_registered() {
+
+        // GIVEN
+        SqlRecorder sqlRecorder = mock(SqlRecorder.class);
+        boolean recordingBeforeRegistration = registry.isRecordingActive();
+
+        // WHEN
+        registry.register(sqlRecorder);
+        boolean recordingAfterRegistration = registry.isRecordingActive();
+        registry.remove(sqlRecorder);
+
+        // THEN
+        assertThat(recordingBeforeRegistration).isFalse();
+        assertThat(recordingAfterRegistration).isTrue();
+        assertThat(registry.isRecordingActive()).isFalse();
+
+    }
+
+    @Test public void
+    should_give_executions_of_a_thread_started_by_the_test() throws Exception {
+
+        // GIVEN
+        SqlRecorder sqlRecorder = mock(SqlRecorder.class);
+        registry.register(sqlRecorder);
+
+        try {
+
+            // WHEN
+            ExecutorService threadStartedByTest = Executors.newSingleThreadExecutor();
+            SqlRecorder[] sqlRecordersOfStartedThread = threadStartedByTest.submit(findSqlRecorders(registry)).get();
+            threadStartedByTest.shutdown();
+
+            // THEN
+            assertThat(sqlRecordersOfStartedThread).containsExactly(sqlRecorder);
+
+        } finally {
+            registry.remove(sqlRecorder);
+        }
+
+    }
+
+    @Test public void
+    should_give_executions_of_a_thread_created_before_the_test_to_the_only_recording_test() throws Exception {
+
+        // GIVEN
+        ExecutorService threadCreatedBeforeTest = Executors.newSingleThreadExecutor();
+        threadCreatedBeforeTest.submit(new Runnable() { public void run() {} }).get();
+        SqlRecorder sqlRecorder = mock(SqlRecorder.class);
+        registry.register(sqlRecorder);
+
+        try {
+
+            // WHEN
+            SqlRecorder[] sqlRecordersOfPooledThread = threadCreatedBeforeTest.submit(findSqlRecorders(registry)).get();
+
+            // THEN
+            assertThat(sqlRecordersOfPooledThread).containsExactly(sqlRecorder);
+
+        } finally {
+            registry.remove(sqlRecorder);
+            threadCreatedBeforeTest.shutdown();
+        }
+
+    }
+
+    @Test public void
+    should_not_give_executions_of_a_pooled_thread_if_several_tests_are_recording() throws Exception {
+
+        // GIVEN
+        ExecutorService threadCreatedBeforeTests = Executors.newSingleThreadExecutor();
+        threadCreatedBeforeTests.submit(new Runnable() { public void run() {} }).get();
+        SqlRecorder sqlRecorder = mock(SqlRecorder.class);
+        SqlRecorder sqlRecorderOfOtherTest = mock(SqlRecorder.class);
+        OtherTest otherTest = new OtherTest(registry, sqlRecorderOfOtherTest);
+        registry.register(sqlRecorder);
+
+        try {
+            otherTest.startRecording();
+
+            // WHEN
+            SqlRecorder[] sqlRecordersOfPooledThread = threadCreatedBeforeTests.submit(findSqlRecorders(registry)).get();
+            SqlRecorder[] sqlRecordersOfTestThread = registry.getSqlRecordersOfCurrentThread();
+
+            // THEN
+            assertThat(sqlRecordersOfPooledThread).isEmpty();
+            assertThat(sqlRecordersOfTestThread).containsExactly(sqlRecorder);
+
+        } finally {
+            otherTest.stopRecording();
+            registry.remove(sqlRecorder);
+            threadCreatedBeforeTests.shutdown();
+        }
+
+    }
+
+    @Test public void
+    should_give_executions_of_a_pooled_thread_to_all_the_recording_tests_if_pooled_threads_are_recorded() throws Exception {
+
+        // GIVEN
+        ExecutorService threadCreatedBeforeTests = Executors.newSingleThreadExecutor();
+        threadCreatedBeforeTests.submit(new Runnable() { public void run() {} }).get();
+        SqlRecorder sqlRecorder = mock(SqlRecorder.class);
+        SqlRecorder sqlRecorderOfOtherTest = mock(SqlRecorder.class);
+        OtherTest otherTest = new OtherTest(registryOfPooledThreads, sqlRecorderOfOtherTest);
+        registryOfPooledThreads.register(sqlRecorder);
+
+        try {
+            otherTest.startRecording();
+
+            // WHEN
+            SqlRecorder[] sqlRecordersOfPooledThread = threadCreatedBeforeTests.submit(findSqlRecorders(registryOfPooledThreads)).get();
+            SqlRecorder[] sqlRecordersOfTestThread = registryOfPooledThreads.getSqlRecordersOfCurrentThread();
+
+            // THEN
+            assertThat(sqlRecordersOfPooledThread).containsOnly(sqlRecorder, sqlRecorderOfOtherTest);
+            assertThat(sqlRecordersOfTestThread).containsExactly(sqlRecorder);
+
+        } finally {
+            otherTest.stopRecording();
+            registryOfPooledThreads.remove(sqlRecorder);
+            threadCreatedBeforeTests.shutdown();
+        }
+
+    }
+
+    @Test public void
+    should_not_give_executions_after_unregistering() {
+
+        // GIVEN
+        SqlRecorder sqlRecorder = mock(SqlRecorder.class);
+        registry.register(sqlRecorder);
+
+        // WHEN
+        registry.remove(sqlRecorder);
+
+        // THEN
+        assertThat(registry.getSqlRecordersOfCurrentThread()).isEmpty();
+
+    }
+
+    private static class OtherTest extends Thread {
+
+        private final SqlRecorderRegistry sqlRecorderRegistry;
+
+        private final SqlRecorder sqlRecorder;
+
+        private final CountDownLatch recording = new CountDownLatch(1);
+
+        private final CountDownLatch end = new CountDownLatch(1);
+
+        OtherTest(SqlRecorderRegistry sqlRecorderRegistry, SqlRecorder sqlRecorder) {
+            this.sqlRecorderRegistry = sqlRecorderRegistry;
+            this.sqlRecorder = sqlRecorder;
+        }
+
+        @Override
+        public void run() {
+            // The thread is created before the recording of the first test
+            sqlRecorderRegistry.register(sqlRecorder);
+            recording.countDown();
+            try {
+                end.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            sqlRecorderRegistry.remove(sqlRecorder);
+        }
+
+        void startRecording() throws InterruptedException {
+            start();
+            recording.await();
+        }
+
+        void stopRecording() throws InterruptedException {
+            end.countDown();
+            join();
+        }
+
+    }
+
+    private Callable<SqlRecorder[]> findSqlRecorders(final SqlRecorderRegistry sqlRecorderRegistry) {
+        return new Callable<SqlRecorder[]>() {
+            @Override
+            public SqlRecorder[] call() {
+                return sqlRecorderRegistry.getSqlRecordersOfCurrentThread();
+            }
+        };
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.StatementType;
+import org.junit.Test;
+import org.quickperf.TestExecutionContext;
+import org.quickperf.sql.ColumnCountRecorder;
+import org.quickperf.sql.SqlExecutions;
+import org.quickperf.sql.SqlRecorder;
+import org.quickperf.sql.SqlRecorderRegistry;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DataSourceQuickPerfListenerTest {
+
+    private final SqlRecorderRegistry sqlRecorderRegistry = mock(SqlRecorderRegistry.class);
+
+    private final DataSourceQuickPerfListener listener = new DataSourceQuickPerfListener(sqlRecorderRegistry);
+
+    private final List<QueryInfo> select = Collections.singletonList(new QueryInfo("SELECT * FROM book"));
+
+    @Test public void
+    should_record_the_number_of_returned_columns_if_a_recorder_records_it() throws SQLException {
+
+        // GIVEN
+        SqlExecutionsRecorder recorderWithColumnCount = new SqlExecutionsRecorder(true);
+        recordingWith(recorderWithColumnCount);
+        ResultSet resultSet = aResultSetWithColumns(3);
+
+        // WHEN
+        listener.afterQuery(aSelectExecution(resultSet), select);
+
+        // THEN
+        assertThat(recorderWithColumnCount.findRecord(null).getMaxNumberOfSelectedColumns()).isEqualTo(3);
+
+    }
+
+    @Test public void
+    should_not_retrieve_the_number_of_returned_columns_if_no_recorder_records_it() throws SQLException {
+
+        // GIVEN
+        SqlExecutionsRecorder recorderWithoutColumnCount = new SqlExecutionsRecorder(false);
+        recordingWith(recorderWithoutColumnCount);
+        ResultSet resultSet = aResultSetWithColumns(3);
+
+        // WHEN
+        listener.afterQuery(aSelectExecution(resultSet), select);
+
+        // THEN
+        verify(resultSet, never()).getMetaData();
+        assertThat(recorderWithoutColumnCount.findRecord(null).getMaxNumberOfSelectedColumns()).isZero();
+
+    }
+
+    private void recordingWith(SqlRecorder sqlRecorder) {
+        when(sqlRecorderRegistry.isRecordingActive()).thenReturn(true);
+        when(sqlRecorderRegistry.getSqlRecordersOfCurrentThread()).thenReturn(new SqlRecorder[] {sqlRecorder});
+    }
+
+    private ResultSet aResultSetWithColumns(int columnCount) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(columnCount);
+        return resultSet;
+    }
+
+    private ExecutionInfo aSelectExecution(ResultSet resultSet) {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setStatementType(StatementType.PREPARED);
+        executionInfo.setResult(resultSet);
+        return executionInfo;
+    }
+
+    private static class SqlExecutionsRecorder implements SqlRecorder<SqlExecutions>, ColumnCountRecorder {
+
+        private final SqlExecutions sqlExecutions = new SqlExecutions();
+
+        private final boolean columnCountRecorded;
+
+        SqlExecutionsRecorder(boolean columnCountRecorded) {
+            this.columnCountRecorded = columnCountRecorded;
+        }
+
+        @Override
+        public boolean recordsColumnCount() {
+            return columnCountRecorded;
+        }
+
+        @Override
+        public void addQueryExecution(ExecutionInfo execInfo, List<QueryInfo> queries, int listenerIdentifier) {
+            sqlExecutions.add(execInfo, queries);
+        }
+
+        @Override
+        public void startRecording(TestExecutionContext testExecutionContext) { }
+
+        @Override
+        public void stopRecording(TestExecutionContext testExecutionContext) { }
+
+        @Override
+        public SqlExecutions findRecord(TestExecutionContext testExecutionContext) {
+            return sqlExecutions;
+        }
+
+        @Override
+        public void cleanResources() { }
+
+    }
+
+}
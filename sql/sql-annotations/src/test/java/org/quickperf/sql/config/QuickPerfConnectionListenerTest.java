@@ -0,0 +1,141 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.sql.config;
+
+import net.ttddyy.dsproxy.ConnectionInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import org.junit.Test;
+import org.quickperf.sql.SqlRecorder;
+import org.quickperf.sql.SqlRecorderRegistry;
+import org.quickperf.sql.connection.ConnectionRecorder;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+public class QuickPerfConnectionListenerTest {
+
+    private final SqlRecorderRegistry sqlRecorderRegistry = mock(SqlRecorderRegistry.class);
+
+    private final QuickPerfConnectionListener connectionListener = new QuickPerfConnectionListener(sqlRecorderRegistry);
+
+    private final ConnectionRecorder connectionRecorder = mock(ConnectionRecorder.class);
+
+    private final ConnectionInfo connectionInfo = new ConnectionInfo();
+
+    @Test public void
+    should_notify_the_connection_recorders_of_a_closed_connection() throws NoSuchMethodException {
+
+        // GIVEN
+        aRecordingWithTheConnectionRecorder();
+        MethodExecutionContext closeExecution = anExecutionOf(Connection.class.getMethod("close"));
+
+        // WHEN
+        connectionListener.afterMethod(closeExecution);
+
+        // THEN
+        verify(connectionRecorder).connectionClosed(same(connectionInfo));
+        verify(connectionRecorder, never()).statementCreated(any(ConnectionInfo.class));
+
+    }
+
+    @Test public void
+    should_notify_the_connection_recorders_of_a_created_statement() throws NoSuchMethodException {
+
+        // GIVEN
+        aRecordingWithTheConnectionRecorder();
+        MethodExecutionContext createStatementExecution = anExecutionOf(Connection.class.getMethod("createStatement"));
+        MethodExecutionContext prepareStatementExecution = anExecutionOf(Connection.class.getMethod("prepareStatement", String.class));
+        MethodExecutionContext prepareCallExecution = anExecutionOf(Connection.class.getMethod("prepareCall", String.class));
+
+        // WHEN
+        connectionListener.afterMethod(createStatementExecution);
+        connectionListener.afterMethod(prepareStatementExecution);
+        connectionListener.afterMethod(prepareCallExecution);
+
+        // THEN
+        verify(connectionRecorder, times(3)).statementCreated(same(connectionInfo));
+        verify(connectionRecorder, never()).connectionClosed(any(ConnectionInfo.class));
+
+    }
+
+    @Test public void
+    should_not_notify_the_connection_recorders_if_the_method_failed() throws NoSuchMethodException {
+
+        // GIVEN
+        aRecordingWithTheConnectionRecorder();
+        MethodExecutionContext failedCloseExecution = anExecutionOf(Connection.class.getMethod("close"));
+        failedCloseExecution.setThrown(new SQLException("Unable to close the connection"));
+
+        // WHEN
+        connectionListener.afterMethod(failedCloseExecution);
+
+        // THEN
+        verifyZeroInteractions(connectionRecorder);
+
+    }
+
+    @Test public void
+    should_ignore_the_other_connection_methods() throws NoSuchMethodException {
+
+        // GIVEN
+        aRecordingWithTheConnectionRecorder();
+        MethodExecutionContext commitExecution = anExecutionOf(Connection.class.getMethod("commit"));
+
+        // WHEN
+        connectionListener.afterMethod(commitExecution);
+
+        // THEN
+        verifyZeroInteractions(connectionRecorder);
+
+    }
+
+    @Test public void
+    should_not_notify_the_connection_recorders_if_no_recording_is_active() throws NoSuchMethodException {
+
+        // GIVEN
+        when(sqlRecorderRegistry.isRecordingActive()).thenReturn(false);
+        when(sqlRecorderRegistry.getSqlRecordersOfCurrentThread()).thenReturn(new SqlRecorder[]{connectionRecorder});
+        MethodExecutionContext closeExecution = anExecutionOf(Connection.class.getMethod("close"));
+
+        // WHEN
+        connectionListener.afterMethod(closeExecution);
+
+        // THEN
+        verifyZeroInteractions(connectionRecorder);
+
+    }
+
+    private void aRecordingWithTheConnectionRecorder() {
+        when(sqlRecorderRegistry.isRecordingActive()).thenReturn(true);
+        when(sqlRecorderRegistry.getSqlRecordersOfCurrentThread()).thenReturn(new SqlRecorder[]{connectionRecorder});
+    }
+
+    private MethodExecutionContext anExecutionOf(Method connectionMethod) {
+        return MethodExecutionContext.Builder.create()
+                                             .target(mock(Connection.class))
+                                             .method(connectionMethod)
+                                             .connectionInfo(connectionInfo)
+                                             .build();
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.config;
+
+import net.ttddyy.dsproxy.ConnectionInfo;
+import net.ttddyy.dsproxy.proxy.JdbcProxyFactory;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import org.junit.Test;
+import org.quickperf.sql.SqlRecorder;
+import org.quickperf.sql.SqlRecorderRegistry;
+import org.quickperf.sql.connection.ConnectionRecorder;
+import org.quickperf.sql.rows.FetchedRowsRecorder;
+import org.quickperf.sql.rows.ResultSetReadingProxy;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class QuickPerfJdbcProxyFactoryTest {
+
+    private final SqlRecorderRegistry sqlRecorderRegistry = mock(SqlRecorderRegistry.class);
+
+    private final QuickPerfJdbcProxyFactory jdbcProxyFactory =
+            new QuickPerfJdbcProxyFactory(JdbcProxyFactory.DEFAULT, sqlRecorderRegistry
+                                        , new QuickPerfConnectionListener(sqlRecorderRegistry));
+
+    @Test public void
+    should_proxy_statements_even_if_no_sql_recorder_is_active() {
+
+        // GIVEN
+        when(sqlRecorderRegistry.isRecordingActive()).thenReturn(false);
+        Statement statement = mock(Statement.class);
+        PreparedStatement preparedStatement = mock(PreparedStatement.class);
+        Connection proxyConnection = mock(Connection.class);
+
+        // WHEN
+        Statement createdStatement = jdbcProxyFactory.createStatement(statement, null, proxyConnection, ProxyConfig.Builder.create().build());
+        PreparedStatement createdPreparedStatement = jdbcProxyFactory.createPreparedStatement(preparedStatement, "SELECT 1", null, proxyConnection, ProxyConfig.Builder.create().build(), false);
+
+        // THEN
+        assertThat(createdStatement).isNotSameAs(statement);
+        assertThat(createdPreparedStatement).isNotSameAs(preparedStatement);
+
+    }
+
+    @Test public void
+    should_give_the_proxy_connection_from_a_statement() throws SQLException {
+
+        // GIVEN
+        when(sqlRecorderRegistry.isRecordingActive()).thenReturn(false);
+        Connection proxyConnection = mock(Connection.class);
+
+        // WHEN
+        PreparedStatement createdPreparedStatement = jdbcProxyFactory.createPreparedStatement(mock(PreparedStatement.class), "SELECT 1", null, proxyConnection, ProxyConfig.Builder.create().build(), false);
+
+        // THEN
+        assertThat(createdPreparedStatement.getConnection()).isSameAs(proxyConnection);
+
+    }
+
+    @Test public void
+    should_notify_the_connection_recorders_of_an_opened_connection() {
+
+        // GIVEN
+        when(sqlRecorderRegistry.isRecordingActive()).thenReturn(true);
+        ConnectionRecorder connectionRecorder = mock(ConnectionRecorder.class);
+        when(sqlRecorderRegistry.getSqlRecordersOfCurrentThread()).thenReturn(new SqlRecorder[]{connectionRecorder});
+        ConnectionInfo connectionInfo = new ConnectionInfo();
+
+        // WHEN
+        jdbcProxyFactory.createConnection(mock(Connection.class), connectionInfo, ProxyConfig.Builder.create().build());
+
+        // THEN
+        verify(connectionRecorder).connectionOpened(same(connectionInfo), anyLong());
+
+    }
+
+    @Test public void
+    should_only_wrap_the_result_sets_if_a_recorder_counts_their_rows() {
+
+        // GIVEN
+        when(sqlRecorderRegistry.isRecordingActive()).thenReturn(true);
+        ResultSet resultSet = mock(ResultSet.class);
+
+        // WHEN
+        when(sqlRecorderRegistry.getSqlRecordersOfCurrentThread()).thenReturn(new SqlRecorder[]{mock(ConnectionRecorder.class)});
+        ResultSet resultSetWithoutRowCounting = jdbcProxyFactory.createResultSet(resultSet, null, ProxyConfig.Builder.create().build());
+        when(sqlRecorderRegistry.getSqlRecordersOfCurrentThread()).thenReturn(new SqlRecorder[]{new FetchedRowsRecorder()});
+        ResultSet resultSetWithRowCounting = jdbcProxyFactory.createResultSet(resultSet, null, ProxyConfig.Builder.create().build());
+
+        // THEN
+        assertThat(resultSetWithoutRowCounting).isSameAs(resultSet);
+        assertThat(ResultSetReadingProxy.readingOf(resultSetWithRowCounting)).isNotNull();
+
+    }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.sql.config;
+
+import org.junit.Test;
+import org.quickperf.TestExecutionContext;
+import org.quickperf.sql.SqlRecorder;
+import org.quickperf.sql.SqlRecorderRegistry;
+import org.quickperf.sql.rows.ExecutionRows;
+import org.quickperf.sql.rows.FetchedRows;
+import org.quickperf.sql.rows.FetchedRowsRecorder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class QuickPerfSqlDataSourceBuilderTest {
+
+    private final SqlRecorderRegistry sqlRecorderRegistry = mock(SqlRecorderRegistry.class);
+
+    private final FetchedRowsRecorder fetchedRowsRecorder = new FetchedRowsRecorder();
+
+    @Test public void
+    should_count_the_rows_of_the_result_sets_returned_by_execute_query_and_get_result_set() throws SQLException {
+
+        // GIVEN
+        Connection connection = mock(Connection.class);
+        PreparedStatement preparedStatement = mock(PreparedStatement.class);
+        when(connection.prepareStatement("SELECT * FROM book")).thenReturn(preparedStatement);
+        ResultSet resultSetOfExecuteQuery = aResultSetOf(preparedStatement, 2);
+        when(preparedStatement.executeQuery()).thenReturn(resultSetOfExecuteQuery);
+        Statement statement = mock(Statement.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.execute("SELECT * FROM author")).thenReturn(true);
+        ResultSet resultSetOfGetResultSet = aResultSetOf(statement, 3);
+        when(statement.getResultSet()).thenReturn(resultSetOfGetResultSet);
+        DataSource dataSource = QuickPerfSqlDataSourceBuilder.aDataSourceBuilder()
+                                                             .buildProxy(aDataSourceOf(connection), sqlRecorderRegistry);
+        recordingWith(fetchedRowsRecorder);
+
+        // WHEN
+        Connection proxyConnection = dataSource.getConnection();
+        readAllRows(proxyConnection.prepareStatement("SELECT * FROM book").executeQuery());
+        Statement proxyStatement = proxyConnection.createStatement();
+        proxyStatement.execute("SELECT * FROM author");
+        readAllRows(proxyStatement.getResultSet());
+
+        // THEN
+        FetchedRows fetchedRows = stopRecording();
+        assertThat(fetchedRows.getFetchedRowCount()).isEqualTo(5);
+        List<ExecutionRows> executionRows = fetchedRows.getValue();
+        assertThat(executionRows).extracting("sql")
+                                 .containsOnly("SELECT * FROM book", "SELECT * FROM author");
+
+    }
+
+    @Test public void
+    should_keep_the_fetch_size_of_the_statement_when_the_result_set_is_returned() throws SQLException {
+
+        // GIVEN
+        Connection connection = mock(Connection.class);
+        PreparedStatement preparedStatement = mock(PreparedStatement.class);
+        when(connection.prepareStatement("SELECT * FROM book")).thenReturn(preparedStatement);
+        ResultSet resultSet = aResultSetOf(preparedStatement, 2);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(preparedStatement.getFetchSize()).thenReturn(500);
+        DataSource dataSource = QuickPerfSqlDataSourceBuilder.aDataSourceBuilder()
+                                                             .buildProxy(aDataSourceOf(connection), sqlRecorderRegistry);
+        recordingWith(fetchedRowsRecorder);
+
+        // WHEN
+        Connection proxyConnection = dataSource.getConnection();
+        ResultSet proxyResultSet = proxyConnection.prepareStatement("SELECT * FROM book").executeQuery();
+        when(preparedStatement.getFetchSize()).thenThrow(new SQLException("Statement closed"));
+        readAllRows(proxyResultSet);
+
+        // THEN
+        FetchedRows fetchedRows = stopRecording();
+        assertThat(fetchedRows.getValue()).extracting("fetchSize").containsOnly(500);
+
+    }
+
+    @Test public void
+    should_record_a_statement_prepared_before_the_recording() throws SQLException {
+
+        // GIVEN
+        Connection connection = mock(Connection.class);
+        PreparedStatement preparedStatement = mock(PreparedStatement.class);
+        when(connection.prepareStatement("SELECT * FROM book")).thenReturn(preparedStatement);
+        ResultSet resultSet = aResultSetOf(preparedStatement, 2);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        DataSource dataSource = QuickPerfSqlDataSourceBuilder.aDataSourceBuilder()
+                                                             .buildProxy(aDataSourceOf(connection), sqlRecorderRegistry);
+        Connection proxyConnection = dataSource.getConnection();
+        PreparedStatement proxyPreparedStatement = proxyConnection.prepareStatement("SELECT * FROM book");
+        recordingWith(fetchedRowsRecorder);
+
+        // WHEN
+        readAllRows(proxyPreparedStatement.executeQuery());
+
+        // THEN
+        assertThat(proxyPreparedStatement.getConnection()).isSameAs(proxyConnection);
+        FetchedRows fetchedRows = stopRecording();
+        assertThat(fetchedRows.getFetchedRowCount()).isEqualTo(2);
+
+    }
+
+    private DataSource aDataSourceOf(Connection connection) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+
+    private ResultSet aResultSetOf(Statement statement, int numberOfRows) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getStatement()).thenReturn(statement);
+        Boolean[] nextResults = new Boolean[numberOfRows];
+        for (int i = 0; i < numberOfRows; i++) {
+            nextResults[i] = i < numberOfRows - 1;
+        }
+        when(resultSet.next()).thenReturn(true, nextResults);
+        return resultSet;
+    }
+
+    private void readAllRows(ResultSet resultSet) throws SQLException {
+        while (resultSet.next()) {
+            resultSet.getString(1);
+        }
+    }
+
+    private void recordingWith(SqlRecorder sqlRecorder) {
+        when(sqlRecorderRegistry.isRecordingActive()).thenReturn(true);
+        when(sqlRecorderRegistry.getSqlRecordersOfCurrentThread()).thenReturn(new SqlRecorder[] {sqlRecorder});
+    }
+
+    private FetchedRows stopRecording() {
+        TestExecutionContext testExecutionContext = mock(TestExecutionContext.class);
+        fetchedRowsRecorder.stopRecording(testExecutionContext);
+        return fetchedRowsRecorder.findRecord(testExecutionContext);
+    }
+
+}
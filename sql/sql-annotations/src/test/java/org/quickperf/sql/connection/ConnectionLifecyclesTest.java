@@ -0,0 +1,64 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.connection;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConnectionLifecyclesTest {
+
+    @Test public void
+    should_find_the_max_number_of_connections_open_at_the_same_time() {
+
+        // GIVEN
+        ConnectionLifecycle first = closedConnection("conn1", 0, 100);
+        ConnectionLifecycle second = closedConnection("conn2", 50, 150);
+        ConnectionLifecycle third = closedConnection("conn3", 100, 200);
+        ConnectionLifecycle notClosed = new ConnectionLifecycle("conn4", 0, 120, new Throwable());
+
+        // WHEN
+        ConnectionLifecycles connectionLifecycles =
+                new ConnectionLifecycles(Arrays.asList(first, second, third, notClosed), 300);
+
+        // THEN
+        assertThat(connectionLifecycles.getMaxSimultaneousConnections()).isEqualTo(3);
+
+    }
+
+    @Test public void
+    should_find_the_connections_held_too_long_and_the_not_closed_ones() {
+
+        // GIVEN
+        ConnectionLifecycle shortConnection = closedConnection("conn1", 0, 10);
+        ConnectionLifecycle longConnection = closedConnection("conn2", 0, 200);
+        ConnectionLifecycle notClosed = new ConnectionLifecycle("conn3", 0, 250, new Throwable());
+
+        // WHEN
+        ConnectionLifecycles connectionLifecycles =
+                new ConnectionLifecycles(Arrays.asList(shortConnection, longConnection, notClosed), 300);
+
+        // THEN
+        assertThat(connectionLifecycles.findConnectionsHeldLongerThan(40)).containsExactly(longConnection, notClosed);
+        assertThat(connectionLifecycles.findNotClosedConnections()).containsExactly(notClosed);
+
+    }
+
+    private static ConnectionLifecycle closedConnection(String connectionId, long openNanoTime, long closeNanoTime) {
+        ConnectionLifecycle connectionLifecycle = new ConnectionLifecycle(connectionId, 0, openNanoTime, new Throwable());
+        connectionLifecycle.closed(closeNanoTime);
+        return connectionLifecycle;
+    }
+
+}
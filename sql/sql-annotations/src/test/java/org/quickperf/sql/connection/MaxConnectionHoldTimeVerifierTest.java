@@ -0,0 +1,89 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.sql.connection;
+
+import org.junit.Test;
+import org.quickperf.issue.PerfIssue;
+import org.quickperf.sql.annotation.SqlAnnotationBuilder;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MaxConnectionHoldTimeVerifierTest {
+
+    private static final long ONE_MS_IN_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test public void
+    should_report_the_connections_held_longer_than_expected() {
+
+        // GIVEN
+        ConnectionLifecycle shortConnection = closedConnection("conn1", 0, 5 * ONE_MS_IN_NANOS);
+        ConnectionLifecycle longConnection = closedConnection("conn2", 0, 50 * ONE_MS_IN_NANOS);
+        ConnectionLifecycles connectionLifecycles =
+                new ConnectionLifecycles(Arrays.asList(shortConnection, longConnection), 100 * ONE_MS_IN_NANOS);
+
+        // WHEN
+        PerfIssue perfIssue = MaxConnectionHoldTimeVerifier.INSTANCE.verifyPerfIssue(
+                SqlAnnotationBuilder.expectMaxConnectionHoldTime(10, TimeUnit.MILLISECONDS), connectionLifecycles);
+
+        // THEN
+        assertThat(perfIssue.getDescription()).contains("at most <10 milliseconds>")
+                                              .contains("But in fact <1> connection(s)")
+                                              .contains("Connection conn2")
+                                              .doesNotContain("Connection conn1");
+
+    }
+
+    @Test public void
+    should_hold_a_not_closed_connection_until_the_end_of_the_recording() {
+
+        // GIVEN
+        ConnectionLifecycle notClosed = new ConnectionLifecycle("conn1", 0, 0, new Throwable());
+        ConnectionLifecycles connectionLifecycles =
+                new ConnectionLifecycles(Arrays.asList(notClosed), 20 * ONE_MS_IN_NANOS);
+
+        // WHEN
+        PerfIssue perfIssue = MaxConnectionHoldTimeVerifier.INSTANCE.verifyPerfIssue(
+                SqlAnnotationBuilder.expectMaxConnectionHoldTime(10, TimeUnit.MILLISECONDS), connectionLifecycles);
+
+        // THEN
+        assertThat(perfIssue.getDescription()).contains("Connection conn1")
+                                              .contains("not closed after 20 ms");
+
+    }
+
+    @Test public void
+    should_not_report_the_connections_held_shorter_than_expected() {
+
+        // GIVEN
+        ConnectionLifecycles connectionLifecycles =
+                new ConnectionLifecycles(Arrays.asList(closedConnection("conn1", 0, 5 * ONE_MS_IN_NANOS)), 100 * ONE_MS_IN_NANOS);
+
+        // WHEN
+        PerfIssue perfIssue = MaxConnectionHoldTimeVerifier.INSTANCE.verifyPerfIssue(
+                SqlAnnotationBuilder.expectMaxConnectionHoldTime(10, TimeUnit.MILLISECONDS), connectionLifecycles);
+
+        // THEN
+        assertThat(perfIssue).isEqualTo(PerfIssue.NONE);
+
+    }
+
+    private static ConnectionLifecycle closedConnection(String connectionId, long openNanoTime, long closeNanoTime) {
+        ConnectionLifecycle connectionLifecycle = new ConnectionLifecycle(connectionId, 0, openNanoTime, new Throwable());
+        connectionLifecycle.closed(closeNanoTime);
+        return connectionLifecycle;
+    }
+
+}
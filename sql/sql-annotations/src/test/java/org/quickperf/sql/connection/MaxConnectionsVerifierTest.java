@@ -0,0 +1,68 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.sql.connection;
+
+import org.junit.Test;
+import org.quickperf.issue.PerfIssue;
+import org.quickperf.sql.annotation.SqlAnnotationBuilder;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MaxConnectionsVerifierTest {
+
+    @Test public void
+    should_report_more_connections_open_at_the_same_time_than_expected() {
+
+        // GIVEN
+        ConnectionLifecycles connectionLifecycles =
+                new ConnectionLifecycles(Arrays.asList(closedConnection("conn1", 0, 100)
+                                                     , closedConnection("conn2", 50, 150)), 200);
+
+        // WHEN
+        PerfIssue perfIssue = MaxConnectionsVerifier.INSTANCE.verifyPerfIssue(SqlAnnotationBuilder.expectMaxConnections(1)
+                                                                             , connectionLifecycles);
+
+        // THEN
+        assertThat(perfIssue.getDescription()).contains("at most <1> connection(s)")
+                                              .contains("But in fact <2>")
+                                              .contains("Connection conn1")
+                                              .contains("Connection conn2");
+
+    }
+
+    @Test public void
+    should_not_report_connections_open_one_after_the_other() {
+
+        // GIVEN
+        ConnectionLifecycles connectionLifecycles =
+                new ConnectionLifecycles(Arrays.asList(closedConnection("conn1", 0, 100)
+                                                     , closedConnection("conn2", 100, 150)), 200);
+
+        // WHEN
+        PerfIssue perfIssue = MaxConnectionsVerifier.INSTANCE.verifyPerfIssue(SqlAnnotationBuilder.expectMaxConnections(1)
+                                                                             , connectionLifecycles);
+
+        // THEN
+        assertThat(perfIssue).isEqualTo(PerfIssue.NONE);
+
+    }
+
+    private static ConnectionLifecycle closedConnection(String connectionId, long openNanoTime, long closeNanoTime) {
+        ConnectionLifecycle connectionLifecycle = new ConnectionLifecycle(connectionId, 0, openNanoTime, new Throwable());
+        connectionLifecycle.closed(closeNanoTime);
+        return connectionLifecycle;
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.sql.connection;
+
+import org.junit.Test;
+import org.quickperf.issue.PerfIssue;
+import org.quickperf.sql.annotation.SqlAnnotationBuilder;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NoConnectionLeakVerifierTest {
+
+    @Test public void
+    should_report_the_connections_not_closed_with_their_acquiring_stack() {
+
+        // GIVEN
+        ConnectionLifecycle closed = new ConnectionLifecycle("conn1", 0, 0, new Throwable());
+        closed.closed(10);
+        ConnectionLifecycle notClosed = new ConnectionLifecycle("conn2", 0, 0, new Throwable());
+        ConnectionLifecycles connectionLifecycles = new ConnectionLifecycles(Arrays.asList(closed, notClosed), 100);
+
+        // WHEN
+        PerfIssue perfIssue = NoConnectionLeakVerifier.INSTANCE.verifyPerfIssue(SqlAnnotationBuilder.expectNoConnectionLeak()
+                                                                               , connectionLifecycles);
+
+        // THEN
+        assertThat(perfIssue.getDescription()).startsWith("<1> connection(s) acquired during the test were not closed")
+                                              .contains("Connection conn2")
+                                              .contains("\t\tat ")
+                                              .doesNotContain("Connection conn1");
+
+    }
+
+    @Test public void
+    should_not_report_closed_connections() {
+
+        // GIVEN
+        ConnectionLifecycle closed = new ConnectionLifecycle("conn1", 0, 0, new Throwable());
+        closed.closed(10);
+        ConnectionLifecycles connectionLifecycles = new ConnectionLifecycles(Arrays.asList(closed), 100);
+
+        // WHEN
+        PerfIssue perfIssue = NoConnectionLeakVerifier.INSTANCE.verifyPerfIssue(SqlAnnotationBuilder.expectNoConnectionLeak()
+                                                                               , connectionLifecycles);
+
+        // THEN
+        assertThat(perfIssue).isEqualTo(PerfIssue.NONE);
+
+    }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.sql.repository;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.StatementType;
+import org.junit.Test;
+import org.quickperf.WorkingFolder;
+import org.quickperf.sql.SqlExecution;
+import org.quickperf.sql.SqlExecutions;
+
+import java.util.Collections;
+import java.util.Iterator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SqlAggregateOnlyRepositoryTest {
+
+    @Test public void
+    should_keep_the_measures_and_the_last_executions() {
+
+        // GIVEN
+        SqlAggregateOnlyRepository sqlRepository = new SqlAggregateOnlyRepository(1);
+
+        // WHEN
+        for (int i = 0; i < 3; i++) {
+            ExecutionInfo executionInfo = new ExecutionInfo();
+            executionInfo.setStatementType(StatementType.STATEMENT);
+            executionInfo.setElapsedTime(10 - i);
+            QueryInfo delete = new QueryInfo("DELETE FROM book WHERE id = " + i);
+            sqlRepository.addQueryExecution(executionInfo, Collections.singletonList(delete));
+        }
+
+        // THEN
+        SqlExecutions sqlExecutions = sqlRepository.findExecutedQueries(WorkingFolder.createOrRetrieveWorkingFolder(false));
+        assertThat(sqlExecutions.retrieveQueryNumberOfType(QueryType.DELETE)).isEqualTo(3);
+        assertThat(sqlExecutions.getMaxElapsedTime()).isEqualTo(10);
+        Iterator<SqlExecution> keptExecutions = sqlExecutions.iterator();
+        assertThat(keptExecutions.next().getElapsedTime()).isEqualTo(8);
+        assertThat(keptExecutions.hasNext()).isFalse();
+        assertThat(sqlExecutions.toString()).contains("2 previous SQL executions are not kept");
+
+    }
+
+}
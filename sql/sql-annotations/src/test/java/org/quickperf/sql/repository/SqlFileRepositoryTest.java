@@ -0,0 +1,113 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.sql.repository;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.StatementType;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.Test;
+import org.quickperf.WorkingFolder;
+import org.quickperf.sql.SqlExecution;
+import org.quickperf.sql.SqlExecutions;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SqlFileRepositoryTest {
+
+    @Test public void
+    should_find_sql_executions_saved_by_another_jvm() throws NoSuchMethodException {
+
+        // GIVEN
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setConnectionId("1");
+        executionInfo.setStatementType(StatementType.PREPARED);
+        executionInfo.setBatch(true);
+        executionInfo.setBatchSize(2);
+        executionInfo.setElapsedTime(25);
+
+        List<ParameterSetOperation> firstParameters = Arrays.asList(
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setLong", int.class, long.class)
+                                        , new Object[] {1, 10L})
+              , new ParameterSetOperation(PreparedStatement.class.getMethod("setTimestamp", int.class, Timestamp.class)
+                                        , new Object[] {2, new Timestamp(1000)}));
+        List<ParameterSetOperation> secondParameters = Arrays.asList(
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setLong", int.class, long.class)
+                                        , new Object[] {1, 11L})
+              , new ParameterSetOperation(PreparedStatement.class.getMethod("setNull", int.class, int.class)
+                                        , new Object[] {2, Types.TIMESTAMP}));
+        QueryInfo query = new QueryInfo("INSERT INTO book (id, published) VALUES (?, ?)");
+        query.setParametersList(Arrays.asList(firstParameters, secondParameters));
+
+        SqlRepository sqlRepositoryOfTestJvm = new SqlFileRepository(new SqlMemoryRepository());
+        WorkingFolder workingFolder = WorkingFolder.createOrRetrieveWorkingFolder(true);
+        sqlRepositoryOfTestJvm.addQueryExecution(executionInfo, Collections.singletonList(query));
+
+        // WHEN
+        sqlRepositoryOfTestJvm.flush(workingFolder);
+        SqlExecutions sqlExecutions = new SqlFileRepository(new SqlMemoryRepository()).findExecutedQueries(workingFolder);
+
+        // THEN
+        SqlExecution sqlExecution = sqlExecutions.iterator().next();
+        assertThat(sqlExecution.getElapsedTime()).isEqualTo(25);
+        QueryInfo foundQuery = sqlExecution.getQueries().get(0);
+        assertThat(foundQuery.getQuery()).isEqualTo(query.getQuery());
+        List<ParameterSetOperation> foundSecondParameters = foundQuery.getParametersList().get(1);
+        assertThat(foundSecondParameters.get(0).getArgs()).containsExactly(1, 11L);
+        assertThat(foundSecondParameters.get(1).getMethod().getName()).isEqualTo("setNull");
+        assertThat(foundQuery.getParametersList().get(0).get(1).getArgs()).containsExactly(2, new Timestamp(1000));
+
+    }
+
+    @Test public void
+    should_not_turn_a_not_serializable_parameter_into_a_string() throws NoSuchMethodException {
+
+        // GIVEN
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setStatementType(StatementType.PREPARED);
+        Object notSerializableArg = new Object() {
+            @Override
+            public String toString() {
+                return "point(1, 2)";
+            }
+        };
+        List<ParameterSetOperation> parameters = Collections.singletonList(
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setObject", int.class, Object.class)
+                                        , new Object[] {1, notSerializableArg}));
+        QueryInfo query = new QueryInfo("SELECT * FROM place WHERE location = ?");
+        query.setParametersList(Collections.singletonList(parameters));
+
+        SqlRepository sqlRepositoryOfTestJvm = new SqlFileRepository(new SqlMemoryRepository());
+        WorkingFolder workingFolder = WorkingFolder.createOrRetrieveWorkingFolder(true);
+        sqlRepositoryOfTestJvm.addQueryExecution(executionInfo, Collections.singletonList(query));
+
+        // WHEN
+        sqlRepositoryOfTestJvm.flush(workingFolder);
+        SqlExecutions sqlExecutions = new SqlFileRepository(new SqlMemoryRepository()).findExecutedQueries(workingFolder);
+
+        // THEN
+        QueryInfo foundQuery = sqlExecutions.iterator().next().getQueries().get(0);
+        Object foundArg = foundQuery.getParametersList().get(0).get(0).getArgs()[1];
+        assertThat(foundArg).isNotInstanceOf(String.class)
+                            .hasToString("point(1, 2)");
+
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.sql.repository;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.StatementType;
+import org.junit.Test;
+import org.quickperf.WorkingFolder;
+import org.quickperf.sql.SqlExecution;
+import org.quickperf.sql.SqlExecutions;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SqlSpillingRepositoryTest {
+
+    @Test public void
+    should_keep_a_bounded_number_of_executions_in_memory() {
+
+        // GIVEN
+        WorkingFolder workingFolder = WorkingFolder.createOrRetrieveWorkingFolder(false);
+        SqlSpillingRepository sqlRepository = new SqlSpillingRepository(2, workingFolder);
+
+        // WHEN
+        addInserts(sqlRepository, 5);
+
+        // THEN
+        SqlExecutions sqlExecutions = sqlRepository.findExecutedQueries(workingFolder);
+        assertThat(sqlExecutions.getNumberOfExecutionsInMemory()).isEqualTo(1);
+        assertThat(sqlExecutions.retrieveQueryNumberOfType(QueryType.INSERT)).isEqualTo(5);
+        assertThat(elapsedTimesOf(sqlExecutions)).containsExactly(0L, 1L, 2L, 3L, 4L);
+
+        sqlRepository.cleanResources();
+
+    }
+
+    @Test public void
+    should_find_sql_executions_spilled_by_another_jvm() {
+
+        // GIVEN
+        WorkingFolder workingFolder = WorkingFolder.createOrRetrieveWorkingFolder(true);
+        SqlRepository sqlRepositoryOfTestJvm = new SqlFileRepository(new SqlSpillingRepository(2, workingFolder));
+        addInserts(sqlRepositoryOfTestJvm, 3);
+
+        // WHEN
+        sqlRepositoryOfTestJvm.flush(workingFolder);
+        SqlRepository sqlRepositoryReadingRecords = new SqlFileRepository(new SqlMemoryRepository());
+        SqlExecutions sqlExecutions = sqlRepositoryReadingRecords.findExecutedQueries(workingFolder);
+
+        // THEN
+        assertThat(sqlExecutions.retrieveQueryNumberOfType(QueryType.INSERT)).isEqualTo(3);
+        assertThat(elapsedTimesOf(sqlExecutions)).containsExactly(0L, 1L, 2L);
+        assertThat(filesOf(workingFolder)).containsOnly("sql.rec", "sql-segments");
+
+        sqlRepositoryReadingRecords.cleanResources();
+        assertThat(filesOf(workingFolder)).containsOnly("sql.rec");
+
+    }
+
+    @Test public void
+    should_analyse_the_selects_of_the_spilled_executions() {
+
+        // GIVEN
+        WorkingFolder workingFolder = WorkingFolder.createOrRetrieveWorkingFolder(true);
+        SqlSpillingRepository sqlRepository = new SqlSpillingRepository(2, workingFolder);
+        for (int i = 0; i < 3; i++) {
+            ExecutionInfo executionInfo = new ExecutionInfo();
+            executionInfo.setStatementType(StatementType.STATEMENT);
+            QueryInfo select = new QueryInfo("SELECT * FROM book WHERE id = 1");
+            sqlRepository.addQueryExecution(executionInfo, Collections.singletonList(select));
+        }
+
+        // WHEN
+        SqlExecutions sqlExecutions = sqlRepository.findExecutedQueries(workingFolder);
+
+        // THEN
+        assertThat(sqlExecutions.getNumberOfExecutionsInMemory()).isEqualTo(1);
+        assertThat(sqlExecutions.hasExactlySameSelect()).isTrue();
+        assertThat(sqlExecutions.getRepeatedSelects().get(0).getExecutionCount()).isEqualTo(3);
+
+        sqlRepository.cleanResources();
+
+    }
+
+    private void addInserts(SqlRepository sqlRepository, int numberOfInserts) {
+        for (int i = 0; i < numberOfInserts; i++) {
+            ExecutionInfo executionInfo = new ExecutionInfo();
+            executionInfo.setStatementType(StatementType.PREPARED);
+            executionInfo.setElapsedTime(i);
+            QueryInfo insert = new QueryInfo("INSERT INTO book (id) VALUES (" + i + ")");
+            sqlRepository.addQueryExecution(executionInfo, Collections.singletonList(insert));
+        }
+    }
+
+    private List<String> filesOf(WorkingFolder workingFolder) {
+        List<String> fileNames = new ArrayList<>();
+        for (String fileName : new File(workingFolder.getPath()).list()) {
+            fileNames.add(fileName.startsWith("sql-") ? "sql-segments" : fileName);
+        }
+        return fileNames;
+    }
+
+    private List<Long> elapsedTimesOf(SqlExecutions sqlExecutions) {
+        List<Long> elapsedTimes = new ArrayList<>();
+        for (SqlExecution sqlExecution : sqlExecutions) {
+            elapsedTimes.add(sqlExecution.getElapsedTime());
+        }
+        return elapsedTimes;
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.rows;
+
+import org.junit.Test;
+import org.quickperf.issue.PerfIssue;
+import org.quickperf.sql.annotation.ExpectFetchSizeAtLeast;
+import org.quickperf.sql.annotation.SqlAnnotationBuilder;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FetchSizeVerifierTest {
+
+    private final ExpectFetchSizeAtLeast expectFetchSizeAtLeast = SqlAnnotationBuilder.expectFetchSizeAtLeast(500, 1000);
+
+    @Test public void
+    should_report_the_large_reads_with_an_unsuitable_fetch_size() {
+
+        // GIVEN
+        ExecutionRows largeReadWithDefaultFetchSize = new ExecutionRows("SELECT * FROM book", 5000, 5000, true, 0, 0);
+        ExecutionRows largeReadWithSmallFetchSize = new ExecutionRows("SELECT * FROM author", 1000, 1000, true, 0, 10);
+        ExecutionRows largeReadWithSuitableFetchSize = new ExecutionRows("SELECT * FROM editor", 2000, 2000, true, 0, 500);
+        ExecutionRows smallRead = new ExecutionRows("SELECT * FROM country", 999, 999, true, 0, 0);
+        FetchedRows fetchedRows = new FetchedRows(Arrays.asList(largeReadWithDefaultFetchSize
+                                                             , largeReadWithSmallFetchSize
+                                                             , largeReadWithSuitableFetchSize
+                                                             , smallRead));
+
+        // WHEN
+        PerfIssue perfIssue = FetchSizeVerifier.INSTANCE.verifyPerfIssue(expectFetchSizeAtLeast, fetchedRows);
+
+        // THEN
+        assertThat(perfIssue.getDescription())
+                .contains("But in fact <2> were not")
+                .contains("5000 rows fetched with the default fetch size of the driver: SELECT * FROM book")
+                .contains("1000 rows fetched with a fetch size of 10: SELECT * FROM author")
+                .doesNotContain("editor")
+                .doesNotContain("country");
+
+    }
+
+    @Test public void
+    should_not_report_the_large_reads_with_an_unknown_fetch_size() {
+
+        // GIVEN
+        ExecutionRows largeReadWithUnknownFetchSize = new ExecutionRows("SELECT * FROM book", 5000, 5000, true, 0
+                                                                       , ExecutionRows.UNKNOWN_FETCH_SIZE);
+        FetchedRows fetchedRows = new FetchedRows(Arrays.asList(largeReadWithUnknownFetchSize));
+
+        // WHEN
+        PerfIssue perfIssue = FetchSizeVerifier.INSTANCE.verifyPerfIssue(expectFetchSizeAtLeast, fetchedRows);
+
+        // THEN
+        assertThat(perfIssue).isEqualTo(PerfIssue.NONE);
+
+    }
+
+    @Test public void
+    should_not_report_an_issue_if_the_large_reads_have_a_suitable_fetch_size() {
+
+        // GIVEN
+        ExecutionRows largeRead = new ExecutionRows("SELECT * FROM book", 5000, 5000, true, 0, 1000);
+        FetchedRows fetchedRows = new FetchedRows(Arrays.asList(largeRead));
+
+        // WHEN
+        PerfIssue perfIssue = FetchSizeVerifier.INSTANCE.verifyPerfIssue(expectFetchSizeAtLeast, fetchedRows);
+
+        // THEN
+        assertThat(perfIssue).isEqualTo(PerfIssue.NONE);
+
+    }
+
+}
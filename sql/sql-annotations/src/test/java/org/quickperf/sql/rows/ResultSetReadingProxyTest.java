@@ -0,0 +1,71 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.rows;
+
+import org.junit.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ResultSetReadingProxyTest {
+
+    @Test public void
+    should_count_the_fetched_and_the_read_rows() throws SQLException {
+
+        // GIVEN
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getString(1)).thenReturn("Paris");
+        when(resultSet.getLong(2)).thenReturn(42L);
+        ResultSet wrappedResultSet = ResultSetReadingProxy.wrap(resultSet);
+
+        // WHEN
+        wrappedResultSet.next();
+        String city = wrappedResultSet.getString(1);
+        long id = wrappedResultSet.getLong(2);
+        wrappedResultSet.next();
+        wrappedResultSet.next();
+
+        // THEN
+        assertThat(city).isEqualTo("Paris");
+        assertThat(id).isEqualTo(42L);
+        ResultSetReading reading = ResultSetReadingProxy.readingOf(wrappedResultSet);
+        assertThat(reading.getFetchedRowCount()).isEqualTo(2);
+        assertThat(reading.getReadRowCount()).isEqualTo(1);
+        assertThat(reading.getEstimatedBytes()).isEqualTo(5 + 8);
+        assertThat(reading.isEndReached()).isTrue();
+
+        reading.setSql("SELECT city, id FROM address");
+        ExecutionRows executionRows = ExecutionRows.of(reading);
+        assertThat(executionRows.hasUnreadRows()).isTrue();
+
+    }
+
+    @Test public void
+    should_not_find_the_reading_of_a_result_set_not_wrapped() {
+
+        // GIVEN
+        ResultSet resultSet = mock(ResultSet.class);
+
+        // WHEN
+        ResultSetReading reading = ResultSetReadingProxy.readingOf(resultSet);
+
+        // THEN
+        assertThat(reading).isNull();
+
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.time;
+
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.within;
+
+public class LatencyHistogramTest {
+
+    @Test public void
+    should_give_percentiles_with_a_relative_error_below_two_percent() {
+
+        // GIVEN
+        LatencyHistogram latencyHistogram = new LatencyHistogram();
+        for (long latencyInMicros = 1; latencyInMicros <= 1000; latencyInMicros++) {
+            latencyHistogram.recordValue(TimeUnit.MICROSECONDS.toNanos(latencyInMicros));
+        }
+
+        // WHEN
+        long p50 = latencyHistogram.getValueAtPercentileInNanos(50);
+        long p99 = latencyHistogram.getValueAtPercentileInNanos(99);
+        long max = latencyHistogram.getValueAtPercentileInNanos(100);
+
+        // THEN
+        assertThat(p50).isCloseTo(500_000L, within(10_000L));
+        assertThat(p99).isCloseTo(990_000L, within(20_000L));
+        assertThat(max).isEqualTo(1_000_000L);
+        assertThat(latencyHistogram.getCount()).isEqualTo(1000);
+        assertThat(latencyHistogram.getMinInNanos()).isEqualTo(1000);
+        assertThat(latencyHistogram.getTotalInNanos()).isEqualTo(500_500_000L);
+
+    }
+
+    @Test public void
+    should_reject_a_percentile_out_of_range() {
+
+        // GIVEN
+        final LatencyHistogram latencyHistogram = new LatencyHistogram();
+        latencyHistogram.recordValue(1000);
+
+        // WHEN
+        Throwable throwable = catchThrowable(new ThrowableAssert.ThrowingCallable() {
+            @Override
+            public void call() {
+                latencyHistogram.getValueAtPercentileInNanos(150);
+            }
+        });
+
+        // THEN
+        assertThat(throwable).isInstanceOf(IllegalArgumentException.class)
+                             .hasMessage("The percentile has to be greater than 0 and lower than or equal to 100, found 150");
+
+    }
+
+    @Test public void
+    should_give_a_percentile_at_most_one_sixty_fourth_above_the_recorded_value() {
+
+        // GIVEN
+        LatencyHistogram latencyHistogram = new LatencyHistogram();
+        latencyHistogram.recordValue(1000);
+        latencyHistogram.recordValue(1_000_000);
+
+        // WHEN
+        long p50 = latencyHistogram.getValueAtPercentileInNanos(50);
+
+        // THEN
+        assertThat(p50).isBetween(1000L, 1000L + 1000L / 64);
+
+    }
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+
+package org.quickperf.sql.time;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.Test;
+import org.quickperf.sql.SqlExecutions;
+
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SqlQueryExecutionTimeExtractorTest {
+
+    @Test public void
+    should_extract_the_max_execution_time_in_nanoseconds() {
+
+        // GIVEN
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.addCustomValue("quickPerfStartNanoTime", 0L);
+        executionInfo.addCustomValue("quickPerfEndNanoTime", 1_500_000L);
+        SqlExecutions sqlExecutions = new SqlExecutions();
+        sqlExecutions.add(executionInfo, singletonList(new QueryInfo("INSERT INTO Book VALUES (1)")));
+
+        // WHEN
+        ExecutionTime maxExecutionTime = SqlQueryExecutionTimeExtractor.INSTANCE.extractPerfMeasureFrom(sqlExecutions);
+
+        // THEN
+        ExecutionTime oneMillisecond = new ExecutionTime(1L, TimeUnit.MILLISECONDS);
+        assertThat(maxExecutionTime.isGreaterThan(oneMillisecond)).isTrue();
+
+    }
+
+}
@@ -13,6 +13,7 @@ package org.quickperf.sql.time;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.fail;
 
 import java.lang.annotation.Annotation;
 import java.util.concurrent.TimeUnit;
@@ -21,6 +22,7 @@ import org.junit.Test;
 import org.quickperf.issue.PerfIssue;
 import org.quickperf.issue.VerifiablePerformanceIssue;
 import org.quickperf.sql.annotation.ExpectMaxQueryExecutionTime;
+import org.quickperf.sql.annotation.SqlAnnotationBuilder;
 
 public class SqlQueryMaxExecutionTimeVerifierTest {
 	
@@ -45,6 +47,11 @@ public class SqlQueryMaxExecutionTimeVerifierTest {
 			public TimeUnit unit() {
 				return TimeUnit.MILLISECONDS;
 			}
+			
+			@Override
+			public double percentile() {
+				return 100;
+			}
 		};
 		
 		ExecutionTime sqlExecTime = new ExecutionTime(50L, TimeUnit.MILLISECONDS);
@@ -76,6 +83,11 @@ public class SqlQueryMaxExecutionTimeVerifierTest {
 			public TimeUnit unit() {
 				return TimeUnit.MILLISECONDS;
 			}
+			
+			@Override
+			public double percentile() {
+				return 100;
+			}
 		};
 		
 		ExecutionTime sqlExecTime = new ExecutionTime(5L, TimeUnit.NANOSECONDS);
@@ -107,6 +119,11 @@ public class SqlQueryMaxExecutionTimeVerifierTest {
 			public TimeUnit unit() {
 				return TimeUnit.SECONDS;
 			}
+			
+			@Override
+			public double percentile() {
+				return 100;
+			}
 		};
 		
 		ExecutionTime sqlExecTime = new ExecutionTime(1000L, TimeUnit.MILLISECONDS);
@@ -118,4 +135,37 @@ public class SqlQueryMaxExecutionTimeVerifierTest {
 		assertEquals(PerfIssue.NONE, perfIssue);
 	}
 
+	@Test
+	public void should_verify_the_execution_time_at_the_expected_percentile () {
+		VerifiablePerformanceIssue<ExpectMaxQueryExecutionTime, ExecutionTime> verifier = SqlQueryMaxExecutionTimeVerifier.INSTANCE;
+		
+		LatencyHistogram latencyHistogram = new LatencyHistogram();
+		for (int i = 0; i < 99; i++) {
+			latencyHistogram.recordValue(TimeUnit.MILLISECONDS.toNanos(2));
+		}
+		latencyHistogram.recordValue(TimeUnit.MILLISECONDS.toNanos(500));
+		ExecutionTime sqlExecTime = new ExecutionTime(500L, TimeUnit.MILLISECONDS, latencyHistogram);
+		
+		PerfIssue perfIssueAtP99 = verifier.verifyPerfIssue(SqlAnnotationBuilder.expectMaxQueryExecutionTime(5, TimeUnit.MILLISECONDS, 99), sqlExecTime);
+		PerfIssue perfIssueAtMax = verifier.verifyPerfIssue(SqlAnnotationBuilder.expectMaxQueryExecutionTime(5, TimeUnit.MILLISECONDS), sqlExecTime);
+		
+		assertEquals(PerfIssue.NONE, perfIssueAtP99);
+		
+		assertNotEquals(PerfIssue.NONE, perfIssueAtMax);
+	}
+
+	@Test
+	public void should_reject_a_percentile_lower_than_or_equal_to_zero () {
+		VerifiablePerformanceIssue<ExpectMaxQueryExecutionTime, ExecutionTime> verifier = SqlQueryMaxExecutionTimeVerifier.INSTANCE;
+		
+		ExecutionTime sqlExecTime = new ExecutionTime(5L, TimeUnit.MILLISECONDS);
+		
+		try {
+			verifier.verifyPerfIssue(SqlAnnotationBuilder.expectMaxQueryExecutionTime(10, TimeUnit.MILLISECONDS, 0), sqlExecTime);
+			fail("A percentile of 0 should be rejected");
+		} catch (IllegalArgumentException e) {
+			assertEquals("The percentile has to be greater than 0 and lower than or equal to 100, found 0", e.getMessage());
+		}
+	}
+
 }
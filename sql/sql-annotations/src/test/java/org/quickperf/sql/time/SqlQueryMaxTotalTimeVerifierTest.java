@@ -0,0 +1,58 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2020 the original author or authors.
+ */
+
+package org.quickperf.sql.time;
+
+import org.junit.Test;
+import org.quickperf.issue.PerfIssue;
+import org.quickperf.sql.annotation.ExpectMaxTotalQueryTime;
+import org.quickperf.sql.annotation.SqlAnnotationBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SqlQueryMaxTotalTimeVerifierTest {
+
+    @Test public void
+    should_report_the_share_of_the_test_duration_spent_in_jdbc() {
+
+        // GIVEN
+        ExpectMaxTotalQueryTime annotation = SqlAnnotationBuilder.expectMaxTotalQueryTime(10, TimeUnit.MILLISECONDS);
+        TotalQueryTime totalQueryTime = new TotalQueryTime(TimeUnit.MILLISECONDS.toNanos(30), 10_000
+                                                          , TimeUnit.MILLISECONDS.toNanos(30)
+                                                          , TimeUnit.MILLISECONDS.toNanos(120));
+
+        // WHEN
+        PerfIssue perfIssue = SqlQueryMaxTotalTimeVerifier.INSTANCE.verifyPerfIssue(annotation, totalQueryTime);
+
+        // THEN
+        assertThat(perfIssue.getDescription()).contains("<30.0 ms> for <10000> executions")
+                                              .contains("25.0% of its <120.0 ms> in JDBC");
+
+    }
+
+    @Test public void
+    should_not_report_a_total_time_below_the_expected_one() {
+
+        // GIVEN
+        ExpectMaxTotalQueryTime annotation = SqlAnnotationBuilder.expectMaxTotalQueryTime(10, TimeUnit.MILLISECONDS);
+        TotalQueryTime totalQueryTime = new TotalQueryTime(TimeUnit.MILLISECONDS.toNanos(9), 100, 0, 0);
+
+        // WHEN
+        PerfIssue perfIssue = SqlQueryMaxTotalTimeVerifier.INSTANCE.verifyPerfIssue(annotation, totalQueryTime);
+
+        // THEN
+        assertThat(perfIssue).isEqualTo(PerfIssue.NONE);
+
+    }
+
+}
@@ -26,11 +26,14 @@ import org.quickperf.reporter.QuickPerfReporter;
 import org.quickperf.testlauncher.NewJvmTestLauncher;
 import org.testng.IHookCallBack;
 import org.testng.IHookable;
+import org.testng.ITestContext;
 import org.testng.ITestNGMethod;
 import org.testng.ITestResult;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.stream.Collectors;
 
 public class QuickPerfTestNGListener implements IHookable {
 
@@ -119,19 +122,45 @@ public class QuickPerfTestNGListener implements IHookable {
                                                                          , TestExecutionContext testExecutionContext) {
         if (testExecutionContext.testExecutionUsesTwoJVMs()) {
             Method testMethod = extractTestMethod(testResult);
-            return executeTestMethodInNewJwm(testMethod, testExecutionContext);
+            Collection<Method> testMethodsOfClass = findTestMethodsOfClass(testResult);
+            return executeTestMethodInNewJwm(testMethod, testExecutionContext, testMethodsOfClass);
         }
 
         TestIssue testIssue = executeTestMethodAndRecordPerformanceInSameJvm(hookCallBack, testResult, testExecutionContext);
         return JvmOrTestIssue.buildFrom(testIssue);
     }
 
+    private Collection<Method> findTestMethodsOfClass(ITestResult testResult) {
+        Class<?> testClass = extractTestMethod(testResult).getDeclaringClass();
+        ITestContext testContext = testResult.getTestContext();
+        Collection<ITestNGMethod> excludedMethods = testContext.getExcludedMethods();
+        return Arrays.stream(testContext.getAllTestMethods())
+                     .filter(testNGMethod -> !excludedMethods.contains(testNGMethod))
+                     .filter(this::canBeExecutedAlone)
+                     .map(testNGMethod -> testNGMethod.getConstructorOrMethod().getMethod())
+                     .filter(method -> method.getDeclaringClass().equals(testClass))
+                     .collect(Collectors.toList());
+    }
+
+    // A test method executed once, without data provider and dependencies, is executed
+    // in the forked JVM as it would be by TestNG
+    private boolean canBeExecutedAlone(ITestNGMethod testNGMethod) {
+        return testNGMethod.getEnabled()
+            && testNGMethod.getInvocationCount() <= 1
+            && !testNGMethod.isDataDriven()
+            && testNGMethod.getMethodsDependedUpon().length == 0
+            && testNGMethod.getGroupsDependedUpon().length == 0;
+    }
+
     private JvmOrTestIssue executeTestMethodInNewJwm(Method testMethod
-                                                             , TestExecutionContext testExecutionContext) {
+                                                             , TestExecutionContext testExecutionContext
+                                                             , Collection<Method> testMethodsOfClass) {
         NewJvmTestLauncher newJvmTestLauncher = NewJvmTestLauncher.INSTANCE;
         return newJvmTestLauncher.executeTestMethodInNewJwm(testMethod
                                                           , testExecutionContext
-                                                          , QuickPerfTestNGCore.class);
+                                                          , QuickPerfTestNGCore.class
+                                                          , quickPerfConfigs
+                                                          , testMethodsOfClass);
     }
 
     private TestIssue executeTestMethodAndRecordPerformanceInSameJvm(IHookCallBack hookCallBack, ITestResult testResult, TestExecutionContext testExecutionContext) {